@@ -28,6 +28,8 @@ export interface Spec extends TurboModule {
     withCredentials: boolean,
   ) => void;
   +abortRequest: (requestId: number) => void;
+  +readResponseStream?: (requestId: number, maxBytes: number) => void;
+  +getRequestStats?: (callback: (stats: Object) => void) => void;
   +clearCookies: (callback: (result: boolean) => void) => void;
 
   // RCTEventEmitter
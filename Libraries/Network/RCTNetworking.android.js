@@ -51,7 +51,7 @@ class RCTNetworking extends NativeEventEmitter {
     url: string,
     headers: Object,
     data: RequestBody,
-    responseType: 'text' | 'base64',
+    responseType: 'text' | 'base64' | 'stream',
     incrementalUpdates: boolean,
     timeout: number,
     callback: (requestId: number) => mixed,
@@ -83,6 +83,16 @@ class RCTNetworking extends NativeEventEmitter {
     NativeNetworkingAndroid.abortRequest(requestId);
   }
 
+  /**
+   * Asks for the next chunk of a response requested with the 'stream' response type. The chunk is
+   * delivered as incremental data, and the request completes once the body has been read.
+   */
+  readResponseStream(requestId: number, maxBytes: number) {
+    if (NativeNetworkingAndroid.readResponseStream) {
+      NativeNetworkingAndroid.readResponseStream(requestId, maxBytes);
+    }
+  }
+
   clearCookies(callback: (result: boolean) => any) {
     NativeNetworkingAndroid.clearCookies(callback);
   }
@@ -60,17 +60,20 @@ import java.util.Map;
   private final DefaultHardwareBackBtnHandler mHardwareBackBtnHandler;
   private final boolean mLazyViewManagersEnabled;
   private final int mMinTimeLeftInFrameForNonBatchedOperationMs;
+  private final boolean mUseLockFreeEventStaging;
 
   CoreModulesPackage(
       ReactInstanceManager reactInstanceManager,
       DefaultHardwareBackBtnHandler hardwareBackBtnHandler,
       @Nullable UIImplementationProvider uiImplementationProvider,
       boolean lazyViewManagersEnabled,
-      int minTimeLeftInFrameForNonBatchedOperationMs) {
+      int minTimeLeftInFrameForNonBatchedOperationMs,
+      boolean useLockFreeEventStaging) {
     mReactInstanceManager = reactInstanceManager;
     mHardwareBackBtnHandler = hardwareBackBtnHandler;
     mLazyViewManagersEnabled = lazyViewManagersEnabled;
     mMinTimeLeftInFrameForNonBatchedOperationMs = minTimeLeftInFrameForNonBatchedOperationMs;
+    mUseLockFreeEventStaging = useLockFreeEventStaging;
   }
 
   /**
@@ -177,12 +180,16 @@ import java.util.Map;
             };
 
         return new UIManagerModule(
-            reactContext, resolver, mMinTimeLeftInFrameForNonBatchedOperationMs);
+            reactContext,
+            resolver,
+            mMinTimeLeftInFrameForNonBatchedOperationMs,
+            mUseLockFreeEventStaging);
       } else {
         return new UIManagerModule(
             reactContext,
             mReactInstanceManager.getOrCreateViewManagers(reactContext),
-            mMinTimeLeftInFrameForNonBatchedOperationMs);
+            mMinTimeLeftInFrameForNonBatchedOperationMs,
+            mUseLockFreeEventStaging);
       }
     } finally {
       Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
@@ -215,6 +215,7 @@ public class ReactInstanceManager {
       @Nullable DevBundleDownloadListener devBundleDownloadListener,
       int minNumShakes,
       int minTimeLeftInFrameForNonBatchedOperationMs,
+      boolean useLockFreeEventStaging,
       @Nullable JSIModulePackage jsiModulePackage,
       @Nullable Map<String, RequestHandler> customPackagerCommandHandlers) {
     Log.d(ReactConstants.TAG, "ReactInstanceManager.ctor()");
@@ -261,7 +262,8 @@ public class ReactInstanceManager {
               },
               mUIImplementationProvider,
               lazyViewManagersEnabled,
-              minTimeLeftInFrameForNonBatchedOperationMs));
+              minTimeLeftInFrameForNonBatchedOperationMs,
+              useLockFreeEventStaging));
       if (mUseDeveloperSupport) {
         mPackages.add(new DebugCorePackage());
       }
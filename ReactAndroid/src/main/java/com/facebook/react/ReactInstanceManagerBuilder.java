@@ -57,6 +57,7 @@ public class ReactInstanceManagerBuilder {
   private @Nullable JavaScriptExecutorFactory mJavaScriptExecutorFactory;
   private int mMinNumShakes = 1;
   private int mMinTimeLeftInFrameForNonBatchedOperationMs = -1;
+  private boolean mUseLockFreeEventStaging;
   private @Nullable JSIModulePackage mJSIModulesPackage;
   private @Nullable Map<String, RequestHandler> mCustomPackagerCommandHandlers;
 
@@ -219,6 +220,16 @@ public class ReactInstanceManagerBuilder {
     return this;
   }
 
+  /**
+   * When {@code true}, UI events are staged in a lock-free ring buffer and coalesced without
+   * boxing, reducing UI thread contention and allocations for high-frequency events such as scroll
+   * and multi-touch.
+   */
+  public ReactInstanceManagerBuilder setUseLockFreeEventStaging(boolean useLockFreeEventStaging) {
+    mUseLockFreeEventStaging = useLockFreeEventStaging;
+    return this;
+  }
+
   public ReactInstanceManagerBuilder setCustomPackagerCommandHandlers(
       Map<String, RequestHandler> customPackagerCommandHandlers) {
     mCustomPackagerCommandHandlers = customPackagerCommandHandlers;
@@ -286,6 +297,7 @@ public class ReactInstanceManagerBuilder {
         mDevBundleDownloadListener,
         mMinNumShakes,
         mMinTimeLeftInFrameForNonBatchedOperationMs,
+        mUseLockFreeEventStaging,
         mJSIModulesPackage,
         mCustomPackagerCommandHandlers);
   }
@@ -22,6 +22,8 @@ import java.util.List;
   /*package*/ @Nullable List<AnimatedNode> mChildren; /* lazy-initialized when a child is added */
   /*package*/ int mActiveIncomingNodes = 0;
   /*package*/ int mBFSColor = INITIAL_BFS_COLOR;
+  /* position in the topological order of the graph, see NativeAnimatedNodesManager */
+  /*package*/ int mTopologicalIndex = -1;
   /*package*/ int mTag = -1;
 
   public final void addChild(AnimatedNode child) {
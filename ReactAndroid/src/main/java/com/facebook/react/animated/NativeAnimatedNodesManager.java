@@ -22,14 +22,11 @@ import com.facebook.react.uimanager.IllegalViewOperationException;
 import com.facebook.react.uimanager.UIManagerModule;
 import com.facebook.react.uimanager.events.Event;
 import com.facebook.react.uimanager.events.EventDispatcherListener;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
-import java.util.Queue;
 
 /**
  * This is the main class that coordinates how native animated JS implementation drives UI changes.
@@ -40,7 +37,9 @@ import java.util.Queue;
  * <p>For each animation frame we visit animated nodes that might've been updated as well as their
  * children that may use parent's values to update themselves. At the end of the traversal algorithm
  * we expect to reach a special type of the node: PropsAnimatedNode that is then responsible for
- * calculating property map which can be sent to native view hierarchy to update the view.
+ * calculating property map which can be sent to native view hierarchy to update the view. The nodes
+ * are visited in a topological order of the graph that is only computed again when the graph
+ * changes, so that a frame doesn't allocate.
  *
  * <p>IMPORTANT: This class should be accessed only from the UI Thread
  */
@@ -56,7 +55,11 @@ import java.util.Queue;
   private final UIManagerModule mUIManagerModule;
   private int mAnimatedGraphBFSColor = 0;
   // Used to avoid allocating a new array on every frame in `runUpdates` and `onEventDispatch`.
-  private final List<AnimatedNode> mRunUpdateNodeList = new LinkedList<>();
+  private final List<AnimatedNode> mRunUpdateNodeList = new ArrayList<>();
+  // All the nodes of the graph, parents before their children. Only valid while
+  // `mTopologicalOrderInvalid` is false, see `updateTopologicalOrder`.
+  private final ArrayList<AnimatedNode> mTopologicalOrder = new ArrayList<>();
+  private boolean mTopologicalOrderInvalid = true;
 
   public NativeAnimatedNodesManager(UIManagerModule uiManager) {
     mUIManagerModule = uiManager;
@@ -110,11 +113,13 @@ import java.util.Queue;
     node.mTag = tag;
     mAnimatedNodes.put(tag, node);
     mUpdatedNodes.put(tag, node);
+    mTopologicalOrderInvalid = true;
   }
 
   public void dropAnimatedNode(int tag) {
     mAnimatedNodes.remove(tag);
     mUpdatedNodes.remove(tag);
+    mTopologicalOrderInvalid = true;
   }
 
   public void startListeningToAnimatedNodeValue(int tag, AnimatedNodeValueListener listener) {
@@ -268,6 +273,7 @@ import java.util.Queue;
     }
     parentNode.addChild(childNode);
     mUpdatedNodes.put(childNodeTag, childNode);
+    mTopologicalOrderInvalid = true;
   }
 
   public void disconnectAnimatedNodes(int parentNodeTag, int childNodeTag) {
@@ -283,6 +289,7 @@ import java.util.Queue;
     }
     parentNode.removeChild(childNode);
     mUpdatedNodes.put(childNodeTag, childNode);
+    mTopologicalOrderInvalid = true;
   }
 
   public void connectAnimatedNodeToView(int animatedNodeTag, int viewTag) {
@@ -421,16 +428,12 @@ import java.util.Queue;
   }
 
   /**
-   * Animation loop performs two BFSes over the graph of animated nodes. We use incremented {@code
-   * mAnimatedGraphBFSColor} to mark nodes as visited in each of the BFSes which saves additional
-   * loops for clearing "visited" states.
-   *
-   * <p>First BFS starts with nodes that are in {@code mUpdatedNodes} (that is, their value have
-   * been modified from JS in the last batch of JS operations) or directly attached to an active
-   * animation (hence linked to objects from {@code mActiveAnimations}). In that step we calculate
-   * an attribute {@code mActiveIncomingNodes}. The second BFS runs in topological order over the
-   * sub-graph of *active* nodes. This is done by adding node to the BFS queue only if all its
-   * "predecessors" have already been visited.
+   * Animation loop walks the graph of animated nodes in topological order, starting from the nodes
+   * that are in {@code mUpdatedNodes} (that is, their value have been modified from JS in the last
+   * batch of JS operations) or directly attached to an active animation (hence linked to objects
+   * from {@code mActiveAnimations}). We use incremented {@code mAnimatedGraphBFSColor} to mark the
+   * nodes that have to be updated, that is those nodes and their descendants, which saves
+   * additional loops for clearing "marked" states.
    */
   public void runUpdates(long frameTimeNanos) {
     UiThreadUtil.assertOnUiThread();
@@ -475,72 +478,49 @@ import java.util.Queue;
   }
 
   private void updateNodes(List<AnimatedNode> nodes) {
+    if (mTopologicalOrderInvalid) {
+      updateTopologicalOrder();
+    }
+
     int activeNodesCount = 0;
     int updatedNodesCount = 0;
 
-    // STEP 1.
-    // BFS over graph of nodes. Update `mIncomingNodes` attribute for each node during that BFS.
-    // Store number of visited nodes in `activeNodesCount`. We "execute" active animations as a part
-    // of this step.
-
     mAnimatedGraphBFSColor++; /* use new color */
     if (mAnimatedGraphBFSColor == AnimatedNode.INITIAL_BFS_COLOR) {
-      // value "0" is used as an initial color for a new node, using it in BFS may cause some nodes
-      // to be skipped.
+      // value "0" is used as an initial color for a new node, using it may cause some nodes to be
+      // skipped.
       mAnimatedGraphBFSColor++;
     }
 
-    Queue<AnimatedNode> nodesQueue = new ArrayDeque<>();
-    for (AnimatedNode node : nodes) {
-      if (node.mBFSColor != mAnimatedGraphBFSColor) {
+    // Mark the nodes we start from, and find the first of them in the topological order. Nodes that
+    // are not part of the graph anymore don't have anything to update.
+    int firstIndex = mTopologicalOrder.size();
+    for (int i = 0; i < nodes.size(); i++) {
+      AnimatedNode node = nodes.get(i);
+      if (node.mBFSColor != mAnimatedGraphBFSColor
+          && (isInTopologicalOrder(node) || mAnimatedNodes.get(node.mTag) == node)) {
         node.mBFSColor = mAnimatedGraphBFSColor;
         activeNodesCount++;
-        nodesQueue.add(node);
-      }
-    }
-
-    while (!nodesQueue.isEmpty()) {
-      AnimatedNode nextNode = nodesQueue.poll();
-      if (nextNode.mChildren != null) {
-        for (int i = 0; i < nextNode.mChildren.size(); i++) {
-          AnimatedNode child = nextNode.mChildren.get(i);
-          child.mActiveIncomingNodes++;
-          if (child.mBFSColor != mAnimatedGraphBFSColor) {
-            child.mBFSColor = mAnimatedGraphBFSColor;
-            activeNodesCount++;
-            nodesQueue.add(child);
-          }
+        if (isInTopologicalOrder(node)) {
+          firstIndex = Math.min(firstIndex, node.mTopologicalIndex);
         }
       }
     }
 
-    // STEP 2
-    // BFS over the graph of active nodes in topological order -> visit node only when all its
-    // "predecessors" in the graph have already been visited. It is important to visit nodes in that
-    // order as they may often use values of their predecessors in order to calculate "next state"
-    // of their own. We start by determining the starting set of nodes by looking for nodes with
-    // `mActiveIncomingNodes = 0` (those can only be the ones that we start BFS in the previous
-    // step). We store number of visited nodes in this step in `updatedNodesCount`
-
-    mAnimatedGraphBFSColor++;
-    if (mAnimatedGraphBFSColor == AnimatedNode.INITIAL_BFS_COLOR) {
-      // see reasoning for this check a few lines above
-      mAnimatedGraphBFSColor++;
-    }
-
-    // find nodes with zero "incoming nodes", those can be either nodes from `mUpdatedNodes` or
-    // ones connected to active animations
-    for (AnimatedNode node : nodes) {
-      if (node.mActiveIncomingNodes == 0 && node.mBFSColor != mAnimatedGraphBFSColor) {
-        node.mBFSColor = mAnimatedGraphBFSColor;
-        updatedNodesCount++;
-        nodesQueue.add(node);
+    // Walk the nodes in topological order -> visit node only when all its "predecessors" in the
+    // graph have already been visited. It is important to visit nodes in that order as they may
+    // often use values of their predecessors in order to calculate "next state" of their own. The
+    // children of a visited node are marked so that they are visited later on in the walk, which
+    // stops once all the marked nodes have been visited. We store number of visited nodes in
+    // `updatedNodesCount`
+    for (int i = firstIndex;
+        i < mTopologicalOrder.size() && updatedNodesCount < activeNodesCount;
+        i++) {
+      AnimatedNode nextNode = mTopologicalOrder.get(i);
+      if (nextNode.mBFSColor != mAnimatedGraphBFSColor) {
+        continue;
       }
-    }
-
-    // Run main "update" loop
-    while (!nodesQueue.isEmpty()) {
-      AnimatedNode nextNode = nodesQueue.poll();
+      updatedNodesCount++;
       nextNode.update();
       if (nextNode instanceof PropsAnimatedNode) {
         // Send property updates to native view manager
@@ -567,22 +547,18 @@ import java.util.Queue;
         ((ValueAnimatedNode) nextNode).onValueUpdate();
       }
       if (nextNode.mChildren != null) {
-        for (int i = 0; i < nextNode.mChildren.size(); i++) {
-          AnimatedNode child = nextNode.mChildren.get(i);
-          child.mActiveIncomingNodes--;
-          if (child.mBFSColor != mAnimatedGraphBFSColor && child.mActiveIncomingNodes == 0) {
+        for (int j = 0; j < nextNode.mChildren.size(); j++) {
+          AnimatedNode child = nextNode.mChildren.get(j);
+          if (child.mBFSColor != mAnimatedGraphBFSColor) {
             child.mBFSColor = mAnimatedGraphBFSColor;
-            updatedNodesCount++;
-            nodesQueue.add(child);
+            activeNodesCount++;
           }
         }
       }
     }
 
     // Verify that we've visited *all* active nodes. Throw otherwise as this would mean there is a
-    // cycle in animated node graph. We also take advantage of the fact that all active nodes are
-    // visited in the step above so that all the nodes properties `mActiveIncomingNodes` are set to
-    // zero
+    // cycle in animated node graph, whose nodes are left out of the topological order.
     if (activeNodesCount != updatedNodesCount) {
       throw new IllegalStateException(
           "Looks like animated nodes graph has cycles, there are "
@@ -591,4 +567,61 @@ import java.util.Queue;
               + updatedNodesCount);
     }
   }
+
+  private boolean isInTopologicalOrder(AnimatedNode node) {
+    int index = node.mTopologicalIndex;
+    return index >= 0 && index < mTopologicalOrder.size() && mTopologicalOrder.get(index) == node;
+  }
+
+  /**
+   * Sorts the nodes of the graph topologically, using {@code mActiveIncomingNodes} to count the
+   * parents of each node that are not sorted yet. Nodes that are part of a cycle, or that have one
+   * of their ancestors in a cycle, are left out.
+   */
+  private void updateTopologicalOrder() {
+    // Nodes may be dropped without being disconnected from their parents first, they are still
+    // updated as children of those.
+    for (int i = 0; i < mAnimatedNodes.size(); i++) {
+      AnimatedNode node = mAnimatedNodes.valueAt(i);
+      node.mActiveIncomingNodes = 0;
+      node.mTopologicalIndex = -1;
+      if (node.mChildren != null) {
+        for (int j = 0; j < node.mChildren.size(); j++) {
+          AnimatedNode child = node.mChildren.get(j);
+          child.mActiveIncomingNodes = 0;
+          child.mTopologicalIndex = -1;
+        }
+      }
+    }
+    for (int i = 0; i < mAnimatedNodes.size(); i++) {
+      AnimatedNode node = mAnimatedNodes.valueAt(i);
+      if (node.mChildren != null) {
+        for (int j = 0; j < node.mChildren.size(); j++) {
+          node.mChildren.get(j).mActiveIncomingNodes++;
+        }
+      }
+    }
+
+    mTopologicalOrder.clear();
+    for (int i = 0; i < mAnimatedNodes.size(); i++) {
+      AnimatedNode node = mAnimatedNodes.valueAt(i);
+      if (node.mActiveIncomingNodes == 0) {
+        mTopologicalOrder.add(node);
+      }
+    }
+    for (int i = 0; i < mTopologicalOrder.size(); i++) {
+      AnimatedNode node = mTopologicalOrder.get(i);
+      node.mTopologicalIndex = i;
+      if (node.mChildren != null) {
+        for (int j = 0; j < node.mChildren.size(); j++) {
+          AnimatedNode child = node.mChildren.get(j);
+          child.mActiveIncomingNodes--;
+          if (child.mActiveIncomingNodes == 0) {
+            mTopologicalOrder.add(child);
+          }
+        }
+      }
+    }
+    mTopologicalOrderInvalid = false;
+  }
 }
@@ -7,12 +7,21 @@
 
 package com.facebook.react.animated;
 
+import static com.facebook.react.uimanager.common.UIManagerType.FABRIC;
+
+import android.view.View;
 import androidx.annotation.Nullable;
 import com.facebook.react.bridge.JSApplicationIllegalArgumentException;
 import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.ReadableMapKeySetIterator;
 import com.facebook.react.bridge.UIManager;
+import com.facebook.react.config.ReactFeatureFlags;
+import com.facebook.react.uimanager.BaseViewManager;
+import com.facebook.react.uimanager.UIManagerModule;
+import com.facebook.react.uimanager.ViewManager;
+import com.facebook.react.uimanager.common.ViewUtil;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -28,6 +37,13 @@ import java.util.Map;
   private final UIManager mUIManager;
   private final Map<String, Integer> mPropNodeMapping;
   private final JavaOnlyMap mPropMap;
+  // Whether mPropMap has the keys of the props, so that restoreDefaultValues() resets them even if
+  // they were only set by updateViewDirectly()
+  private boolean mPropMapHasKeys = false;
+
+  // Whether the typed setters of each view manager class can be used instead of its props, see
+  // supportsDirectUpdates(). Animated nodes are only updated on the UI thread.
+  private static final Map<Class<?>, Boolean> sSupportsDirectUpdates = new HashMap<>();
 
   PropsAnimatedNode(
       ReadableMap config,
@@ -77,6 +93,9 @@ import java.util.Map;
     if (mConnectedViewTag == -1) {
       return;
     }
+    if (ReactFeatureFlags.enableDirectAnimatedPropsUpdates && updateViewDirectly()) {
+      return;
+    }
     for (Map.Entry<String, Integer> entry : mPropNodeMapping.entrySet()) {
       @Nullable AnimatedNode node = mNativeAnimatedNodesManager.getNodeById(entry.getValue());
       if (node == null) {
@@ -96,6 +115,94 @@ import java.util.Map;
       }
     }
 
+    mPropMapHasKeys = true;
     mUIManager.synchronouslyUpdateViewOnUIThread(mConnectedViewTag, mPropMap);
   }
+
+  /**
+   * Sets the props of a style that only animates opacity and translate and scale transforms
+   * through the setters of the view manager, without building a props map for them.
+   *
+   * @return false when the view has to be updated through its props map instead
+   */
+  private boolean updateViewDirectly() {
+    Integer styleNodeTag = mPropNodeMapping.get("style");
+    if (styleNodeTag == null
+        || mPropNodeMapping.size() != 1
+        || !(mUIManager instanceof UIManagerModule)
+        || ViewUtil.getUIManagerType(mConnectedViewTag) == FABRIC) {
+      return false;
+    }
+    AnimatedNode node = mNativeAnimatedNodesManager.getNodeById(styleNodeTag);
+    if (!(node instanceof StyleAnimatedNode)
+        || !((StyleAnimatedNode) node).canUpdateViewDirectly()) {
+      return false;
+    }
+    StyleAnimatedNode styleNode = (StyleAnimatedNode) node;
+
+    UIManagerModule uiManagerModule = (UIManagerModule) mUIManager;
+    ViewManager viewManager = uiManagerModule.resolveViewManager(mConnectedViewTag);
+    if (!(viewManager instanceof BaseViewManager) || !supportsDirectUpdates(viewManager)) {
+      return false;
+    }
+    View view = uiManagerModule.resolveView(mConnectedViewTag);
+    @SuppressWarnings("unchecked")
+    BaseViewManager<View, ?> baseViewManager = (BaseViewManager<View, ?>) viewManager;
+    if (!styleNode.updateViewDirectly(baseViewManager, view)) {
+      return false;
+    }
+
+    if (!mPropMapHasKeys) {
+      styleNode.collectViewUpdates(mPropMap);
+      mPropMapHasKeys = true;
+    }
+    return true;
+  }
+
+  /**
+   * Returns whether setting the style through the typed setters of the view manager has the same
+   * effect as updating its props. A view manager that overrides setTransform or
+   * onAfterUpdateTransaction has to override setTranslateAndScaleTransform as well, or its views
+   * are updated through their props.
+   */
+  private static boolean supportsDirectUpdates(ViewManager viewManager) {
+    Class<?> viewManagerClass = viewManager.getClass();
+    Boolean supportsDirectUpdates = sSupportsDirectUpdates.get(viewManagerClass);
+    if (supportsDirectUpdates == null) {
+      Class<?> directSetterClass =
+          getDeclaringClass(
+              viewManagerClass,
+              "setTranslateAndScaleTransform",
+              View.class,
+              float.class,
+              float.class,
+              float.class,
+              float.class);
+      Class<?> transformSetterClass =
+          getDeclaringClass(viewManagerClass, "setTransform", View.class, ReadableArray.class);
+      Class<?> afterUpdateClass =
+          getDeclaringClass(viewManagerClass, "onAfterUpdateTransaction", View.class);
+      supportsDirectUpdates =
+          directSetterClass != null
+              && transformSetterClass != null
+              && afterUpdateClass != null
+              && transformSetterClass.isAssignableFrom(directSetterClass)
+              && afterUpdateClass.isAssignableFrom(directSetterClass);
+      sSupportsDirectUpdates.put(viewManagerClass, supportsDirectUpdates);
+    }
+    return supportsDirectUpdates;
+  }
+
+  private static @Nullable Class<?> getDeclaringClass(
+      Class<?> clazz, String methodName, Class<?>... parameterTypes) {
+    for (Class<?> current = clazz; current != null; current = current.getSuperclass()) {
+      try {
+        current.getDeclaredMethod(methodName, parameterTypes);
+        return current;
+      } catch (NoSuchMethodException e) {
+        // Look for it in the superclass
+      }
+    }
+    return null;
+  }
 }
@@ -7,10 +7,13 @@
 
 package com.facebook.react.animated;
 
+import android.view.View;
 import androidx.annotation.Nullable;
 import com.facebook.react.bridge.JavaOnlyMap;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.ReadableMapKeySetIterator;
+import com.facebook.react.uimanager.BaseViewManager;
+import com.facebook.react.uimanager.ViewProps;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -21,6 +24,8 @@ import java.util.Map;
 
   private final NativeAnimatedNodesManager mNativeAnimatedNodesManager;
   private final Map<String, Integer> mPropMapping;
+  // Reused by updateViewDirectly() for the composed transform
+  private final float[] mTranslateAndScale = new float[4];
 
   StyleAnimatedNode(ReadableMap config, NativeAnimatedNodesManager nativeAnimatedNodesManager) {
     ReadableMap style = config.getMap("style");
@@ -34,6 +39,62 @@ import java.util.Map;
     mNativeAnimatedNodesManager = nativeAnimatedNodesManager;
   }
 
+  /**
+   * Returns whether the style only animates the opacity and a transform made of translations and
+   * scales, which {@link #updateViewDirectly} can set without building a props map.
+   */
+  /* package */ boolean canUpdateViewDirectly() {
+    int directPropsCount = 0;
+    Integer opacityNodeTag = mPropMapping.get(ViewProps.OPACITY);
+    if (opacityNodeTag != null) {
+      if (!(mNativeAnimatedNodesManager.getNodeById(opacityNodeTag) instanceof ValueAnimatedNode)) {
+        return false;
+      }
+      directPropsCount++;
+    }
+    Integer transformNodeTag = mPropMapping.get(ViewProps.TRANSFORM);
+    if (transformNodeTag != null) {
+      AnimatedNode node = mNativeAnimatedNodesManager.getNodeById(transformNodeTag);
+      if (!(node instanceof TransformAnimatedNode)
+          || !((TransformAnimatedNode) node).isTranslateAndScaleOnly()) {
+        return false;
+      }
+      directPropsCount++;
+    }
+    return directPropsCount == mPropMapping.size();
+  }
+
+  /**
+   * Sets the animated style on the view through the typed setters of its view manager. Only valid
+   * when {@link #canUpdateViewDirectly} is true.
+   *
+   * @return false, without changing the view, when the style can't be set directly
+   */
+  /* package */ <T extends View> boolean updateViewDirectly(
+      BaseViewManager<T, ?> viewManager, T view) {
+    Integer transformNodeTag = mPropMapping.get(ViewProps.TRANSFORM);
+    if (transformNodeTag != null) {
+      TransformAnimatedNode transformNode =
+          (TransformAnimatedNode) mNativeAnimatedNodesManager.getNodeById(transformNodeTag);
+      if (!transformNode.collectTranslateAndScale(mTranslateAndScale)) {
+        return false;
+      }
+      viewManager.setTranslateAndScaleTransform(
+          view,
+          mTranslateAndScale[0],
+          mTranslateAndScale[1],
+          mTranslateAndScale[2],
+          mTranslateAndScale[3]);
+    }
+    Integer opacityNodeTag = mPropMapping.get(ViewProps.OPACITY);
+    if (opacityNodeTag != null) {
+      ValueAnimatedNode opacityNode =
+          (ValueAnimatedNode) mNativeAnimatedNodesManager.getNodeById(opacityNodeTag);
+      viewManager.setOpacity(view, (float) opacityNode.getValue());
+    }
+    return true;
+  }
+
   public void collectViewUpdates(JavaOnlyMap propsMap) {
     for (Map.Entry<String, Integer> entry : mPropMapping.entrySet()) {
       @Nullable AnimatedNode node = mNativeAnimatedNodesManager.getNodeById(entry.getValue());
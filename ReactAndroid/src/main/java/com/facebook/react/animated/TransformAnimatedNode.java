@@ -57,27 +57,93 @@ import java.util.List;
     mNativeAnimatedNodesManager = nativeAnimatedNodesManager;
   }
 
-  public void collectViewUpdates(JavaOnlyMap propsMap) {
-    List<JavaOnlyMap> transforms = new ArrayList<>(mTransformConfigs.size());
+  /**
+   * Returns whether the transform is only made of translations along and scales of the x and y
+   * axes, see {@link #collectTranslateAndScale}.
+   */
+  /* package */ boolean isTranslateAndScaleOnly() {
+    for (int i = 0; i < mTransformConfigs.size(); i++) {
+      String property = mTransformConfigs.get(i).mProperty;
+      if (!"translateX".equals(property)
+          && !"translateY".equals(property)
+          && !"scale".equals(property)
+          && !"scaleX".equals(property)
+          && !"scaleY".equals(property)) {
+        return false;
+      }
+    }
+    return true;
+  }
 
-    for (TransformConfig transformConfig : mTransformConfigs) {
-      double value;
-      if (transformConfig instanceof AnimatedTransformConfig) {
-        int nodeTag = ((AnimatedTransformConfig) transformConfig).mNodeTag;
-        AnimatedNode node = mNativeAnimatedNodesManager.getNodeById(nodeTag);
-        if (node == null) {
-          throw new IllegalArgumentException("Mapped style node does not exists");
-        } else if (node instanceof ValueAnimatedNode) {
-          value = ((ValueAnimatedNode) node).getValue();
-        } else {
+  /**
+   * Composes the transforms, in the same order as {@link
+   * com.facebook.react.uimanager.TransformHelper}, into the translation along the x and y axes
+   * followed by the scales of the x and y axes, written to the given array.
+   *
+   * @return false when a scale is negative, as the view would then also be rotated
+   */
+  /* package */ boolean collectTranslateAndScale(float[] translateAndScale) {
+    double translateX = 0;
+    double translateY = 0;
+    double scaleX = 1;
+    double scaleY = 1;
+    // Each transform applies to the view before the ones preceding it.
+    for (int i = 0; i < mTransformConfigs.size(); i++) {
+      TransformConfig transformConfig = mTransformConfigs.get(i);
+      double value = getValue(transformConfig);
+      switch (transformConfig.mProperty) {
+        case "translateX":
+          translateX += value * scaleX;
+          break;
+        case "translateY":
+          translateY += value * scaleY;
+          break;
+        case "scale":
+          scaleX *= value;
+          scaleY *= value;
+          break;
+        case "scaleX":
+          scaleX *= value;
+          break;
+        case "scaleY":
+          scaleY *= value;
+          break;
+        default:
           throw new IllegalArgumentException(
-              "Unsupported type of node used as a transform child " + "node " + node.getClass());
-        }
+              "Unsupported transform for direct updates " + transformConfig.mProperty);
+      }
+    }
+    if (scaleX < 0 || scaleY < 0) {
+      return false;
+    }
+    translateAndScale[0] = (float) translateX;
+    translateAndScale[1] = (float) translateY;
+    translateAndScale[2] = (float) scaleX;
+    translateAndScale[3] = (float) scaleY;
+    return true;
+  }
+
+  private double getValue(TransformConfig transformConfig) {
+    if (transformConfig instanceof AnimatedTransformConfig) {
+      int nodeTag = ((AnimatedTransformConfig) transformConfig).mNodeTag;
+      AnimatedNode node = mNativeAnimatedNodesManager.getNodeById(nodeTag);
+      if (node == null) {
+        throw new IllegalArgumentException("Mapped style node does not exists");
+      } else if (node instanceof ValueAnimatedNode) {
+        return ((ValueAnimatedNode) node).getValue();
       } else {
-        value = ((StaticTransformConfig) transformConfig).mValue;
+        throw new IllegalArgumentException(
+            "Unsupported type of node used as a transform child " + "node " + node.getClass());
       }
+    }
+    return ((StaticTransformConfig) transformConfig).mValue;
+  }
 
-      transforms.add(JavaOnlyMap.of(transformConfig.mProperty, value));
+  public void collectViewUpdates(JavaOnlyMap propsMap) {
+    List<JavaOnlyMap> transforms = new ArrayList<>(mTransformConfigs.size());
+
+    for (TransformConfig transformConfig : mTransformConfigs) {
+      transforms.add(JavaOnlyMap.of(transformConfig.mProperty, getValue(transformConfig)));
     }
 
     propsMap.putArray("transform", JavaOnlyArray.from(transforms));
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge;
+
+import static com.facebook.systrace.Systrace.TRACE_TAG_REACT_JAVA_BRIDGE;
+
+import com.facebook.debug.holder.PrinterHolder;
+import com.facebook.debug.tags.ReactDebugOverlayTags;
+import com.facebook.systrace.SystraceMessage;
+
+/**
+ * {@link NativeModule.NativeMethod} backed by a generated {@link ReactMethodInvoker}. Behaves like
+ * {@link JavaMethodWrapper} but calls the module method directly instead of going through {@link
+ * java.lang.reflect.Method#invoke} with a boxed argument array.
+ */
+/* package */ class GeneratedJavaMethodWrapper implements NativeModule.NativeMethod {
+
+  private static final boolean DEBUG =
+      PrinterHolder.getPrinter().shouldDisplayLogMessage(ReactDebugOverlayTags.BRIDGE_CALLS);
+
+  private final JavaModuleWrapper mModuleWrapper;
+  private final ReactMethodInvoker mInvoker;
+  private final int mMethodId;
+  private final int mJSArgumentsNeeded;
+
+  public GeneratedJavaMethodWrapper(
+      JavaModuleWrapper moduleWrapper, ReactMethodInvoker invoker, int methodId) {
+    mModuleWrapper = moduleWrapper;
+    mInvoker = invoker;
+    mMethodId = methodId;
+    mJSArgumentsNeeded = invoker.getJSArgumentsNeeded(methodId);
+  }
+
+  @Override
+  public void invoke(JSInstance jsInstance, ReadableArray parameters) {
+    String methodName = mInvoker.getMethodName(mMethodId);
+    SystraceMessage.beginSection(TRACE_TAG_REACT_JAVA_BRIDGE, "callJavaModuleMethod")
+        .arg("method", mModuleWrapper.getName() + "." + methodName)
+        .flush();
+    if (DEBUG) {
+      PrinterHolder.getPrinter()
+          .logMessage(
+              ReactDebugOverlayTags.BRIDGE_CALLS,
+              "JS->Java: %s.%s()",
+              mModuleWrapper.getName(),
+              methodName);
+    }
+    try {
+      if (mJSArgumentsNeeded != parameters.size()) {
+        throw new NativeArgumentsParseException(
+            mModuleWrapper.getName()
+                + "."
+                + methodName
+                + " got "
+                + parameters.size()
+                + " arguments, expected "
+                + mJSArgumentsNeeded);
+      }
+      mInvoker.invoke(mModuleWrapper.getModule(), mMethodId, jsInstance, parameters);
+    } finally {
+      SystraceMessage.endSection(TRACE_TAG_REACT_JAVA_BRIDGE).flush();
+    }
+  }
+
+  @Override
+  public String getType() {
+    return mInvoker.getMethodType(mMethodId);
+  }
+}
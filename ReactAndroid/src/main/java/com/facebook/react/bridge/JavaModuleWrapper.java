@@ -64,9 +64,51 @@ public class JavaModuleWrapper {
   @DoNotStrip
   private void findMethods() {
     Systrace.beginSection(TRACE_TAG_REACT_JAVA_BRIDGE, "findMethods");
+    Class<? extends NativeModule> moduleClass = mModuleHolder.getModule().getClass();
+    ReactMethodInvoker invoker = findGeneratedMethodInvoker(moduleClass);
+    if (invoker != null) {
+      addGeneratedMethods(invoker);
+    } else {
+      findMethodsByReflection(moduleClass);
+    }
+    Systrace.endSection(TRACE_TAG_REACT_JAVA_BRIDGE);
+  }
+
+  private static @Nullable ReactMethodInvoker findGeneratedMethodInvoker(Class<?> moduleClass) {
+    String className = moduleClass.getName();
+    try {
+      Class<?> invokerClass = Class.forName(className + "$$ReactMethodInvoker");
+      return (ReactMethodInvoker) invokerClass.newInstance();
+    } catch (ClassNotFoundException e) {
+      return null;
+    } catch (InstantiationException | IllegalAccessException e) {
+      throw new RuntimeException("Unable to instantiate method invoker for " + className, e);
+    }
+  }
+
+  private void addGeneratedMethods(ReactMethodInvoker invoker) {
+    for (int methodId = 0; methodId < invoker.getMethodCount(); methodId++) {
+      MethodDescriptor md = new MethodDescriptor();
+      md.name = invoker.getMethodName(methodId);
+      md.type = invoker.getMethodType(methodId);
+      if (md.type == BaseJavaModule.METHOD_TYPE_SYNC) {
+        md.signature = invoker.getMethodSignature(methodId);
+        try {
+          md.method = invoker.getMethod(methodId);
+        } catch (NoSuchMethodException e) {
+          throw new RuntimeException(
+              "Could not find method " + md.name + " of Java Module " + getName(), e);
+        }
+      }
+      mMethods.add(new GeneratedJavaMethodWrapper(this, invoker, methodId));
+      mDescs.add(md);
+    }
+  }
+
+  private void findMethodsByReflection(Class<? extends NativeModule> moduleClass) {
     Set<String> methodNames = new HashSet<>();
 
-    Class<? extends NativeModule> classForMethods = mModuleHolder.getModule().getClass();
+    Class<? extends NativeModule> classForMethods = moduleClass;
     Class<? extends NativeModule> superClass =
         (Class<? extends NativeModule>) classForMethods.getSuperclass();
     if (ReactModuleWithSpec.class.isAssignableFrom(superClass)) {
@@ -100,7 +142,6 @@ public class JavaModuleWrapper {
         mDescs.add(md);
       }
     }
-    Systrace.endSection(TRACE_TAG_REACT_JAVA_BRIDGE);
   }
 
   @DoNotStrip
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge;
+
+/**
+ * Open-addressing index from the keys of a {@link ReadableNativeMap} to their position in the
+ * arrays imported from native. Lookups reuse the hash code cached in each {@link String}, so
+ * reading a single key doesn't require materializing a {@link java.util.HashMap} of the whole map.
+ */
+/* package */ final class NativeMapKeyIndex {
+
+  public static final int NOT_FOUND = -1;
+
+  private final String[] mKeys;
+  // Slots hold position + 1 so that zero means empty.
+  private final int[] mSlots;
+  private final int mMask;
+
+  public NativeMapKeyIndex(String[] keys) {
+    mKeys = keys;
+    int capacity = Integer.highestOneBit(Math.max(4, keys.length * 2 - 1) << 1);
+    mSlots = new int[capacity];
+    mMask = capacity - 1;
+    for (int i = 0; i < keys.length; i++) {
+      int slot = keys[i].hashCode() & mMask;
+      while (mSlots[slot] != 0) {
+        slot = (slot + 1) & mMask;
+      }
+      mSlots[slot] = i + 1;
+    }
+  }
+
+  /** Returns the position of the given key, or {@link #NOT_FOUND} if the map doesn't have it. */
+  public int indexOf(String key) {
+    int slot = key.hashCode() & mMask;
+    int entry;
+    while ((entry = mSlots[slot]) != 0) {
+      String candidate = mKeys[entry - 1];
+      if (candidate == key || candidate.equals(key)) {
+        return entry - 1;
+      }
+      slot = (slot + 1) & mMask;
+    }
+    return NOT_FOUND;
+  }
+
+  public int size() {
+    return mKeys.length;
+  }
+
+  public String keyAt(int index) {
+    return mKeys[index];
+  }
+}
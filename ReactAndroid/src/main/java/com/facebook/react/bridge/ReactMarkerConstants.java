@@ -94,6 +94,8 @@ public enum ReactMarkerConstants {
   JAVASCRIPT_EXECUTOR_FACTORY_INJECT_END,
   LOAD_REACT_NATIVE_SO_FILE_START,
   LOAD_REACT_NATIVE_SO_FILE_END,
+  PRELOAD_FONTS_START,
+  PRELOAD_FONTS_END,
   // Fabric-specific constants below this line
   LOAD_REACT_NATIVE_FABRIC_SO_FILE_START,
   LOAD_REACT_NATIVE_FABRIC_SO_FILE_END,
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge;
+
+import com.facebook.proguard.annotations.DoNotStrip;
+import java.lang.reflect.Method;
+
+/**
+ * Dispatches calls to the {@link ReactMethod}s of a native module without reflection. Classes
+ * implementing this interface are generated by {@code ReactModuleSpecProcessor} and named {@code
+ * <ModuleClassName>$$ReactMethodInvoker}; {@link JavaModuleWrapper} uses them when present and
+ * falls back to {@link JavaMethodWrapper} otherwise.
+ *
+ * <p>Methods are identified by their index, in the order in which they are exported to JS.
+ */
+@DoNotStrip
+public interface ReactMethodInvoker {
+
+  int getMethodCount();
+
+  String getMethodName(int methodId);
+
+  /**
+   * One of {@link BaseJavaModule#METHOD_TYPE_ASYNC}, {@link BaseJavaModule#METHOD_TYPE_PROMISE} or
+   * {@link BaseJavaModule#METHOD_TYPE_SYNC}.
+   */
+  String getMethodType(int methodId);
+
+  /** Signature in the format built by {@link JavaMethodWrapper#getSignature()}. */
+  String getMethodSignature(int methodId);
+
+  /** Number of JS arguments the method consumes, promises take two. */
+  int getJSArgumentsNeeded(int methodId);
+
+  /**
+   * Returns the reflected method, only used for synchronous methods which are called directly from
+   * C++.
+   */
+  Method getMethod(int methodId) throws NoSuchMethodException;
+
+  /**
+   * Extracts the arguments of the given method from {@code jsArguments} and calls it on {@code
+   * module}. Arguments of the wrong type are reported as {@link NativeArgumentsParseException}.
+   */
+  void invoke(
+      NativeModule module, int methodId, JSInstance jsInstance, ReadableArray jsArguments);
+}
@@ -12,6 +12,7 @@ import androidx.annotation.Nullable;
 import com.facebook.infer.annotation.Assertions;
 import com.facebook.jni.HybridData;
 import com.facebook.proguard.annotations.DoNotStrip;
+import com.facebook.react.config.ReactFeatureFlags;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
@@ -33,6 +34,11 @@ public class ReadableNativeMap extends NativeMap implements ReadableMap {
   private @Nullable String[] mKeys;
   private @Nullable HashMap<String, Object> mLocalMap;
   private @Nullable HashMap<String, ReadableType> mLocalTypeMap;
+  // Indexed access, see ReactFeatureFlags#useIndexedNativeMapAccess
+  private @Nullable NativeMapKeyIndex mKeyIndex;
+  private @Nullable ReadableType[] mIndexedTypes;
+  private @Nullable double[] mIndexedNumbers;
+  private @Nullable Object[] mIndexedValues;
   private static int mJniCallCounter;
 
   public static int getJNIPassCounter() {
@@ -90,13 +96,128 @@ public class ReadableNativeMap extends NativeMap implements ReadableMap {
 
   private native Object[] importTypes();
 
+  /**
+   * Returns number values as doubles, and boolean values as 1 or 0, in the order of {@link
+   * #importKeys()}. Entries of any other type are 0.
+   */
+  private native double[] importNumbers();
+
+  private NativeMapKeyIndex getKeyIndex() {
+    if (mKeyIndex != null) {
+      return mKeyIndex;
+    }
+    synchronized (this) {
+      if (mKeys == null) {
+        mKeys = Assertions.assertNotNull(importKeys());
+        mJniCallCounter++;
+      }
+      if (mKeyIndex == null) {
+        Object[] types = Assertions.assertNotNull(importTypes());
+        mJniCallCounter++;
+        mIndexedTypes = new ReadableType[types.length];
+        for (int i = 0; i < types.length; i++) {
+          mIndexedTypes[i] = (ReadableType) types[i];
+        }
+        mIndexedNumbers = Assertions.assertNotNull(importNumbers());
+        mJniCallCounter++;
+        mKeyIndex = new NativeMapKeyIndex(mKeys);
+      }
+    }
+    return mKeyIndex;
+  }
+
+  private Object[] getIndexedValues() {
+    if (mIndexedValues != null) {
+      return mIndexedValues;
+    }
+    getKeyIndex();
+    synchronized (this) {
+      if (mIndexedValues == null) {
+        mIndexedValues = Assertions.assertNotNull(importValues());
+        mJniCallCounter++;
+      }
+    }
+    return mIndexedValues;
+  }
+
+  private int getIndexOrThrow(String name) {
+    int index = getKeyIndex().indexOf(name);
+    if (index == NativeMapKeyIndex.NOT_FOUND) {
+      throw new NoSuchKeyException(name);
+    }
+    return index;
+  }
+
+  /**
+   * Returns the position of a key holding a value of the given type. Throws the same exceptions as
+   * the {@link HashMap} backed accessors: missing and null values are reported as missing keys.
+   */
+  private int getIndexOfType(String name, ReadableType expectedType, Class expectedClass) {
+    int index = getIndexOrThrow(name);
+    ReadableType type = Assertions.assertNotNull(mIndexedTypes)[index];
+    if (type == ReadableType.Null) {
+      throw new NoSuchKeyException(name);
+    }
+    if (type != expectedType) {
+      throw new UnexpectedNativeTypeException(
+          "Value for "
+              + name
+              + " cannot be cast from "
+              + type.name()
+              + " to "
+              + expectedClass.getSimpleName());
+    }
+    return index;
+  }
+
+  private @Nullable <T> T getIndexedNullableValue(String name, Class<T> type) {
+    Object value = getIndexedValues()[getIndexOrThrow(name)];
+    checkInstance(name, value, type);
+    return (T) value;
+  }
+
+  /**
+   * Returns the number of entries, for positional access with the {@code ...At} methods. Positions
+   * follow the order in which the keys are imported from native, whether or not {@link
+   * ReactFeatureFlags#useIndexedNativeMapAccess} is enabled.
+   */
+  public int getEntryCount() {
+    return getKeyIndex().size();
+  }
+
+  public String getKeyAt(int index) {
+    return getKeyIndex().keyAt(index);
+  }
+
+  public ReadableType getTypeAt(int index) {
+    getKeyIndex();
+    return Assertions.assertNotNull(mIndexedTypes)[index];
+  }
+
+  /** Returns a number as a double, or a boolean as 1 or 0, without boxing it. */
+  public double getNumberAt(int index) {
+    getKeyIndex();
+    return Assertions.assertNotNull(mIndexedNumbers)[index];
+  }
+
+  public @Nullable Object getValueAt(int index) {
+    return getIndexedValues()[index];
+  }
+
   @Override
   public boolean hasKey(@NonNull String name) {
+    if (ReactFeatureFlags.useIndexedNativeMapAccess) {
+      return getKeyIndex().indexOf(name) != NativeMapKeyIndex.NOT_FOUND;
+    }
     return getLocalMap().containsKey(name);
   }
 
   @Override
   public boolean isNull(@NonNull String name) {
+    if (ReactFeatureFlags.useIndexedNativeMapAccess) {
+      int index = getIndexOrThrow(name);
+      return Assertions.assertNotNull(mIndexedTypes)[index] == ReadableType.Null;
+    }
     if (getLocalMap().containsKey(name)) {
       return getLocalMap().get(name) == null;
     }
@@ -143,37 +264,62 @@ public class ReadableNativeMap extends NativeMap implements ReadableMap {
 
   @Override
   public boolean getBoolean(@NonNull String name) {
+    if (ReactFeatureFlags.useIndexedNativeMapAccess) {
+      int index = getIndexOfType(name, ReadableType.Boolean, Boolean.class);
+      return Assertions.assertNotNull(mIndexedNumbers)[index] != 0;
+    }
     return getValue(name, Boolean.class).booleanValue();
   }
 
   @Override
   public double getDouble(@NonNull String name) {
+    if (ReactFeatureFlags.useIndexedNativeMapAccess) {
+      int index = getIndexOfType(name, ReadableType.Number, Double.class);
+      return Assertions.assertNotNull(mIndexedNumbers)[index];
+    }
     return getValue(name, Double.class).doubleValue();
   }
 
   @Override
   public int getInt(@NonNull String name) {
+    if (ReactFeatureFlags.useIndexedNativeMapAccess) {
+      int index = getIndexOfType(name, ReadableType.Number, Double.class);
+      return (int) Assertions.assertNotNull(mIndexedNumbers)[index];
+    }
     // All numbers coming out of native are doubles, so cast here then truncate
     return getValue(name, Double.class).intValue();
   }
 
   @Override
   public @Nullable String getString(@NonNull String name) {
+    if (ReactFeatureFlags.useIndexedNativeMapAccess) {
+      return getIndexedNullableValue(name, String.class);
+    }
     return getNullableValue(name, String.class);
   }
 
   @Override
   public @Nullable ReadableArray getArray(@NonNull String name) {
+    if (ReactFeatureFlags.useIndexedNativeMapAccess) {
+      return getIndexedNullableValue(name, ReadableArray.class);
+    }
     return getNullableValue(name, ReadableArray.class);
   }
 
   @Override
   public @Nullable ReadableNativeMap getMap(@NonNull String name) {
+    if (ReactFeatureFlags.useIndexedNativeMapAccess) {
+      return getIndexedNullableValue(name, ReadableNativeMap.class);
+    }
     return getNullableValue(name, ReadableNativeMap.class);
   }
 
   @Override
   public @NonNull ReadableType getType(@NonNull String name) {
+    if (ReactFeatureFlags.useIndexedNativeMapAccess) {
+      int index = getIndexOrThrow(name);
+      return Assertions.assertNotNull(mIndexedTypes)[index];
+    }
     if (getLocalTypeMap().containsKey(name)) {
       return Assertions.assertNotNull(getLocalTypeMap().get(name));
     }
@@ -192,6 +338,9 @@ public class ReadableNativeMap extends NativeMap implements ReadableMap {
 
   @Override
   public @NonNull ReadableMapKeySetIterator keySetIterator() {
+    if (ReactFeatureFlags.useIndexedNativeMapAccess) {
+      return new IndexedKeySetIterator(getKeyIndex());
+    }
     return new ReadableNativeMapKeySetIterator(this);
   }
 
@@ -237,6 +386,25 @@ public class ReadableNativeMap extends NativeMap implements ReadableMap {
     return hashMap;
   }
 
+  private static class IndexedKeySetIterator implements ReadableMapKeySetIterator {
+    private final NativeMapKeyIndex mKeyIndex;
+    private int mNextIndex = 0;
+
+    public IndexedKeySetIterator(NativeMapKeyIndex keyIndex) {
+      mKeyIndex = keyIndex;
+    }
+
+    @Override
+    public boolean hasNextKey() {
+      return mNextIndex < mKeyIndex.size();
+    }
+
+    @Override
+    public String nextKey() {
+      return mKeyIndex.keyAt(mNextIndex++);
+    }
+  }
+
   private static class ReadableNativeMapKeySetIterator implements ReadableMapKeySetIterator {
     private final Iterator<String> mIterator;
 
@@ -7,22 +7,67 @@
 
 package com.facebook.react.bridge.queue;
 
+import android.os.Debug;
 import android.os.Handler;
 import android.os.Looper;
 import android.os.Message;
+import android.os.SystemClock;
+import androidx.annotation.Nullable;
 
-/** Handler that can catch and dispatch Exceptions to an Exception handler. */
+/**
+ * Handler that can catch and dispatch Exceptions to an Exception handler, and optionally records
+ * the latency of the messages it dispatches.
+ */
 public class MessageQueueThreadHandler extends Handler {
 
   private final QueueThreadExceptionHandler mExceptionHandler;
+  private final @Nullable MessageQueueThreadLatencyStats mLatencyStats;
+  // Only accessed from the thread of the looper.
+  private int mMessagesUntilSample = 0;
 
   public MessageQueueThreadHandler(Looper looper, QueueThreadExceptionHandler exceptionHandler) {
+    this(looper, exceptionHandler, null);
+  }
+
+  public MessageQueueThreadHandler(
+      Looper looper,
+      QueueThreadExceptionHandler exceptionHandler,
+      @Nullable MessageQueueThreadLatencyStats latencyStats) {
     super(looper);
     mExceptionHandler = exceptionHandler;
+    mLatencyStats = latencyStats;
   }
 
   @Override
   public void dispatchMessage(Message msg) {
+    MessageQueueThreadLatencyStats latencyStats = mLatencyStats;
+    if (latencyStats == null) {
+      dispatchMessageGuarded(msg);
+      return;
+    }
+
+    boolean sampled = --mMessagesUntilSample <= 0;
+    long startCpuTimeNs = -1;
+    if (sampled) {
+      mMessagesUntilSample = latencyStats.getSamplingInterval();
+      // Posted messages are due at the time they were posted, so this is the time spent queued.
+      latencyStats.recordQueueWait(SystemClock.uptimeMillis() - msg.getWhen());
+      startCpuTimeNs = Debug.threadCpuTimeNanos();
+    }
+    long startTimeNs = System.nanoTime();
+    try {
+      dispatchMessageGuarded(msg);
+    } finally {
+      long wallTimeNs = System.nanoTime() - startTimeNs;
+      latencyStats.recordExecution(wallTimeNs);
+      if (sampled) {
+        long cpuTimeNs = startCpuTimeNs < 0 ? -1 : Debug.threadCpuTimeNanos() - startCpuTimeNs;
+        latencyStats.recordSampledExecution(wallTimeNs, cpuTimeNs);
+      }
+    }
+  }
+
+  private void dispatchMessageGuarded(Message msg) {
     try {
       super.dispatchMessage(msg);
     } catch (Exception e) {
@@ -29,6 +29,7 @@ public class MessageQueueThreadImpl implements MessageQueueThread {
   private final Looper mLooper;
   private final MessageQueueThreadHandler mHandler;
   private final String mAssertionErrorMessage;
+  private final MessageQueueThreadLatencyStats mLatencyStats;
   private MessageQueueThreadPerfStats mPerfStats;
   private volatile boolean mIsFinished = false;
 
@@ -44,7 +45,8 @@ public class MessageQueueThreadImpl implements MessageQueueThread {
       MessageQueueThreadPerfStats stats) {
     mName = name;
     mLooper = looper;
-    mHandler = new MessageQueueThreadHandler(looper, exceptionHandler);
+    mLatencyStats = new MessageQueueThreadLatencyStats(name);
+    mHandler = new MessageQueueThreadHandler(looper, exceptionHandler, mLatencyStats);
     mPerfStats = stats;
     mAssertionErrorMessage = "Expected to be called from the '" + getName() + "' thread!";
   }
@@ -139,9 +141,15 @@ public class MessageQueueThreadImpl implements MessageQueueThread {
     return mPerfStats;
   }
 
+  /** Returns the latency of the tasks run on this queue since it was created or last reset. */
+  public MessageQueueThreadLatencyStats getLatencyStats() {
+    return mLatencyStats;
+  }
+
   @DoNotStrip
   @Override
   public void resetPerfStats() {
+    mLatencyStats.reset();
     assignToPerfStats(mPerfStats, -1, -1);
     runOnQueue(
         new Runnable() {
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge.queue;
+
+import com.facebook.react.common.LatencyHistogram;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency of the tasks run by a {@link MessageQueueThread}: how long they waited in the queue past
+ * the time they were due, and how much wall and CPU time they took to run. Tasks taking longer than
+ * the long task threshold are counted separately.
+ *
+ * <p>Every task is counted and checked against the long task threshold. Only one task out of the
+ * sampling interval is recorded in the histograms, as reading the CPU time of the thread would cost
+ * more than the smallest tasks themselves. Recording doesn't allocate or lock, so these stats are
+ * always collected. Queue wait times are in milliseconds, execution times in microseconds.
+ */
+public class MessageQueueThreadLatencyStats {
+
+  // A frame at 60Hz.
+  public static final long DEFAULT_LONG_TASK_THRESHOLD_MS = 16;
+  public static final int DEFAULT_SAMPLING_INTERVAL = 8;
+
+  private final String mName;
+  private final LatencyHistogram mQueueWaitHistogram = new LatencyHistogram();
+  private final LatencyHistogram mWallTimeHistogram = new LatencyHistogram();
+  private final LatencyHistogram mCpuTimeHistogram = new LatencyHistogram();
+  private final AtomicLong mTaskCount = new AtomicLong();
+  private final AtomicLong mLongTaskCount = new AtomicLong();
+  private volatile long mLongTaskThresholdUs = DEFAULT_LONG_TASK_THRESHOLD_MS * 1000;
+  private volatile int mSamplingInterval = DEFAULT_SAMPLING_INTERVAL;
+
+  public MessageQueueThreadLatencyStats(String name) {
+    mName = name;
+  }
+
+  /** Returns the name of the queue these stats are for. */
+  public String getName() {
+    return mName;
+  }
+
+  /** Milliseconds between the time a task was due and the time it started running. */
+  public LatencyHistogram getQueueWaitHistogram() {
+    return mQueueWaitHistogram;
+  }
+
+  /** Wall time taken to run a task, in microseconds. */
+  public LatencyHistogram getWallTimeHistogram() {
+    return mWallTimeHistogram;
+  }
+
+  /**
+   * CPU time taken to run a task, in microseconds. Empty on devices that can't measure the CPU time
+   * of a thread.
+   */
+  public LatencyHistogram getCpuTimeHistogram() {
+    return mCpuTimeHistogram;
+  }
+
+  /** Returns the number of tasks run. */
+  public long getTaskCount() {
+    return mTaskCount.get();
+  }
+
+  /** Returns the number of tasks whose wall time exceeded the long task threshold. */
+  public long getLongTaskCount() {
+    return mLongTaskCount.get();
+  }
+
+  public void setLongTaskThresholdMs(long thresholdMs) {
+    mLongTaskThresholdUs = thresholdMs * 1000;
+  }
+
+  public int getSamplingInterval() {
+    return mSamplingInterval;
+  }
+
+  /** Records one task out of {@code interval} in the histograms, or every task if it's 1. */
+  public void setSamplingInterval(int interval) {
+    if (interval < 1) {
+      throw new IllegalArgumentException("Sampling interval must be at least 1, got " + interval);
+    }
+    mSamplingInterval = interval;
+  }
+
+  public void reset() {
+    mQueueWaitHistogram.reset();
+    mWallTimeHistogram.reset();
+    mCpuTimeHistogram.reset();
+    mTaskCount.set(0);
+    mLongTaskCount.set(0);
+  }
+
+  /* package */ void recordQueueWait(long waitMs) {
+    mQueueWaitHistogram.record(waitMs);
+  }
+
+  /* package */ void recordExecution(long wallTimeNs) {
+    mTaskCount.incrementAndGet();
+    if (wallTimeNs / 1000 > mLongTaskThresholdUs) {
+      mLongTaskCount.incrementAndGet();
+    }
+  }
+
+  /** @param cpuTimeNs the CPU time taken by the task, or a negative value if unknown */
+  /* package */ void recordSampledExecution(long wallTimeNs, long cpuTimeNs) {
+    mWallTimeHistogram.record(wallTimeNs / 1000);
+    if (cpuTimeNs >= 0) {
+      mCpuTimeHistogram.record(cpuTimeNs / 1000);
+    }
+  }
+}
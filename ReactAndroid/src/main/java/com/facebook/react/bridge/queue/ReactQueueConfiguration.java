@@ -7,6 +7,8 @@
 
 package com.facebook.react.bridge.queue;
 
+import java.util.Map;
+
 /**
  * Specifies which {@link MessageQueueThread}s must be used to run the various contexts of execution
  * within catalyst (Main UI thread, native modules, and JS). Some of these queues *may* be the same
@@ -23,5 +25,11 @@ public interface ReactQueueConfiguration {
 
   MessageQueueThread getJSQueueThread();
 
+  /**
+   * Returns the task latency stats of the UI, native modules and JS queues, by queue name. Queues
+   * that share a thread share their stats.
+   */
+  Map<String, MessageQueueThreadLatencyStats> getLatencyStats();
+
   void destroy();
 }
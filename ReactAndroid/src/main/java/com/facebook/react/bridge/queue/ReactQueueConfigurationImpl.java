@@ -41,6 +41,16 @@ public class ReactQueueConfigurationImpl implements ReactQueueConfiguration {
     return mJSQueueThread;
   }
 
+  @Override
+  public Map<String, MessageQueueThreadLatencyStats> getLatencyStats() {
+    Map<String, MessageQueueThreadLatencyStats> latencyStats = MapBuilder.newHashMap();
+    for (MessageQueueThreadImpl thread :
+        new MessageQueueThreadImpl[] {mUIQueueThread, mNativeModulesQueueThread, mJSQueueThread}) {
+      latencyStats.put(thread.getName(), thread.getLatencyStats());
+    }
+    return latencyStats;
+  }
+
   /**
    * Should be called when the corresponding {@link com.facebook.react.bridge.CatalystInstance} is
    * destroyed so that we shut down the proper queue threads.
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.common;
+
+import androidx.annotation.Nullable;
+import java.util.Arrays;
+
+/**
+ * Hash map from int keys to non-null values. Like a HashMap<Integer, V> but without the autoboxing,
+ * and unlike SparseArray lookups take constant time, which matters for maps of thousands of react
+ * tags. Not thread safe.
+ */
+public class IntObjectMap<V> {
+
+  private static final int DEFAULT_CAPACITY = 16;
+  private static final float LOAD_FACTOR = 0.5f;
+
+  // Open addressing with linear probing, a slot is empty when its value is null.
+  private int[] mKeys;
+  private Object[] mValues;
+  private int mSize;
+
+  public IntObjectMap() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public IntObjectMap(int initialCapacity) {
+    int capacity = 2;
+    while (capacity * LOAD_FACTOR < initialCapacity) {
+      capacity <<= 1;
+    }
+    allocate(capacity);
+  }
+
+  public int size() {
+    return mSize;
+  }
+
+  public boolean isEmpty() {
+    return mSize == 0;
+  }
+
+  @SuppressWarnings("unchecked")
+  public @Nullable V get(int key) {
+    int mask = mKeys.length - 1;
+    for (int slot = hash(key) & mask; mValues[slot] != null; slot = (slot + 1) & mask) {
+      if (mKeys[slot] == key) {
+        return (V) mValues[slot];
+      }
+    }
+    return null;
+  }
+
+  public boolean containsKey(int key) {
+    return get(key) != null;
+  }
+
+  /** @return the value previously associated with the key, or null */
+  @SuppressWarnings("unchecked")
+  public @Nullable V put(int key, V value) {
+    if (value == null) {
+      throw new IllegalArgumentException("IntObjectMap doesn't support null values");
+    }
+    int mask = mKeys.length - 1;
+    int slot = hash(key) & mask;
+    for (; mValues[slot] != null; slot = (slot + 1) & mask) {
+      if (mKeys[slot] == key) {
+        V previous = (V) mValues[slot];
+        mValues[slot] = value;
+        return previous;
+      }
+    }
+    mKeys[slot] = key;
+    mValues[slot] = value;
+    mSize++;
+    if (mSize > mKeys.length * LOAD_FACTOR) {
+      rehash(mKeys.length << 1);
+    }
+    return null;
+  }
+
+  /** @return the value that was associated with the key, or null */
+  @SuppressWarnings("unchecked")
+  public @Nullable V remove(int key) {
+    int mask = mKeys.length - 1;
+    int slot = hash(key) & mask;
+    for (; mValues[slot] != null; slot = (slot + 1) & mask) {
+      if (mKeys[slot] == key) {
+        V removed = (V) mValues[slot];
+        shiftEntriesBack(slot);
+        mSize--;
+        return removed;
+      }
+    }
+    return null;
+  }
+
+  public void clear() {
+    Arrays.fill(mValues, null);
+    mSize = 0;
+  }
+
+  /**
+   * Empties the given slot, moving back the entries that follow it in the same cluster so that
+   * lookups never stop early at a removed entry.
+   */
+  private void shiftEntriesBack(int emptySlot) {
+    int mask = mKeys.length - 1;
+    int slot = emptySlot;
+    while (true) {
+      slot = (slot + 1) & mask;
+      if (mValues[slot] == null) {
+        break;
+      }
+      int idealSlot = hash(mKeys[slot]) & mask;
+      // Move the entry unless its ideal slot lies cyclically in (emptySlot, slot].
+      boolean stays =
+          emptySlot <= slot
+              ? emptySlot < idealSlot && idealSlot <= slot
+              : emptySlot < idealSlot || idealSlot <= slot;
+      if (!stays) {
+        mKeys[emptySlot] = mKeys[slot];
+        mValues[emptySlot] = mValues[slot];
+        emptySlot = slot;
+      }
+    }
+    mValues[emptySlot] = null;
+  }
+
+  private void rehash(int capacity) {
+    int[] keys = mKeys;
+    Object[] values = mValues;
+    allocate(capacity);
+    int mask = capacity - 1;
+    for (int i = 0; i < keys.length; i++) {
+      if (values[i] != null) {
+        int slot = hash(keys[i]) & mask;
+        while (mValues[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+        mKeys[slot] = keys[i];
+        mValues[slot] = values[i];
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    mKeys = new int[capacity];
+    mValues = new Object[capacity];
+  }
+
+  private static int hash(int key) {
+    // React tags are mostly consecutive, spread them over the table.
+    int h = key * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.common;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread safe histogram of non-negative latencies with power-of-two buckets: bucket {@code i}
+ * counts the values in {@code [2^(i-1), 2^i)}, and bucket 0 counts zeros. The histogram doesn't
+ * care about the unit of the values it records, that's up to the caller.
+ *
+ * <p>Recording a value never allocates or locks, so this is cheap enough to leave on in
+ * production. Percentiles are estimated as the upper bound of the bucket they fall into.
+ */
+public class LatencyHistogram {
+
+  private static final int BUCKET_COUNT = 64;
+
+  private final AtomicLongArray mBuckets = new AtomicLongArray(BUCKET_COUNT);
+  private final AtomicLong mCount = new AtomicLong();
+  private final AtomicLong mSum = new AtomicLong();
+  private final AtomicLong mMax = new AtomicLong();
+
+  public void record(long value) {
+    if (value < 0) {
+      value = 0;
+    }
+    mBuckets.incrementAndGet(bucketFor(value));
+    mCount.incrementAndGet();
+    mSum.addAndGet(value);
+    long max;
+    do {
+      max = mMax.get();
+    } while (value > max && !mMax.compareAndSet(max, value));
+  }
+
+  public long getCount() {
+    return mCount.get();
+  }
+
+  public long getMax() {
+    return mMax.get();
+  }
+
+  public double getMean() {
+    long count = mCount.get();
+    return count == 0 ? 0 : (double) mSum.get() / count;
+  }
+
+  /**
+   * Returns an estimate of the given percentile (between 0 and 100) of the recorded values, or 0
+   * if nothing was recorded yet.
+   */
+  public long getPercentile(double percentile) {
+    long count = mCount.get();
+    if (count == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+    long seen = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      seen += mBuckets.get(i);
+      if (seen >= rank) {
+        return Math.min(getBucketUpperBound(i), mMax.get());
+      }
+    }
+    return mMax.get();
+  }
+
+  public int getBucketCount() {
+    return BUCKET_COUNT;
+  }
+
+  /** Returns the number of values recorded in the given bucket. */
+  public long getBucketValueCount(int bucket) {
+    return mBuckets.get(bucket);
+  }
+
+  /** Returns the largest value that falls into the given bucket. */
+  public static long getBucketUpperBound(int bucket) {
+    return bucket == BUCKET_COUNT - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+  }
+
+  public void reset() {
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      mBuckets.set(i, 0);
+    }
+    mCount.set(0);
+    mSum.set(0);
+    mMax.set(0);
+  }
+
+  private static int bucketFor(long value) {
+    return Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(value));
+  }
+}
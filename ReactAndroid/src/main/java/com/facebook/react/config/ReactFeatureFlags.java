@@ -25,6 +25,12 @@ public class ReactFeatureFlags {
   /** Reduce the number of Java-JS interops while accessing native maps */
   public static boolean useMapNativeAccessor = false;
 
+  /**
+   * Serve {@link com.facebook.react.bridge.ReadableNativeMap} reads from a key index and unboxed
+   * number array instead of materializing the whole map into a HashMap on first access
+   */
+  public static boolean useIndexedNativeMapAccess = false;
+
   /**
    * Should this application use TurboModules? If yes, then any module that inherits {@link
    * com.facebook.react.turbomodule.core.interfaces.TurboModule} will NOT be passed in to C++
@@ -90,4 +96,73 @@ public class ReactFeatureFlags {
    * <p>The react flag is disabled by default because this is increasing ANRs (T57363204)
    */
   public static boolean clipChildRectsIfOverflowIsHidden = false;
+
+  /**
+   * Enables incremental mounting in {@link com.facebook.react.uimanager.UIViewOperationQueue}:
+   * views created by a batch are prepared off-screen across several frames, and are attached to the
+   * visible hierarchy atomically once they are all ready.
+   */
+  public static boolean enableIncrementalMount = false;
+
+  /**
+   * Calculate the layout of independent root views concurrently on a small thread pool in {@link
+   * com.facebook.react.uimanager.UIImplementation}, instead of one after the other on the native
+   * modules thread.
+   */
+  public static boolean enableParallelRootLayout = false;
+
+  /**
+   * Apply props through the positional setters generated for view managers and shadow nodes, which
+   * dispatch on interned property ids and read numbers and booleans without boxing them, instead of
+   * switching on the name of each property.
+   */
+  public static boolean useIndexedPropSetters = false;
+
+  /**
+   * Reuse views dropped from the hierarchy when creating views of the same type, for the view
+   * managers that opt in with {@link com.facebook.react.uimanager.ViewManager#getMaxRecycledViews}.
+   */
+  public static boolean enableViewRecycling = false;
+
+  /**
+   * Create the views of the next batches in {@link
+   * com.facebook.react.uimanager.UIViewOperationQueue} with the time left at the end of each
+   * frame, in addition to the start of the frame, so that fewer views are created while the batch
+   * inserting them is executed.
+   */
+  public static boolean enableIdleViewPreallocation = false;
+
+  /**
+   * Keep the views preallocated by Fabric for renders that were not committed yet in a separate,
+   * lower priority lane, so that they don't delay mounting the commits already scheduled.
+   */
+  public static boolean enableFabricPreallocationLanes = false;
+
+  /**
+   * Let native driven animations of opacity and of transforms made of translations and scales set
+   * the view properties directly, instead of building a props map for the view manager.
+   */
+  public static boolean enableDirectAnimatedPropsUpdates = false;
+
+  /**
+   * Cache the layouts built to measure text, and let {@link
+   * com.facebook.react.views.text.ReactTextView} draw the layout of the last measurement when it
+   * fits the view, so that text is laid out once per commit instead of once more on the UI thread.
+   */
+  public static boolean enableTextLayoutCache = false;
+
+  /**
+   * Turn long texts of the legacy renderer into {@link android.text.PrecomputedText} on the layout
+   * thread on Android P and above, so that {@link com.facebook.react.views.text.ReactTextView}
+   * doesn't shape their glyphs again on the UI thread.
+   */
+  public static boolean enablePrecomputedText = false;
+
+  /**
+   * Always request images at the size of their {@link
+   * com.facebook.react.views.image.ReactImageView} unless their resize method is "scale", so that
+   * decoded bitmaps don't use more memory than what's drawn. Must be set before Fresco is
+   * initialized, as it enables downsampling in the image pipeline.
+   */
+  public static boolean enableImageDecodeSizeHints = false;
 }
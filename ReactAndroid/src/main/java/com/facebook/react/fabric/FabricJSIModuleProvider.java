@@ -23,6 +23,7 @@ import com.facebook.react.fabric.mounting.mountitems.DeleteMountItem;
 import com.facebook.react.fabric.mounting.mountitems.DispatchCommandMountItem;
 import com.facebook.react.fabric.mounting.mountitems.DispatchStringCommandMountItem;
 import com.facebook.react.fabric.mounting.mountitems.InsertMountItem;
+import com.facebook.react.fabric.mounting.mountitems.IntBufferBatchMountItem;
 import com.facebook.react.fabric.mounting.mountitems.MountItem;
 import com.facebook.react.fabric.mounting.mountitems.PreAllocateViewMountItem;
 import com.facebook.react.fabric.mounting.mountitems.RemoveMountItem;
@@ -111,6 +112,7 @@ public class FabricJSIModuleProvider implements JSIModuleProvider<UIManager> {
     DispatchCommandMountItem.class.getClass();
     DispatchStringCommandMountItem.class.getClass();
     InsertMountItem.class.getClass();
+    IntBufferBatchMountItem.class.getClass();
     MountItem.class.getClass();
     RemoveMountItem.class.getClass();
     UpdateEventEmitterMountItem.class.getClass();
@@ -47,12 +47,14 @@ import com.facebook.react.fabric.events.EventBeatManager;
 import com.facebook.react.fabric.events.EventEmitterWrapper;
 import com.facebook.react.fabric.events.FabricEventEmitter;
 import com.facebook.react.fabric.mounting.MountingManager;
+import com.facebook.react.fabric.mounting.mountitems.AddRootViewMountItem;
 import com.facebook.react.fabric.mounting.mountitems.BatchMountItem;
 import com.facebook.react.fabric.mounting.mountitems.CreateMountItem;
 import com.facebook.react.fabric.mounting.mountitems.DeleteMountItem;
 import com.facebook.react.fabric.mounting.mountitems.DispatchCommandMountItem;
 import com.facebook.react.fabric.mounting.mountitems.DispatchStringCommandMountItem;
 import com.facebook.react.fabric.mounting.mountitems.InsertMountItem;
+import com.facebook.react.fabric.mounting.mountitems.IntBufferBatchMountItem;
 import com.facebook.react.fabric.mounting.mountitems.MountItem;
 import com.facebook.react.fabric.mounting.mountitems.PreAllocateViewMountItem;
 import com.facebook.react.fabric.mounting.mountitems.RemoveDeleteMultiMountItem;
@@ -75,7 +77,9 @@ import com.facebook.react.uimanager.events.EventDispatcher;
 import com.facebook.systrace.Systrace;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -116,11 +120,32 @@ public class FabricUIManager implements UIManager, LifecycleEventListener {
   @NonNull
   private List<MountItem> mMountItems = new ArrayList<>();
 
+  /**
+   * List swapped with {@link #mMountItems} when the mount items are dispatched, so that a new list
+   * isn't allocated for every frame. Null while it is being dispatched.
+   */
+  @ThreadConfined(UI)
+  @Nullable
+  private List<MountItem> mMountItemsToDispatch = new ArrayList<>();
+
+  /**
+   * Preallocations of views that the scheduled commits insert, which must be executed before the
+   * scheduled mount items.
+   */
   @GuardedBy("mPreMountItemsLock")
   @NonNull
   private ArrayDeque<MountItem> mPreMountItems =
       new ArrayDeque<>(PRE_MOUNT_ITEMS_INITIAL_SIZE_ARRAY);
 
+  /**
+   * Preallocations requested since the last commit was scheduled, for views of renders that were
+   * not committed yet. They are only executed with the time left in frames, and are moved to
+   * {@link #mPreMountItems} when the next commit is scheduled.
+   */
+  @GuardedBy("mPreMountItemsLock")
+  @NonNull
+  private ArrayDeque<PreAllocateViewMountItem> mSpeculativePreMountItems = new ArrayDeque<>();
+
   @ThreadConfined(UI)
   @NonNull
   private final DispatchUIFrameCallback mDispatchUIFrameCallback;
@@ -145,6 +170,14 @@ public class FabricUIManager implements UIManager, LifecycleEventListener {
   private long mLayoutTime = 0l;
   private long mFinishTransactionTime = 0l;
   private long mFinishTransactionCPPTime = 0l;
+  private long mPreallocatedViewCount = 0l;
+  private long mPreallocatedViewBeforeMountCount = 0l;
+  private long mSpeculativePreallocatedViewCount = 0l;
+  private long mPreMountFrameCount = 0l;
+  private long mPreMountMaxFrameTime = 0l;
+
+  @GuardedBy("mPreMountItemsLock")
+  private long mCancelledPreallocationCount = 0l;
 
   // C++ keeps track of commit numbers for telemetry purposes. We don't want to incur a JNI
   // round-trip cost just for this, so commits from C++ are numbered 0+ and synchronous commits
@@ -167,8 +200,8 @@ public class FabricUIManager implements UIManager, LifecycleEventListener {
 
   // TODO (T47819352): Rename this to startSurface for consistency with xplat/iOS
   @Override
-  @UiThread
-  @ThreadConfined(UI)
+  @AnyThread
+  @ThreadConfined(ANY)
   public <T extends View> int addRootView(
       final T rootView, final WritableMap initialProps, final @Nullable String initialUITemplate) {
     final int rootTag = ReactRootViewTagGenerator.getNextRootViewTag();
@@ -178,7 +211,7 @@ public class FabricUIManager implements UIManager, LifecycleEventListener {
     ThemedReactContext reactContext =
         new ThemedReactContext(
             mReactApplicationContext, rootView.getContext(), reactRootView.getSurfaceID());
-    mMountingManager.addRootView(rootTag, rootView);
+    addRootViewOnUiThread(rootTag, rootView);
     String moduleName = reactRootView.getJSModuleName();
     mReactContextForRootTag.put(rootTag, reactContext);
     if (ENABLE_FABRIC_LOGS) {
@@ -205,7 +238,7 @@ public class FabricUIManager implements UIManager, LifecycleEventListener {
     if (ENABLE_FABRIC_LOGS) {
       FLog.d(TAG, "Starting surface for module: %s and reactTag: %d", moduleName, rootTag);
     }
-    mMountingManager.addRootView(rootTag, rootView);
+    addRootViewOnUiThread(rootTag, rootView);
     mReactContextForRootTag.put(rootTag, reactContext);
     mBinding.startSurfaceWithConstraints(
         rootTag,
@@ -218,6 +251,23 @@ public class FabricUIManager implements UIManager, LifecycleEventListener {
     return rootTag;
   }
 
+  /**
+   * Adds the root view to the mounting manager, whose view states are only modified on the UI
+   * thread. Outside of it, the root view is queued ahead of the first commit of the surface, which
+   * keeps it added before any of the mount items of the surface run.
+   */
+  @AnyThread
+  @ThreadConfined(ANY)
+  private void addRootViewOnUiThread(int rootTag, @NonNull View rootView) {
+    if (UiThreadUtil.isOnUiThread()) {
+      mMountingManager.addRootView(rootTag, rootView);
+    } else {
+      synchronized (mMountItemsLock) {
+        mMountItems.add(new AddRootViewMountItem(rootTag, rootView));
+      }
+    }
+  }
+
   /** Method called when an event has been dispatched on the C++ side. */
   @DoNotStrip
   @SuppressWarnings("unused")
@@ -228,9 +278,69 @@ public class FabricUIManager implements UIManager, LifecycleEventListener {
   @AnyThread
   @ThreadConfined(ANY)
   public void stopSurface(int surfaceID) {
+    cancelPreallocations(surfaceID);
     mBinding.stopSurface(surfaceID);
   }
 
+  /** Drops the preallocations of views of the given surface that were not executed yet. */
+  @AnyThread
+  @ThreadConfined(ANY)
+  private void cancelPreallocations(int rootTag) {
+    synchronized (mPreMountItemsLock) {
+      Iterator<MountItem> iterator = mPreMountItems.iterator();
+      while (iterator.hasNext()) {
+        MountItem mountItem = iterator.next();
+        if (mountItem instanceof PreAllocateViewMountItem
+            && ((PreAllocateViewMountItem) mountItem).getRootTag() == rootTag) {
+          iterator.remove();
+          mCancelledPreallocationCount++;
+        }
+      }
+      Iterator<PreAllocateViewMountItem> speculativeIterator = mSpeculativePreMountItems.iterator();
+      while (speculativeIterator.hasNext()) {
+        if (speculativeIterator.next().getRootTag() == rootTag) {
+          speculativeIterator.remove();
+          mCancelledPreallocationCount++;
+        }
+      }
+    }
+  }
+
+  /**
+   * Drops the speculative preallocations of the given views that were not executed yet, as the
+   * commit being built deletes them. Preallocations that were moved to {@link #mPreMountItems} are
+   * kept, as a scheduled commit that is not mounted yet may insert the view before this one deletes
+   * it. Sorts the given array.
+   */
+  @AnyThread
+  @ThreadConfined(ANY)
+  private void cancelSpeculativePreallocationsOfViews(@NonNull int[] reactTags) {
+    if (reactTags.length == 0) {
+      return;
+    }
+    Arrays.sort(reactTags);
+    synchronized (mPreMountItemsLock) {
+      Iterator<PreAllocateViewMountItem> iterator = mSpeculativePreMountItems.iterator();
+      while (iterator.hasNext()) {
+        if (Arrays.binarySearch(reactTags, iterator.next().getReactTag()) >= 0) {
+          iterator.remove();
+          mCancelledPreallocationCount++;
+        }
+      }
+    }
+  }
+
+  @AnyThread
+  @ThreadConfined(ANY)
+  private boolean hasSpeculativePreallocations() {
+    if (!ReactFeatureFlags.enableFabricPreallocationLanes) {
+      return false;
+    }
+    synchronized (mPreMountItemsLock) {
+      return !mSpeculativePreMountItems.isEmpty();
+    }
+  }
+
   @Override
   public void initialize() {
     mEventDispatcher.registerEventEmitter(FABRIC, new FabricEventEmitter(this));
@@ -290,16 +400,21 @@ public class FabricUIManager implements UIManager, LifecycleEventListener {
       boolean isLayoutable) {
     ThemedReactContext context = mReactContextForRootTag.get(rootTag);
     String component = getFabricComponentName(componentName);
+    PreAllocateViewMountItem preAllocateViewMountItem =
+        new PreAllocateViewMountItem(
+            context,
+            rootTag,
+            reactTag,
+            component,
+            props,
+            (StateWrapper) stateWrapper,
+            isLayoutable);
     synchronized (mPreMountItemsLock) {
-      mPreMountItems.add(
-          new PreAllocateViewMountItem(
-              context,
-              rootTag,
-              reactTag,
-              component,
-              props,
-              (StateWrapper) stateWrapper,
-              isLayoutable));
+      if (ReactFeatureFlags.enableFabricPreallocationLanes) {
+        mSpeculativePreMountItems.add(preAllocateViewMountItem);
+      } else {
+        mPreMountItems.add(preAllocateViewMountItem);
+      }
     }
   }
 
@@ -350,6 +465,9 @@ public class FabricUIManager implements UIManager, LifecycleEventListener {
   @AnyThread
   @ThreadConfined(ANY)
   private MountItem deleteMountItem(int reactTag) {
+    if (hasSpeculativePreallocations()) {
+      cancelSpeculativePreallocationsOfViews(new int[] {reactTag});
+    }
     return new DeleteMountItem(reactTag);
   }
 
@@ -358,7 +476,11 @@ public class FabricUIManager implements UIManager, LifecycleEventListener {
   @AnyThread
   @ThreadConfined(ANY)
   private MountItem removeDeleteMultiMountItem(int[] metadata) {
-    return new RemoveDeleteMultiMountItem(metadata);
+    RemoveDeleteMultiMountItem mountItem = new RemoveDeleteMultiMountItem(metadata);
+    if (hasSpeculativePreallocations()) {
+      cancelSpeculativePreallocationsOfViews(mountItem.getDeletedTags());
+    }
+    return mountItem;
   }
 
   @DoNotStrip
@@ -418,6 +540,28 @@ public class FabricUIManager implements UIManager, LifecycleEventListener {
     return new BatchMountItem(items, size, commitNumber);
   }
 
+  @DoNotStrip
+  @SuppressWarnings("unused")
+  @AnyThread
+  @ThreadConfined(ANY)
+  private int[] obtainIntBufferForBatch(int minLength) {
+    return IntBufferBatchMountItem.obtainBuffer(minLength);
+  }
+
+  @DoNotStrip
+  @SuppressWarnings("unused")
+  @AnyThread
+  @ThreadConfined(ANY)
+  private MountItem createIntBufferBatchMountItem(
+      int[] intBuffer, int intBufferLength, MountItem[] items, int size, int commitNumber) {
+    IntBufferBatchMountItem batchMountItem =
+        new IntBufferBatchMountItem(intBuffer, intBufferLength, items, size, commitNumber);
+    if (hasSpeculativePreallocations()) {
+      cancelSpeculativePreallocationsOfViews(batchMountItem.getDeletedTags());
+    }
+    return batchMountItem;
+  }
+
   @DoNotStrip
   @SuppressWarnings("unused")
   private long measure(
@@ -520,11 +664,20 @@ public class FabricUIManager implements UIManager, LifecycleEventListener {
       long finishTransactionEndTime) {
     // TODO T31905686: support multithreading
     // When Binding.cpp calls scheduleMountItems during a commit phase, it always calls with
-    // a BatchMountItem. No other sites call into this with a BatchMountItem, and Binding.cpp only
-    // calls scheduleMountItems with a BatchMountItem.
-    boolean isBatchMountItem = mountItem instanceof BatchMountItem;
+    // a BatchMountItem or an IntBufferBatchMountItem. No other sites call into this with a batch,
+    // and Binding.cpp only calls scheduleMountItems with a batch.
+    boolean isBatchMountItem =
+        mountItem instanceof BatchMountItem || mountItem instanceof IntBufferBatchMountItem;
 
     if (isBatchMountItem) {
+      // The views preallocated so far belong to this commit or to earlier ones, so they have to be
+      // created before it is mounted.
+      synchronized (mPreMountItemsLock) {
+        if (!mSpeculativePreMountItems.isEmpty()) {
+          mPreMountItems.addAll(mSpeculativePreMountItems);
+          mSpeculativePreMountItems.clear();
+        }
+      }
       mCommitStartTime = commitStartTime;
       mLayoutTime = layoutEndTime - layoutStartTime;
       mFinishTransactionCPPTime = finishTransactionEndTime - finishTransactionStartTime;
@@ -583,7 +736,9 @@ public class FabricUIManager implements UIManager, LifecycleEventListener {
         return;
       }
       mountItemsToDispatch = mMountItems;
-      mMountItems = new ArrayList<>();
+      // The spare list is taken when dispatchMountItems is reentered while executing mount items.
+      mMountItems = mMountItemsToDispatch != null ? mMountItemsToDispatch : new ArrayList<>();
+      mMountItemsToDispatch = null;
     }
 
     // If there are MountItems to dispatch, we make sure all the "pre mount items" are executed
@@ -600,6 +755,7 @@ public class FabricUIManager implements UIManager, LifecycleEventListener {
           "FabricUIManager::mountViews preMountItems to execute: "
               + mPreMountItemsToDispatch.size());
 
+      mPreallocatedViewBeforeMountCount += mPreMountItemsToDispatch.size();
       while (!mPreMountItemsToDispatch.isEmpty()) {
         mPreMountItemsToDispatch.pollFirst().execute(mMountingManager);
       }
@@ -623,6 +779,8 @@ public class FabricUIManager implements UIManager, LifecycleEventListener {
       }
       mountItem.execute(mMountingManager);
     }
+    mountItemsToDispatch.clear();
+    mMountItemsToDispatch = mountItemsToDispatch;
     mBatchedExecutionTime = SystemClock.uptimeMillis() - batchedExecutionStartTime;
     Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
   }
@@ -632,21 +790,35 @@ public class FabricUIManager implements UIManager, LifecycleEventListener {
   private void dispatchPreMountItems(long frameTimeNanos) {
     Systrace.beginSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "FabricUIManager::premountViews");
 
+    long startTime = SystemClock.uptimeMillis();
+    int dispatchedCount = 0;
     while (true) {
       long timeLeftInFrame = FRAME_TIME_MS - ((System.nanoTime() - frameTimeNanos) / 1000000);
       if (timeLeftInFrame < MAX_TIME_IN_FRAME_FOR_NON_BATCHED_OPERATIONS_MS) {
         break;
       }
 
+      // Views of scheduled commits first, then the ones of renders that are not committed yet.
       MountItem preMountItemsToDispatch;
       synchronized (mPreMountItemsLock) {
-        if (mPreMountItems.isEmpty()) {
+        if (!mPreMountItems.isEmpty()) {
+          preMountItemsToDispatch = mPreMountItems.pollFirst();
+        } else if (!mSpeculativePreMountItems.isEmpty()) {
+          preMountItemsToDispatch = mSpeculativePreMountItems.pollFirst();
+          mSpeculativePreallocatedViewCount++;
+        } else {
           break;
         }
-        preMountItemsToDispatch = mPreMountItems.pollFirst();
       }
 
       preMountItemsToDispatch.execute(mMountingManager);
+      dispatchedCount++;
+    }
+    if (dispatchedCount > 0) {
+      mPreallocatedViewCount += dispatchedCount;
+      mPreMountFrameCount++;
+      mPreMountMaxFrameTime =
+          Math.max(mPreMountMaxFrameTime, SystemClock.uptimeMillis() - startTime);
     }
     Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
   }
@@ -700,7 +872,10 @@ public class FabricUIManager implements UIManager, LifecycleEventListener {
   }
 
   @Override
-  public void onHostDestroy() {}
+  public void onHostDestroy() {
+    // Pooled views would keep the destroyed Activity alive.
+    mMountingManager.trimRecycledViews();
+  }
 
   @Deprecated
   @Override
@@ -785,6 +960,16 @@ public class FabricUIManager implements UIManager, LifecycleEventListener {
     performanceCounters.put("BatchedExecutionTime", mBatchedExecutionTime);
     performanceCounters.put("FinishFabricTransactionTime", mFinishTransactionTime);
     performanceCounters.put("FinishFabricTransactionCPPTime", mFinishTransactionCPPTime);
+    performanceCounters.put("PreallocatedViewCount", mPreallocatedViewCount);
+    performanceCounters.put("PreallocatedViewBeforeMountCount", mPreallocatedViewBeforeMountCount);
+    performanceCounters.put("SpeculativePreallocatedViewCount", mSpeculativePreallocatedViewCount);
+    performanceCounters.put("PreMountFrameCount", mPreMountFrameCount);
+    performanceCounters.put("PreMountMaxFrameTime", mPreMountMaxFrameTime);
+    synchronized (mPreMountItemsLock) {
+      performanceCounters.put("CancelledPreallocationCount", mCancelledPreallocationCount);
+    }
+    performanceCounters.put(
+        "WastedPreallocatedViewCount", (long) mMountingManager.getWastedPreallocatedViewCount());
     return performanceCounters;
   }
 
@@ -46,6 +46,14 @@ struct JMountItem : public JavaClass<JMountItem> {
 static constexpr auto UIManagerJavaDescriptor =
     "com/facebook/react/fabric/FabricUIManager";
 
+// Opcodes of IntBufferBatchMountItem, keep in sync with the Java side.
+constexpr jint IntBufferInstructionMountItem = 1;
+constexpr jint IntBufferInstructionInsert = 2;
+constexpr jint IntBufferInstructionRemove = 3;
+constexpr jint IntBufferInstructionDelete = 4;
+constexpr jint IntBufferInstructionUpdateLayout = 5;
+constexpr jint IntBufferInstructionUpdatePadding = 6;
+
 struct RemoveDeleteMetadata {
   Tag tag;
   Tag parentTag;
@@ -242,6 +250,8 @@ void Binding::installFabricUIManager(
 
   disablePreallocateViews_ = reactNativeConfig_->getBool("react_fabric:disabled_view_preallocation_android");
 
+  useIntBufferBatchMountItem_ = reactNativeConfig_->getBool("react_fabric:enable_int_buffer_batch_mount_item_android");
+
   auto toolbox = SchedulerToolbox{};
   toolbox.contextContainer = contextContainer;
   toolbox.componentRegistryFactory = componentsRegistry->buildRegistryFunction;
@@ -386,6 +396,53 @@ local_ref<JMountItem::javaobject> createUpdatePaddingMountItem(
   return updateLayoutInstruction(javaUIManager, newChildShadowView.tag, left, top, right, bottom);
 }
 
+bool writeUpdateLayoutInstruction(
+    std::vector<jint> &intBuffer,
+    const ShadowViewMutation &mutation) {
+  auto oldChildShadowView = mutation.oldChildShadowView;
+  auto newChildShadowView = mutation.newChildShadowView;
+
+  if (newChildShadowView.layoutMetrics == EmptyLayoutMetrics ||
+      oldChildShadowView.layoutMetrics == newChildShadowView.layoutMetrics) {
+    return false;
+  }
+
+  auto layoutMetrics = newChildShadowView.layoutMetrics;
+  auto pointScaleFactor = layoutMetrics.pointScaleFactor;
+  auto frame = layoutMetrics.frame;
+
+  intBuffer.push_back(IntBufferInstructionUpdateLayout);
+  intBuffer.push_back(newChildShadowView.tag);
+  intBuffer.push_back(round(frame.origin.x * pointScaleFactor));
+  intBuffer.push_back(round(frame.origin.y * pointScaleFactor));
+  intBuffer.push_back(round(frame.size.width * pointScaleFactor));
+  intBuffer.push_back(round(frame.size.height * pointScaleFactor));
+  return true;
+}
+
+bool writeUpdatePaddingInstruction(
+    std::vector<jint> &intBuffer,
+    const ShadowViewMutation &mutation) {
+  auto oldChildShadowView = mutation.oldChildShadowView;
+  auto newChildShadowView = mutation.newChildShadowView;
+
+  if (oldChildShadowView.layoutMetrics.contentInsets == newChildShadowView.layoutMetrics.contentInsets) {
+    return false;
+  }
+
+  auto layoutMetrics = newChildShadowView.layoutMetrics;
+  auto pointScaleFactor = layoutMetrics.pointScaleFactor;
+  auto contentInsets = layoutMetrics.contentInsets;
+
+  intBuffer.push_back(IntBufferInstructionUpdatePadding);
+  intBuffer.push_back(newChildShadowView.tag);
+  intBuffer.push_back(round(contentInsets.left * pointScaleFactor));
+  intBuffer.push_back(round(contentInsets.top * pointScaleFactor));
+  intBuffer.push_back(round(contentInsets.right * pointScaleFactor));
+  intBuffer.push_back(round(contentInsets.bottom * pointScaleFactor));
+  return true;
+}
+
 local_ref<JMountItem::javaobject> createInsertMountItem(
     const jni::global_ref<jobject> &javaUIManager,
     const ShadowViewMutation &mutation) {
@@ -614,7 +671,22 @@ void Binding::schedulerDidFinishTransaction(
   // Find the set of tags that are removed and deleted in one block
   std::vector<RemoveDeleteMetadata> toRemove;
 
+  // With IntBufferBatchMountItem the hot instructions are encoded in
+  // intBuffer_ rather than allocated as MountItems, and the remaining
+  // MountItems are referenced from it so that they keep their order.
+  bool useIntBuffer = useIntBufferBatchMountItem_;
+  bool collateRemovesAndDeletes =
+      shouldCollateRemovesAndDeletes_ && !useIntBuffer;
+  intBuffer_.clear();
+
   int position = 0;
+  auto addMountItem = [&](local_ref<JMountItem::javaobject> mountItem) {
+    if (useIntBuffer) {
+      intBuffer_.push_back(IntBufferInstructionMountItem);
+    }
+    mountItems[position++] = mountItem;
+  };
+
   for (const auto &mutation : mutations) {
     auto oldChildShadowView = mutation.oldChildShadowView;
     auto newChildShadowView = mutation.newChildShadowView;
@@ -640,9 +712,9 @@ void Binding::schedulerDidFinishTransaction(
         oldChildShadowView.layoutMetrics == EmptyLayoutMetrics;
 
     // Handle accumulated removals/deletions
-    if (shouldCollateRemovesAndDeletes_ && mutation.type != ShadowViewMutation::Remove && mutation.type != ShadowViewMutation::Delete) {
+    if (collateRemovesAndDeletes && mutation.type != ShadowViewMutation::Remove && mutation.type != ShadowViewMutation::Delete) {
       if (toRemove.size() > 0) {
-        mountItems[position++] = createRemoveAndDeleteMultiMountItem(localJavaUIManager, toRemove);
+        addMountItem(createRemoveAndDeleteMultiMountItem(localJavaUIManager, toRemove));
         toRemove.clear();
       }
     }
@@ -652,23 +724,31 @@ void Binding::schedulerDidFinishTransaction(
         if (disablePreallocateViews_ || mutation.newChildShadowView.props->revision > 1 ||
             deletedViewTags.find(mutation.newChildShadowView.tag) !=
                 deletedViewTags.end()) {
-          mountItems[position++] =
-              createCreateMountItem(localJavaUIManager, mutation, surfaceId);
+          addMountItem(
+              createCreateMountItem(localJavaUIManager, mutation, surfaceId));
         }
         break;
       }
       case ShadowViewMutation::Remove: {
         if (!isVirtual) {
-          if (shouldCollateRemovesAndDeletes_) {
+          if (useIntBuffer) {
+            intBuffer_.push_back(IntBufferInstructionRemove);
+            intBuffer_.push_back(mutation.oldChildShadowView.tag);
+            intBuffer_.push_back(mutation.parentShadowView.tag);
+            intBuffer_.push_back(mutation.index);
+          } else if (collateRemovesAndDeletes) {
             toRemove.push_back(RemoveDeleteMetadata{mutation.oldChildShadowView.tag, mutation.parentShadowView.tag, mutation.index, true, false});
           } else {
-            mountItems[position++] = createRemoveMountItem(localJavaUIManager, mutation);
+            addMountItem(createRemoveMountItem(localJavaUIManager, mutation));
           }
         }
         break;
       }
       case ShadowViewMutation::Delete: {
-        if (shouldCollateRemovesAndDeletes_) {
+        if (useIntBuffer) {
+          intBuffer_.push_back(IntBufferInstructionDelete);
+          intBuffer_.push_back(mutation.oldChildShadowView.tag);
+        } else if (collateRemovesAndDeletes) {
           // It is impossible to delete without removing node first
           const auto& it = std::find_if(std::begin(toRemove), std::end(toRemove), [&mutation](const auto& x) { return x.tag == mutation.oldChildShadowView.tag; });
 
@@ -678,7 +758,7 @@ void Binding::schedulerDidFinishTransaction(
             toRemove.push_back(RemoveDeleteMetadata{mutation.oldChildShadowView.tag, -1, -1, false, true});
           }
         } else {
-          mountItems[position++] = createDeleteMountItem(localJavaUIManager, mutation);
+          addMountItem(createDeleteMountItem(localJavaUIManager, mutation));
         }
 
         deletedViewTags.insert(mutation.oldChildShadowView.tag);
@@ -688,29 +768,33 @@ void Binding::schedulerDidFinishTransaction(
         if (!isVirtual) {
           if (mutation.oldChildShadowView.props !=
               mutation.newChildShadowView.props) {
-            mountItems[position++] =
-                createUpdatePropsMountItem(localJavaUIManager, mutation);
+            addMountItem(
+                createUpdatePropsMountItem(localJavaUIManager, mutation));
           }
           if (mutation.oldChildShadowView.localData !=
               mutation.newChildShadowView.localData) {
-            mountItems[position++] =
-                createUpdateLocalData(localJavaUIManager, mutation);
+            addMountItem(createUpdateLocalData(localJavaUIManager, mutation));
           }
           if (mutation.oldChildShadowView.state !=
               mutation.newChildShadowView.state) {
-            mountItems[position++] =
-                createUpdateStateMountItem(localJavaUIManager, mutation);
-          }
-
-          auto updateLayoutMountItem =
-              createUpdateLayoutMountItem(localJavaUIManager, mutation);
-          if (updateLayoutMountItem) {
-            mountItems[position++] = updateLayoutMountItem;
+            addMountItem(
+                createUpdateStateMountItem(localJavaUIManager, mutation));
           }
 
-          auto updatePaddingMountItem = createUpdatePaddingMountItem(localJavaUIManager, mutation);
-          if (updatePaddingMountItem) {
-            mountItems[position++] = updatePaddingMountItem;
+          if (useIntBuffer) {
+            writeUpdateLayoutInstruction(intBuffer_, mutation);
+            writeUpdatePaddingInstruction(intBuffer_, mutation);
+          } else {
+            auto updateLayoutMountItem =
+                createUpdateLayoutMountItem(localJavaUIManager, mutation);
+            if (updateLayoutMountItem) {
+              addMountItem(updateLayoutMountItem);
+            }
+
+            auto updatePaddingMountItem = createUpdatePaddingMountItem(localJavaUIManager, mutation);
+            if (updatePaddingMountItem) {
+              addMountItem(updatePaddingMountItem);
+            }
           }
         }
 
@@ -719,7 +803,7 @@ void Binding::schedulerDidFinishTransaction(
           auto updateEventEmitterMountItem =
               createUpdateEventEmitterMountItem(localJavaUIManager, mutation);
           if (updateEventEmitterMountItem) {
-            mountItems[position++] = updateEventEmitterMountItem;
+            addMountItem(updateEventEmitterMountItem);
           }
         }
         break;
@@ -727,40 +811,50 @@ void Binding::schedulerDidFinishTransaction(
       case ShadowViewMutation::Insert: {
         if (!isVirtual) {
           // Insert item
-          mountItems[position++] =
-              createInsertMountItem(localJavaUIManager, mutation);
+          if (useIntBuffer) {
+            intBuffer_.push_back(IntBufferInstructionInsert);
+            intBuffer_.push_back(mutation.newChildShadowView.tag);
+            intBuffer_.push_back(mutation.parentShadowView.tag);
+            intBuffer_.push_back(mutation.index);
+          } else {
+            addMountItem(createInsertMountItem(localJavaUIManager, mutation));
+          }
 
           if (disablePreallocateViews_ || mutation.newChildShadowView.props->revision > 1 ||
               deletedViewTags.find(mutation.newChildShadowView.tag) !=
                   deletedViewTags.end()) {
-            mountItems[position++] =
-                createUpdatePropsMountItem(localJavaUIManager, mutation);
+            addMountItem(
+                createUpdatePropsMountItem(localJavaUIManager, mutation));
           }
 
           // State
           if (mutation.newChildShadowView.state) {
-            mountItems[position++] =
-                createUpdateStateMountItem(localJavaUIManager, mutation);
+            addMountItem(
+                createUpdateStateMountItem(localJavaUIManager, mutation));
           }
 
           // LocalData
           if (mutation.newChildShadowView.localData) {
-            mountItems[position++] =
-                createUpdateLocalData(localJavaUIManager, mutation);
-          }
-
-          // Layout
-          auto updateLayoutMountItem =
-              createUpdateLayoutMountItem(localJavaUIManager, mutation);
-          if (updateLayoutMountItem) {
-            mountItems[position++] = updateLayoutMountItem;
+            addMountItem(createUpdateLocalData(localJavaUIManager, mutation));
           }
 
-          // Padding
-          auto updatePaddingMountItem =
-            createUpdatePaddingMountItem(localJavaUIManager, mutation);
-          if (updatePaddingMountItem) {
-            mountItems[position++] = updatePaddingMountItem;
+          if (useIntBuffer) {
+            writeUpdateLayoutInstruction(intBuffer_, mutation);
+            writeUpdatePaddingInstruction(intBuffer_, mutation);
+          } else {
+            // Layout
+            auto updateLayoutMountItem =
+                createUpdateLayoutMountItem(localJavaUIManager, mutation);
+            if (updateLayoutMountItem) {
+              addMountItem(updateLayoutMountItem);
+            }
+
+            // Padding
+            auto updatePaddingMountItem =
+              createUpdatePaddingMountItem(localJavaUIManager, mutation);
+            if (updatePaddingMountItem) {
+              addMountItem(updatePaddingMountItem);
+            }
           }
         }
 
@@ -768,7 +862,7 @@ void Binding::schedulerDidFinishTransaction(
         auto updateEventEmitterMountItem =
             createUpdateEventEmitterMountItem(localJavaUIManager, mutation);
         if (updateEventEmitterMountItem) {
-          mountItems[position++] = updateEventEmitterMountItem;
+          addMountItem(updateEventEmitterMountItem);
         }
 
         break;
@@ -780,24 +874,51 @@ void Binding::schedulerDidFinishTransaction(
   }
 
   // Handle remaining removals and deletions
-  if (shouldCollateRemovesAndDeletes_ && toRemove.size() > 0) {
-    mountItems[position++] = createRemoveAndDeleteMultiMountItem(localJavaUIManager, toRemove);
+  if (collateRemovesAndDeletes && toRemove.size() > 0) {
+    addMountItem(createRemoveAndDeleteMultiMountItem(localJavaUIManager, toRemove));
     toRemove.clear();
   }
 
-  if (position <= 0) {
+  if (position <= 0 && intBuffer_.empty()) {
     // If there are no mountItems to be sent to the platform, then it is not necessary to even call.
     return;
   }
 
-  static auto createMountItemsBatchContainer =
-      jni::findClassStatic(UIManagerJavaDescriptor)
-          ->getMethod<alias_ref<JMountItem>(
-              jtypeArray<JMountItem::javaobject>, jint, jint)>(
-              "createBatchMountItem");
+  local_ref<JMountItem::javaobject> batch;
+  if (useIntBuffer) {
+    static auto obtainIntBuffer =
+        jni::findClassStatic(UIManagerJavaDescriptor)
+            ->getMethod<jintArray(jint)>("obtainIntBufferForBatch");
+    static auto createIntBufferBatchMountItem =
+        jni::findClassStatic(UIManagerJavaDescriptor)
+            ->getMethod<alias_ref<JMountItem>(
+                jintArray, jint, jtypeArray<JMountItem::javaobject>, jint, jint)>(
+                "createIntBufferBatchMountItem");
+
+    // The Java buffer is recycled once the batch is executed, so committing
+    // doesn't allocate an array for every instruction nor for every batch.
+    jint intBufferLength = intBuffer_.size();
+    auto javaIntBuffer = obtainIntBuffer(localJavaUIManager, intBufferLength);
+    Environment::current()->SetIntArrayRegion(
+        javaIntBuffer.get(), 0, intBufferLength, intBuffer_.data());
+
+    batch = createIntBufferBatchMountItem(
+        localJavaUIManager,
+        javaIntBuffer.get(),
+        intBufferLength,
+        mountItemsArray.get(),
+        position,
+        commitNumber);
+  } else {
+    static auto createMountItemsBatchContainer =
+        jni::findClassStatic(UIManagerJavaDescriptor)
+            ->getMethod<alias_ref<JMountItem>(
+                jtypeArray<JMountItem::javaobject>, jint, jint)>(
+                "createBatchMountItem");
 
-  auto batch = createMountItemsBatchContainer(
-      localJavaUIManager, mountItemsArray.get(), position, commitNumber);
+    batch = createMountItemsBatchContainer(
+        localJavaUIManager, mountItemsArray.get(), position, commitNumber);
+  }
 
   static auto scheduleMountItem =
       jni::findClassStatic(UIManagerJavaDescriptor)
@@ -14,6 +14,7 @@
 #include <react/uimanager/SchedulerDelegate.h>
 #include <memory>
 #include <mutex>
+#include <vector>
 #include "ComponentFactoryDelegate.h"
 #include "EventBeatManager.h"
 
@@ -107,6 +108,11 @@ class Binding : public jni::HybridClass<Binding>, public SchedulerDelegate {
   bool shouldCollateRemovesAndDeletes_{false};
   bool collapseDeleteCreateMountingInstructions_{false};
   bool disablePreallocateViews_{false};
+  bool useIntBufferBatchMountItem_{false};
+
+  // Encoded instructions of the IntBufferBatchMountItem being built, guarded
+  // by commitMutex_. Kept across commits to reuse its storage.
+  std::vector<jint> intBuffer_;
 };
 
 } // namespace react
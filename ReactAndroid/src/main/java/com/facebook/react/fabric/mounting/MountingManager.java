@@ -26,6 +26,8 @@ import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.ReadableNativeMap;
 import com.facebook.react.bridge.SoftAssertions;
 import com.facebook.react.bridge.UiThreadUtil;
+import com.facebook.react.common.IntObjectMap;
+import com.facebook.react.config.ReactFeatureFlags;
 import com.facebook.react.fabric.FabricUIManager;
 import com.facebook.react.fabric.events.EventEmitterWrapper;
 import com.facebook.react.fabric.mounting.mountitems.MountItem;
@@ -40,7 +42,6 @@ import com.facebook.react.uimanager.ViewGroupManager;
 import com.facebook.react.uimanager.ViewManager;
 import com.facebook.react.uimanager.ViewManagerRegistry;
 import com.facebook.yoga.YogaMeasureMode;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Class responsible for actually dispatching view updates enqueued via {@link
@@ -49,13 +50,20 @@ import java.util.concurrent.ConcurrentHashMap;
 public class MountingManager {
   public static final String TAG = MountingManager.class.getSimpleName();
 
-  @NonNull private final ConcurrentHashMap<Integer, ViewState> mTagToViewState;
+  /**
+   * Only modified on the UI thread, which reads it without locking. Other threads must hold the
+   * lock of the map to read it, see {@link #getEventEmitter}.
+   */
+  @NonNull private final IntObjectMap<ViewState> mTagToViewState;
   @NonNull private final JSResponderHandler mJSResponderHandler = new JSResponderHandler();
   @NonNull private final ViewManagerRegistry mViewManagerRegistry;
   @NonNull private final RootViewManager mRootViewManager = new RootViewManager();
 
+  @ThreadConfined(UI)
+  private int mWastedPreallocatedViewCount = 0;
+
   public MountingManager(@NonNull ViewManagerRegistry viewManagerRegistry) {
-    mTagToViewState = new ConcurrentHashMap<>();
+    mTagToViewState = new IntObjectMap<>();
     mViewManagerRegistry = viewManagerRegistry;
   }
 
@@ -68,6 +76,7 @@ public class MountingManager {
    */
   @ThreadConfined(UI)
   public void addRootView(int reactRootTag, @NonNull View rootView) {
+    UiThreadUtil.assertOnUiThread();
     if (rootView.getId() != View.NO_ID) {
       throw new IllegalViewOperationException(
           "Trying to add a root view with an explicit id already set. React Native uses "
@@ -75,8 +84,10 @@ public class MountingManager {
               + "explicitly overwrite the id field to View.NO_ID before calling addRootView.");
     }
 
-    mTagToViewState.put(
-        reactRootTag, new ViewState(reactRootTag, rootView, mRootViewManager, true));
+    ViewState rootViewState = new ViewState(reactRootTag, rootView, mRootViewManager, true);
+    synchronized (mTagToViewState) {
+      mTagToViewState.put(reactRootTag, rootViewState);
+    }
     rootView.setId(reactRootTag);
   }
 
@@ -98,14 +109,24 @@ public class MountingManager {
       ViewGroupManager<ViewGroup> viewGroupManager = getViewGroupManager(state);
       for (int i = viewGroupManager.getChildCount(viewGroup) - 1; i >= 0; i--) {
         View child = viewGroupManager.getChildAt(viewGroup, i);
+        boolean recycleChild = ReactFeatureFlags.enableViewRecycling;
+        if (recycleChild) {
+          // Detach the child first, so that it can be recycled once dropped.
+          viewGroupManager.removeViewAt(viewGroup, i);
+        }
         if (getNullableViewState(child.getId()) != null) {
           dropView(child);
         }
-        viewGroupManager.removeViewAt(viewGroup, i);
+        if (!recycleChild) {
+          viewGroupManager.removeViewAt(viewGroup, i);
+        }
       }
     }
 
-    mTagToViewState.remove(reactTag);
+    removeViewState(reactTag);
+    if (!state.mIsRoot && viewManager != null) {
+      viewManager.recycleView(view);
+    }
   }
 
   @UiThread
@@ -114,6 +135,7 @@ public class MountingManager {
     ViewState parentViewState = getViewState(parentTag);
     final ViewGroup parentView = (ViewGroup) parentViewState.mView;
     ViewState viewState = getViewState(tag);
+    viewState.mIsPreallocated = false;
     final View view = viewState.mView;
     if (view == null) {
       throw new IllegalStateException(
@@ -134,6 +156,14 @@ public class MountingManager {
     return mTagToViewState.get(tag);
   }
 
+  @UiThread
+  private void removeViewState(int tag) {
+    UiThreadUtil.assertOnUiThread();
+    synchronized (mTagToViewState) {
+      mTagToViewState.remove(tag);
+    }
+  }
+
   @Deprecated
   public void receiveCommand(int reactTag, int commandId, @Nullable ReadableArray commandArgs) {
     ViewState viewState = getNullableViewState(reactTag);
@@ -233,6 +263,7 @@ public class MountingManager {
       @Nullable ReadableMap props,
       @Nullable StateWrapper stateWrapper,
       boolean isLayoutable) {
+    UiThreadUtil.assertOnUiThread();
     if (getNullableViewState(reactTag) != null) {
       return;
     }
@@ -258,7 +289,9 @@ public class MountingManager {
     viewState.mCurrentProps = propsDiffMap;
     viewState.mCurrentState = (stateWrapper != null ? stateWrapper.getState() : null);
 
-    mTagToViewState.put(reactTag, viewState);
+    synchronized (mTagToViewState) {
+      mTagToViewState.put(reactTag, viewState);
+    }
   }
 
   @UiThread
@@ -345,11 +378,14 @@ public class MountingManager {
       return;
     }
 
+    if (viewState.mIsPreallocated) {
+      mWastedPreallocatedViewCount++;
+    }
     View view = viewState.mView;
     if (view != null) {
       dropView(view);
     } else {
-      mTagToViewState.remove(reactTag);
+      removeViewState(reactTag);
     }
   }
 
@@ -422,13 +458,29 @@ public class MountingManager {
     }
 
     createView(reactContext, componentName, reactTag, props, stateWrapper, isLayoutable);
+    // Views of virtual nodes are never inserted.
+    getViewState(reactTag).mIsPreallocated = isLayoutable;
+  }
+
+  /** Drops the views kept for recycling by all the view managers. */
+  @UiThread
+  public void trimRecycledViews() {
+    UiThreadUtil.assertOnUiThread();
+    mViewManagerRegistry.trimRecycledViews();
+  }
+
+  /** Returns the number of preallocated views that were deleted before being inserted. */
+  public int getWastedPreallocatedViewCount() {
+    return mWastedPreallocatedViewCount;
   }
 
   @UiThread
   public void updateEventEmitter(int reactTag, @NonNull EventEmitterWrapper eventEmitter) {
     UiThreadUtil.assertOnUiThread();
     ViewState viewState = getViewState(reactTag);
-    viewState.mEventEmitter = eventEmitter;
+    synchronized (mTagToViewState) {
+      viewState.mEventEmitter = eventEmitter;
+    }
   }
 
   /**
@@ -504,8 +556,10 @@ public class MountingManager {
   @AnyThread
   @ThreadConfined(ANY)
   public @Nullable EventEmitterWrapper getEventEmitter(int reactTag) {
-    ViewState viewState = getNullableViewState(reactTag);
-    return viewState == null ? null : viewState.mEventEmitter;
+    synchronized (mTagToViewState) {
+      ViewState viewState = getNullableViewState(reactTag);
+      return viewState == null ? null : viewState.mEventEmitter;
+    }
   }
 
   /**
@@ -521,6 +575,8 @@ public class MountingManager {
     @Nullable public ReadableMap mCurrentLocalData = null;
     @Nullable public ReadableMap mCurrentState = null;
     @Nullable public EventEmitterWrapper mEventEmitter = null;
+    // Whether the view was preallocated and not inserted in the hierarchy yet.
+    public boolean mIsPreallocated = false;
 
     private ViewState(int reactTag, @Nullable View view, @Nullable ViewManager viewManager) {
       this(reactTag, view, viewManager, false);
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.fabric.mounting.mountitems;
+
+import android.view.View;
+import androidx.annotation.NonNull;
+import com.facebook.react.fabric.mounting.MountingManager;
+
+/**
+ * {@link MountItem} that adds the root view of a surface started outside of the UI thread, before
+ * the mount items of the surface are executed.
+ */
+public class AddRootViewMountItem implements MountItem {
+
+  private final int mRootTag;
+  @NonNull private final View mRootView;
+
+  public AddRootViewMountItem(int rootTag, @NonNull View rootView) {
+    mRootTag = rootTag;
+    mRootView = rootView;
+  }
+
+  @Override
+  public void execute(@NonNull MountingManager mountingManager) {
+    mountingManager.addRootView(mRootTag, mRootView);
+  }
+
+  @Override
+  public String toString() {
+    return "AddRootViewMountItem [" + mRootTag + "]";
+  }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.fabric.mounting.mountitems;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.facebook.proguard.annotations.DoNotStrip;
+import com.facebook.react.bridge.ReactMarker;
+import com.facebook.react.bridge.ReactMarkerConstants;
+import com.facebook.react.fabric.mounting.MountingManager;
+import com.facebook.systrace.Systrace;
+import java.util.ArrayDeque;
+
+/**
+ * Batch of mount instructions where the most frequent ones (insert, remove, delete, layout and
+ * padding) are encoded in an array of ints instead of being allocated as {@link MountItem}s.
+ *
+ * <p>Each instruction in the int buffer is an opcode followed by its arguments. The other
+ * instructions are passed as an array of {@link MountItem}s, and {@link #INSTRUCTION_MOUNT_ITEM}
+ * marks the position where the next one of them is executed, so that the order of the commit is
+ * kept. The int buffers are recycled once the batch has been executed, see {@link
+ * #obtainBuffer(int)}.
+ */
+@DoNotStrip
+public class IntBufferBatchMountItem implements MountItem {
+
+  // Opcodes of the int buffer, keep in sync with Binding.cpp
+  // No arguments, executes the next MountItem of the batch
+  public static final int INSTRUCTION_MOUNT_ITEM = 1;
+  // tag, parentTag, index
+  public static final int INSTRUCTION_INSERT = 2;
+  // tag, parentTag, index
+  public static final int INSTRUCTION_REMOVE = 3;
+  // tag
+  public static final int INSTRUCTION_DELETE = 4;
+  // tag, x, y, width, height
+  public static final int INSTRUCTION_UPDATE_LAYOUT = 5;
+  // tag, left, top, right, bottom
+  public static final int INSTRUCTION_UPDATE_PADDING = 6;
+
+  // Buffers are only in flight between the commit of a batch and its execution, so a couple of
+  // them are enough to avoid allocating a new one for every commit.
+  private static final int MAX_POOLED_BUFFERS = 4;
+  private static final int MIN_BUFFER_LENGTH = 64;
+  private static final ArrayDeque<int[]> sBufferPool = new ArrayDeque<>(MAX_POOLED_BUFFERS);
+
+  @Nullable private int[] mIntBuffer;
+  private final int mIntBufferLength;
+  @NonNull private final MountItem[] mMountItems;
+  private final int mMountItemsSize;
+  private final int mCommitNumber;
+
+  public IntBufferBatchMountItem(
+      @NonNull int[] intBuffer,
+      int intBufferLength,
+      @NonNull MountItem[] mountItems,
+      int mountItemsSize,
+      int commitNumber) {
+    if (intBufferLength < 0 || intBufferLength > intBuffer.length) {
+      throw new IllegalArgumentException(
+          "Invalid length received by parameter intBufferLength: "
+              + intBufferLength
+              + " intBuffer.length = "
+              + intBuffer.length);
+    }
+    if (mountItemsSize < 0 || mountItemsSize > mountItems.length) {
+      throw new IllegalArgumentException(
+          "Invalid size received by parameter mountItemsSize: "
+              + mountItemsSize
+              + " mountItems.length = "
+              + mountItems.length);
+    }
+    mIntBuffer = intBuffer;
+    mIntBufferLength = intBufferLength;
+    mMountItems = mountItems;
+    mMountItemsSize = mountItemsSize;
+    mCommitNumber = commitNumber;
+  }
+
+  /**
+   * Returns an int buffer of at least the given length for a new batch, reusing the buffer of a
+   * batch that was already executed when possible. Its contents are undefined.
+   */
+  public static int[] obtainBuffer(int minLength) {
+    synchronized (sBufferPool) {
+      int[] buffer = sBufferPool.pollFirst();
+      if (buffer != null && buffer.length >= minLength) {
+        return buffer;
+      }
+    }
+    // Round up so that the next commits of a similar size can reuse this buffer.
+    int length = MIN_BUFFER_LENGTH;
+    while (length < minLength) {
+      length <<= 1;
+    }
+    return new int[length];
+  }
+
+  private static void releaseBuffer(int[] buffer) {
+    synchronized (sBufferPool) {
+      if (sBufferPool.size() < MAX_POOLED_BUFFERS) {
+        sBufferPool.addLast(buffer);
+      }
+    }
+  }
+
+  /** Returns the tags of the views that this batch deletes, or none once it was executed. */
+  @NonNull
+  public int[] getDeletedTags() {
+    int[] buffer = mIntBuffer;
+    if (buffer == null) {
+      return new int[0];
+    }
+    int count = 0;
+    for (int i = 0; i < mIntBufferLength; i += 1 + getArgumentCount(buffer[i])) {
+      if (buffer[i] == INSTRUCTION_DELETE) {
+        count++;
+      }
+    }
+    int[] deletedTags = new int[count];
+    count = 0;
+    for (int i = 0; i < mIntBufferLength; i += 1 + getArgumentCount(buffer[i])) {
+      if (buffer[i] == INSTRUCTION_DELETE) {
+        deletedTags[count++] = buffer[i + 1];
+      }
+    }
+    return deletedTags;
+  }
+
+  private static int getArgumentCount(int instruction) {
+    switch (instruction) {
+      case INSTRUCTION_MOUNT_ITEM:
+        return 0;
+      case INSTRUCTION_DELETE:
+        return 1;
+      case INSTRUCTION_INSERT:
+      case INSTRUCTION_REMOVE:
+        return 3;
+      case INSTRUCTION_UPDATE_LAYOUT:
+      case INSTRUCTION_UPDATE_PADDING:
+        return 5;
+      default:
+        throw new IllegalArgumentException("Invalid instruction " + instruction);
+    }
+  }
+
+  @Override
+  public void execute(@NonNull MountingManager mountingManager) {
+    if (mIntBuffer == null) {
+      throw new IllegalStateException("IntBufferBatchMountItem can only be executed once");
+    }
+
+    Systrace.beginSection(
+        Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
+        "FabricUIManager::mountViews - " + mIntBufferLength + " ints");
+
+    if (mCommitNumber > 0) {
+      ReactMarker.logFabricMarker(
+          ReactMarkerConstants.FABRIC_BATCH_EXECUTION_START, null, mCommitNumber);
+    }
+
+    int[] buffer = mIntBuffer;
+    int mountItemIndex = 0;
+    int i = 0;
+    while (i < mIntBufferLength) {
+      int instruction = buffer[i++];
+      switch (instruction) {
+        case INSTRUCTION_MOUNT_ITEM:
+          mMountItems[mountItemIndex++].execute(mountingManager);
+          break;
+        case INSTRUCTION_INSERT:
+          mountingManager.addViewAt(buffer[i + 1], buffer[i], buffer[i + 2]);
+          i += 3;
+          break;
+        case INSTRUCTION_REMOVE:
+          mountingManager.removeViewAt(buffer[i + 1], buffer[i + 2]);
+          i += 3;
+          break;
+        case INSTRUCTION_DELETE:
+          mountingManager.deleteView(buffer[i]);
+          i += 1;
+          break;
+        case INSTRUCTION_UPDATE_LAYOUT:
+          mountingManager.updateLayout(
+              buffer[i], buffer[i + 1], buffer[i + 2], buffer[i + 3], buffer[i + 4]);
+          i += 5;
+          break;
+        case INSTRUCTION_UPDATE_PADDING:
+          mountingManager.updatePadding(
+              buffer[i], buffer[i + 1], buffer[i + 2], buffer[i + 3], buffer[i + 4]);
+          i += 5;
+          break;
+        default:
+          throw new IllegalArgumentException(
+              "Invalid instruction " + instruction + " at position " + (i - 1));
+      }
+    }
+
+    if (mountItemIndex != mMountItemsSize) {
+      throw new IllegalStateException(
+          "Executed " + mountItemIndex + " of " + mMountItemsSize + " MountItems of the batch");
+    }
+
+    mIntBuffer = null;
+    releaseBuffer(buffer);
+
+    if (mCommitNumber > 0) {
+      ReactMarker.logFabricMarker(
+          ReactMarkerConstants.FABRIC_BATCH_EXECUTION_END, null, mCommitNumber);
+    }
+
+    Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
+  }
+
+  @Override
+  public String toString() {
+    if (mIntBuffer == null) {
+      return "IntBufferBatchMountItem (executed)";
+    }
+    StringBuilder s = new StringBuilder();
+    int[] buffer = mIntBuffer;
+    int mountItemIndex = 0;
+    int i = 0;
+    while (i < mIntBufferLength) {
+      if (s.length() > 0) {
+        s.append("\n");
+      }
+      s.append("IntBufferBatchMountItem: ");
+      int instruction = buffer[i++];
+      switch (instruction) {
+        case INSTRUCTION_MOUNT_ITEM:
+          s.append(mMountItems[mountItemIndex++]);
+          break;
+        case INSTRUCTION_INSERT:
+        case INSTRUCTION_REMOVE:
+          s.append(instruction == INSTRUCTION_INSERT ? "Insert [" : "Remove [")
+              .append(buffer[i])
+              .append("] parent [")
+              .append(buffer[i + 1])
+              .append("] idx ")
+              .append(buffer[i + 2]);
+          i += 3;
+          break;
+        case INSTRUCTION_DELETE:
+          s.append("Delete [").append(buffer[i]).append("]");
+          i += 1;
+          break;
+        case INSTRUCTION_UPDATE_LAYOUT:
+        case INSTRUCTION_UPDATE_PADDING:
+          s.append(instruction == INSTRUCTION_UPDATE_LAYOUT ? "UpdateLayout [" : "UpdatePadding [")
+              .append(buffer[i])
+              .append("] ")
+              .append(buffer[i + 1])
+              .append(" ")
+              .append(buffer[i + 2])
+              .append(" ")
+              .append(buffer[i + 3])
+              .append(" ")
+              .append(buffer[i + 4]);
+          i += 5;
+          break;
+        default:
+          s.append("Invalid instruction ").append(instruction);
+          return s.toString();
+      }
+    }
+    return s.toString();
+  }
+}
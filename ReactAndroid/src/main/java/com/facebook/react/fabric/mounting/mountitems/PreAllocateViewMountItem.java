@@ -47,6 +47,14 @@ public class PreAllocateViewMountItem implements MountItem {
     mIsLayoutable = isLayoutable;
   }
 
+  public int getRootTag() {
+    return mRootTag;
+  }
+
+  public int getReactTag() {
+    return mReactTag;
+  }
+
   @Override
   public void execute(@NonNull MountingManager mountingManager) {
     if (ENABLE_FABRIC_LOGS) {
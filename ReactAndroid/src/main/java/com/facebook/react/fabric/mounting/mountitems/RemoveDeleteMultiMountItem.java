@@ -36,6 +36,25 @@ public class RemoveDeleteMultiMountItem implements MountItem {
     mMetadata = metadata;
   }
 
+  /** Returns the tags of the views that this item deletes. */
+  @NonNull
+  public int[] getDeletedTags() {
+    int count = 0;
+    for (int i = 0; i < mMetadata.length; i += INSTRUCTION_FIELDS_LEN) {
+      if ((mMetadata[i + FLAGS_INDEX] & DELETE_FLAG) != 0) {
+        count++;
+      }
+    }
+    int[] deletedTags = new int[count];
+    count = 0;
+    for (int i = 0; i < mMetadata.length; i += INSTRUCTION_FIELDS_LEN) {
+      if ((mMetadata[i + FLAGS_INDEX] & DELETE_FLAG) != 0) {
+        deletedTags[count++] = mMetadata[i + TAG_INDEX];
+      }
+    }
+    return deletedTags;
+  }
+
   @Override
   public void execute(@NonNull MountingManager mountingManager) {
     // First, go through instructions and remove all views that are marked
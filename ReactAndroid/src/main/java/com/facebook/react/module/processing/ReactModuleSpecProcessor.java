@@ -7,7 +7,11 @@
 
 package com.facebook.react.module.processing;
 
+import static javax.lang.model.element.Modifier.ABSTRACT;
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
 import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
 import static javax.tools.Diagnostic.Kind.ERROR;
 
 import com.facebook.infer.annotation.SuppressFieldNotInitialized;
@@ -16,8 +20,10 @@ import com.facebook.react.module.annotations.ReactModuleList;
 import com.facebook.react.module.model.ReactModuleInfo;
 import com.facebook.react.module.model.ReactModuleInfoProvider;
 import com.facebook.react.turbomodule.core.interfaces.TurboModule;
+import com.squareup.javapoet.ArrayTypeName;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
@@ -27,9 +33,11 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import javax.annotation.Nullable;
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.Filer;
 import javax.annotation.processing.Messager;
@@ -38,11 +46,17 @@ import javax.annotation.processing.RoundEnvironment;
 import javax.annotation.processing.SupportedAnnotationTypes;
 import javax.annotation.processing.SupportedSourceVersion;
 import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.MirroredTypesException;
+import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
@@ -50,6 +64,11 @@ import javax.lang.model.util.Types;
 /**
  * Generates a list of ReactModuleInfo for modules annotated with {@link ReactModule} in {@link
  * ReactPackage}s annotated with {@link ReactModuleList}.
+ *
+ * <p>Also generates a {@code <ModuleClassName>$$ReactMethodInvoker} for each module annotated with
+ * {@link ReactModule}, which calls its {@code @ReactMethod}s directly instead of through
+ * reflection. Modules whose methods can't be called from generated code (private methods,
+ * overloads or unsupported argument types) are skipped and keep using reflection at runtime.
  */
 @SupportedAnnotationTypes({
   "com.facebook.react.module.annotations.ReactModule",
@@ -63,6 +82,27 @@ public class ReactModuleSpecProcessor extends AbstractProcessor {
       ParameterizedTypeName.get(Map.class, String.class, ReactModuleInfo.class);
   private static final TypeName INSTANTIATED_MAP_TYPE = ParameterizedTypeName.get(HashMap.class);
 
+  private static final String BRIDGE_PACKAGE = "com.facebook.react.bridge";
+  private static final String REACT_METHOD_ANNOTATION = BRIDGE_PACKAGE + ".ReactMethod";
+  private static final String REACT_MODULE_WITH_SPEC = BRIDGE_PACKAGE + ".ReactModuleWithSpec";
+  private static final ClassName BASE_JAVA_MODULE_TYPE =
+      ClassName.get(BRIDGE_PACKAGE, "BaseJavaModule");
+  private static final ClassName CALLBACK_IMPL_TYPE = ClassName.get(BRIDGE_PACKAGE, "CallbackImpl");
+  private static final ClassName DYNAMIC_FROM_ARRAY_TYPE =
+      ClassName.get(BRIDGE_PACKAGE, "DynamicFromArray");
+  private static final ClassName JS_INSTANCE_TYPE = ClassName.get(BRIDGE_PACKAGE, "JSInstance");
+  private static final ClassName NATIVE_ARGUMENTS_PARSE_EXCEPTION_TYPE =
+      ClassName.get(BRIDGE_PACKAGE, "NativeArgumentsParseException");
+  private static final ClassName NATIVE_MODULE_TYPE = ClassName.get(BRIDGE_PACKAGE, "NativeModule");
+  private static final ClassName PROMISE_IMPL_TYPE = ClassName.get(BRIDGE_PACKAGE, "PromiseImpl");
+  private static final ClassName REACT_METHOD_INVOKER_TYPE =
+      ClassName.get(BRIDGE_PACKAGE, "ReactMethodInvoker");
+  private static final ClassName READABLE_ARRAY_TYPE =
+      ClassName.get(BRIDGE_PACKAGE, "ReadableArray");
+  private static final ClassName UNEXPECTED_NATIVE_TYPE_EXCEPTION_TYPE =
+      ClassName.get(BRIDGE_PACKAGE, "UnexpectedNativeTypeException");
+  private static final ClassName METHOD_TYPE = ClassName.get(java.lang.reflect.Method.class);
+
   @SuppressFieldNotInitialized private Filer mFiler;
   @SuppressFieldNotInitialized private Elements mElements;
   @SuppressFieldNotInitialized private Messager mMessager;
@@ -141,9 +181,229 @@ public class ReactModuleSpecProcessor extends AbstractProcessor {
       }
     }
 
+    Set<? extends Element> reactModuleElements =
+        roundEnv.getElementsAnnotatedWith(ReactModule.class);
+    for (Element reactModuleElement : reactModuleElements) {
+      if (reactModuleElement.getKind() != ElementKind.CLASS
+          || reactModuleElement.getModifiers().contains(ABSTRACT)
+          || reactModuleElement.getModifiers().contains(PRIVATE)) {
+        continue;
+      }
+      TypeElement typeElement = (TypeElement) reactModuleElement;
+      ReactModule reactModule = typeElement.getAnnotation(ReactModule.class);
+      if (reactModule == null
+          || reactModule.isCxxModule()
+          || !typeElement.getTypeParameters().isEmpty()) {
+        continue;
+      }
+
+      List<ReactMethodInfo> methods = getReactMethods(typeElement);
+      if (methods == null || methods.isEmpty()) {
+        continue;
+      }
+
+      try {
+        getMethodInvokerFile(typeElement, reactModule.name(), methods).writeTo(mFiler);
+      } catch (IOException e) {
+        e.printStackTrace();
+      }
+    }
+
     return true;
   }
 
+  /**
+   * Collects the {@code @ReactMethod}s of the given module in the same order as {@code
+   * JavaModuleWrapper} discovers them by reflection, or returns null if they can't all be called
+   * from generated code.
+   */
+  private @Nullable List<ReactMethodInfo> getReactMethods(TypeElement typeElement) {
+    TypeElement classForMethods = typeElement;
+    TypeMirror superclass = typeElement.getSuperclass();
+    if (superclass.getKind() == TypeKind.DECLARED) {
+      TypeElement superElement = (TypeElement) ((DeclaredType) superclass).asElement();
+      if (implementsInterface(superElement, REACT_MODULE_WITH_SPEC)) {
+        // Modules based on a generated spec export the methods declared by that spec
+        classForMethods = superElement;
+      }
+    }
+
+    List<ReactMethodInfo> methods = new ArrayList<>();
+    Set<String> methodNames = new HashSet<>();
+    for (Element element : classForMethods.getEnclosedElements()) {
+      if (element.getKind() != ElementKind.METHOD) {
+        continue;
+      }
+      AnnotationMirror reactMethod = getAnnotationMirror(element, REACT_METHOD_ANNOTATION);
+      if (reactMethod == null) {
+        continue;
+      }
+      ExecutableElement method = (ExecutableElement) element;
+      if (method.getModifiers().contains(PRIVATE)
+          || !method.getTypeParameters().isEmpty()
+          || !methodNames.add(method.getSimpleName().toString())) {
+        return null;
+      }
+      ReactMethodInfo methodInfo =
+          ReactMethodInfo.create(
+              classForMethods, method, isBlockingSynchronousMethod(reactMethod));
+      if (methodInfo == null) {
+        return null;
+      }
+      methods.add(methodInfo);
+    }
+    return methods;
+  }
+
+  private boolean implementsInterface(TypeElement typeElement, String interfaceName) {
+    for (TypeMirror interfaceType : typeElement.getInterfaces()) {
+      if (mTypes.erasure(interfaceType).toString().equals(interfaceName)) {
+        return true;
+      }
+    }
+    TypeMirror superclass = typeElement.getSuperclass();
+    return superclass.getKind() == TypeKind.DECLARED
+        && implementsInterface(
+            (TypeElement) ((DeclaredType) superclass).asElement(), interfaceName);
+  }
+
+  private static @Nullable AnnotationMirror getAnnotationMirror(
+      Element element, String annotationName) {
+    for (AnnotationMirror annotationMirror : element.getAnnotationMirrors()) {
+      if (annotationMirror.getAnnotationType().toString().equals(annotationName)) {
+        return annotationMirror;
+      }
+    }
+    return null;
+  }
+
+  private static boolean isBlockingSynchronousMethod(AnnotationMirror reactMethod) {
+    for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry :
+        reactMethod.getElementValues().entrySet()) {
+      if (entry.getKey().getSimpleName().contentEquals("isBlockingSynchronousMethod")) {
+        return Boolean.TRUE.equals(entry.getValue().getValue());
+      }
+    }
+    return false;
+  }
+
+  private JavaFile getMethodInvokerFile(
+      TypeElement typeElement, String moduleName, List<ReactMethodInfo> methods) {
+    ClassName moduleClassName = ClassName.get(typeElement);
+    String packageName = moduleClassName.packageName();
+    String invokerName =
+        typeElement.getQualifiedName().toString().substring(packageName.length() + 1)
+                .replace('.', '$')
+            + "$$ReactMethodInvoker";
+
+    CodeBlock.Builder names = CodeBlock.builder();
+    CodeBlock.Builder types = CodeBlock.builder();
+    CodeBlock.Builder signatures = CodeBlock.builder();
+    CodeBlock.Builder argumentCounts = CodeBlock.builder();
+    CodeBlock.Builder reflectedMethods = CodeBlock.builder().beginControlFlow("switch (methodId)");
+    CodeBlock.Builder invocations = CodeBlock.builder().beginControlFlow("switch (methodId)");
+    for (int methodId = 0; methodId < methods.size(); methodId++) {
+      ReactMethodInfo method = methods.get(methodId);
+      String separator = methodId == 0 ? "" : ", ";
+      names.add(separator + "$S", method.mName);
+      types.add(separator + "$T.$L", BASE_JAVA_MODULE_TYPE, method.getMethodTypeConstant());
+      signatures.add(separator + "$S", method.getSignature());
+      argumentCounts.add(separator + "$L", method.getJSArgumentsNeeded());
+      if (method.mIsSync) {
+        reflectedMethods.add("case $L:\n", methodId).indent();
+        reflectedMethods.add(
+            "return $T.class.getDeclaredMethod($S", method.mDeclaringClass, method.mName);
+        for (TypeName parameterType : method.mParameterTypes) {
+          reflectedMethods.add(", $T.class", parameterType);
+        }
+        reflectedMethods.add(");\n").unindent();
+      }
+      invocations.add(method.getInvocation(methodId, moduleClassName, moduleName));
+    }
+    reflectedMethods
+        .add("default:\n")
+        .indent()
+        .addStatement("throw new $T(\"methodId \" + methodId)", NoSuchMethodException.class)
+        .unindent()
+        .endControlFlow();
+    invocations
+        .add("default:\n")
+        .indent()
+        .addStatement(
+            "throw new $T(\"Unknown methodId \" + methodId)", IllegalArgumentException.class)
+        .unindent()
+        .endControlFlow();
+
+    ArrayTypeName stringArrayType = ArrayTypeName.of(String.class);
+    TypeSpec invokerTypeSpec =
+        TypeSpec.classBuilder(invokerName)
+            .addModifiers(PUBLIC)
+            .addSuperinterface(REACT_METHOD_INVOKER_TYPE)
+            .addField(
+                FieldSpec.builder(stringArrayType, "NAMES", PRIVATE, STATIC, FINAL)
+                    .initializer("{$L}", names.build())
+                    .build())
+            .addField(
+                FieldSpec.builder(stringArrayType, "TYPES", PRIVATE, STATIC, FINAL)
+                    .initializer("{$L}", types.build())
+                    .build())
+            .addField(
+                FieldSpec.builder(stringArrayType, "SIGNATURES", PRIVATE, STATIC, FINAL)
+                    .initializer("{$L}", signatures.build())
+                    .build())
+            .addField(
+                FieldSpec.builder(int[].class, "JS_ARGUMENTS_NEEDED", PRIVATE, STATIC, FINAL)
+                    .initializer("{$L}", argumentCounts.build())
+                    .build())
+            .addMethod(
+                MethodSpec.methodBuilder("getMethodCount")
+                    .addAnnotation(Override.class)
+                    .addModifiers(PUBLIC)
+                    .returns(int.class)
+                    .addStatement("return $L", methods.size())
+                    .build())
+            .addMethod(getArrayElementGetter("getMethodName", String.class, "NAMES"))
+            .addMethod(getArrayElementGetter("getMethodType", String.class, "TYPES"))
+            .addMethod(getArrayElementGetter("getMethodSignature", String.class, "SIGNATURES"))
+            .addMethod(
+                getArrayElementGetter("getJSArgumentsNeeded", int.class, "JS_ARGUMENTS_NEEDED"))
+            .addMethod(
+                MethodSpec.methodBuilder("getMethod")
+                    .addAnnotation(Override.class)
+                    .addModifiers(PUBLIC)
+                    .addParameter(int.class, "methodId")
+                    .returns(METHOD_TYPE)
+                    .addException(NoSuchMethodException.class)
+                    .addCode(reflectedMethods.build())
+                    .build())
+            .addMethod(
+                MethodSpec.methodBuilder("invoke")
+                    .addAnnotation(Override.class)
+                    .addModifiers(PUBLIC)
+                    .addParameter(NATIVE_MODULE_TYPE, "module")
+                    .addParameter(int.class, "methodId")
+                    .addParameter(JS_INSTANCE_TYPE, "jsInstance")
+                    .addParameter(READABLE_ARRAY_TYPE, "jsArguments")
+                    .addStatement("$T typedModule = ($T) module", moduleClassName, moduleClassName)
+                    .addCode(invocations.build())
+                    .build())
+            .build();
+
+    return JavaFile.builder(packageName, invokerTypeSpec)
+        .addFileComment("Generated by " + getClass().getName())
+        .build();
+  }
+
+  private static MethodSpec getArrayElementGetter(String name, Class returnType, String field) {
+    return MethodSpec.methodBuilder(name)
+        .addAnnotation(Override.class)
+        .addModifiers(PUBLIC)
+        .addParameter(int.class, "methodId")
+        .returns(returnType)
+        .addStatement("return $L[methodId]", field)
+        .build();
+  }
+
   private CodeBlock getCodeBlockForReactModuleInfos(List<String> nativeModules)
       throws ReactModuleSpecException {
     final CodeBlock.Builder builder = CodeBlock.builder();
@@ -234,6 +494,217 @@ public class ReactModuleSpecProcessor extends AbstractProcessor {
         .anyMatch(el -> el.toString().equals(TurboModule.class.getName()));
   }
 
+  /** A {@code @ReactMethod} whose argument and return types are supported by generated code. */
+  private static class ReactMethodInfo {
+
+    private final ClassName mDeclaringClass;
+    private final String mName;
+    private final boolean mIsSync;
+    private final char mReturnTypeChar;
+    private final char[] mParameterTypeChars;
+    private final List<TypeName> mParameterTypes;
+
+    private ReactMethodInfo(
+        ClassName declaringClass,
+        String name,
+        boolean isSync,
+        char returnTypeChar,
+        char[] parameterTypeChars,
+        List<TypeName> parameterTypes) {
+      mDeclaringClass = declaringClass;
+      mName = name;
+      mIsSync = isSync;
+      mReturnTypeChar = returnTypeChar;
+      mParameterTypeChars = parameterTypeChars;
+      mParameterTypes = parameterTypes;
+    }
+
+    private static @Nullable ReactMethodInfo create(
+        TypeElement declaringClass, ExecutableElement method, boolean isSync) {
+      List<? extends VariableElement> parameters = method.getParameters();
+      char[] parameterTypeChars = new char[parameters.size()];
+      List<TypeName> parameterTypes = new ArrayList<>(parameters.size());
+      for (int i = 0; i < parameters.size(); i++) {
+        TypeMirror parameterType = parameters.get(i).asType();
+        char typeChar = parameterTypeToChar(parameterType.toString());
+        if (typeChar == '\0' || (typeChar == 'P' && i != parameters.size() - 1)) {
+          return null;
+        }
+        parameterTypeChars[i] = typeChar;
+        parameterTypes.add(TypeName.get(parameterType));
+      }
+      char returnTypeChar = 'v';
+      if (isSync) {
+        returnTypeChar = returnTypeToChar(method.getReturnType().toString());
+        if (returnTypeChar == '\0') {
+          return null;
+        }
+      }
+      return new ReactMethodInfo(
+          ClassName.get(declaringClass),
+          method.getSimpleName().toString(),
+          isSync,
+          returnTypeChar,
+          parameterTypeChars,
+          parameterTypes);
+    }
+
+    /** Keep in sync with JavaMethodWrapper#paramTypeToChar */
+    private static char parameterTypeToChar(String type) {
+      switch (type) {
+        case BRIDGE_PACKAGE + ".Callback":
+          return 'X';
+        case BRIDGE_PACKAGE + ".Promise":
+          return 'P';
+        case BRIDGE_PACKAGE + ".ReadableMap":
+          return 'M';
+        case BRIDGE_PACKAGE + ".ReadableArray":
+          return 'A';
+        case BRIDGE_PACKAGE + ".Dynamic":
+          return 'Y';
+        default:
+          return commonTypeToChar(type);
+      }
+    }
+
+    /** Keep in sync with JavaMethodWrapper#returnTypeToChar */
+    private static char returnTypeToChar(String type) {
+      switch (type) {
+        case "void":
+          return 'v';
+        case BRIDGE_PACKAGE + ".WritableMap":
+          return 'M';
+        case BRIDGE_PACKAGE + ".WritableArray":
+          return 'A';
+        default:
+          return commonTypeToChar(type);
+      }
+    }
+
+    private static char commonTypeToChar(String type) {
+      switch (type) {
+        case "boolean":
+          return 'z';
+        case "java.lang.Boolean":
+          return 'Z';
+        case "int":
+          return 'i';
+        case "java.lang.Integer":
+          return 'I';
+        case "double":
+          return 'd';
+        case "java.lang.Double":
+          return 'D';
+        case "float":
+          return 'f';
+        case "java.lang.Float":
+          return 'F';
+        case "java.lang.String":
+          return 'S';
+        default:
+          return '\0';
+      }
+    }
+
+    private String getMethodTypeConstant() {
+      if (mIsSync) {
+        return "METHOD_TYPE_SYNC";
+      }
+      int length = mParameterTypeChars.length;
+      return length > 0 && mParameterTypeChars[length - 1] == 'P'
+          ? "METHOD_TYPE_PROMISE"
+          : "METHOD_TYPE_ASYNC";
+    }
+
+    private String getSignature() {
+      return mReturnTypeChar + "." + new String(mParameterTypeChars);
+    }
+
+    private int getJSArgumentsNeeded() {
+      int jsArgumentsNeeded = 0;
+      for (char typeChar : mParameterTypeChars) {
+        jsArgumentsNeeded += typeChar == 'P' ? 2 : 1;
+      }
+      return jsArgumentsNeeded;
+    }
+
+    private CodeBlock getInvocation(int methodId, ClassName moduleClassName, String moduleName) {
+      CodeBlock.Builder builder = CodeBlock.builder();
+      builder.add("case $L: {\n", methodId).indent();
+      for (int i = 0; i < mParameterTypes.size(); i++) {
+        builder.addStatement("$T arg$L", mParameterTypes.get(i), i);
+      }
+      if (!mParameterTypes.isEmpty()) {
+        builder.beginControlFlow("try");
+        int jsArgumentIndex = 0;
+        for (int i = 0; i < mParameterTypes.size(); i++) {
+          builder.addStatement("arg$L = $L", i, getArgumentExtraction(i, jsArgumentIndex));
+          jsArgumentIndex += mParameterTypeChars[i] == 'P' ? 2 : 1;
+        }
+        builder
+            .nextControlFlow("catch ($T e)", UNEXPECTED_NATIVE_TYPE_EXCEPTION_TYPE)
+            .addStatement(
+                "throw new $T(e.getMessage() + $S, e)",
+                NATIVE_ARGUMENTS_PARSE_EXCEPTION_TYPE,
+                " (constructing arguments for " + moduleName + "." + mName + ")")
+            .endControlFlow();
+      }
+      StringBuilder arguments = new StringBuilder();
+      for (int i = 0; i < mParameterTypes.size(); i++) {
+        arguments.append(i == 0 ? "arg" : ", arg").append(i);
+      }
+      builder.addStatement("typedModule.$L($L)", mName, arguments.toString());
+      builder.addStatement("return");
+      return builder.unindent().add("}\n").build();
+    }
+
+    /** Keep in sync with the argument extractors of JavaMethodWrapper */
+    private CodeBlock getArgumentExtraction(int parameterIndex, int jsArgumentIndex) {
+      switch (mParameterTypeChars[parameterIndex]) {
+        case 'z':
+        case 'Z':
+          return CodeBlock.of("jsArguments.getBoolean($L)", jsArgumentIndex);
+        case 'i':
+        case 'I':
+          return CodeBlock.of("(int) jsArguments.getDouble($L)", jsArgumentIndex);
+        case 'd':
+        case 'D':
+          return CodeBlock.of("jsArguments.getDouble($L)", jsArgumentIndex);
+        case 'f':
+        case 'F':
+          return CodeBlock.of("(float) jsArguments.getDouble($L)", jsArgumentIndex);
+        case 'S':
+          return CodeBlock.of("jsArguments.getString($L)", jsArgumentIndex);
+        case 'M':
+          return CodeBlock.of("jsArguments.getMap($L)", jsArgumentIndex);
+        case 'A':
+          return CodeBlock.of("jsArguments.getArray($L)", jsArgumentIndex);
+        case 'Y':
+          return CodeBlock.of(
+              "$T.create(jsArguments, $L)", DYNAMIC_FROM_ARRAY_TYPE, jsArgumentIndex);
+        case 'X':
+          return getCallbackExtraction(jsArgumentIndex);
+        case 'P':
+          return CodeBlock.of(
+              "new $T($L, $L)",
+              PROMISE_IMPL_TYPE,
+              getCallbackExtraction(jsArgumentIndex),
+              getCallbackExtraction(jsArgumentIndex + 1));
+        default:
+          throw new IllegalStateException(
+              "Unsupported parameter type " + mParameterTypeChars[parameterIndex]);
+      }
+    }
+
+    private static CodeBlock getCallbackExtraction(int jsArgumentIndex) {
+      return CodeBlock.of(
+          "jsArguments.isNull($L) ? null : new $T(jsInstance, (int) jsArguments.getDouble($L))",
+          jsArgumentIndex,
+          CALLBACK_IMPL_TYPE,
+          jsArgumentIndex);
+    }
+  }
+
   private static class ReactModuleSpecException extends Exception {
 
     public final String mMessage;
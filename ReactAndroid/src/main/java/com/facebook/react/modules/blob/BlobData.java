@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.blob;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.List;
+import okio.BufferedSink;
+
+/**
+ * Immutable content of a blob stored by {@link BlobModule}. Ranges of a blob can be written to a
+ * sink or referenced by another blob without copying the bytes they contain.
+ */
+/* package */ abstract class BlobData {
+
+  public abstract int size();
+
+  /** Writes {@code size} bytes starting at {@code offset} to the given sink. */
+  public abstract void writeTo(BufferedSink sink, int offset, int size) throws IOException;
+
+  /** Copies {@code size} bytes starting at {@code offset} into {@code dest}. */
+  public abstract void copyTo(int offset, int size, byte[] dest, int destOffset);
+
+  /** Adds the leaf segments holding the given range to {@code segments}. */
+  /* package */ void addSegments(int offset, int size, List<Segment> segments) {
+    if (size > 0) {
+      segments.add(new Segment(this, offset, size));
+    }
+  }
+
+  public byte[] toByteArray(int offset, int size) {
+    byte[] bytes = new byte[size];
+    copyTo(offset, size, bytes, 0);
+    return bytes;
+  }
+
+  /** Range of a leaf (non composite) blob. */
+  /* package */ static final class Segment {
+    final BlobData data;
+    final int offset;
+    final int size;
+
+    Segment(BlobData data, int offset, int size) {
+      this.data = data;
+      this.offset = offset;
+      this.size = size;
+    }
+  }
+
+  /** Blob held in a byte array on the Java heap. */
+  /* package */ static final class Bytes extends BlobData {
+    private final byte[] mBytes;
+
+    Bytes(byte[] bytes) {
+      mBytes = bytes;
+    }
+
+    @Override
+    public int size() {
+      return mBytes.length;
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink, int offset, int size) throws IOException {
+      sink.write(mBytes, offset, size);
+    }
+
+    @Override
+    public void copyTo(int offset, int size, byte[] dest, int destOffset) {
+      System.arraycopy(mBytes, offset, dest, destOffset, size);
+    }
+
+    @Override
+    public byte[] toByteArray(int offset, int size) {
+      if (offset == 0 && size == mBytes.length) {
+        return mBytes;
+      }
+      return Arrays.copyOfRange(mBytes, offset, offset + size);
+    }
+  }
+
+  /**
+   * Blob held in a memory mapped file. The file is deleted as soon as it is mapped, the mapping
+   * stays valid until the buffer is garbage collected and its pages are not counted against the
+   * Java heap.
+   */
+  /* package */ static final class Mapped extends BlobData {
+    private final ByteBuffer mBuffer;
+
+    Mapped(ByteBuffer buffer) {
+      mBuffer = buffer;
+    }
+
+    static Mapped map(File file) throws IOException {
+      RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+      try {
+        FileChannel channel = randomAccessFile.getChannel();
+        return new Mapped(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+      } finally {
+        randomAccessFile.close();
+        file.delete();
+      }
+    }
+
+    @Override
+    public int size() {
+      return mBuffer.capacity();
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink, int offset, int size) throws IOException {
+      sink.write(slice(offset, size));
+    }
+
+    @Override
+    public void copyTo(int offset, int size, byte[] dest, int destOffset) {
+      slice(offset, size).get(dest, destOffset, size);
+    }
+
+    private ByteBuffer slice(int offset, int size) {
+      // Duplicates share the mapping but have their own position, so concurrent reads are safe.
+      ByteBuffer slice = mBuffer.duplicate();
+      slice.limit(offset + size);
+      slice.position(offset);
+      return slice;
+    }
+  }
+
+  /** Blob made of ranges of other blobs, as created by {@link BlobModule#createFromParts}. */
+  /* package */ static final class Composite extends BlobData {
+    private final Segment[] mSegments;
+    // Offset of each segment within this blob, plus the size of the blob at the end.
+    private final int[] mStarts;
+
+    Composite(List<Segment> segments) {
+      mSegments = segments.toArray(new Segment[segments.size()]);
+      mStarts = new int[mSegments.length + 1];
+      for (int i = 0; i < mSegments.length; i++) {
+        mStarts[i + 1] = mStarts[i] + mSegments[i].size;
+      }
+    }
+
+    @Override
+    public int size() {
+      return mStarts[mSegments.length];
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink, int offset, int size) throws IOException {
+      int end = offset + size;
+      for (int i = segmentAt(offset); i < mSegments.length && mStarts[i] < end; i++) {
+        Segment segment = mSegments[i];
+        int start = Math.max(offset, mStarts[i]) - mStarts[i];
+        int length = Math.min(end, mStarts[i + 1]) - mStarts[i] - start;
+        segment.data.writeTo(sink, segment.offset + start, length);
+      }
+    }
+
+    @Override
+    public void copyTo(int offset, int size, byte[] dest, int destOffset) {
+      int end = offset + size;
+      for (int i = segmentAt(offset); i < mSegments.length && mStarts[i] < end; i++) {
+        Segment segment = mSegments[i];
+        int start = Math.max(offset, mStarts[i]) - mStarts[i];
+        int length = Math.min(end, mStarts[i + 1]) - mStarts[i] - start;
+        segment.data.copyTo(segment.offset + start, length, dest, destOffset);
+        destOffset += length;
+      }
+    }
+
+    @Override
+    /* package */ void addSegments(int offset, int size, List<Segment> segments) {
+      // Flatten so that composites of composites don't get deeper.
+      int end = offset + size;
+      for (int i = segmentAt(offset); i < mSegments.length && mStarts[i] < end; i++) {
+        Segment segment = mSegments[i];
+        int start = Math.max(offset, mStarts[i]) - mStarts[i];
+        int length = Math.min(end, mStarts[i + 1]) - mStarts[i] - start;
+        segment.data.addSegments(segment.offset + start, length, segments);
+      }
+    }
+
+    /** Returns the index of the segment containing the given offset. */
+    private int segmentAt(int offset) {
+      int index = Arrays.binarySearch(mStarts, 0, mSegments.length, offset);
+      return index >= 0 ? index : Math.max(0, -index - 2);
+    }
+  }
+}
@@ -25,29 +25,34 @@ import com.facebook.react.common.MapBuilder;
 import com.facebook.react.module.annotations.ReactModule;
 import com.facebook.react.modules.network.NetworkingModule;
 import com.facebook.react.modules.websocket.WebSocketModule;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 import okhttp3.MediaType;
 import okhttp3.RequestBody;
 import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.BufferedSource;
 import okio.ByteString;
+import okio.Okio;
 
 @ReactModule(name = BlobModule.NAME)
 public class BlobModule extends ReactContextBaseJavaModule {
 
   public static final String NAME = "BlobModule";
 
-  private final Map<String, byte[]> mBlobs = new HashMap<>();
+  private final Map<String, BlobData> mBlobs = new HashMap<>();
+
+  // Blobs read from the network or from a URI that are larger than this are stored in a memory
+  // mapped file rather than on the Java heap. Disabled if not positive.
+  private final int mFileBackedBlobThresholdBytes;
 
   private final WebSocketModule.ContentHandler mWebSocketContentHandler =
       new WebSocketModule.ContentHandler() {
@@ -83,12 +88,12 @@ public class BlobModule extends ReactContextBaseJavaModule {
 
         @Override
         public WritableMap fetch(Uri uri) throws IOException {
-          byte[] data = getBytesFromUri(uri);
+          BlobData data = readFromUri(uri);
 
           WritableMap blob = Arguments.createMap();
           blob.putString("blobId", store(data));
           blob.putInt("offset", 0);
-          blob.putInt("size", data.length);
+          blob.putInt("size", data.size());
           blob.putString("type", getMimeTypeFromUri(uri));
 
           // Needed for files
@@ -116,10 +121,32 @@ public class BlobModule extends ReactContextBaseJavaModule {
             type = "application/octet-stream";
           }
           ReadableMap blob = data.getMap("blob");
-          String blobId = blob.getString("blobId");
-          byte[] bytes = resolve(blobId, blob.getInt("offset"), blob.getInt("size"));
-
-          return RequestBody.create(MediaType.parse(type), bytes);
+          final BlobData blobData = getBlobData(blob.getString("blobId"));
+          if (blobData == null) {
+            // The blob has already been released.
+            return RequestBody.create(MediaType.parse(type), new byte[0]);
+          }
+          final MediaType mediaType = MediaType.parse(type);
+          final int offset = blob.getInt("offset");
+          final int size = blob.getInt("size");
+
+          // Stream the blob from where it is stored instead of copying it into an array first.
+          return new RequestBody() {
+            @Override
+            public @Nullable MediaType contentType() {
+              return mediaType;
+            }
+
+            @Override
+            public long contentLength() {
+              return size;
+            }
+
+            @Override
+            public void writeTo(BufferedSink sink) throws IOException {
+              blobData.writeTo(sink, offset, size);
+            }
+          };
         }
       };
 
@@ -132,17 +159,32 @@ public class BlobModule extends ReactContextBaseJavaModule {
 
         @Override
         public WritableMap toResponseData(ResponseBody body) throws IOException {
-          byte[] data = body.bytes();
+          BlobData data;
+          try {
+            data = read(body.source());
+          } finally {
+            body.close();
+          }
           WritableMap blob = Arguments.createMap();
           blob.putString("blobId", store(data));
           blob.putInt("offset", 0);
-          blob.putInt("size", data.length);
+          blob.putInt("size", data.size());
           return blob;
         }
       };
 
   public BlobModule(ReactApplicationContext reactContext) {
+    this(reactContext, 0);
+  }
+
+  /**
+   * @param fileBackedBlobThresholdBytes size above which blobs read from the network or from a URI
+   *     are written to a temporary file and memory mapped rather than kept on the Java heap. Not
+   *     positive to keep every blob on the heap.
+   */
+  public BlobModule(ReactApplicationContext reactContext, int fileBackedBlobThresholdBytes) {
     super(reactContext);
+    mFileBackedBlobThresholdBytes = fileBackedBlobThresholdBytes;
   }
 
   @Override
@@ -177,6 +219,16 @@ public class BlobModule extends ReactContextBaseJavaModule {
   }
 
   public void store(byte[] data, String blobId) {
+    store(new BlobData.Bytes(data), blobId);
+  }
+
+  /* package */ String store(BlobData data) {
+    String blobId = UUID.randomUUID().toString();
+    store(data, blobId);
+    return blobId;
+  }
+
+  private void store(BlobData data, String blobId) {
     synchronized (mBlobs) {
       mBlobs.put(blobId, data);
     }
@@ -205,40 +257,71 @@ public class BlobModule extends ReactContextBaseJavaModule {
   }
 
   public @Nullable byte[] resolve(String blobId, int offset, int size) {
-    synchronized (mBlobs) {
-      byte[] data = mBlobs.get(blobId);
-      if (data == null) {
-        return null;
-      }
-      if (size == -1) {
-        size = data.length - offset;
-      }
-      if (offset > 0 || size != data.length) {
-        data = Arrays.copyOfRange(data, offset, offset + size);
-      }
-      return data;
+    BlobData data = getBlobData(blobId);
+    if (data == null) {
+      return null;
     }
+    if (size == -1) {
+      size = data.size() - offset;
+    }
+    return data.toByteArray(offset, size);
   }
 
   public @Nullable byte[] resolve(ReadableMap blob) {
     return resolve(blob.getString("blobId"), blob.getInt("offset"), blob.getInt("size"));
   }
 
-  private byte[] getBytesFromUri(Uri contentUri) throws IOException {
+  /* package */ @Nullable BlobData getBlobData(String blobId) {
+    synchronized (mBlobs) {
+      return mBlobs.get(blobId);
+    }
+  }
+
+  /**
+   * Reads the given source until it is exhausted. Once more than {@link
+   * #mFileBackedBlobThresholdBytes} have been read, the rest is streamed to a temporary file that
+   * is then memory mapped.
+   */
+  /* package */ BlobData read(BufferedSource source) throws IOException {
+    if (mFileBackedBlobThresholdBytes <= 0) {
+      return new BlobData.Bytes(source.readByteArray());
+    }
+    Buffer head = new Buffer();
+    while (head.size() <= mFileBackedBlobThresholdBytes) {
+      if (source.read(head, mFileBackedBlobThresholdBytes + 1 - head.size()) == -1) {
+        return new BlobData.Bytes(head.readByteArray());
+      }
+    }
+    File file = File.createTempFile("blob", null, getReactApplicationContext().getCacheDir());
+    BufferedSink sink = null;
+    try {
+      sink = Okio.buffer(Okio.sink(file));
+      sink.writeAll(head);
+      sink.writeAll(source);
+      sink.close();
+      sink = null;
+      return BlobData.Mapped.map(file);
+    } finally {
+      if (sink != null) {
+        sink.close();
+        file.delete();
+      }
+    }
+  }
+
+  private BlobData readFromUri(Uri contentUri) throws IOException {
     InputStream is = getReactApplicationContext().getContentResolver().openInputStream(contentUri);
 
     if (is == null) {
       throw new FileNotFoundException("File not found for " + contentUri);
     }
 
-    ByteArrayOutputStream byteBuffer = new ByteArrayOutputStream();
-    int bufferSize = 1024;
-    byte[] buffer = new byte[bufferSize];
-    int len;
-    while ((len = is.read(buffer)) != -1) {
-      byteBuffer.write(buffer, 0, len);
+    BufferedSource source = Okio.buffer(Okio.source(is));
+    try {
+      return read(source);
+    } finally {
+      source.close();
     }
-    return byteBuffer.toByteArray();
   }
 
   private String getNameFromUri(Uri contentUri) {
@@ -344,30 +427,28 @@ public class BlobModule extends ReactContextBaseJavaModule {
 
   @ReactMethod
   public void createFromParts(ReadableArray parts, String blobId) {
-    int totalBlobSize = 0;
-    ArrayList<byte[]> partList = new ArrayList<>(parts.size());
+    // The new blob references the ranges of the blobs it is made of instead of copying them.
+    ArrayList<BlobData.Segment> segments = new ArrayList<>(parts.size());
     for (int i = 0; i < parts.size(); i++) {
       ReadableMap part = parts.getMap(i);
       switch (part.getString("type")) {
         case "blob":
           ReadableMap blob = part.getMap("data");
-          totalBlobSize += blob.getInt("size");
-          partList.add(i, resolve(blob));
+          BlobData data = getBlobData(blob.getString("blobId"));
+          if (data == null) {
+            throw new IllegalArgumentException("Invalid blob: " + blob.getString("blobId"));
+          }
+          data.addSegments(blob.getInt("offset"), blob.getInt("size"), segments);
           break;
         case "string":
           byte[] bytes = part.getString("data").getBytes(Charset.forName("UTF-8"));
-          totalBlobSize += bytes.length;
-          partList.add(i, bytes);
+          new BlobData.Bytes(bytes).addSegments(0, bytes.length, segments);
           break;
         default:
           throw new IllegalArgumentException("Invalid type for blob: " + part.getString("type"));
       }
     }
-    ByteBuffer buffer = ByteBuffer.allocate(totalBlobSize);
-    for (byte[] bytes : partList) {
-      buffer.put(bytes);
-    }
-    store(buffer.array(), blobId);
+    store(new BlobData.Composite(segments), blobId);
   }
 
   @ReactMethod
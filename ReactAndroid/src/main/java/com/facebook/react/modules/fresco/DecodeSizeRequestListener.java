@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.fresco;
+
+import androidx.annotation.Nullable;
+import com.facebook.imagepipeline.listener.BaseRequestListener;
+import com.facebook.imagepipeline.request.ImageRequest;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the memory saved by decoding images at a smaller size than their original one, which
+ * happens when images are requested with {@link
+ * com.facebook.imagepipeline.common.ResizeOptions}. Registered by {@link FrescoModule} when {@link
+ * com.facebook.react.config.ReactFeatureFlags#enableImageDecodeSizeHints} is enabled.
+ */
+public class DecodeSizeRequestListener extends BaseRequestListener {
+
+  // Names and extras of the producers of the image pipeline.
+  private static final String DECODE_PRODUCER = "DecodeProducer";
+  private static final String RESIZE_AND_ROTATE_PRODUCER = "ResizeAndRotateProducer";
+  private static final String EXTRA_ENCODED_IMAGE_SIZE = "encodedImageSize";
+  private static final String EXTRA_BITMAP_SIZE = "bitmapSize";
+  private static final String EXTRA_IS_FINAL = "isFinal";
+  private static final String EXTRA_ORIGINAL_SIZE = "Original size";
+
+  // Fresco decodes bitmaps as ARGB_8888 by default.
+  private static final int BYTES_PER_PIXEL = 4;
+
+  private static final AtomicLong sBytesSaved = new AtomicLong();
+  private static final AtomicInteger sResizedImageCount = new AtomicInteger();
+
+  // Pixels of the images transcoded to a smaller size before being decoded, by request id.
+  private final Map<String, Long> mOriginalPixels = new HashMap<>();
+
+  /** @return bytes of bitmap memory saved by decoding images at a smaller size */
+  public static long getBytesSaved() {
+    return sBytesSaved.get();
+  }
+
+  /** @return how many images were decoded at a smaller size than their original one */
+  public static int getResizedImageCount() {
+    return sResizedImageCount.get();
+  }
+
+  public static void resetCounters() {
+    sBytesSaved.set(0);
+    sResizedImageCount.set(0);
+  }
+
+  @Override
+  public boolean requiresExtraMap(String requestId) {
+    return true;
+  }
+
+  @Override
+  public void onProducerFinishWithSuccess(
+      String requestId, String producerName, @Nullable Map<String, String> extraMap) {
+    if (extraMap == null) {
+      return;
+    }
+    if (RESIZE_AND_ROTATE_PRODUCER.equals(producerName)) {
+      long originalPixels = parsePixels(extraMap.get(EXTRA_ORIGINAL_SIZE));
+      if (originalPixels > 0) {
+        synchronized (mOriginalPixels) {
+          mOriginalPixels.put(requestId, originalPixels);
+        }
+      }
+    } else if (DECODE_PRODUCER.equals(producerName)
+        && !"false".equals(extraMap.get(EXTRA_IS_FINAL))) {
+      Long transcodedOriginalPixels;
+      synchronized (mOriginalPixels) {
+        transcodedOriginalPixels = mOriginalPixels.remove(requestId);
+      }
+      long originalPixels =
+          transcodedOriginalPixels != null
+              ? transcodedOriginalPixels
+              : parsePixels(extraMap.get(EXTRA_ENCODED_IMAGE_SIZE));
+      recordDecode(originalPixels, parsePixels(extraMap.get(EXTRA_BITMAP_SIZE)));
+    }
+  }
+
+  @Override
+  public void onRequestSuccess(ImageRequest request, String requestId, boolean isPrefetch) {
+    forgetRequest(requestId);
+  }
+
+  @Override
+  public void onRequestFailure(
+      ImageRequest request, String requestId, Throwable throwable, boolean isPrefetch) {
+    forgetRequest(requestId);
+  }
+
+  @Override
+  public void onRequestCancellation(String requestId) {
+    forgetRequest(requestId);
+  }
+
+  private void forgetRequest(String requestId) {
+    synchronized (mOriginalPixels) {
+      mOriginalPixels.remove(requestId);
+    }
+  }
+
+  private static void recordDecode(long originalPixels, long decodedPixels) {
+    if (originalPixels > 0 && decodedPixels > 0 && decodedPixels < originalPixels) {
+      sBytesSaved.addAndGet((originalPixels - decodedPixels) * BYTES_PER_PIXEL);
+      sResizedImageCount.incrementAndGet();
+    }
+  }
+
+  /** Parses sizes reported by the producers as "<width>x<height>", returns -1 if invalid. */
+  private static long parsePixels(@Nullable String size) {
+    if (size == null) {
+      return -1;
+    }
+    int separator = size.indexOf('x');
+    if (separator <= 0) {
+      return -1;
+    }
+    try {
+      long width = Long.parseLong(size.substring(0, separator).trim());
+      long height = Long.parseLong(size.substring(separator + 1).trim());
+      return width * height;
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+}
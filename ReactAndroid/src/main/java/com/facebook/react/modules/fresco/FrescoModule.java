@@ -19,6 +19,7 @@ import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.common.ReactConstants;
+import com.facebook.react.config.ReactFeatureFlags;
 import com.facebook.react.module.annotations.ReactModule;
 import com.facebook.react.modules.common.ModuleDataCleaner;
 import com.facebook.react.modules.network.CookieJarContainer;
@@ -140,6 +141,9 @@ public class FrescoModule extends ReactContextBaseJavaModule
   public static ImagePipelineConfig.Builder getDefaultConfigBuilder(ReactContext context) {
     HashSet<RequestListener> requestListeners = new HashSet<>();
     requestListeners.add(new SystraceRequestListener());
+    if (ReactFeatureFlags.enableImageDecodeSizeHints) {
+      requestListeners.add(new DecodeSizeRequestListener());
+    }
 
     OkHttpClient client = OkHttpClientProvider.createClient();
 
@@ -151,7 +155,9 @@ public class FrescoModule extends ReactContextBaseJavaModule
 
     return OkHttpImagePipelineConfigFactory.newBuilder(context.getApplicationContext(), client)
         .setNetworkFetcher(new ReactOkHttpNetworkFetcher(client))
-        .setDownsampleEnabled(false)
+        // Downsampling lets the decoder apply ResizeOptions to all formats instead of transcoding
+        // JPEGs only, and is needed for the decode size hints of ReactImageView.
+        .setDownsampleEnabled(ReactFeatureFlags.enableImageDecodeSizeHints)
         .setRequestListeners(requestListeners);
   }
 
@@ -8,8 +8,10 @@
 package com.facebook.react.modules.network;
 
 import android.net.Uri;
+import android.os.AsyncTask;
 import android.os.Bundle;
 import android.util.Base64;
+import android.util.SparseArray;
 import androidx.annotation.Nullable;
 import com.facebook.common.logging.FLog;
 import com.facebook.react.bridge.Arguments;
@@ -28,10 +30,13 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import okhttp3.Cache;
 import okhttp3.Call;
 import okhttp3.Callback;
 import okhttp3.CookieJar;
@@ -95,8 +100,23 @@ public final class NetworkingModule extends ReactContextBaseJavaModule {
   private static final String USER_AGENT_HEADER_NAME = "user-agent";
   private static final int CHUNK_TIMEOUT_NS = 100 * 1000000; // 100ms
   private static final int MAX_CHUNK_SIZE_BETWEEN_FLUSHES = 8 * 1024; // 8K
+  private static final String RESPONSE_TYPE_STREAM = "stream";
+  private static final int DEFAULT_STREAM_CHUNK_SIZE = 8 * 1024; // 8K
+  private static final int MAX_STREAM_CHUNK_SIZE = 1024 * 1024; // 1M
 
   private static @Nullable CustomClientBuilder customClientBuilder = null;
+  private static boolean sRequestCoalescingEnabled = false;
+
+  /** Identical requests sent as a single call, see {@link #setRequestCoalescingEnabled}. */
+  private static class CoalescedRequestGroup {
+    final String key;
+    // Requests to send the response to, in the order they were made.
+    final List<Integer> requestIds = new ArrayList<>();
+
+    CoalescedRequestGroup(String key) {
+      this.key = key;
+    }
+  }
 
   private final OkHttpClient mClient;
   private final ForwardingCookieHandler mCookieHandler;
@@ -106,6 +126,11 @@ public final class NetworkingModule extends ReactContextBaseJavaModule {
   private final List<RequestBodyHandler> mRequestBodyHandlers = new ArrayList<>();
   private final List<UriHandler> mUriHandlers = new ArrayList<>();
   private final List<ResponseHandler> mResponseHandlers = new ArrayList<>();
+  // Bodies of the responses requested with the stream response type that JS hasn't fully read yet.
+  private final SparseArray<ResponseStream> mResponseStreams = new SparseArray<>();
+  // In flight coalesced requests by key. Also guards mCoalescedRequestCount.
+  private final Map<String, CoalescedRequestGroup> mCoalescedRequestGroups = new HashMap<>();
+  private int mCoalescedRequestCount = 0;
   private boolean mShuttingDown;
 
   /* package */ NetworkingModule(
@@ -169,6 +194,15 @@ public final class NetworkingModule extends ReactContextBaseJavaModule {
     customClientBuilder = ccb;
   }
 
+  /**
+   * When enabled, a GET request for text or base64 data that is identical to one in flight (same
+   * URL, headers, response type and credentials) doesn't go to the network. It gets the response of
+   * the request in flight instead. Requests with incremental updates are never coalesced.
+   */
+  public static void setRequestCoalescingEnabled(boolean enabled) {
+    sRequestCoalescingEnabled = enabled;
+  }
+
   public static interface CustomClientBuilder {
     public void apply(OkHttpClient.Builder builder);
   }
@@ -445,6 +479,27 @@ public final class NetworkingModule extends ReactContextBaseJavaModule {
     requestBuilder.method(
         method, wrapRequestBodyWithProgressEmitter(requestBody, eventEmitter, requestId));
 
+    if (sRequestCoalescingEnabled && isCoalescable(method, responseType, useIncrementalUpdates)) {
+      String key = getCoalescingKey(url, requestHeaders, responseType, withCredentials);
+      CoalescedRequestGroup group;
+      synchronized (mCoalescedRequestGroups) {
+        group = mCoalescedRequestGroups.get(key);
+        if (group != null) {
+          group.requestIds.add(requestId);
+          mCoalescedRequestCount++;
+          return;
+        }
+        group = new CoalescedRequestGroup(key);
+        group.requestIds.add(requestId);
+        mCoalescedRequestGroups.put(key, group);
+      }
+      // Tag with the group, aborting one of the requests must not cancel the others.
+      client
+          .newCall(requestBuilder.tag(group).build())
+          .enqueue(new CoalescedRequestCallback(group, responseType, eventEmitter));
+      return;
+    }
+
     addRequest(requestId);
     client
         .newCall(requestBuilder.build())
@@ -478,30 +533,12 @@ public final class NetworkingModule extends ReactContextBaseJavaModule {
                     response.request().url().toString());
 
                 try {
-                  // OkHttp implements something called transparent gzip, which mean that it will
-                  // automatically add the Accept-Encoding gzip header and handle decoding
-                  // internally.
-                  // The issue is that it won't handle decoding if the user provides a
-                  // Accept-Encoding
-                  // header. This is also undesirable considering that iOS does handle the decoding
-                  // even
-                  // when the header is provided. To make sure this works in all cases, handle gzip
-                  // body
-                  // here also. This works fine since OKHttp will remove the Content-Encoding header
-                  // if
-                  // it used transparent gzip.
-                  // See
-                  // https://github.com/square/okhttp/blob/5b37cda9e00626f43acf354df145fd452c3031f1/okhttp/src/main/java/okhttp3/internal/http/BridgeInterceptor.java#L76-L111
-                  ResponseBody responseBody = response.body();
-                  if ("gzip".equalsIgnoreCase(response.header("Content-Encoding"))
-                      && responseBody != null) {
-                    GzipSource gzipSource = new GzipSource(responseBody.source());
-                    String contentType = response.header("Content-Type");
-                    responseBody =
-                        ResponseBody.create(
-                            contentType != null ? MediaType.parse(contentType) : null,
-                            -1L,
-                            Okio.buffer(gzipSource));
+                  ResponseBody responseBody = getDecodedResponseBody(response);
+
+                  // Leave the body unread until JS pulls it with readResponseStream.
+                  if (responseType.equals(RESPONSE_TYPE_STREAM) && responseBody != null) {
+                    addResponseStream(requestId, new ResponseStream(responseBody));
+                    return;
                   }
 
                   // Check if a handler is registered
@@ -551,6 +588,149 @@ public final class NetworkingModule extends ReactContextBaseJavaModule {
             });
   }
 
+  /** Sends the response of a coalesced call to every request of its group. */
+  private class CoalescedRequestCallback implements Callback {
+    private final CoalescedRequestGroup mGroup;
+    private final String mResponseType;
+    private final @Nullable RCTDeviceEventEmitter mEventEmitter;
+
+    CoalescedRequestCallback(
+        CoalescedRequestGroup group,
+        String responseType,
+        @Nullable RCTDeviceEventEmitter eventEmitter) {
+      mGroup = group;
+      mResponseType = responseType;
+      mEventEmitter = eventEmitter;
+    }
+
+    @Override
+    public void onFailure(Call call, IOException e) {
+      if (mShuttingDown) {
+        return;
+      }
+      String errorMessage =
+          e.getMessage() != null
+              ? e.getMessage()
+              : "Error while executing request: " + e.getClass().getSimpleName();
+      for (int requestId : takeCoalescedRequestIds(mGroup)) {
+        ResponseUtil.onRequestError(mEventEmitter, requestId, errorMessage, e);
+      }
+    }
+
+    @Override
+    public void onResponse(Call call, Response response) throws IOException {
+      if (mShuttingDown) {
+        return;
+      }
+      // Requests made from now on go to the network, the body may be partially read already.
+      List<Integer> requestIds = takeCoalescedRequestIds(mGroup);
+      for (int requestId : requestIds) {
+        ResponseUtil.onResponseReceived(
+            mEventEmitter,
+            requestId,
+            response.code(),
+            translateHeaders(response.headers()),
+            response.request().url().toString());
+      }
+
+      String responseString;
+      try {
+        ResponseBody responseBody = getDecodedResponseBody(response);
+        if (mResponseType.equals("base64")) {
+          responseString = Base64.encodeToString(responseBody.bytes(), Base64.NO_WRAP);
+        } else {
+          responseString = responseBody.string();
+        }
+      } catch (IOException e) {
+        for (int requestId : requestIds) {
+          ResponseUtil.onRequestError(mEventEmitter, requestId, e.getMessage(), e);
+        }
+        return;
+      }
+      for (int requestId : requestIds) {
+        ResponseUtil.onDataReceived(mEventEmitter, requestId, responseString);
+        ResponseUtil.onRequestSuccess(mEventEmitter, requestId);
+      }
+    }
+  }
+
+  private boolean isCoalescable(
+      String method, String responseType, boolean useIncrementalUpdates) {
+    if (!method.equalsIgnoreCase("get") || useIncrementalUpdates) {
+      return false;
+    }
+    if (!responseType.equals("text") && !responseType.equals("base64")) {
+      return false;
+    }
+    for (ResponseHandler handler : mResponseHandlers) {
+      if (handler.supports(responseType)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static String getCoalescingKey(
+      String url, Headers headers, String responseType, boolean withCredentials) {
+    return url + '\n' + headers + responseType + '\n' + withCredentials;
+  }
+
+  /** Returns the requests to send the response of the group to, none can join it after that. */
+  private List<Integer> takeCoalescedRequestIds(CoalescedRequestGroup group) {
+    synchronized (mCoalescedRequestGroups) {
+      if (mCoalescedRequestGroups.get(group.key) == group) {
+        mCoalescedRequestGroups.remove(group.key);
+      }
+      List<Integer> requestIds = new ArrayList<>(group.requestIds);
+      group.requestIds.clear();
+      return requestIds;
+    }
+  }
+
+  /**
+   * Removes an aborted request from the coalesced group it belongs to, if any. Returns the group if
+   * it has no request left, in which case its call should be cancelled.
+   */
+  private @Nullable CoalescedRequestGroup removeCoalescedRequest(int requestId) {
+    synchronized (mCoalescedRequestGroups) {
+      for (CoalescedRequestGroup group : mCoalescedRequestGroups.values()) {
+        if (group.requestIds.remove(Integer.valueOf(requestId))) {
+          if (!group.requestIds.isEmpty()) {
+            return null;
+          }
+          mCoalescedRequestGroups.remove(group.key);
+          return group;
+        }
+      }
+      return null;
+    }
+  }
+
+  /**
+   * Returns the body of the response, decompressing it if needed.
+   *
+   * <p>OkHttp implements something called transparent gzip, which mean that it will automatically
+   * add the Accept-Encoding gzip header and handle decoding internally. The issue is that it won't
+   * handle decoding if the user provides a Accept-Encoding header. This is also undesirable
+   * considering that iOS does handle the decoding even when the header is provided. To make sure
+   * this works in all cases, handle gzip body here also. This works fine since OKHttp will remove
+   * the Content-Encoding header if it used transparent gzip. See
+   * https://github.com/square/okhttp/blob/5b37cda9e00626f43acf354df145fd452c3031f1/okhttp/src/main/java/okhttp3/internal/http/BridgeInterceptor.java#L76-L111
+   */
+  private static ResponseBody getDecodedResponseBody(Response response) {
+    ResponseBody responseBody = response.body();
+    if ("gzip".equalsIgnoreCase(response.header("Content-Encoding")) && responseBody != null) {
+      GzipSource gzipSource = new GzipSource(responseBody.source());
+      String contentType = response.header("Content-Type");
+      responseBody =
+          ResponseBody.create(
+              contentType != null ? MediaType.parse(contentType) : null,
+              -1L,
+              Okio.buffer(gzipSource));
+    }
+    return responseBody;
+  }
+
   private RequestBody wrapRequestBodyWithProgressEmitter(
       final RequestBody requestBody,
       final RCTDeviceEventEmitter eventEmitter,
@@ -627,6 +807,30 @@ public final class NetworkingModule extends ReactContextBaseJavaModule {
       cancelRequest(requestId);
     }
     mRequestIds.clear();
+    for (int i = 0; i < mResponseStreams.size(); i++) {
+      mResponseStreams.valueAt(i).close();
+    }
+    mResponseStreams.clear();
+    synchronized (mCoalescedRequestGroups) {
+      for (CoalescedRequestGroup group : mCoalescedRequestGroups.values()) {
+        cancelCall(group);
+      }
+      mCoalescedRequestGroups.clear();
+    }
+  }
+
+  private synchronized void addResponseStream(int requestId, ResponseStream stream) {
+    mResponseStreams.put(requestId, stream);
+  }
+
+  private synchronized @Nullable ResponseStream getResponseStream(int requestId) {
+    return mResponseStreams.get(requestId);
+  }
+
+  private synchronized @Nullable ResponseStream removeResponseStream(int requestId) {
+    ResponseStream stream = mResponseStreams.get(requestId);
+    mResponseStreams.remove(requestId);
+    return stream;
   }
 
   private static WritableMap translateHeaders(Headers headers) {
@@ -648,19 +852,102 @@ public final class NetworkingModule extends ReactContextBaseJavaModule {
   public void abortRequest(final int requestId) {
     cancelRequest(requestId);
     removeRequest(requestId);
+    ResponseStream stream = removeResponseStream(requestId);
+    if (stream != null) {
+      stream.close();
+    }
+    CoalescedRequestGroup group = removeCoalescedRequest(requestId);
+    if (group != null) {
+      cancelCall(group);
+    }
+  }
+
+  /**
+   * Reads the next chunk of the body of a response requested with the {@code stream} response
+   * type, and sends it to JS as incremental data. The request completes once the whole body has
+   * been read. JS should only ask for a chunk once it has received the previous one, nothing is
+   * read from the network in the meantime.
+   *
+   * @param maxBytes maximum number of bytes to read, or 0 for the default
+   */
+  @ReactMethod
+  public void readResponseStream(final int requestId, int maxBytes) {
+    final RCTDeviceEventEmitter eventEmitter = getEventEmitter("readResponseStream");
+    final ResponseStream stream = getResponseStream(requestId);
+    if (stream == null) {
+      ResponseUtil.onRequestError(
+          eventEmitter, requestId, "No response stream for request " + requestId, null);
+      return;
+    }
+    final int chunkSize =
+        maxBytes > 0 ? Math.min(maxBytes, MAX_STREAM_CHUNK_SIZE) : DEFAULT_STREAM_CHUNK_SIZE;
+
+    // Reads block on the network, keep them off the serial AsyncTask executor.
+    new GuardedAsyncTask<Void, Void>(getReactApplicationContext()) {
+      @Override
+      protected void doInBackgroundGuarded(Void... params) {
+        try {
+          String data = stream.readChunk(chunkSize);
+          if (mShuttingDown) {
+            return;
+          }
+          if (data == null) {
+            // If the stream is gone the request has been aborted while reading, closing the stream.
+            if (removeResponseStream(requestId) != null) {
+              ResponseUtil.onRequestSuccess(eventEmitter, requestId);
+            }
+            return;
+          }
+          ResponseUtil.onIncrementalDataReceived(
+              eventEmitter, requestId, data, stream.getTotalBytesRead(), stream.getContentLength());
+        } catch (IOException e) {
+          // If the stream is gone the request has been aborted, and JS doesn't expect an error.
+          if (removeResponseStream(requestId) != null && !mShuttingDown) {
+            stream.close();
+            ResponseUtil.onRequestError(eventEmitter, requestId, e.getMessage(), e);
+          }
+        }
+      }
+    }.executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
   }
 
   private void cancelRequest(final int requestId) {
+    cancelCall(Integer.valueOf(requestId));
+  }
+
+  private void cancelCall(final Object tag) {
     // We have to use AsyncTask since this might trigger a NetworkOnMainThreadException, this is an
     // open issue on OkHttp: https://github.com/square/okhttp/issues/869
     new GuardedAsyncTask<Void, Void>(getReactApplicationContext()) {
       @Override
       protected void doInBackgroundGuarded(Void... params) {
-        OkHttpCallUtil.cancelTag(mClient, Integer.valueOf(requestId));
+        OkHttpCallUtil.cancelTag(mClient, tag);
       }
     }.execute();
   }
 
+  /**
+   * Returns the number of requests that went through the HTTP cache and how many of them it served,
+   * along with the number of requests that have been coalesced with one in flight.
+   */
+  @ReactMethod
+  public void getRequestStats(com.facebook.react.bridge.Callback callback) {
+    WritableMap stats = Arguments.createMap();
+    Cache cache = mClient.cache();
+    if (cache != null) {
+      int requestCount = cache.requestCount();
+      stats.putInt("cacheRequestCount", requestCount);
+      stats.putInt("cacheHitCount", cache.hitCount());
+      stats.putInt("cacheNetworkCount", cache.networkCount());
+      stats.putDouble(
+          "cacheHitRatio", requestCount > 0 ? (double) cache.hitCount() / requestCount : 0);
+    }
+    synchronized (mCoalescedRequestGroups) {
+      stats.putInt("coalescedRequestCount", mCoalescedRequestCount);
+    }
+    callback.invoke(stats);
+  }
+
   @ReactMethod
   public void clearCookies(com.facebook.react.bridge.Callback callback) {
     mCookieHandler.clearCookies(callback);
@@ -34,10 +34,21 @@ public class OkHttpClientProvider {
   // User-provided OkHttpClient factory
   private static @Nullable OkHttpClientFactory sFactory;
 
+  // Size of the disk cache of the clients created with a context.
+  private static int sCacheSize = 10 * 1024 * 1024; // 10 Mo
+
   public static void setOkHttpClientFactory(OkHttpClientFactory factory) {
     sFactory = factory;
   }
 
+  /**
+   * Sets the size in bytes of the HTTP disk cache used by the clients created with {@link
+   * #createClient(Context)}, 0 disables the cache. Must be called before the client is created.
+   */
+  public static void setCacheSize(int cacheSize) {
+    sCacheSize = cacheSize;
+  }
+
   public static OkHttpClient getOkHttpClient() {
     if (sClient == null) {
       sClient = createClient();
@@ -78,8 +89,7 @@ public class OkHttpClientProvider {
   }
 
   public static OkHttpClient.Builder createClientBuilder(Context context) {
-    int cacheSize = 10 * 1024 * 1024; // 10 Mo
-    return createClientBuilder(context, cacheSize);
+    return createClientBuilder(context, sCacheSize);
   }
 
   public static OkHttpClient.Builder createClientBuilder(Context context, int cacheSize) {
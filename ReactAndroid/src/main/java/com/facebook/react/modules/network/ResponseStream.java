@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.network;
+
+import androidx.annotation.Nullable;
+import com.facebook.react.common.StandardCharsets;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+
+/**
+ * Body of a response that JS reads in chunks it asks for, see {@link
+ * NetworkingModule#readResponseStream}. Nothing is read from the network until JS requests it, so
+ * a consumer that falls behind applies back pressure all the way to the socket instead of having
+ * the whole response buffered in memory.
+ *
+ * <p>Reads are serialized, but may come from any thread.
+ */
+/* package */ class ResponseStream {
+
+  private final ResponseBody mResponseBody;
+  private final BufferedSource mSource;
+  private final ProgressiveStringDecoder mDecoder;
+  private final long mContentLength;
+  private byte[] mChunk = new byte[0];
+  private long mTotalBytesRead = 0;
+  private volatile boolean mClosed = false;
+
+  public ResponseStream(ResponseBody responseBody) {
+    mResponseBody = responseBody;
+    mSource = responseBody.source();
+    Charset charset =
+        responseBody.contentType() == null
+            ? StandardCharsets.UTF_8
+            : responseBody.contentType().charset(StandardCharsets.UTF_8);
+    mDecoder = new ProgressiveStringDecoder(charset);
+    mContentLength = responseBody.contentLength();
+  }
+
+  /**
+   * Blocks until some data is available and returns at most {@code maxBytes} of it, decoded as
+   * text. Returns null once the whole body has been read, after which the stream is closed.
+   */
+  public synchronized @Nullable String readChunk(int maxBytes) throws IOException {
+    if (mClosed) {
+      return null;
+    }
+    if (mChunk.length < maxBytes) {
+      mChunk = new byte[maxBytes];
+    }
+    int read = mSource.read(mChunk, 0, maxBytes);
+    if (read == -1) {
+      close();
+      return null;
+    }
+    mTotalBytesRead += read;
+    return mDecoder.decodeNext(mChunk, read);
+  }
+
+  public synchronized long getTotalBytesRead() {
+    return mTotalBytesRead;
+  }
+
+  /** Returns the length of the body, or -1 if unknown. */
+  public long getContentLength() {
+    return mContentLength;
+  }
+
+  /** Releases the connection. Can be called from any thread, including during a read. */
+  public void close() {
+    mClosed = true;
+    mResponseBody.close();
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.storage;
+
+import android.util.LruCache;
+import androidx.annotation.GuardedBy;
+import androidx.annotation.Nullable;
+
+/**
+ * Size bounded LRU cache of the values stored by {@link AsyncStorageModule}. The size of an entry
+ * is the number of bytes taken by the characters of its key and value.
+ *
+ * <p>Reads may run concurrently with writes, so a value read from the database is only added to
+ * the cache if no write updated the cache since the read started, see {@link #getGeneration()}.
+ */
+/* package */ class AsyncStorageCache {
+
+  private final LruCache<String, String> mCache;
+
+  @GuardedBy("this")
+  private long mGeneration = 0;
+
+  public AsyncStorageCache(int maxSizeBytes) {
+    mCache =
+        new LruCache<String, String>(maxSizeBytes) {
+          @Override
+          protected int sizeOf(String key, String value) {
+            return 2 * (key.length() + value.length());
+          }
+        };
+  }
+
+  public @Nullable String get(String key) {
+    return mCache.get(key);
+  }
+
+  /**
+   * Returns a token to pass to {@link #putIfUnchanged}. Must be called before reading the values
+   * to cache from the database.
+   */
+  public synchronized long getGeneration() {
+    return mGeneration;
+  }
+
+  /** Caches a value read from the database, unless a write updated the cache since then. */
+  public synchronized void putIfUnchanged(String key, String value, long generation) {
+    if (generation == mGeneration) {
+      mCache.put(key, value);
+    }
+  }
+
+  /** Caches a value that has been written to the database. */
+  public synchronized void put(String key, String value) {
+    mGeneration++;
+    mCache.put(key, value);
+  }
+
+  public synchronized void remove(String key) {
+    mGeneration++;
+    mCache.remove(key);
+  }
+
+  public synchronized void clear() {
+    mGeneration++;
+    mCache.evictAll();
+  }
+
+  /** Evicts the least recently used entries until the cache takes at most the given size. */
+  public void trimToSize(int maxSizeBytes) {
+    mCache.trimToSize(maxSizeBytes);
+  }
+
+  public int size() {
+    return mCache.size();
+  }
+
+  public int maxSize() {
+    return mCache.maxSize();
+  }
+
+  public int hitCount() {
+    return mCache.hitCount();
+  }
+
+  public int missCount() {
+    return mCache.missCount();
+  }
+
+  public int evictionCount() {
+    return mCache.evictionCount();
+  }
+}
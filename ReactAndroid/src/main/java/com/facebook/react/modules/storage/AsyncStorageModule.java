@@ -11,25 +11,35 @@ import static com.facebook.react.modules.storage.ReactDatabaseSupplier.KEY_COLUM
 import static com.facebook.react.modules.storage.ReactDatabaseSupplier.TABLE_CATALYST;
 import static com.facebook.react.modules.storage.ReactDatabaseSupplier.VALUE_COLUMN;
 
+import android.content.ComponentCallbacks2;
+import android.content.res.Configuration;
 import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteStatement;
 import android.os.AsyncTask;
+import androidx.annotation.Nullable;
 import com.facebook.common.logging.FLog;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.Callback;
 import com.facebook.react.bridge.GuardedAsyncTask;
+import com.facebook.react.bridge.GuardedRunnable;
+import com.facebook.react.bridge.JavaOnlyArray;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.common.LatencyHistogram;
 import com.facebook.react.common.ReactConstants;
+import com.facebook.react.common.SystemClock;
 import com.facebook.react.common.annotations.VisibleForTesting;
 import com.facebook.react.module.annotations.ReactModule;
 import com.facebook.react.modules.common.ModuleDataCleaner;
 import java.util.ArrayDeque;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.concurrent.Executor;
 
 @ReactModule(name = AsyncStorageModule.NAME)
@@ -42,6 +52,23 @@ public final class AsyncStorageModule extends ReactContextBaseJavaModule
   // https://raw.githubusercontent.com/android/platform_external_sqlite/master/dist/sqlite3.c
   private static final int MAX_SQL_KEYS = 999;
 
+  // Operations with a latency histogram in concurrent mode.
+  public static final String OPERATION_MULTI_GET = "multiGet";
+  public static final String OPERATION_MULTI_SET = "multiSet";
+  public static final String OPERATION_MULTI_REMOVE = "multiRemove";
+  public static final String OPERATION_MULTI_MERGE = "multiMerge";
+  public static final String OPERATION_CLEAR = "clear";
+  public static final String OPERATION_GET_ALL_KEYS = "getAllKeys";
+
+  private static final String[] OPERATIONS = {
+    OPERATION_MULTI_GET,
+    OPERATION_MULTI_SET,
+    OPERATION_MULTI_REMOVE,
+    OPERATION_MULTI_MERGE,
+    OPERATION_CLEAR,
+    OPERATION_GET_ALL_KEYS,
+  };
+
   private ReactDatabaseSupplier mReactDatabaseSupplier;
   private boolean mShuttingDown = false;
 
@@ -79,17 +106,140 @@ public final class AsyncStorageModule extends ReactContextBaseJavaModule
     }
   }
 
+  /**
+   * Invokes the wrapped callback after recording the time elapsed since this was created in the
+   * latency histogram of an operation.
+   */
+  private static class LatencyRecordingCallback implements Callback {
+    private final Callback mCallback;
+    private final LatencyHistogram mHistogram;
+    private final long mStartTimeMs;
+
+    LatencyRecordingCallback(Callback callback, LatencyHistogram histogram) {
+      mCallback = callback;
+      mHistogram = histogram;
+      mStartTimeMs = SystemClock.uptimeMillis();
+    }
+
+    @Override
+    public void invoke(Object... args) {
+      mHistogram.record(SystemClock.uptimeMillis() - mStartTimeMs);
+      mCallback.invoke(args);
+    }
+  }
+
+  /** A write that reports its outcome to a JS callback once its group has been committed. */
+  private abstract static class CallbackWrite implements AsyncStorageWriteBatcher.Write {
+    private final Callback mCallback;
+
+    CallbackWrite(Callback callback) {
+      mCallback = callback;
+    }
+
+    @Override
+    public @Nullable WritableMap validate() {
+      return null;
+    }
+
+    @Override
+    public void onComplete(@Nullable WritableMap error) {
+      updateCache(error == null);
+      if (error != null) {
+        mCallback.invoke(error);
+      } else {
+        mCallback.invoke();
+      }
+    }
+
+    /** Called before the callback is invoked, once the outcome of the write is known. */
+    protected void updateCache(boolean succeeded) {}
+  }
+
+  /** Drops cached values when the system runs low on memory. */
+  private class MemoryTrimCallback implements ComponentCallbacks2 {
+
+    @Override
+    public void onTrimMemory(int level) {
+      AsyncStorageCache cache = mCache;
+      if (cache == null) {
+        return;
+      }
+      // Values can be read again from disk, so the cache goes as soon as the app is in the
+      // background LRU list.
+      if (level >= TRIM_MEMORY_BACKGROUND || level == TRIM_MEMORY_RUNNING_CRITICAL) {
+        cache.trimToSize(0);
+      } else if (level >= TRIM_MEMORY_RUNNING_LOW) {
+        cache.trimToSize(cache.maxSize() / 2);
+      }
+    }
+
+    @Override
+    public void onConfigurationChanged(Configuration newConfig) {}
+
+    @Override
+    public void onLowMemory() {
+      onTrimMemory(TRIM_MEMORY_COMPLETE);
+    }
+  }
+
   private final SerialExecutor executor;
 
+  // Only set in concurrent mode.
+  private final @Nullable AsyncStorageWriteBatcher mWriteBatcher;
+  private final @Nullable Map<String, LatencyHistogram> mLatencyHistograms;
+
+  // Only set if a cache size was given.
+  private final @Nullable AsyncStorageCache mCache;
+  private final MemoryTrimCallback mMemoryTrimCallback = new MemoryTrimCallback();
+
   public AsyncStorageModule(ReactApplicationContext reactContext) {
-    this(reactContext, AsyncTask.THREAD_POOL_EXECUTOR);
+    this(reactContext, false);
+  }
+
+  /**
+   * @param useConcurrentStorage whether to enable write-ahead logging on the database, run reads
+   *     concurrently with writes and group commit the writes queued while the previous ones are
+   *     being committed. Per operation latencies are recorded in this mode.
+   */
+  public AsyncStorageModule(ReactApplicationContext reactContext, boolean useConcurrentStorage) {
+    this(reactContext, useConcurrentStorage, 0);
+  }
+
+  /**
+   * @param cacheSizeBytes if positive, values are cached in memory up to that size. The cache is
+   *     written through and trimmed when the system runs low on memory.
+   */
+  public AsyncStorageModule(
+      ReactApplicationContext reactContext, boolean useConcurrentStorage, int cacheSizeBytes) {
+    this(reactContext, AsyncTask.THREAD_POOL_EXECUTOR, useConcurrentStorage, cacheSizeBytes);
   }
 
   @VisibleForTesting
   AsyncStorageModule(ReactApplicationContext reactContext, Executor executor) {
+    this(reactContext, executor, false, 0);
+  }
+
+  @VisibleForTesting
+  AsyncStorageModule(
+      ReactApplicationContext reactContext,
+      Executor executor,
+      boolean useConcurrentStorage,
+      int cacheSizeBytes) {
     super(reactContext);
+    mCache = cacheSizeBytes > 0 ? new AsyncStorageCache(cacheSizeBytes) : null;
     this.executor = new SerialExecutor(executor);
     mReactDatabaseSupplier = ReactDatabaseSupplier.getInstance(reactContext);
+    if (useConcurrentStorage) {
+      mReactDatabaseSupplier.setWriteAheadLoggingEnabled(true);
+      mWriteBatcher = new AsyncStorageWriteBatcher(mReactDatabaseSupplier, this.executor, executor);
+      mLatencyHistograms = new HashMap<>();
+      for (String operation : OPERATIONS) {
+        mLatencyHistograms.put(operation, new LatencyHistogram());
+      }
+    } else {
+      mWriteBatcher = null;
+      mLatencyHistograms = null;
+    }
   }
 
   @Override
@@ -101,11 +251,23 @@ public final class AsyncStorageModule extends ReactContextBaseJavaModule
   public void initialize() {
     super.initialize();
     mShuttingDown = false;
+    if (mCache != null) {
+      getReactApplicationContext().registerComponentCallbacks(mMemoryTrimCallback);
+    }
+    if (mWriteBatcher != null) {
+      mWriteBatcher.setShuttingDown(false);
+    }
   }
 
   @Override
   public void onCatalystInstanceDestroy() {
     mShuttingDown = true;
+    if (mCache != null) {
+      getReactApplicationContext().unregisterComponentCallbacks(mMemoryTrimCallback);
+    }
+    if (mWriteBatcher != null) {
+      mWriteBatcher.setShuttingDown(true);
+    }
   }
 
   @Override
@@ -114,6 +276,11 @@ public final class AsyncStorageModule extends ReactContextBaseJavaModule
     // cause a privacy violation. We're still not recovering from this well, but at least the error
     // will be reported to the server.
     mReactDatabaseSupplier.clearAndCloseDatabase();
+    // Clear the cache only once the database is gone: a read that started before then may still
+    // cache a value, and clearing bumps the cache generation so later reads can't either.
+    if (mCache != null) {
+      mCache.clear();
+    }
   }
 
   /**
@@ -127,66 +294,22 @@ public final class AsyncStorageModule extends ReactContextBaseJavaModule
       return;
     }
 
+    if (mWriteBatcher != null) {
+      final Callback timedCallback = recordLatency(OPERATION_MULTI_GET, callback);
+      mWriteBatcher.enqueueRead(
+          new GuardedRunnable(getReactApplicationContext().getExceptionHandler()) {
+            @Override
+            public void runGuarded() {
+              readMultiGet(keys, timedCallback);
+            }
+          });
+      return;
+    }
+
     new GuardedAsyncTask<Void, Void>(getReactApplicationContext()) {
       @Override
       protected void doInBackgroundGuarded(Void... params) {
-        if (!ensureDatabase()) {
-          callback.invoke(AsyncStorageErrorUtil.getDBError(null), null);
-          return;
-        }
-
-        String[] columns = {KEY_COLUMN, VALUE_COLUMN};
-        HashSet<String> keysRemaining = new HashSet<>();
-        WritableArray data = Arguments.createArray();
-        for (int keyStart = 0; keyStart < keys.size(); keyStart += MAX_SQL_KEYS) {
-          int keyCount = Math.min(keys.size() - keyStart, MAX_SQL_KEYS);
-          Cursor cursor =
-              mReactDatabaseSupplier
-                  .get()
-                  .query(
-                      TABLE_CATALYST,
-                      columns,
-                      AsyncLocalStorageUtil.buildKeySelection(keyCount),
-                      AsyncLocalStorageUtil.buildKeySelectionArgs(keys, keyStart, keyCount),
-                      null,
-                      null,
-                      null);
-          keysRemaining.clear();
-          try {
-            if (cursor.getCount() != keys.size()) {
-              // some keys have not been found - insert them with null into the final array
-              for (int keyIndex = keyStart; keyIndex < keyStart + keyCount; keyIndex++) {
-                keysRemaining.add(keys.getString(keyIndex));
-              }
-            }
-
-            if (cursor.moveToFirst()) {
-              do {
-                WritableArray row = Arguments.createArray();
-                row.pushString(cursor.getString(0));
-                row.pushString(cursor.getString(1));
-                data.pushArray(row);
-                keysRemaining.remove(cursor.getString(0));
-              } while (cursor.moveToNext());
-            }
-          } catch (Exception e) {
-            FLog.w(ReactConstants.TAG, e.getMessage(), e);
-            callback.invoke(AsyncStorageErrorUtil.getError(null, e.getMessage()), null);
-            return;
-          } finally {
-            cursor.close();
-          }
-
-          for (String key : keysRemaining) {
-            WritableArray row = Arguments.createArray();
-            row.pushString(key);
-            row.pushNull();
-            data.pushArray(row);
-          }
-          keysRemaining.clear();
-        }
-
-        callback.invoke(null, data);
+        readMultiGet(keys, callback);
       }
     }.executeOnExecutor(executor);
   }
@@ -203,6 +326,29 @@ public final class AsyncStorageModule extends ReactContextBaseJavaModule
       return;
     }
 
+    if (mWriteBatcher != null) {
+      mWriteBatcher.enqueueWrite(
+          new CallbackWrite(recordLatency(OPERATION_MULTI_SET, callback)) {
+            @Override
+            public @Nullable WritableMap validate() {
+              return validateKeyValuePairs(keyValueArray);
+            }
+
+            @Override
+            public @Nullable WritableMap apply(SQLiteDatabase db) {
+              return multiSetInTransaction(db, keyValueArray);
+            }
+
+            @Override
+            protected void updateCache(boolean succeeded) {
+              if (succeeded) {
+                cacheValues(keyValueArray);
+              }
+            }
+          });
+      return;
+    }
+
     new GuardedAsyncTask<Void, Void>(getReactApplicationContext()) {
       @Override
       protected void doInBackgroundGuarded(Void... params) {
@@ -252,6 +398,7 @@ public final class AsyncStorageModule extends ReactContextBaseJavaModule
         if (error != null) {
           callback.invoke(error);
         } else {
+          cacheValues(keyValueArray);
           callback.invoke();
         }
       }
@@ -266,6 +413,22 @@ public final class AsyncStorageModule extends ReactContextBaseJavaModule
       return;
     }
 
+    if (mWriteBatcher != null) {
+      mWriteBatcher.enqueueWrite(
+          new CallbackWrite(recordLatency(OPERATION_MULTI_REMOVE, callback)) {
+            @Override
+            public @Nullable WritableMap apply(SQLiteDatabase db) {
+              return multiRemoveInTransaction(db, keys);
+            }
+
+            @Override
+            protected void updateCache(boolean succeeded) {
+              removeCachedValues(keys);
+            }
+          });
+      return;
+    }
+
     new GuardedAsyncTask<Void, Void>(getReactApplicationContext()) {
       @Override
       protected void doInBackgroundGuarded(Void... params) {
@@ -300,6 +463,7 @@ public final class AsyncStorageModule extends ReactContextBaseJavaModule
             }
           }
         }
+        removeCachedValues(keys);
         if (error != null) {
           callback.invoke(error);
         } else {
@@ -315,6 +479,27 @@ public final class AsyncStorageModule extends ReactContextBaseJavaModule
    */
   @ReactMethod
   public void multiMerge(final ReadableArray keyValueArray, final Callback callback) {
+    if (mWriteBatcher != null) {
+      mWriteBatcher.enqueueWrite(
+          new CallbackWrite(recordLatency(OPERATION_MULTI_MERGE, callback)) {
+            @Override
+            public @Nullable WritableMap validate() {
+              return validateKeyValuePairs(keyValueArray);
+            }
+
+            @Override
+            public @Nullable WritableMap apply(SQLiteDatabase db) {
+              return multiMergeInTransaction(db, keyValueArray);
+            }
+
+            @Override
+            protected void updateCache(boolean succeeded) {
+              removeCachedValuesOfPairs(keyValueArray);
+            }
+          });
+      return;
+    }
+
     new GuardedAsyncTask<Void, Void>(getReactApplicationContext()) {
       @Override
       protected void doInBackgroundGuarded(Void... params) {
@@ -363,6 +548,7 @@ public final class AsyncStorageModule extends ReactContextBaseJavaModule
             }
           }
         }
+        removeCachedValuesOfPairs(keyValueArray);
         if (error != null) {
           callback.invoke(error);
         } else {
@@ -375,6 +561,23 @@ public final class AsyncStorageModule extends ReactContextBaseJavaModule
   /** Clears the database. */
   @ReactMethod
   public void clear(final Callback callback) {
+    if (mWriteBatcher != null) {
+      mWriteBatcher.enqueueWrite(
+          new CallbackWrite(recordLatency(OPERATION_CLEAR, callback)) {
+            @Override
+            public @Nullable WritableMap apply(SQLiteDatabase db) {
+              db.delete(TABLE_CATALYST, null, null);
+              return null;
+            }
+
+            @Override
+            protected void updateCache(boolean succeeded) {
+              clearCache();
+            }
+          });
+      return;
+    }
+
     new GuardedAsyncTask<Void, Void>(getReactApplicationContext()) {
       @Override
       protected void doInBackgroundGuarded(Void... params) {
@@ -383,6 +586,7 @@ public final class AsyncStorageModule extends ReactContextBaseJavaModule
           return;
         }
         try {
+          clearCache();
           mReactDatabaseSupplier.clear();
           callback.invoke();
         } catch (Exception e) {
@@ -396,35 +600,297 @@ public final class AsyncStorageModule extends ReactContextBaseJavaModule
   /** Returns an array with all keys from the database. */
   @ReactMethod
   public void getAllKeys(final Callback callback) {
+    if (mWriteBatcher != null) {
+      final Callback timedCallback = recordLatency(OPERATION_GET_ALL_KEYS, callback);
+      mWriteBatcher.enqueueRead(
+          new GuardedRunnable(getReactApplicationContext().getExceptionHandler()) {
+            @Override
+            public void runGuarded() {
+              readAllKeys(timedCallback);
+            }
+          });
+      return;
+    }
+
     new GuardedAsyncTask<Void, Void>(getReactApplicationContext()) {
       @Override
       protected void doInBackgroundGuarded(Void... params) {
-        if (!ensureDatabase()) {
-          callback.invoke(AsyncStorageErrorUtil.getDBError(null), null);
-          return;
+        readAllKeys(callback);
+      }
+    }.executeOnExecutor(executor);
+  }
+
+  /**
+   * Returns the latency percentiles, in milliseconds, of each operation since the module was
+   * created. Empty unless the module runs in concurrent mode.
+   */
+  @ReactMethod
+  public void getLatencyHistograms(Callback callback) {
+    WritableMap histograms = Arguments.createMap();
+    if (mLatencyHistograms != null) {
+      for (Map.Entry<String, LatencyHistogram> entry : mLatencyHistograms.entrySet()) {
+        LatencyHistogram histogram = entry.getValue();
+        WritableMap summary = Arguments.createMap();
+        summary.putDouble("count", histogram.getCount());
+        summary.putDouble("mean", histogram.getMean());
+        summary.putDouble("p50", histogram.getPercentile(50));
+        summary.putDouble("p90", histogram.getPercentile(90));
+        summary.putDouble("p99", histogram.getPercentile(99));
+        summary.putDouble("max", histogram.getMax());
+        histograms.putMap(entry.getKey(), summary);
+      }
+    }
+    callback.invoke(histograms);
+  }
+
+  /**
+   * Returns the latency histogram, in milliseconds, of the given operation or null if the module
+   * doesn't run in concurrent mode.
+   */
+  public @Nullable LatencyHistogram getLatencyHistogram(String operation) {
+    return mLatencyHistograms != null ? mLatencyHistograms.get(operation) : null;
+  }
+
+  private void readMultiGet(ReadableArray keys, Callback callback) {
+    if (!ensureDatabase()) {
+      callback.invoke(AsyncStorageErrorUtil.getDBError(null), null);
+      return;
+    }
+
+    String[] columns = {KEY_COLUMN, VALUE_COLUMN};
+    HashSet<String> keysRemaining = new HashSet<>();
+    WritableArray data = Arguments.createArray();
+    long cacheGeneration = 0;
+    if (mCache != null) {
+      // Serve what we can from the cache and only query the database for the other keys.
+      cacheGeneration = mCache.getGeneration();
+      JavaOnlyArray uncachedKeys = new JavaOnlyArray();
+      for (int keyIndex = 0; keyIndex < keys.size(); keyIndex++) {
+        String key = keys.getString(keyIndex);
+        String value = key != null ? mCache.get(key) : null;
+        if (value != null) {
+          WritableArray row = Arguments.createArray();
+          row.pushString(key);
+          row.pushString(value);
+          data.pushArray(row);
+        } else {
+          uncachedKeys.pushString(key);
         }
-        WritableArray data = Arguments.createArray();
-        String[] columns = {KEY_COLUMN};
-        Cursor cursor =
-            mReactDatabaseSupplier
-                .get()
-                .query(TABLE_CATALYST, columns, null, null, null, null, null);
-        try {
-          if (cursor.moveToFirst()) {
-            do {
-              data.pushString(cursor.getString(0));
-            } while (cursor.moveToNext());
+      }
+      keys = uncachedKeys;
+    }
+    for (int keyStart = 0; keyStart < keys.size(); keyStart += MAX_SQL_KEYS) {
+      int keyCount = Math.min(keys.size() - keyStart, MAX_SQL_KEYS);
+      Cursor cursor =
+          mReactDatabaseSupplier
+              .get()
+              .query(
+                  TABLE_CATALYST,
+                  columns,
+                  AsyncLocalStorageUtil.buildKeySelection(keyCount),
+                  AsyncLocalStorageUtil.buildKeySelectionArgs(keys, keyStart, keyCount),
+                  null,
+                  null,
+                  null);
+      keysRemaining.clear();
+      try {
+        if (cursor.getCount() != keys.size()) {
+          // some keys have not been found - insert them with null into the final array
+          for (int keyIndex = keyStart; keyIndex < keyStart + keyCount; keyIndex++) {
+            keysRemaining.add(keys.getString(keyIndex));
           }
-        } catch (Exception e) {
-          FLog.w(ReactConstants.TAG, e.getMessage(), e);
-          callback.invoke(AsyncStorageErrorUtil.getError(null, e.getMessage()), null);
-          return;
-        } finally {
-          cursor.close();
         }
-        callback.invoke(null, data);
+
+        if (cursor.moveToFirst()) {
+          do {
+            WritableArray row = Arguments.createArray();
+            row.pushString(cursor.getString(0));
+            row.pushString(cursor.getString(1));
+            data.pushArray(row);
+            keysRemaining.remove(cursor.getString(0));
+            if (mCache != null) {
+              mCache.putIfUnchanged(cursor.getString(0), cursor.getString(1), cacheGeneration);
+            }
+          } while (cursor.moveToNext());
+        }
+      } catch (Exception e) {
+        FLog.w(ReactConstants.TAG, e.getMessage(), e);
+        callback.invoke(AsyncStorageErrorUtil.getError(null, e.getMessage()), null);
+        return;
+      } finally {
+        cursor.close();
       }
-    }.executeOnExecutor(executor);
+
+      for (String key : keysRemaining) {
+        WritableArray row = Arguments.createArray();
+        row.pushString(key);
+        row.pushNull();
+        data.pushArray(row);
+      }
+      keysRemaining.clear();
+    }
+
+    callback.invoke(null, data);
+  }
+
+  private void readAllKeys(Callback callback) {
+    if (!ensureDatabase()) {
+      callback.invoke(AsyncStorageErrorUtil.getDBError(null), null);
+      return;
+    }
+    WritableArray data = Arguments.createArray();
+    String[] columns = {KEY_COLUMN};
+    Cursor cursor =
+        mReactDatabaseSupplier
+            .get()
+            .query(TABLE_CATALYST, columns, null, null, null, null, null);
+    try {
+      if (cursor.moveToFirst()) {
+        do {
+          data.pushString(cursor.getString(0));
+        } while (cursor.moveToNext());
+      }
+    } catch (Exception e) {
+      FLog.w(ReactConstants.TAG, e.getMessage(), e);
+      callback.invoke(AsyncStorageErrorUtil.getError(null, e.getMessage()), null);
+      return;
+    } finally {
+      cursor.close();
+    }
+    callback.invoke(null, data);
+  }
+
+  private static @Nullable WritableMap multiSetInTransaction(
+      SQLiteDatabase db, ReadableArray keyValueArray) {
+    String sql = "INSERT OR REPLACE INTO " + TABLE_CATALYST + " VALUES (?, ?);";
+    SQLiteStatement statement = db.compileStatement(sql);
+    try {
+      for (int idx = 0; idx < keyValueArray.size(); idx++) {
+        WritableMap error = validateKeyValuePair(keyValueArray.getArray(idx));
+        if (error != null) {
+          return error;
+        }
+        statement.clearBindings();
+        statement.bindString(1, keyValueArray.getArray(idx).getString(0));
+        statement.bindString(2, keyValueArray.getArray(idx).getString(1));
+        statement.execute();
+      }
+      return null;
+    } finally {
+      statement.close();
+    }
+  }
+
+  private static @Nullable WritableMap multiRemoveInTransaction(
+      SQLiteDatabase db, ReadableArray keys) {
+    for (int keyStart = 0; keyStart < keys.size(); keyStart += MAX_SQL_KEYS) {
+      int keyCount = Math.min(keys.size() - keyStart, MAX_SQL_KEYS);
+      db.delete(
+          TABLE_CATALYST,
+          AsyncLocalStorageUtil.buildKeySelection(keyCount),
+          AsyncLocalStorageUtil.buildKeySelectionArgs(keys, keyStart, keyCount));
+    }
+    return null;
+  }
+
+  private static @Nullable WritableMap multiMergeInTransaction(
+      SQLiteDatabase db, ReadableArray keyValueArray) {
+    for (int idx = 0; idx < keyValueArray.size(); idx++) {
+      WritableMap error = validateKeyValuePair(keyValueArray.getArray(idx));
+      if (error != null) {
+        return error;
+      }
+      if (!AsyncLocalStorageUtil.mergeImpl(
+          db, keyValueArray.getArray(idx).getString(0), keyValueArray.getArray(idx).getString(1))) {
+        return AsyncStorageErrorUtil.getDBError(null);
+      }
+    }
+    return null;
+  }
+
+  private static @Nullable WritableMap validateKeyValuePairs(ReadableArray keyValueArray) {
+    for (int idx = 0; idx < keyValueArray.size(); idx++) {
+      WritableMap error = validateKeyValuePair(keyValueArray.getArray(idx));
+      if (error != null) {
+        return error;
+      }
+    }
+    return null;
+  }
+
+  private static @Nullable WritableMap validateKeyValuePair(ReadableArray keyValue) {
+    if (keyValue.size() != 2) {
+      return AsyncStorageErrorUtil.getInvalidValueError(null);
+    }
+    if (keyValue.getString(0) == null) {
+      return AsyncStorageErrorUtil.getInvalidKeyError(null);
+    }
+    if (keyValue.getString(1) == null) {
+      return AsyncStorageErrorUtil.getInvalidValueError(null);
+    }
+    return null;
+  }
+
+  /**
+   * Returns the hit and miss counts of the value cache, along with its size and maximum size in
+   * bytes. Empty if the module doesn't have a cache.
+   */
+  @ReactMethod
+  public void getCacheStats(Callback callback) {
+    WritableMap stats = Arguments.createMap();
+    if (mCache != null) {
+      stats.putInt("hits", mCache.hitCount());
+      stats.putInt("misses", mCache.missCount());
+      stats.putInt("evictions", mCache.evictionCount());
+      stats.putInt("size", mCache.size());
+      stats.putInt("maxSize", mCache.maxSize());
+    }
+    callback.invoke(stats);
+  }
+
+  private void cacheValues(ReadableArray keyValueArray) {
+    if (mCache == null) {
+      return;
+    }
+    for (int idx = 0; idx < keyValueArray.size(); idx++) {
+      ReadableArray keyValue = keyValueArray.getArray(idx);
+      mCache.put(keyValue.getString(0), keyValue.getString(1));
+    }
+  }
+
+  private void removeCachedValues(ReadableArray keys) {
+    if (mCache == null) {
+      return;
+    }
+    for (int idx = 0; idx < keys.size(); idx++) {
+      String key = keys.getString(idx);
+      if (key != null) {
+        mCache.remove(key);
+      }
+    }
+  }
+
+  /** Merged values are computed by the database, so drop them from the cache instead. */
+  private void removeCachedValuesOfPairs(ReadableArray keyValueArray) {
+    if (mCache == null) {
+      return;
+    }
+    for (int idx = 0; idx < keyValueArray.size(); idx++) {
+      ReadableArray keyValue = keyValueArray.getArray(idx);
+      if (keyValue.size() > 0 && keyValue.getString(0) != null) {
+        mCache.remove(keyValue.getString(0));
+      }
+    }
+  }
+
+  private void clearCache() {
+    if (mCache != null) {
+      mCache.clear();
+    }
+  }
+
+  private Callback recordLatency(String operation, Callback callback) {
+    return new LatencyRecordingCallback(callback, mLatencyHistograms.get(operation));
   }
 
   /** Verify the database is open for reads and writes. */
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.storage;
+
+import android.database.sqlite.SQLiteDatabase;
+import androidx.annotation.GuardedBy;
+import androidx.annotation.Nullable;
+import com.facebook.common.logging.FLog;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.common.ReactConstants;
+import java.util.ArrayList;
+import java.util.concurrent.Executor;
+
+/**
+ * Group commits the writes of {@link AsyncStorageModule} when it runs in concurrent mode. Writes
+ * that are queued while the previous group is being committed are applied together in a single
+ * transaction. Invalid writes are rejected before any SQL runs, and a write that fails while being
+ * applied rolls back the transaction, which is then applied again without it, so that a failing
+ * write doesn't affect the others.
+ *
+ * <p>Reads run on a concurrent executor, relying on write-ahead logging to not be blocked by the
+ * writer. To keep the ordering JS sees with the serial mode, a read that is queued after a write
+ * only starts once that write has been committed.
+ */
+/* package */ class AsyncStorageWriteBatcher {
+
+  /* package */ interface Write {
+    /** Returns an error to report to JS if this write is invalid, in which case it's skipped. */
+    @Nullable
+    WritableMap validate();
+
+    /**
+     * Applies this write to the database. Returns an error to report to JS, in which case the
+     * changes made by this write are rolled back. May be called again for the same write if another
+     * write of its group failed.
+     */
+    @Nullable
+    WritableMap apply(SQLiteDatabase db) throws Exception;
+
+    /** Called once the group containing this write has been committed or has failed. */
+    void onComplete(@Nullable WritableMap error);
+  }
+
+  private final ReactDatabaseSupplier mReactDatabaseSupplier;
+  private final Executor mWriteExecutor;
+  private final Executor mReadExecutor;
+  private final Object mLock = new Object();
+
+  @GuardedBy("mLock")
+  private ArrayList<Write> mPendingWrites = new ArrayList<>();
+
+  @GuardedBy("mLock")
+  private ArrayList<Runnable> mReadsAfterPendingWrites = new ArrayList<>();
+
+  @GuardedBy("mLock")
+  private ArrayList<Runnable> mReadsAfterCommittingWrites = new ArrayList<>();
+
+  @GuardedBy("mLock")
+  private boolean mCommitScheduled = false;
+
+  @GuardedBy("mLock")
+  private boolean mCommitting = false;
+
+  private volatile boolean mShuttingDown = false;
+
+  private final Runnable mCommitRunnable =
+      new Runnable() {
+        @Override
+        public void run() {
+          commitPendingWrites();
+        }
+      };
+
+  /**
+   * @param writeExecutor must run its tasks one at a time
+   * @param readExecutor may run its tasks concurrently
+   */
+  public AsyncStorageWriteBatcher(
+      ReactDatabaseSupplier reactDatabaseSupplier, Executor writeExecutor, Executor readExecutor) {
+    mReactDatabaseSupplier = reactDatabaseSupplier;
+    mWriteExecutor = writeExecutor;
+    mReadExecutor = readExecutor;
+  }
+
+  public void setShuttingDown(boolean shuttingDown) {
+    mShuttingDown = shuttingDown;
+  }
+
+  public void enqueueWrite(Write write) {
+    synchronized (mLock) {
+      mPendingWrites.add(write);
+      if (!mCommitScheduled) {
+        mCommitScheduled = true;
+        mWriteExecutor.execute(mCommitRunnable);
+      }
+    }
+  }
+
+  public void enqueueRead(Runnable read) {
+    synchronized (mLock) {
+      if (!mPendingWrites.isEmpty()) {
+        mReadsAfterPendingWrites.add(read);
+        return;
+      }
+      if (mCommitting) {
+        mReadsAfterCommittingWrites.add(read);
+        return;
+      }
+    }
+    mReadExecutor.execute(read);
+  }
+
+  private void commitPendingWrites() {
+    ArrayList<Write> writes;
+    synchronized (mLock) {
+      writes = mPendingWrites;
+      mPendingWrites = new ArrayList<>();
+      mReadsAfterCommittingWrites = mReadsAfterPendingWrites;
+      mReadsAfterPendingWrites = new ArrayList<>();
+      mCommitScheduled = false;
+      mCommitting = true;
+    }
+
+    WritableMap[] errors = new WritableMap[writes.size()];
+    try {
+      if (mShuttingDown || !mReactDatabaseSupplier.ensureDatabase()) {
+        for (int i = 0; i < errors.length; i++) {
+          errors[i] = AsyncStorageErrorUtil.getDBError(null);
+        }
+      } else {
+        applyWrites(writes, errors);
+      }
+    } finally {
+      ArrayList<Runnable> reads;
+      synchronized (mLock) {
+        reads = mReadsAfterCommittingWrites;
+        mReadsAfterCommittingWrites = new ArrayList<>();
+        mCommitting = false;
+      }
+      for (int i = 0; i < writes.size(); i++) {
+        writes.get(i).onComplete(errors[i]);
+      }
+      for (int i = 0; i < reads.size(); i++) {
+        mReadExecutor.execute(reads.get(i));
+      }
+    }
+  }
+
+  private void applyWrites(ArrayList<Write> writes, WritableMap[] errors) {
+    for (int i = 0; i < writes.size(); i++) {
+      errors[i] = writes.get(i).validate();
+    }
+    // Every attempt that fails excludes one more write, so this ends after at most one attempt per
+    // write.
+    while (!applyInTransaction(writes, errors)) {}
+  }
+
+  /**
+   * Applies the writes that didn't fail yet in a single transaction. If one of them fails, the
+   * whole transaction is rolled back and false is returned, so that the others are applied again
+   * without it. Rolling back to a savepoint isn't an option, as SQLiteSession ends the outer
+   * transaction on any statement starting with ROLLBACK before API 28.
+   *
+   * @return whether the remaining writes are done, either committed or failed together
+   */
+  private boolean applyInTransaction(ArrayList<Write> writes, WritableMap[] errors) {
+    SQLiteDatabase db = mReactDatabaseSupplier.get();
+    String transactionError = null;
+    boolean writeFailed = false;
+    try {
+      db.beginTransactionNonExclusive();
+      for (int i = 0; i < writes.size() && !writeFailed; i++) {
+        if (errors[i] != null) {
+          continue;
+        }
+        try {
+          errors[i] = writes.get(i).apply(db);
+        } catch (Exception e) {
+          FLog.w(ReactConstants.TAG, e.getMessage(), e);
+          errors[i] = AsyncStorageErrorUtil.getError(null, e.getMessage());
+        }
+        writeFailed = errors[i] != null;
+      }
+      if (!writeFailed) {
+        db.setTransactionSuccessful();
+      }
+    } catch (Exception e) {
+      FLog.w(ReactConstants.TAG, e.getMessage(), e);
+      transactionError = String.valueOf(e.getMessage());
+    } finally {
+      try {
+        db.endTransaction();
+      } catch (Exception e) {
+        FLog.w(ReactConstants.TAG, e.getMessage(), e);
+        // The transaction is rolled back anyway when a write failed.
+        if (transactionError == null && !writeFailed) {
+          transactionError = String.valueOf(e.getMessage());
+        }
+      }
+    }
+    if (transactionError != null) {
+      // Nothing from this group made it to disk. Error maps are consumed when passed to JS, so
+      // every write gets its own.
+      for (int i = 0; i < errors.length; i++) {
+        if (errors[i] == null) {
+          errors[i] = AsyncStorageErrorUtil.getError(null, transactionError);
+        }
+      }
+      return true;
+    }
+    return !writeFailed;
+  }
+}
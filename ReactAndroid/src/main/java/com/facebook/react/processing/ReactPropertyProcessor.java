@@ -8,8 +8,10 @@
 package com.facebook.react.processing;
 
 import static javax.lang.model.element.Modifier.ABSTRACT;
+import static javax.lang.model.element.Modifier.FINAL;
 import static javax.lang.model.element.Modifier.PRIVATE;
 import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
 import static javax.tools.Diagnostic.Kind.ERROR;
 import static javax.tools.Diagnostic.Kind.WARNING;
 
@@ -21,8 +23,10 @@ import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.uimanager.annotations.ReactProp;
 import com.facebook.react.uimanager.annotations.ReactPropGroup;
 import com.facebook.react.uimanager.annotations.ReactPropertyHolder;
+import com.squareup.javapoet.ArrayTypeName;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
@@ -83,12 +87,17 @@ public class ReactPropertyProcessor extends AbstractProcessor {
   private static final TypeName SHADOW_NODE_IMPL_TYPE =
       ClassName.get("com.facebook.react.uimanager", "ReactShadowNodeImpl");
 
+  private static final TypeName STYLES_DIFF_MAP_TYPE =
+      ClassName.get("com.facebook.react.uimanager", "ReactStylesDiffMap");
+
   private static final ClassName VIEW_MANAGER_SETTER_TYPE =
       ClassName.get(
-          "com.facebook.react.uimanager", "ViewManagerPropertyUpdater", "ViewManagerSetter");
+          "com.facebook.react.uimanager", "ViewManagerPropertyUpdater", "IndexedViewManagerSetter");
   private static final ClassName SHADOW_NODE_SETTER_TYPE =
       ClassName.get(
-          "com.facebook.react.uimanager", "ViewManagerPropertyUpdater", "ShadowNodeSetter");
+          "com.facebook.react.uimanager", "ViewManagerPropertyUpdater", "IndexedShadowNodeSetter");
+
+  private static final TypeName PROPERTY_NAMES_TYPE = ArrayTypeName.of(String.class);
 
   private static final TypeName PROPERTY_MAP_TYPE =
       ParameterizedTypeName.get(Map.class, String.class, String.class);
@@ -258,6 +267,19 @@ public class ReactPropertyProcessor extends AbstractProcessor {
             .addCode(generateGetProperties(properties))
             .build();
 
+    FieldSpec propertyNames =
+        FieldSpec.builder(PROPERTY_NAMES_TYPE, "PROPERTY_NAMES", PRIVATE, STATIC, FINAL)
+            .initializer(generatePropertyNames(properties))
+            .build();
+
+    MethodSpec getPropertyNames =
+        MethodSpec.methodBuilder("getPropertyNames")
+            .addModifiers(PUBLIC)
+            .addAnnotation(Override.class)
+            .returns(PROPERTY_NAMES_TYPE)
+            .addStatement("return PROPERTY_NAMES")
+            .build();
+
     TypeName superType = getSuperType(classInfo);
     ClassName className = classInfo.mClassName;
 
@@ -267,8 +289,11 @@ public class ReactPropertyProcessor extends AbstractProcessor {
         TypeSpec.classBuilder(holderClassName)
             .addSuperinterface(superType)
             .addModifiers(PUBLIC)
+            .addField(propertyNames)
             .addMethod(generateSetPropertySpec(classInfo, properties))
+            .addMethod(generateSetPropertyAtSpec(classInfo, properties))
             .addMethod(getMethods)
+            .addMethod(getPropertyNames)
             .build();
 
     JavaFile javaFile =
@@ -358,6 +383,137 @@ public class ReactPropertyProcessor extends AbstractProcessor {
     return builder.build();
   }
 
+  private static MethodSpec generateSetPropertyAtSpec(
+      ClassInfo classInfo, List<PropertyInfo> properties) {
+    MethodSpec.Builder builder =
+        MethodSpec.methodBuilder("setPropertyAt")
+            .addModifiers(PUBLIC)
+            .addAnnotation(Override.class)
+            .returns(TypeName.VOID);
+
+    switch (classInfo.getType()) {
+      case VIEW_MANAGER:
+        builder
+            .addParameter(classInfo.mClassName, "manager")
+            .addParameter(classInfo.mViewType, "view");
+        break;
+      case SHADOW_NODE:
+        builder.addParameter(classInfo.mClassName, "node");
+        break;
+    }
+
+    return builder
+        .addParameter(TypeName.INT, "index")
+        .addParameter(STYLES_DIFF_MAP_TYPE, "props")
+        .addParameter(TypeName.INT, "entry")
+        .addCode(generateSetPropertyAt(classInfo, properties))
+        .build();
+  }
+
+  /**
+   * Same as {@link #generateSetProperty} but switches on the position of the property in {@code
+   * PROPERTY_NAMES}, and reads the value from the diff map without boxing it.
+   */
+  private static CodeBlock generateSetPropertyAt(ClassInfo info, List<PropertyInfo> properties) {
+    if (properties.isEmpty()) {
+      return CodeBlock.builder().build();
+    }
+
+    CodeBlock.Builder builder = CodeBlock.builder();
+
+    builder.add("switch (index) {\n").indent();
+    for (int i = 0, size = properties.size(); i < size; i++) {
+      PropertyInfo propertyInfo = properties.get(i);
+      builder.add("case $L:\n", i).indent();
+
+      switch (info.getType()) {
+        case VIEW_MANAGER:
+          builder.add("manager.$L(view, ", propertyInfo.methodName);
+          break;
+        case SHADOW_NODE:
+          builder.add("node.$L(", propertyInfo.methodName);
+          break;
+      }
+      if (propertyInfo.mProperty instanceof GroupProperty) {
+        builder.add("$L, ", ((GroupProperty) propertyInfo.mProperty).mGroupIndex);
+      }
+      getIndexedPropertyExtractor(propertyInfo, builder);
+      builder.addStatement(")");
+
+      builder.addStatement("break").unindent();
+    }
+    builder.unindent().add("}\n");
+
+    return builder.build();
+  }
+
+  private static CodeBlock.Builder getIndexedPropertyExtractor(
+      PropertyInfo info, CodeBlock.Builder builder) {
+    TypeName propertyType = info.propertyType;
+    if (propertyType.equals(STRING_TYPE)) {
+      return builder.add("props.getStringAt(entry)");
+    } else if (propertyType.equals(READABLE_ARRAY_TYPE)) {
+      return builder.add("props.getArrayAt(entry)");
+    } else if (propertyType.equals(READABLE_MAP_TYPE)) {
+      return builder.add("props.getMapAt(entry)");
+    } else if (propertyType.equals(DYNAMIC_TYPE)) {
+      return builder.add("props.getDynamicAt(entry)");
+    }
+
+    if (BOXED_PRIMITIVES.contains(propertyType)) {
+      builder.add("props.isNullAt(entry) ? null : $T.valueOf(", propertyType);
+      getIndexedValueExtractor(propertyType.unbox(), builder);
+      return builder.add(")");
+    }
+
+    if (propertyType.equals(TypeName.BOOLEAN)) {
+      builder.add("props.isNullAt(entry) ? $L : ", info.mProperty.defaultBoolean());
+    } else if (propertyType.equals(TypeName.DOUBLE)) {
+      double defaultDouble = info.mProperty.defaultDouble();
+      if (Double.isNaN(defaultDouble)) {
+        builder.add("props.isNullAt(entry) ? $T.NaN : ", Double.class);
+      } else {
+        builder.add("props.isNullAt(entry) ? $L : ", defaultDouble);
+      }
+    } else if (propertyType.equals(TypeName.FLOAT)) {
+      float defaultFloat = info.mProperty.defaultFloat();
+      if (Float.isNaN(defaultFloat)) {
+        builder.add("props.isNullAt(entry) ? $T.NaN : ", Float.class);
+      } else {
+        builder.add("props.isNullAt(entry) ? $Lf : ", defaultFloat);
+      }
+    } else if (propertyType.equals(TypeName.INT)) {
+      builder.add("props.isNullAt(entry) ? $L : ", info.mProperty.defaultInt());
+    }
+    return getIndexedValueExtractor(propertyType, builder);
+  }
+
+  private static CodeBlock.Builder getIndexedValueExtractor(
+      TypeName propertyType, CodeBlock.Builder builder) {
+    if (propertyType.equals(TypeName.BOOLEAN)) {
+      return builder.add("props.getBooleanAt(entry)");
+    }
+    if (propertyType.equals(TypeName.DOUBLE)) {
+      return builder.add("props.getDoubleAt(entry)");
+    }
+    if (propertyType.equals(TypeName.FLOAT)) {
+      return builder.add("(float) props.getDoubleAt(entry)");
+    }
+    if (propertyType.equals(TypeName.INT)) {
+      return builder.add("(int) props.getDoubleAt(entry)");
+    }
+
+    throw new IllegalArgumentException();
+  }
+
+  private static CodeBlock generatePropertyNames(List<PropertyInfo> properties) {
+    CodeBlock.Builder builder = CodeBlock.builder().add("{");
+    for (int i = 0, size = properties.size(); i < size; i++) {
+      builder.add(i == 0 ? "$S" : ", $S", properties.get(i).mProperty.name());
+    }
+    return builder.add("}").build();
+  }
+
   private static CodeBlock.Builder getPropertyExtractor(
       PropertyInfo info, CodeBlock.Builder builder) {
     TypeName propertyType = info.propertyType;
@@ -8,29 +8,94 @@
 package com.facebook.react.shell;
 
 import com.facebook.imagepipeline.core.ImagePipelineConfig;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /** Configuration for {@link MainReactPackage} */
 public class MainPackageConfig {
 
   private ImagePipelineConfig mFrescoConfig;
+  private boolean mUseConcurrentAsyncStorage;
+  private int mAsyncStorageCacheSizeBytes;
+  private int mFileBackedBlobThresholdBytes;
+  private List<String> mPreloadedFontFamilies;
 
   private MainPackageConfig(Builder builder) {
     mFrescoConfig = builder.mFrescoConfig;
+    mUseConcurrentAsyncStorage = builder.mUseConcurrentAsyncStorage;
+    mAsyncStorageCacheSizeBytes = builder.mAsyncStorageCacheSizeBytes;
+    mFileBackedBlobThresholdBytes = builder.mFileBackedBlobThresholdBytes;
+    mPreloadedFontFamilies = builder.mPreloadedFontFamilies;
   }
 
   public ImagePipelineConfig getFrescoConfig() {
     return mFrescoConfig;
   }
 
+  public boolean getUseConcurrentAsyncStorage() {
+    return mUseConcurrentAsyncStorage;
+  }
+
+  public int getAsyncStorageCacheSizeBytes() {
+    return mAsyncStorageCacheSizeBytes;
+  }
+
+  public int getFileBackedBlobThresholdBytes() {
+    return mFileBackedBlobThresholdBytes;
+  }
+
+  public List<String> getPreloadedFontFamilies() {
+    return mPreloadedFontFamilies;
+  }
+
   public static class Builder {
 
     private ImagePipelineConfig mFrescoConfig;
+    private boolean mUseConcurrentAsyncStorage;
+    private int mAsyncStorageCacheSizeBytes;
+    private int mFileBackedBlobThresholdBytes;
+    private List<String> mPreloadedFontFamilies = Collections.emptyList();
 
     public Builder setFrescoConfig(ImagePipelineConfig frescoConfig) {
       mFrescoConfig = frescoConfig;
       return this;
     }
 
+    /**
+     * Makes AsyncStorage use write-ahead logging, concurrent reads and group committed writes. See
+     * {@link com.facebook.react.modules.storage.AsyncStorageModule}.
+     */
+    public Builder setUseConcurrentAsyncStorage(boolean useConcurrentAsyncStorage) {
+      mUseConcurrentAsyncStorage = useConcurrentAsyncStorage;
+      return this;
+    }
+
+    /** Caches AsyncStorage values in memory, up to the given size. Disabled by default. */
+    public Builder setAsyncStorageCacheSizeBytes(int asyncStorageCacheSizeBytes) {
+      mAsyncStorageCacheSizeBytes = asyncStorageCacheSizeBytes;
+      return this;
+    }
+
+    /**
+     * Makes blobs downloaded or read from a URI that are larger than the given size be memory
+     * mapped from a temporary file instead of kept on the Java heap. Disabled by default.
+     */
+    public Builder setFileBackedBlobThresholdBytes(int fileBackedBlobThresholdBytes) {
+      mFileBackedBlobThresholdBytes = fileBackedBlobThresholdBytes;
+      return this;
+    }
+
+    /**
+     * Font families from the assets/fonts folder to load on a background thread whenever a React
+     * instance is created, instead of when text using them is first measured. See {@link
+     * com.facebook.react.views.text.ReactFontManager#preloadFontFamilies}.
+     */
+    public Builder setPreloadedFontFamilies(List<String> preloadedFontFamilies) {
+      mPreloadedFontFamilies = new ArrayList<>(preloadedFontFamilies);
+      return this;
+    }
+
     public MainPackageConfig build() {
       return new MainPackageConfig(this);
     }
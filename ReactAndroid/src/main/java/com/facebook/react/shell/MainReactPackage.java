@@ -10,6 +10,7 @@ package com.facebook.react.shell;
 import androidx.annotation.Nullable;
 import com.facebook.react.TurboReactPackage;
 import com.facebook.react.animated.NativeAnimatedModule;
+import com.facebook.react.bridge.ModuleHolder;
 import com.facebook.react.bridge.NativeModule;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.module.annotations.ReactModule;
@@ -57,6 +58,7 @@ import com.facebook.react.views.scroll.ReactScrollViewManager;
 import com.facebook.react.views.slider.ReactSliderManager;
 import com.facebook.react.views.swiperefresh.SwipeRefreshLayoutManager;
 import com.facebook.react.views.switchview.ReactSwitchManager;
+import com.facebook.react.views.text.ReactFontManager;
 import com.facebook.react.views.text.ReactRawTextManager;
 import com.facebook.react.views.text.ReactTextViewManager;
 import com.facebook.react.views.text.ReactVirtualTextViewManager;
@@ -110,6 +112,16 @@ public class MainReactPackage extends TurboReactPackage {
     mConfig = config;
   }
 
+  @Override
+  public Iterable<ModuleHolder> getNativeModuleIterator(ReactApplicationContext reactContext) {
+    // Called once per React instance while it is created, before any text is measured.
+    if (mConfig != null) {
+      ReactFontManager.getInstance()
+          .preloadFontFamilies(reactContext.getAssets(), mConfig.getPreloadedFontFamilies());
+    }
+    return super.getNativeModuleIterator(reactContext);
+  }
+
   @Override
   public @Nullable NativeModule getModule(String name, ReactApplicationContext context) {
     switch (name) {
@@ -120,11 +132,15 @@ public class MainReactPackage extends TurboReactPackage {
       case AppStateModule.NAME:
         return new AppStateModule(context);
       case BlobModule.NAME:
-        return new BlobModule(context);
+        return new BlobModule(
+            context, mConfig != null ? mConfig.getFileBackedBlobThresholdBytes() : 0);
       case FileReaderModule.NAME:
         return new FileReaderModule(context);
       case AsyncStorageModule.NAME:
-        return new AsyncStorageModule(context);
+        return new AsyncStorageModule(
+            context,
+            mConfig != null && mConfig.getUseConcurrentAsyncStorage(),
+            mConfig != null ? mConfig.getAsyncStorageCacheSizeBytes() : 0);
       case CameraRollManager.NAME:
         return new CameraRollManager(context);
       case ClipboardModule.NAME:
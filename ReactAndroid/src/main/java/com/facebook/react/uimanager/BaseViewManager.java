@@ -82,6 +82,22 @@ public abstract class BaseViewManager<T extends View, C extends LayoutShadowNode
     }
   }
 
+  /**
+   * Sets a transform made only of translations, in DIP, and of non negative scales. The view ends
+   * up as with {@link #setTransform} for the equivalent matrix, without allocating it.
+   */
+  public void setTranslateAndScaleTransform(
+      @NonNull T view, float translateX, float translateY, float scaleX, float scaleY) {
+    view.setTranslationX(PixelUtil.toPixelFromDIP(sanitizeFloatPropertyValue(translateX)));
+    view.setTranslationY(PixelUtil.toPixelFromDIP(sanitizeFloatPropertyValue(translateY)));
+    view.setRotation(0);
+    view.setRotationX(0);
+    view.setRotationY(0);
+    view.setScaleX(sanitizeFloatPropertyValue(scaleX));
+    view.setScaleY(sanitizeFloatPropertyValue(scaleY));
+    setCameraDistance(view, 0);
+  }
+
   @Override
   @ReactProp(name = ViewProps.OPACITY, defaultFloat = 1.f)
   public void setOpacity(@NonNull T view, float opacity) {
@@ -337,26 +353,29 @@ public abstract class BaseViewManager<T extends View, C extends LayoutShadowNode
     double[] perspectiveArray = sMatrixDecompositionContext.perspective;
 
     if (perspectiveArray.length > PERSPECTIVE_ARRAY_INVERTED_CAMERA_DISTANCE_INDEX) {
-      float invertedCameraDistance =
-          (float) perspectiveArray[PERSPECTIVE_ARRAY_INVERTED_CAMERA_DISTANCE_INDEX];
-      if (invertedCameraDistance == 0) {
-        // Default camera distance, before scale multiplier (1280)
-        invertedCameraDistance = 0.00078125f;
-      }
-      float cameraDistance = -1 / invertedCameraDistance;
-      float scale = DisplayMetricsHolder.getScreenDisplayMetrics().density;
-
-      // The following converts the matrix's perspective to a camera distance
-      // such that the camera perspective looks the same on Android and iOS.
-      // The native Android implementation removed the screen density from the
-      // calculation, so squaring and a normalization value of
-      // sqrt(5) produces an exact replica with iOS.
-      // For more information, see https://github.com/facebook/react-native/pull/18302
-      float normalizedCameraDistance =
-          sanitizeFloatPropertyValue(
-              scale * scale * cameraDistance * CAMERA_DISTANCE_NORMALIZATION_MULTIPLIER);
-      view.setCameraDistance(normalizedCameraDistance);
+      setCameraDistance(
+          view, (float) perspectiveArray[PERSPECTIVE_ARRAY_INVERTED_CAMERA_DISTANCE_INDEX]);
+    }
+  }
+
+  private static void setCameraDistance(@NonNull View view, float invertedCameraDistance) {
+    if (invertedCameraDistance == 0) {
+      // Default camera distance, before scale multiplier (1280)
+      invertedCameraDistance = 0.00078125f;
     }
+    float cameraDistance = -1 / invertedCameraDistance;
+    float scale = DisplayMetricsHolder.getScreenDisplayMetrics().density;
+
+    // The following converts the matrix's perspective to a camera distance
+    // such that the camera perspective looks the same on Android and iOS.
+    // The native Android implementation removed the screen density from the
+    // calculation, so squaring and a normalization value of
+    // sqrt(5) produces an exact replica with iOS.
+    // For more information, see https://github.com/facebook/react-native/pull/18302
+    float normalizedCameraDistance =
+        sanitizeFloatPropertyValue(
+            scale * scale * cameraDistance * CAMERA_DISTANCE_NORMALIZATION_MULTIPLIER);
+    view.setCameraDistance(normalizedCameraDistance);
   }
 
   /**
@@ -606,7 +606,8 @@ public class NativeViewHierarchyManager {
       // execution). Ignore this drop operation.
       return;
     }
-    if (!mRootTags.get(view.getId())) {
+    boolean isRoot = mRootTags.get(view.getId());
+    if (!isRoot) {
       // For non-root views we notify viewmanager with {@link ViewManager#onDropInstance}
       resolveViewManager(view.getId()).onDropViewInstance(view);
     }
@@ -619,6 +620,10 @@ public class NativeViewHierarchyManager {
         if (child == null) {
           FLog.e(TAG, "Unable to drop null child view");
         } else if (mTagsToViews.get(child.getId()) != null) {
+          if (ReactFeatureFlags.enableViewRecycling) {
+            // Detach the child first, so that it can be recycled once dropped.
+            viewGroupManager.removeViewAt(viewGroup, i);
+          }
           dropView(child);
         }
       }
@@ -627,6 +632,9 @@ public class NativeViewHierarchyManager {
     mTagsToPendingIndicesToDelete.remove(view.getId());
     mTagsToViews.remove(view.getId());
     mTagsToViewManagers.remove(view.getId());
+    if (!isRoot) {
+      viewManager.recycleView(view);
+    }
   }
 
   public synchronized void removeRootView(int rootViewTag) {
@@ -638,6 +646,10 @@ public class NativeViewHierarchyManager {
     View rootView = mTagsToViews.get(rootViewTag);
     dropView(rootView);
     mRootTags.delete(rootViewTag);
+    if (rootView != null) {
+      // Views created for this root can't be reused by other roots.
+      mViewManagers.trimRecycledViews(rootView.getContext());
+    }
   }
 
   /**
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns property names into small consecutive integers shared by all view managers and shadow
+ * nodes. A diff map resolves the ids of its keys once, and every setter it is applied to then
+ * dispatches on the ids, see {@link ViewManagerPropertyUpdater}.
+ */
+/* package */ final class ReactPropIds {
+
+  private static final Map<String, Integer> IDS = new ConcurrentHashMap<>();
+
+  private ReactPropIds() {}
+
+  public static int get(String name) {
+    Integer id = IDS.get(name);
+    if (id != null) {
+      return id;
+    }
+    synchronized (IDS) {
+      id = IDS.get(name);
+      if (id == null) {
+        id = IDS.size();
+        IDS.put(name, id);
+      }
+      return id;
+    }
+  }
+}
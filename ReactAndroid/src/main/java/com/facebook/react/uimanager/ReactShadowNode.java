@@ -81,6 +81,13 @@ public interface ReactShadowNode<T extends ReactShadowNode> {
 
   boolean hasUpdates();
 
+  /**
+   * Same as {@link #hasUpdates()} once layout has been calculated, without asking Yoga whether the
+   * node is dirty: a node that has been laid out never is. A node without updates has no
+   * descendant with updates either, so the subtree doesn't need to be visited.
+   */
+  boolean hasUpdatesAfterLayout();
+
   void markUpdateSeen();
 
   void markUpdated();
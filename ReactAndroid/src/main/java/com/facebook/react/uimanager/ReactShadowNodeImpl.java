@@ -152,6 +152,13 @@ public class ReactShadowNodeImpl implements ReactShadowNode<ReactShadowNodeImpl>
     return mNodeUpdated || hasNewLayout() || isDirty();
   }
 
+  @Override
+  public final boolean hasUpdatesAfterLayout() {
+    // markUpdated() propagates to the ancestors, and Yoga only transfers a new layout to the
+    // children of nodes that got one, so both flags summarize the state of the subtree.
+    return mNodeUpdated || hasNewLayout();
+  }
+
   @Override
   public final void markUpdateSeen() {
     mNodeUpdated = false;
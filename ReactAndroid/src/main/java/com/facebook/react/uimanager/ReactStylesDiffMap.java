@@ -12,6 +12,11 @@ import androidx.annotation.Nullable;
 import com.facebook.react.bridge.Dynamic;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableMapKeySetIterator;
+import com.facebook.react.bridge.ReadableNativeMap;
+import com.facebook.react.bridge.ReadableType;
+import com.facebook.react.bridge.UnexpectedNativeTypeException;
+import java.util.ArrayList;
 import java.util.Map;
 
 /**
@@ -36,8 +41,16 @@ public class ReactStylesDiffMap {
 
   /* package */ final ReadableMap mBackingMap;
 
+  // Positional access used by the generated prop setters, see
+  // ReactFeatureFlags#useIndexedPropSetters. Entries of a native map are read from the arrays it
+  // imports, numbers and booleans without boxing.
+  private final @Nullable ReadableNativeMap mNativeMap;
+  private @Nullable String[] mEntryKeys;
+  private @Nullable int[] mEntryPropIds;
+
   public ReactStylesDiffMap(ReadableMap props) {
     mBackingMap = props;
+    mNativeMap = props instanceof ReadableNativeMap ? (ReadableNativeMap) props : null;
   }
 
   public Map<String, Object> toMap() {
@@ -90,6 +103,115 @@ public class ReactStylesDiffMap {
     return mBackingMap.getDynamic(key);
   }
 
+  /* package */ int getEntryCount() {
+    return mNativeMap != null ? mNativeMap.getEntryCount() : getEntryKeys().length;
+  }
+
+  /* package */ String getEntryKey(int entry) {
+    return mNativeMap != null ? mNativeMap.getKeyAt(entry) : getEntryKeys()[entry];
+  }
+
+  /** Returns the id of the property of the given entry, see {@link ReactPropIds}. */
+  /* package */ int getPropIdAt(int entry) {
+    if (mEntryPropIds == null) {
+      int[] propIds = new int[getEntryCount()];
+      for (int i = 0; i < propIds.length; i++) {
+        propIds[i] = ReactPropIds.get(getEntryKey(i));
+      }
+      mEntryPropIds = propIds;
+    }
+    return mEntryPropIds[entry];
+  }
+
+  public boolean isNullAt(int entry) {
+    ReadableNativeMap nativeMap = mNativeMap;
+    if (nativeMap != null) {
+      return nativeMap.getTypeAt(entry) == ReadableType.Null;
+    }
+    return mBackingMap.isNull(getEntryKey(entry));
+  }
+
+  public boolean getBooleanAt(int entry) {
+    ReadableNativeMap nativeMap = mNativeMap;
+    if (nativeMap != null) {
+      checkNativeType(nativeMap, entry, ReadableType.Boolean);
+      return nativeMap.getNumberAt(entry) != 0;
+    }
+    return mBackingMap.getBoolean(getEntryKey(entry));
+  }
+
+  public double getDoubleAt(int entry) {
+    ReadableNativeMap nativeMap = mNativeMap;
+    if (nativeMap != null) {
+      checkNativeType(nativeMap, entry, ReadableType.Number);
+      return nativeMap.getNumberAt(entry);
+    }
+    return mBackingMap.getDouble(getEntryKey(entry));
+  }
+
+  public @Nullable String getStringAt(int entry) {
+    ReadableNativeMap nativeMap = mNativeMap;
+    if (nativeMap != null) {
+      return (String) getNativeValue(nativeMap, entry, ReadableType.String);
+    }
+    return mBackingMap.getString(getEntryKey(entry));
+  }
+
+  public @Nullable ReadableArray getArrayAt(int entry) {
+    ReadableNativeMap nativeMap = mNativeMap;
+    if (nativeMap != null) {
+      return (ReadableArray) getNativeValue(nativeMap, entry, ReadableType.Array);
+    }
+    return mBackingMap.getArray(getEntryKey(entry));
+  }
+
+  public @Nullable ReadableMap getMapAt(int entry) {
+    ReadableNativeMap nativeMap = mNativeMap;
+    if (nativeMap != null) {
+      return (ReadableMap) getNativeValue(nativeMap, entry, ReadableType.Map);
+    }
+    return mBackingMap.getMap(getEntryKey(entry));
+  }
+
+  public Dynamic getDynamicAt(int entry) {
+    return mBackingMap.getDynamic(getEntryKey(entry));
+  }
+
+  private String[] getEntryKeys() {
+    if (mEntryKeys == null) {
+      ArrayList<String> keys = new ArrayList<>();
+      ReadableMapKeySetIterator iterator = mBackingMap.keySetIterator();
+      while (iterator.hasNextKey()) {
+        keys.add(iterator.nextKey());
+      }
+      mEntryKeys = keys.toArray(new String[keys.size()]);
+    }
+    return mEntryKeys;
+  }
+
+  private static @Nullable Object getNativeValue(
+      ReadableNativeMap nativeMap, int entry, ReadableType expectedType) {
+    if (nativeMap.getTypeAt(entry) == ReadableType.Null) {
+      return null;
+    }
+    checkNativeType(nativeMap, entry, expectedType);
+    return nativeMap.getValueAt(entry);
+  }
+
+  private static void checkNativeType(
+      ReadableNativeMap nativeMap, int entry, ReadableType expectedType) {
+    ReadableType type = nativeMap.getTypeAt(entry);
+    if (type != expectedType) {
+      throw new UnexpectedNativeTypeException(
+          "Value for "
+              + nativeMap.getKeyAt(entry)
+              + " cannot be cast from "
+              + type.name()
+              + " to "
+              + expectedType.name());
+    }
+  }
+
   @Override
   public String toString() {
     return "{ " + getClass().getSimpleName() + ": " + mBackingMap.toString() + " }";
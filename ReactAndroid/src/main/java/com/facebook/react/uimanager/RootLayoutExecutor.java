@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager;
+
+import android.os.Process;
+import androidx.annotation.Nullable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded pool of threads used by {@link UIImplementation} to calculate the layout of several root
+ * views concurrently. The pool is shared by all instances and its threads exit when idle.
+ */
+/* package */ class RootLayoutExecutor {
+
+  private static final int MAX_THREADS = 3;
+  private static final long KEEP_ALIVE_SECONDS = 5;
+
+  private static @Nullable ExecutorService sExecutor;
+  private static boolean sInitialized = false;
+
+  /**
+   * Returns the pool, or null on single core devices where the roots are better laid out serially
+   * on the calling thread.
+   */
+  public static synchronized @Nullable ExecutorService get() {
+    if (!sInitialized) {
+      sInitialized = true;
+      // The calling thread lays out one of the roots itself.
+      int threadCount = Math.min(Runtime.getRuntime().availableProcessors() - 1, MAX_THREADS);
+      if (threadCount > 0) {
+        ThreadPoolExecutor executor =
+            new ThreadPoolExecutor(
+                threadCount,
+                threadCount,
+                KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(),
+                new LayoutThreadFactory());
+        executor.allowCoreThreadTimeOut(true);
+        sExecutor = executor;
+      }
+    }
+    return sExecutor;
+  }
+
+  private static class LayoutThreadFactory implements ThreadFactory {
+    private final AtomicInteger mCount = new AtomicInteger();
+
+    @Override
+    public Thread newThread(final Runnable runnable) {
+      Thread thread =
+          new Thread(
+              new Runnable() {
+                @Override
+                public void run() {
+                  Process.setThreadPriority(Process.THREAD_PRIORITY_DISPLAY);
+                  runnable.run();
+                }
+              },
+              "rn_root_layout_" + mCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
@@ -21,6 +21,7 @@ import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.UiThreadUtil;
 import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.common.ReactConstants;
+import com.facebook.react.config.ReactFeatureFlags;
 import com.facebook.react.modules.i18nmanager.I18nUtil;
 import com.facebook.react.uimanager.debug.NotThreadSafeViewHierarchyUpdateDebugListener;
 import com.facebook.react.uimanager.events.EventDispatcher;
@@ -28,9 +29,13 @@ import com.facebook.systrace.Systrace;
 import com.facebook.systrace.SystraceMessage;
 import com.facebook.yoga.YogaConstants;
 import com.facebook.yoga.YogaDirection;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * A class that is used to receive React commands from JS and translate them into a shadow node
@@ -48,6 +53,9 @@ public class UIImplementation {
   private final int[] mMeasureBuffer = new int[4];
 
   private long mLastCalculateLayoutTime = 0;
+  // Nodes visited and nodes whose frame changed while applying the updates of the current batch.
+  private int mLayoutVisitedNodeCount = 0;
+  private int mLayoutUpdatedNodeCount = 0;
   protected @Nullable LayoutUpdateListener mLayoutUpdateListener;
 
   /** Interface definition for a callback to be invoked when the layout has been updated */
@@ -596,10 +604,17 @@ public class UIImplementation {
         .arg("batchId", batchId)
         .flush();
     final long commitStartTime = SystemClock.uptimeMillis();
+    mLayoutVisitedNodeCount = 0;
+    mLayoutUpdatedNodeCount = 0;
     try {
       updateViewHierarchy();
       mNativeViewHierarchyOptimizer.onBatchComplete();
-      mOperationsQueue.dispatchViewUpdates(batchId, commitStartTime, mLastCalculateLayoutTime);
+      mOperationsQueue.dispatchViewUpdates(
+          batchId,
+          commitStartTime,
+          mLastCalculateLayoutTime,
+          mLayoutVisitedNodeCount,
+          mLayoutUpdatedNodeCount);
     } finally {
       Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
     }
@@ -620,43 +635,139 @@ public class UIImplementation {
     Systrace.beginSection(
         Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "UIImplementation.updateViewHierarchy");
     try {
+      if (ReactFeatureFlags.enableParallelRootLayout
+          && mShadowNodeRegistry.getRootNodeCount() > 1) {
+        ExecutorService executor = RootLayoutExecutor.get();
+        if (executor != null) {
+          updateViewHierarchyInParallel(executor);
+          return;
+        }
+      }
+
       for (int i = 0; i < mShadowNodeRegistry.getRootNodeCount(); i++) {
         int tag = mShadowNodeRegistry.getRootTag(i);
         ReactShadowNode cssRoot = mShadowNodeRegistry.getNode(tag);
 
         if (cssRoot.getWidthMeasureSpec() != null && cssRoot.getHeightMeasureSpec() != null) {
-          SystraceMessage.beginSection(
-                  Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
-                  "UIImplementation.notifyOnBeforeLayoutRecursive")
-              .arg("rootTag", cssRoot.getReactTag())
-              .flush();
-          try {
-            notifyOnBeforeLayoutRecursive(cssRoot);
-          } finally {
-            Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
-          }
-
+          notifyRootOnBeforeLayout(cssRoot);
           calculateRootLayout(cssRoot);
-          SystraceMessage.beginSection(
-                  Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "UIImplementation.applyUpdatesRecursive")
-              .arg("rootTag", cssRoot.getReactTag())
-              .flush();
-          try {
-            applyUpdatesRecursive(cssRoot, 0f, 0f);
-          } finally {
-            Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
-          }
+          applyRootUpdates(cssRoot);
+        }
+      }
+    } finally {
+      Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
+    }
+  }
+
+  /**
+   * Calculates the layout of the roots concurrently. Only Yoga runs in parallel, each root on its
+   * own thread: the shadow trees of different roots don't share any node. Everything that touches
+   * shared state, including enqueuing view operations, runs on this thread and in the order of the
+   * roots so that the operations are the same as when laying out serially.
+   */
+  private void updateViewHierarchyInParallel(ExecutorService executor) {
+    List<ReactShadowNode> roots = new ArrayList<>(mShadowNodeRegistry.getRootNodeCount());
+    for (int i = 0; i < mShadowNodeRegistry.getRootNodeCount(); i++) {
+      int tag = mShadowNodeRegistry.getRootTag(i);
+      ReactShadowNode cssRoot = mShadowNodeRegistry.getNode(tag);
+
+      if (cssRoot.getWidthMeasureSpec() != null && cssRoot.getHeightMeasureSpec() != null) {
+        notifyRootOnBeforeLayout(cssRoot);
+        roots.add(cssRoot);
+      }
+    }
+    if (roots.isEmpty()) {
+      return;
+    }
+
+    long startTime = SystemClock.uptimeMillis();
+    List<Future<?>> layouts = new ArrayList<>(roots.size() - 1);
+    for (int i = 1; i < roots.size(); i++) {
+      final ReactShadowNode cssRoot = roots.get(i);
+      layouts.add(
+          executor.submit(
+              new Runnable() {
+                @Override
+                public void run() {
+                  calculateRootLayout(cssRoot);
+                }
+              }));
+    }
+    try {
+      // Lay out the first root here rather than waiting idle.
+      calculateRootLayout(roots.get(0));
+    } finally {
+      waitForRootLayouts(layouts);
+    }
+    mLastCalculateLayoutTime = SystemClock.uptimeMillis() - startTime;
+
+    for (int i = 0; i < roots.size(); i++) {
+      applyRootUpdates(roots.get(i));
+    }
+  }
 
-          if (mLayoutUpdateListener != null) {
-            mOperationsQueue.enqueueLayoutUpdateFinished(cssRoot, mLayoutUpdateListener);
+  /**
+   * Waits for all the layouts to complete, even if some fail, so that no shadow tree is still being
+   * laid out when this returns. Rethrows the first failure.
+   */
+  private static void waitForRootLayouts(List<Future<?>> layouts) {
+    Throwable failure = null;
+    boolean interrupted = false;
+    for (int i = 0; i < layouts.size(); i++) {
+      while (true) {
+        try {
+          layouts.get(i).get();
+          break;
+        } catch (InterruptedException e) {
+          interrupted = true;
+        } catch (ExecutionException e) {
+          if (failure == null) {
+            failure = e.getCause();
           }
+          break;
         }
       }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+    if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    } else if (failure instanceof Error) {
+      throw (Error) failure;
+    } else if (failure != null) {
+      throw new RuntimeException(failure);
+    }
+  }
+
+  private void notifyRootOnBeforeLayout(ReactShadowNode cssRoot) {
+    SystraceMessage.beginSection(
+            Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "UIImplementation.notifyOnBeforeLayoutRecursive")
+        .arg("rootTag", cssRoot.getReactTag())
+        .flush();
+    try {
+      notifyOnBeforeLayoutRecursive(cssRoot);
     } finally {
       Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
     }
   }
 
+  private void applyRootUpdates(ReactShadowNode cssRoot) {
+    SystraceMessage.beginSection(
+            Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "UIImplementation.applyUpdatesRecursive")
+        .arg("rootTag", cssRoot.getReactTag())
+        .flush();
+    try {
+      applyUpdatesRecursive(cssRoot, 0f, 0f);
+    } finally {
+      Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
+    }
+
+    if (mLayoutUpdateListener != null) {
+      mOperationsQueue.enqueueLayoutUpdateFinished(cssRoot, mLayoutUpdateListener);
+    }
+  }
+
   /**
    * LayoutAnimation API on Android is currently experimental. Therefore, it needs to be enabled
    * explicitly in order to avoid regression in existing application written for iOS using this API.
@@ -895,7 +1006,8 @@ public class UIImplementation {
   }
 
   protected void applyUpdatesRecursive(ReactShadowNode cssNode, float absoluteX, float absoluteY) {
-    if (!cssNode.hasUpdates()) {
+    mLayoutVisitedNodeCount++;
+    if (!cssNode.hasUpdatesAfterLayout()) {
       return;
     }
 
@@ -916,6 +1028,9 @@ public class UIImplementation {
       // Notify JS about layout event if requested
       // and if the position or dimensions actually changed
       // (consistent with iOS).
+      if (frameDidChange) {
+        mLayoutUpdatedNodeCount++;
+      }
       if (frameDidChange && cssNode.shouldNotifyOnLayout()) {
         mEventDispatcher.dispatchEvent(
             OnLayoutEvent.obtain(
@@ -133,7 +133,22 @@ public class UIManagerModule extends ReactContextBaseJavaModule
         reactContext,
         viewManagerResolver,
         new UIImplementationProvider(),
-        minTimeLeftInFrameForNonBatchedOperationMs);
+        minTimeLeftInFrameForNonBatchedOperationMs,
+        false);
+  }
+
+  @SuppressWarnings("deprecated")
+  public UIManagerModule(
+      ReactApplicationContext reactContext,
+      ViewManagerResolver viewManagerResolver,
+      int minTimeLeftInFrameForNonBatchedOperationMs,
+      boolean useLockFreeEventStaging) {
+    this(
+        reactContext,
+        viewManagerResolver,
+        new UIImplementationProvider(),
+        minTimeLeftInFrameForNonBatchedOperationMs,
+        useLockFreeEventStaging);
   }
 
   @SuppressWarnings("deprecated")
@@ -145,7 +160,22 @@ public class UIManagerModule extends ReactContextBaseJavaModule
         reactContext,
         viewManagersList,
         new UIImplementationProvider(),
-        minTimeLeftInFrameForNonBatchedOperationMs);
+        minTimeLeftInFrameForNonBatchedOperationMs,
+        false);
+  }
+
+  @SuppressWarnings("deprecated")
+  public UIManagerModule(
+      ReactApplicationContext reactContext,
+      List<ViewManager> viewManagersList,
+      int minTimeLeftInFrameForNonBatchedOperationMs,
+      boolean useLockFreeEventStaging) {
+    this(
+        reactContext,
+        viewManagersList,
+        new UIImplementationProvider(),
+        minTimeLeftInFrameForNonBatchedOperationMs,
+        useLockFreeEventStaging);
   }
 
   @Deprecated
@@ -154,9 +184,23 @@ public class UIManagerModule extends ReactContextBaseJavaModule
       ViewManagerResolver viewManagerResolver,
       UIImplementationProvider uiImplementationProvider,
       int minTimeLeftInFrameForNonBatchedOperationMs) {
+    this(
+        reactContext,
+        viewManagerResolver,
+        uiImplementationProvider,
+        minTimeLeftInFrameForNonBatchedOperationMs,
+        false);
+  }
+
+  private UIManagerModule(
+      ReactApplicationContext reactContext,
+      ViewManagerResolver viewManagerResolver,
+      UIImplementationProvider uiImplementationProvider,
+      int minTimeLeftInFrameForNonBatchedOperationMs,
+      boolean useLockFreeEventStaging) {
     super(reactContext);
     DisplayMetricsHolder.initDisplayMetricsIfNotInitialized(reactContext);
-    mEventDispatcher = new EventDispatcher(reactContext);
+    mEventDispatcher = new EventDispatcher(reactContext, useLockFreeEventStaging);
     mModuleConstants = createConstants(viewManagerResolver);
     mCustomDirectEvents = UIManagerModuleConstants.getDirectEventTypeConstants();
     mViewManagerRegistry = new ViewManagerRegistry(viewManagerResolver);
@@ -176,9 +220,23 @@ public class UIManagerModule extends ReactContextBaseJavaModule
       List<ViewManager> viewManagersList,
       UIImplementationProvider uiImplementationProvider,
       int minTimeLeftInFrameForNonBatchedOperationMs) {
+    this(
+        reactContext,
+        viewManagersList,
+        uiImplementationProvider,
+        minTimeLeftInFrameForNonBatchedOperationMs,
+        false);
+  }
+
+  private UIManagerModule(
+      ReactApplicationContext reactContext,
+      List<ViewManager> viewManagersList,
+      UIImplementationProvider uiImplementationProvider,
+      int minTimeLeftInFrameForNonBatchedOperationMs,
+      boolean useLockFreeEventStaging) {
     super(reactContext);
     DisplayMetricsHolder.initDisplayMetricsIfNotInitialized(reactContext);
-    mEventDispatcher = new EventDispatcher(reactContext);
+    mEventDispatcher = new EventDispatcher(reactContext, useLockFreeEventStaging);
     mCustomDirectEvents = MapBuilder.newHashMap();
     mModuleConstants = createConstants(viewManagersList, null, mCustomDirectEvents);
     mViewManagerRegistry = new ViewManagerRegistry(viewManagersList);
@@ -230,6 +288,8 @@ public class UIManagerModule extends ReactContextBaseJavaModule
   @Override
   public void onHostDestroy() {
     mUIImplementation.onHostDestroy();
+    // Recycled views hold the context of the Activity being destroyed.
+    mViewManagerRegistry.trimRecycledViews();
   }
 
   @Override
@@ -910,13 +970,17 @@ public class UIManagerModule extends ReactContextBaseJavaModule
         });
   }
 
-  /** Listener that drops the CSSNode pool on low memory when the app is backgrounded. */
+  /**
+   * Listener that drops the CSSNode pool and the recycled views on low memory when the app is
+   * backgrounded.
+   */
   private class MemoryTrimCallback implements ComponentCallbacks2 {
 
     @Override
     public void onTrimMemory(int level) {
       if (level >= TRIM_MEMORY_MODERATE) {
         YogaNodePool.get().clear();
+        mViewManagerRegistry.trimRecycledViews();
       }
     }
 
@@ -934,4 +998,12 @@ public class UIManagerModule extends ReactContextBaseJavaModule
         .getNativeViewHierarchyManager()
         .resolveView(tag);
   }
+
+  public ViewManager resolveViewManager(int tag) {
+    UiThreadUtil.assertOnUiThread();
+    return mUIImplementation
+        .getUIViewOperationQueue()
+        .getNativeViewHierarchyManager()
+        .resolveViewManager(tag);
+  }
 }
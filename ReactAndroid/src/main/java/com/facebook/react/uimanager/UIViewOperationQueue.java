@@ -8,6 +8,7 @@
 package com.facebook.react.uimanager;
 
 import android.os.SystemClock;
+import android.util.SparseBooleanArray;
 import android.view.View;
 import androidx.annotation.GuardedBy;
 import androidx.annotation.Nullable;
@@ -21,6 +22,7 @@ import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.SoftAssertions;
 import com.facebook.react.bridge.UiThreadUtil;
 import com.facebook.react.common.ReactConstants;
+import com.facebook.react.config.ReactFeatureFlags;
 import com.facebook.react.modules.core.ReactChoreographer;
 import com.facebook.react.uimanager.debug.NotThreadSafeViewHierarchyUpdateDebugListener;
 import com.facebook.systrace.Systrace;
@@ -44,6 +46,11 @@ public class UIViewOperationQueue {
 
   public static final int DEFAULT_MIN_TIME_LEFT_IN_FRAME_FOR_NONBATCHED_OPERATION_MS = 8;
 
+  private static final long NO_FRAME_TIME = -1;
+  private static final int FRAME_TIME_MS = 16;
+  // Idle callbacks run after the other frame callbacks, so less time is kept for the traversal.
+  private static final int MIN_TIME_LEFT_IN_FRAME_FOR_IDLE_PREALLOCATION_MS = 4;
+
   private final int[] mMeasureBuffer = new int[4];
 
   /** A mutation or animation operation on the view hierarchy. */
@@ -515,10 +522,79 @@ public class UIViewOperationQueue {
     }
   }
 
+  /**
+   * A batch dispatched in incremental mount mode. Operations that only touch views created in this
+   * batch (which are therefore not attached to the visible hierarchy yet) are prepared ahead of
+   * time in frame-sized slices. The remaining operations, including the ones attaching the new
+   * subtrees to existing views, are committed atomically once preparation is done.
+   */
+  private final class IncrementalMountBatch implements Runnable {
+
+    private final ArrayList<UIOperation> mPrepareOperations;
+    private final Runnable mCommitRunnable;
+    private int mNextPrepareOperationIndex = 0;
+
+    private IncrementalMountBatch(
+        ArrayList<UIOperation> prepareOperations, Runnable commitRunnable) {
+      mPrepareOperations = prepareOperations;
+      mCommitRunnable = commitRunnable;
+    }
+
+    /**
+     * Executes as much of this batch as fits in the frame that started at {@code frameTimeNanos}.
+     * At least one operation is executed per call so that the batch always makes progress.
+     *
+     * @return true if the batch has been committed, false if it needs more frames
+     */
+    private boolean runSlice(long frameTimeNanos) {
+      long sliceStartTime = SystemClock.uptimeMillis();
+      boolean executedOperation = false;
+      try {
+        while (mNextPrepareOperationIndex < mPrepareOperations.size()) {
+          if (executedOperation && !mDispatchUIFrameCallback.hasTimeLeftInFrame(frameTimeNanos)) {
+            return false;
+          }
+          mPrepareOperations.get(mNextPrepareOperationIndex++).execute();
+          executedOperation = true;
+        }
+        if (executedOperation && !mDispatchUIFrameCallback.hasTimeLeftInFrame(frameTimeNanos)) {
+          return false;
+        }
+        mCommitRunnable.run();
+        return true;
+      } catch (Exception e) {
+        mIsInIllegalUIState = true;
+        throw e;
+      } finally {
+        if (mIsProfilingNextBatch) {
+          long sliceTime = SystemClock.uptimeMillis() - sliceStartTime;
+          mProfiledBatchIncrementalMountFrameCount++;
+          mProfiledBatchIncrementalMountTotalTime += sliceTime;
+          mProfiledBatchIncrementalMountMaxFrameTime =
+              Math.max(mProfiledBatchIncrementalMountMaxFrameTime, sliceTime);
+        }
+      }
+    }
+
+    @Override
+    public void run() {
+      try {
+        while (mNextPrepareOperationIndex < mPrepareOperations.size()) {
+          mPrepareOperations.get(mNextPrepareOperationIndex++).execute();
+        }
+      } catch (Exception e) {
+        mIsInIllegalUIState = true;
+        throw e;
+      }
+      mCommitRunnable.run();
+    }
+  }
+
   private final NativeViewHierarchyManager mNativeViewHierarchyManager;
   private final Object mDispatchRunnablesLock = new Object();
   private final Object mNonBatchedOperationsLock = new Object();
   private final DispatchUIFrameCallback mDispatchUIFrameCallback;
+  private final IdlePreallocationFrameCallback mIdlePreallocationFrameCallback;
   private final ReactApplicationContext mReactApplicationContext;
 
   // Only called from the UIManager queue?
@@ -530,11 +606,16 @@ public class UIViewOperationQueue {
   @GuardedBy("mNonBatchedOperationsLock")
   private ArrayDeque<UIOperation> mNonBatchedOperations = new ArrayDeque<>();
 
+  /** Tags of the views created since the last dispatch, only tracked in incremental mount mode. */
+  @GuardedBy("mNonBatchedOperationsLock")
+  private @Nullable SparseBooleanArray mCreatedViewTags;
+
   private @Nullable NotThreadSafeViewHierarchyUpdateDebugListener mViewHierarchyUpdateDebugListener;
   private boolean mIsDispatchUIFrameCallbackEnqueued = false;
   private boolean mIsInIllegalUIState = false;
   private boolean mIsProfilingNextBatch = false;
   private long mNonBatchedExecutionTotalTime;
+  private long mIdlePreallocatedViewCount;
   private long mProfiledBatchCommitStartTime;
   private long mProfiledBatchCommitEndTime;
   private long mProfiledBatchLayoutTime;
@@ -543,9 +624,15 @@ public class UIViewOperationQueue {
   private long mProfiledBatchRunEndTime;
   private long mProfiledBatchBatchedExecutionTime;
   private long mProfiledBatchNonBatchedExecutionTime;
+  private long mProfiledBatchIdlePreallocatedViewCount;
   private long mThreadCpuTime;
   private long mCreateViewCount;
   private long mUpdatePropertiesOperationCount;
+  private long mProfiledBatchIncrementalMountFrameCount;
+  private long mProfiledBatchIncrementalMountTotalTime;
+  private long mProfiledBatchIncrementalMountMaxFrameTime;
+  private long mProfiledBatchLayoutVisitedNodeCount;
+  private long mProfiledBatchLayoutUpdatedNodeCount;
 
   public UIViewOperationQueue(
       ReactApplicationContext reactContext,
@@ -558,6 +645,7 @@ public class UIViewOperationQueue {
             minTimeLeftInFrameForNonBatchedOperationMs == -1
                 ? DEFAULT_MIN_TIME_LEFT_IN_FRAME_FOR_NONBATCHED_OPERATION_MS
                 : minTimeLeftInFrameForNonBatchedOperationMs);
+    mIdlePreallocationFrameCallback = new IdlePreallocationFrameCallback(reactContext);
     mReactApplicationContext = reactContext;
   }
 
@@ -575,6 +663,9 @@ public class UIViewOperationQueue {
     mProfiledBatchCommitStartTime = 0;
     mCreateViewCount = 0;
     mUpdatePropertiesOperationCount = 0;
+    mProfiledBatchIncrementalMountFrameCount = 0;
+    mProfiledBatchIncrementalMountTotalTime = 0;
+    mProfiledBatchIncrementalMountMaxFrameTime = 0;
   }
 
   public Map<String, Long> getProfiledBatchPerfCounters() {
@@ -587,9 +678,15 @@ public class UIViewOperationQueue {
     perfMap.put("RunEndTime", mProfiledBatchRunEndTime);
     perfMap.put("BatchedExecutionTime", mProfiledBatchBatchedExecutionTime);
     perfMap.put("NonBatchedExecutionTime", mProfiledBatchNonBatchedExecutionTime);
+    perfMap.put("IdlePreallocatedViewCount", mProfiledBatchIdlePreallocatedViewCount);
     perfMap.put("NativeModulesThreadCpuTime", mThreadCpuTime);
     perfMap.put("CreateViewCount", mCreateViewCount);
     perfMap.put("UpdatePropsCount", mUpdatePropertiesOperationCount);
+    perfMap.put("IncrementalMountFrameCount", mProfiledBatchIncrementalMountFrameCount);
+    perfMap.put("IncrementalMountTotalTime", mProfiledBatchIncrementalMountTotalTime);
+    perfMap.put("IncrementalMountMaxFrameTime", mProfiledBatchIncrementalMountMaxFrameTime);
+    perfMap.put("LayoutVisitedNodeCount", mProfiledBatchLayoutVisitedNodeCount);
+    perfMap.put("LayoutUpdatedNodeCount", mProfiledBatchLayoutUpdatedNodeCount);
     return perfMap;
   }
 
@@ -658,6 +755,12 @@ public class UIViewOperationQueue {
       mCreateViewCount++;
       mNonBatchedOperations.addLast(
           new CreateViewOperation(themedContext, viewReactTag, viewClassName, initialProps));
+      if (ReactFeatureFlags.enableIncrementalMount) {
+        if (mCreatedViewTags == null) {
+          mCreatedViewTags = new SparseBooleanArray();
+        }
+        mCreatedViewTags.put(viewReactTag, true);
+      }
     }
   }
 
@@ -737,6 +840,19 @@ public class UIViewOperationQueue {
 
   public void dispatchViewUpdates(
       final int batchId, final long commitStartTime, final long layoutTime) {
+    dispatchViewUpdates(batchId, commitStartTime, layoutTime, 0, 0);
+  }
+
+  /**
+   * @param layoutVisitedNodeCount number of shadow nodes visited to collect the layout updates
+   * @param layoutUpdatedNodeCount number of shadow nodes whose frame changed
+   */
+  public void dispatchViewUpdates(
+      final int batchId,
+      final long commitStartTime,
+      final long layoutTime,
+      final int layoutVisitedNodeCount,
+      final int layoutUpdatedNodeCount) {
     SystraceMessage.beginSection(
             Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "UIViewOperationQueue.dispatchViewUpdates")
         .arg("batchId", batchId)
@@ -755,16 +871,27 @@ public class UIViewOperationQueue {
         batchedOperations = null;
       }
 
-      final ArrayDeque<UIOperation> nonBatchedOperations;
+      final ArrayDeque<UIOperation> pendingNonBatchedOperations;
+      final @Nullable SparseBooleanArray createdViewTags;
       synchronized (mNonBatchedOperationsLock) {
         if (!mNonBatchedOperations.isEmpty()) {
-          nonBatchedOperations = mNonBatchedOperations;
+          pendingNonBatchedOperations = mNonBatchedOperations;
           mNonBatchedOperations = new ArrayDeque<>();
         } else {
-          nonBatchedOperations = null;
+          pendingNonBatchedOperations = null;
         }
+        createdViewTags = mCreatedViewTags;
+        mCreatedViewTags = null;
       }
 
+      final @Nullable ArrayList<UIOperation> prepareOperations =
+          createdViewTags != null
+              ? extractPrepareOperations(
+                  pendingNonBatchedOperations, batchedOperations, createdViewTags)
+              : null;
+      final ArrayDeque<UIOperation> nonBatchedOperations =
+          prepareOperations != null ? null : pendingNonBatchedOperations;
+
       if (mViewHierarchyUpdateDebugListener != null) {
         mViewHierarchyUpdateDebugListener.onViewHierarchyUpdateEnqueued();
       }
@@ -797,6 +924,8 @@ public class UIViewOperationQueue {
                   mProfiledBatchCommitStartTime = commitStartTime;
                   mProfiledBatchCommitEndTime = SystemClock.uptimeMillis();
                   mProfiledBatchLayoutTime = layoutTime;
+                  mProfiledBatchLayoutVisitedNodeCount = layoutVisitedNodeCount;
+                  mProfiledBatchLayoutUpdatedNodeCount = layoutUpdatedNodeCount;
                   mProfiledBatchDispatchViewUpdatesTime = dispatchViewUpdatesTime;
                   mProfiledBatchRunStartTime = runStartTime;
                   mProfiledBatchRunEndTime = mProfiledBatchCommitEndTime;
@@ -845,7 +974,10 @@ public class UIViewOperationQueue {
           .flush();
       synchronized (mDispatchRunnablesLock) {
         Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
-        mDispatchUIRunnables.add(runOperations);
+        mDispatchUIRunnables.add(
+            prepareOperations != null
+                ? new IncrementalMountBatch(prepareOperations, runOperations)
+                : runOperations);
       }
 
       // In the case where the frame callback isn't enqueued, the UI isn't being displayed or is
@@ -867,20 +999,117 @@ public class UIViewOperationQueue {
     }
   }
 
+  /**
+   * Splits a batch for incremental mounting: the pending create view operations, and the batched
+   * operations that only affect views created in this batch, are removed from {@code
+   * batchedOperations} and returned in order. Returns null if the batch can't be mounted
+   * incrementally, in which case nothing is modified.
+   */
+  private @Nullable ArrayList<UIOperation> extractPrepareOperations(
+      @Nullable ArrayDeque<UIOperation> nonBatchedOperations,
+      @Nullable ArrayList<UIOperation> batchedOperations,
+      SparseBooleanArray createdViewTags) {
+    if (batchedOperations == null) {
+      return null;
+    }
+    for (int i = 0; i < batchedOperations.size(); i++) {
+      // Layout animations are configured per batch and must see every layout update of it.
+      if (batchedOperations.get(i) instanceof ConfigureLayoutAnimationOperation) {
+        return null;
+      }
+    }
+
+    ArrayList<UIOperation> prepareOperations = new ArrayList<>();
+    if (nonBatchedOperations != null) {
+      prepareOperations.addAll(nonBatchedOperations);
+    }
+    int commitOperationsCount = 0;
+    for (int i = 0; i < batchedOperations.size(); i++) {
+      UIOperation operation = batchedOperations.get(i);
+      if (isDetachedViewOperation(operation, createdViewTags)) {
+        prepareOperations.add(operation);
+      } else {
+        batchedOperations.set(commitOperationsCount++, operation);
+      }
+    }
+    batchedOperations.subList(commitOperationsCount, batchedOperations.size()).clear();
+    return prepareOperations;
+  }
+
+  /**
+   * Whether the given operation only touches views created in the current batch, which are not
+   * attached to the visible hierarchy until a later operation in that batch adds them.
+   */
+  private static boolean isDetachedViewOperation(
+      UIOperation operation, SparseBooleanArray createdViewTags) {
+    if (operation instanceof UpdatePropertiesOperation
+        || operation instanceof UpdateLayoutOperation
+        || operation instanceof UpdateInstanceHandleOperation
+        || operation instanceof UpdateViewExtraData) {
+      return createdViewTags.get(((ViewOperation) operation).mTag);
+    }
+    if (operation instanceof ManageChildrenOperation) {
+      ManageChildrenOperation manageChildren = (ManageChildrenOperation) operation;
+      if (!createdViewTags.get(manageChildren.mTag)
+          || manageChildren.mIndicesToRemove != null
+          || manageChildren.mTagsToDelete != null) {
+        return false;
+      }
+      if (manageChildren.mViewsToAdd != null) {
+        for (ViewAtIndex viewAtIndex : manageChildren.mViewsToAdd) {
+          if (!createdViewTags.get(viewAtIndex.mTag)) {
+            return false;
+          }
+        }
+      }
+      return true;
+    }
+    if (operation instanceof SetChildrenOperation) {
+      SetChildrenOperation setChildren = (SetChildrenOperation) operation;
+      if (!createdViewTags.get(setChildren.mTag)) {
+        return false;
+      }
+      for (int i = 0; i < setChildren.mChildrenTags.size(); i++) {
+        if (!createdViewTags.get(setChildren.mChildrenTags.getInt(i))) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return false;
+  }
+
   /* package */ void resumeFrameCallback() {
     mIsDispatchUIFrameCallbackEnqueued = true;
     ReactChoreographer.getInstance()
         .postFrameCallback(ReactChoreographer.CallbackType.DISPATCH_UI, mDispatchUIFrameCallback);
+    if (ReactFeatureFlags.enableIdleViewPreallocation) {
+      ReactChoreographer.getInstance()
+          .postFrameCallback(
+              ReactChoreographer.CallbackType.IDLE_EVENT, mIdlePreallocationFrameCallback);
+    }
   }
 
   /* package */ void pauseFrameCallback() {
     mIsDispatchUIFrameCallbackEnqueued = false;
     ReactChoreographer.getInstance()
         .removeFrameCallback(ReactChoreographer.CallbackType.DISPATCH_UI, mDispatchUIFrameCallback);
+    ReactChoreographer.getInstance()
+        .removeFrameCallback(
+            ReactChoreographer.CallbackType.IDLE_EVENT, mIdlePreallocationFrameCallback);
     flushPendingBatches();
   }
 
   private void flushPendingBatches() {
+    flushPendingBatches(NO_FRAME_TIME);
+  }
+
+  /**
+   * Runs the pending batches in order. When {@code frameTimeNanos} is given, batches dispatched in
+   * incremental mount mode only run for as long as the frame budget allows, and the batches that
+   * couldn't be completed are kept for the next frame.
+   */
+  private void flushPendingBatches(long frameTimeNanos) {
     if (mIsInIllegalUIState) {
       FLog.w(
           ReactConstants.TAG,
@@ -899,13 +1128,25 @@ public class UIViewOperationQueue {
     }
 
     final long batchedExecutionStartTime = SystemClock.uptimeMillis();
-    for (Runnable runnable : runnables) {
-      runnable.run();
+    for (int i = 0; i < runnables.size(); i++) {
+      Runnable runnable = runnables.get(i);
+      if (frameTimeNanos != NO_FRAME_TIME && runnable instanceof IncrementalMountBatch) {
+        if (!((IncrementalMountBatch) runnable).runSlice(frameTimeNanos)) {
+          // Later batches may depend on this one, keep them all in order for the next frame.
+          synchronized (mDispatchRunnablesLock) {
+            mDispatchUIRunnables.addAll(0, runnables.subList(i, runnables.size()));
+          }
+          return;
+        }
+      } else {
+        runnable.run();
+      }
     }
 
     if (mIsProfilingNextBatch) {
       mProfiledBatchBatchedExecutionTime = SystemClock.uptimeMillis() - batchedExecutionStartTime;
       mProfiledBatchNonBatchedExecutionTime = mNonBatchedExecutionTotalTime;
+      mProfiledBatchIdlePreallocatedViewCount = mIdlePreallocatedViewCount;
       mIsProfilingNextBatch = false;
 
       Systrace.beginAsyncSection(
@@ -916,6 +1157,47 @@ public class UIViewOperationQueue {
       Systrace.endAsyncSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "batchedExecutionTime", 0);
     }
     mNonBatchedExecutionTotalTime = 0;
+    mIdlePreallocatedViewCount = 0;
+  }
+
+  private static boolean hasTimeLeftInFrame(long frameTimeNanos, int minTimeLeftInFrameMs) {
+    long timeLeftInFrame = FRAME_TIME_MS - ((System.nanoTime() - frameTimeNanos) / 1000000);
+    return timeLeftInFrame >= minTimeLeftInFrameMs;
+  }
+
+  /**
+   * Executes the pending non batched operations, which create the views of the next batches, while
+   * there is enough time left in the frame.
+   *
+   * @return the number of operations executed
+   */
+  private int dispatchPendingNonBatchedOperations(long frameTimeNanos, int minTimeLeftInFrameMs) {
+    int executedCount = 0;
+    while (true) {
+      if (!hasTimeLeftInFrame(frameTimeNanos, minTimeLeftInFrameMs)) {
+        break;
+      }
+
+      UIOperation nextOperation;
+      synchronized (mNonBatchedOperationsLock) {
+        if (mNonBatchedOperations.isEmpty()) {
+          break;
+        }
+
+        nextOperation = mNonBatchedOperations.pollFirst();
+      }
+
+      try {
+        long nonBatchedExecutionStartTime = SystemClock.uptimeMillis();
+        nextOperation.execute();
+        mNonBatchedExecutionTotalTime += SystemClock.uptimeMillis() - nonBatchedExecutionStartTime;
+        executedCount++;
+      } catch (Exception e) {
+        mIsInIllegalUIState = true;
+        throw e;
+      }
+    }
+    return executedCount;
   }
 
   /**
@@ -935,7 +1217,6 @@ public class UIViewOperationQueue {
    */
   private class DispatchUIFrameCallback extends GuardedFrameCallback {
 
-    private static final int FRAME_TIME_MS = 16;
     private final int mMinTimeLeftInFrameForNonBatchedOperationMs;
 
     private DispatchUIFrameCallback(
@@ -955,43 +1236,53 @@ public class UIViewOperationQueue {
 
       Systrace.beginSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "dispatchNonBatchedUIOperations");
       try {
-        dispatchPendingNonBatchedOperations(frameTimeNanos);
+        dispatchPendingNonBatchedOperations(
+            frameTimeNanos, mMinTimeLeftInFrameForNonBatchedOperationMs);
       } finally {
         Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
       }
 
-      flushPendingBatches();
+      flushPendingBatches(frameTimeNanos);
 
       ReactChoreographer.getInstance()
           .postFrameCallback(ReactChoreographer.CallbackType.DISPATCH_UI, this);
     }
 
-    private void dispatchPendingNonBatchedOperations(long frameTimeNanos) {
-      while (true) {
-        long timeLeftInFrame = FRAME_TIME_MS - ((System.nanoTime() - frameTimeNanos) / 1000000);
-        if (timeLeftInFrame < mMinTimeLeftInFrameForNonBatchedOperationMs) {
-          break;
-        }
+    private boolean hasTimeLeftInFrame(long frameTimeNanos) {
+      return UIViewOperationQueue.hasTimeLeftInFrame(
+          frameTimeNanos, mMinTimeLeftInFrameForNonBatchedOperationMs);
+    }
+  }
 
-        UIOperation nextOperation;
-        synchronized (mNonBatchedOperationsLock) {
-          if (mNonBatchedOperations.isEmpty()) {
-            break;
-          }
+  /**
+   * Choreographer FrameCallback that keeps creating the views enqueued by {@link
+   * #enqueueCreateView} with the time left at the end of a frame, once the animations and timers
+   * ran. Views are then already created, with their initial props applied, when the batch
+   * inserting them into the hierarchy is dispatched.
+   */
+  private class IdlePreallocationFrameCallback extends GuardedFrameCallback {
 
-          nextOperation = mNonBatchedOperations.pollFirst();
-        }
+    private IdlePreallocationFrameCallback(ReactContext reactContext) {
+      super(reactContext);
+    }
 
-        try {
-          long nonBatchedExecutionStartTime = SystemClock.uptimeMillis();
-          nextOperation.execute();
-          mNonBatchedExecutionTotalTime +=
-              SystemClock.uptimeMillis() - nonBatchedExecutionStartTime;
-        } catch (Exception e) {
-          mIsInIllegalUIState = true;
-          throw e;
-        }
+    @Override
+    public void doFrameGuarded(long frameTimeNanos) {
+      if (mIsInIllegalUIState || !ReactFeatureFlags.enableIdleViewPreallocation) {
+        return;
       }
+
+      Systrace.beginSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "preallocateViewsInIdleTime");
+      try {
+        mIdlePreallocatedViewCount +=
+            dispatchPendingNonBatchedOperations(
+                frameTimeNanos, MIN_TIME_LEFT_IN_FRAME_FOR_IDLE_PREALLOCATION_MS);
+      } finally {
+        Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
+      }
+
+      ReactChoreographer.getInstance()
+          .postFrameCallback(ReactChoreographer.CallbackType.IDLE_EVENT, this);
     }
   }
 }
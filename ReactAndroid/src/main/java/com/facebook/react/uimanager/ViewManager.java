@@ -8,10 +8,12 @@
 package com.facebook.react.uimanager;
 
 import android.content.Context;
+import android.content.ContextWrapper;
 import android.view.View;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import com.facebook.react.bridge.BaseJavaModule;
+import com.facebook.react.bridge.JavaOnlyMap;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
@@ -22,6 +24,8 @@ import com.facebook.react.uimanager.annotations.ReactProp;
 import com.facebook.react.uimanager.annotations.ReactPropGroup;
 import com.facebook.react.uimanager.annotations.ReactPropertyHolder;
 import com.facebook.yoga.YogaMeasureMode;
+import java.util.ArrayDeque;
+import java.util.Iterator;
 import java.util.Map;
 
 /**
@@ -33,6 +37,13 @@ import java.util.Map;
 public abstract class ViewManager<T extends View, C extends ReactShadowNode>
     extends BaseJavaModule {
 
+  // Views dropped from the hierarchy and ready to be reused, see #recycleView. Only accessed on the
+  // UI thread.
+  private @Nullable ArrayDeque<T> mRecycledViews;
+  private @Nullable ReactStylesDiffMap mResetProps;
+  private int mRecycledViewHitCount;
+  private int mRecycledViewMissCount;
+
   /**
    * For the vast majority of ViewManagers, you will not need to override this. Only override this
    * if you really know what you're doing and have a very unique use-case.
@@ -80,7 +91,15 @@ public abstract class ViewManager<T extends View, C extends ReactShadowNode>
       @Nullable ReactStylesDiffMap props,
       @Nullable StateWrapper stateWrapper,
       JSResponderHandler jsResponderHandler) {
-    T view = createViewInstance(reactContext, props, stateWrapper);
+    T view = null;
+    if (ReactFeatureFlags.enableViewRecycling && getMaxRecycledViews() > 0) {
+      view = obtainRecycledView(reactContext);
+    }
+    if (view != null) {
+      updateInitialPropsAndState(view, props, stateWrapper);
+    } else {
+      view = createViewInstance(reactContext, props, stateWrapper);
+    }
     if (view instanceof ReactInterceptingViewGroup) {
       ((ReactInterceptingViewGroup) view).setOnInterceptTouchEventListener(jsResponderHandler);
     }
@@ -138,6 +157,14 @@ public abstract class ViewManager<T extends View, C extends ReactShadowNode>
       @Nullable StateWrapper stateWrapper) {
     T view = createViewInstance(reactContext);
     addEventEmitters(reactContext, view);
+    updateInitialPropsAndState(view, initialProps, stateWrapper);
+    return view;
+  }
+
+  private void updateInitialPropsAndState(
+      @NonNull T view,
+      @Nullable ReactStylesDiffMap initialProps,
+      @Nullable StateWrapper stateWrapper) {
     if (initialProps != null) {
       updateProperties(view, initialProps);
     }
@@ -147,7 +174,6 @@ public abstract class ViewManager<T extends View, C extends ReactShadowNode>
         updateExtraData(view, extraData);
       }
     }
-    return view;
   }
 
   /**
@@ -156,6 +182,122 @@ public abstract class ViewManager<T extends View, C extends ReactShadowNode>
    */
   public void onDropViewInstance(@NonNull T view) {}
 
+  /**
+   * Returns the maximum number of dropped views kept by this view manager to be reused by {@link
+   * #createView}, when {@link ReactFeatureFlags#enableViewRecycling} is set. Subclasses opt in to
+   * recycling by returning a positive number, and should make sure {@link #prepareToRecycleView}
+   * resets all the state of their views.
+   */
+  protected int getMaxRecycledViews() {
+    return 0;
+  }
+
+  /**
+   * Called when a view is about to be added to the recycling pool, after it was dropped and its
+   * children were removed. The default implementation resets all the props of the view to their
+   * default values.
+   *
+   * @return the view to be reused, or null if the view can't be recycled
+   */
+  protected @Nullable T prepareToRecycleView(@NonNull T view) {
+    if (mResetProps == null) {
+      JavaOnlyMap resetProps = new JavaOnlyMap();
+      for (String name : getNativeProps().keySet()) {
+        resetProps.putNull(name);
+      }
+      mResetProps = new ReactStylesDiffMap(resetProps);
+    }
+    updateProperties(view, mResetProps);
+    return view;
+  }
+
+  /**
+   * Adds a view that was dropped from the hierarchy to the recycling pool of this view manager, if
+   * it opted in to recycling. Must be called on the UI thread once the view and its children are
+   * detached.
+   *
+   * @return true if the view was added to the pool
+   */
+  public boolean recycleView(@NonNull T view) {
+    int maxRecycledViews = getMaxRecycledViews();
+    if (!ReactFeatureFlags.enableViewRecycling
+        || maxRecycledViews <= 0
+        || view.getParent() != null) {
+      return false;
+    }
+    T recyclableView = prepareToRecycleView(view);
+    if (recyclableView == null) {
+      return false;
+    }
+    recyclableView.setId(View.NO_ID);
+    if (mRecycledViews == null) {
+      mRecycledViews = new ArrayDeque<>();
+    }
+    while (mRecycledViews.size() >= maxRecycledViews) {
+      mRecycledViews.pollFirst();
+    }
+    mRecycledViews.addLast(recyclableView);
+    return true;
+  }
+
+  private @Nullable T obtainRecycledView(@NonNull ThemedReactContext reactContext) {
+    ArrayDeque<T> recycledViews = mRecycledViews;
+    if (recycledViews != null) {
+      // Views can only be reused in the context they were created in.
+      Iterator<T> iterator = recycledViews.descendingIterator();
+      while (iterator.hasNext()) {
+        T view = iterator.next();
+        if (view.getContext() == reactContext) {
+          iterator.remove();
+          if (view.getParent() == null) {
+            mRecycledViewHitCount++;
+            return view;
+          }
+        }
+      }
+    }
+    mRecycledViewMissCount++;
+    return null;
+  }
+
+  /** Drops all the views in the recycling pool. Must be called on the UI thread. */
+  public void trimRecycledViews() {
+    if (mRecycledViews != null) {
+      mRecycledViews.clear();
+    }
+  }
+
+  /**
+   * Drops the views in the recycling pool that were created for the given context, or for a {@link
+   * ThemedReactContext} wrapping it, such as the views of a root view being removed. Pooled views
+   * hold their context, so they would otherwise keep it alive as they can't be used anywhere else.
+   * Must be called on the UI thread.
+   */
+  public void trimRecycledViews(@NonNull Context context) {
+    if (mRecycledViews == null) {
+      return;
+    }
+    Iterator<T> iterator = mRecycledViews.iterator();
+    while (iterator.hasNext()) {
+      Context viewContext = iterator.next().getContext();
+      if (viewContext == context
+          || (viewContext instanceof ContextWrapper
+              && ((ContextWrapper) viewContext).getBaseContext() == context)) {
+        iterator.remove();
+      }
+    }
+  }
+
+  /** Returns the number of views created by reusing a view from the recycling pool. */
+  public int getRecycledViewHitCount() {
+    return mRecycledViewHitCount;
+  }
+
+  /** Returns the number of views created from scratch while recycling was enabled. */
+  public int getRecycledViewMissCount() {
+    return mRecycledViewMissCount;
+  }
+
   /**
    * Subclasses can override this method to install custom event emitters on the given View. You
    * might want to override this method if your view needs to emit events besides basic touch events
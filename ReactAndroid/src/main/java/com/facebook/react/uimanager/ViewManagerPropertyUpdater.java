@@ -9,9 +9,11 @@ package com.facebook.react.uimanager;
 
 import android.view.View;
 import com.facebook.common.logging.FLog;
+import com.facebook.react.config.ReactFeatureFlags;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ViewManagerPropertyUpdater {
   public interface Settable {
@@ -26,16 +28,38 @@ public class ViewManagerPropertyUpdater {
     void setProperty(T node, String name, Object value);
   }
 
+  /**
+   * Setter that can also dispatch on the position of a property in {@link #getPropertyNames()},
+   * reading its value from the diff map without boxing it.
+   */
+  public interface IndexedSettable extends Settable {
+    /** Returns the names of the properties by position. The array must not be modified. */
+    String[] getPropertyNames();
+  }
+
+  public interface IndexedViewManagerSetter<T extends ViewManager, V extends View>
+      extends ViewManagerSetter<T, V>, IndexedSettable {
+    void setPropertyAt(T manager, V view, int index, ReactStylesDiffMap props, int entry);
+  }
+
+  public interface IndexedShadowNodeSetter<T extends ReactShadowNode>
+      extends ShadowNodeSetter<T>, IndexedSettable {
+    void setPropertyAt(T node, int index, ReactStylesDiffMap props, int entry);
+  }
+
   private static final String TAG = "ViewManagerPropertyUpdater";
 
   private static final Map<Class<?>, ViewManagerSetter<?, ?>> VIEW_MANAGER_SETTER_MAP =
       new HashMap<>();
   private static final Map<Class<?>, ShadowNodeSetter<?>> SHADOW_NODE_SETTER_MAP = new HashMap<>();
+  // Position of each property in an indexed setter by id, see getDispatchTable().
+  private static final Map<Class<?>, int[]> DISPATCH_TABLES = new ConcurrentHashMap<>();
 
   public static void clear() {
     ViewManagersPropertyCache.clear();
     VIEW_MANAGER_SETTER_MAP.clear();
     SHADOW_NODE_SETTER_MAP.clear();
+    DISPATCH_TABLES.clear();
   }
 
   public static <T extends ViewManagerDelegate<V>, V extends View> void updateProps(
@@ -50,6 +74,18 @@ public class ViewManagerPropertyUpdater {
   public static <T extends ViewManager, V extends View> void updateProps(
       T manager, V v, ReactStylesDiffMap props) {
     ViewManagerSetter<T, V> setter = findManagerSetter(manager.getClass());
+    if (ReactFeatureFlags.useIndexedPropSetters && setter instanceof IndexedViewManagerSetter) {
+      @SuppressWarnings("unchecked")
+      IndexedViewManagerSetter<T, V> indexedSetter = (IndexedViewManagerSetter<T, V>) setter;
+      int[] dispatchTable = getDispatchTable(indexedSetter);
+      for (int entry = 0, count = props.getEntryCount(); entry < count; entry++) {
+        int index = getIndex(dispatchTable, props.getPropIdAt(entry));
+        if (index >= 0) {
+          indexedSetter.setPropertyAt(manager, v, index, props, entry);
+        }
+      }
+      return;
+    }
     Iterator<Map.Entry<String, Object>> iterator = props.mBackingMap.getEntryIterator();
     while (iterator.hasNext()) {
       Map.Entry<String, Object> entry = iterator.next();
@@ -59,6 +95,18 @@ public class ViewManagerPropertyUpdater {
 
   public static <T extends ReactShadowNode> void updateProps(T node, ReactStylesDiffMap props) {
     ShadowNodeSetter<T> setter = findNodeSetter(node.getClass());
+    if (ReactFeatureFlags.useIndexedPropSetters && setter instanceof IndexedShadowNodeSetter) {
+      @SuppressWarnings("unchecked")
+      IndexedShadowNodeSetter<T> indexedSetter = (IndexedShadowNodeSetter<T>) setter;
+      int[] dispatchTable = getDispatchTable(indexedSetter);
+      for (int entry = 0, count = props.getEntryCount(); entry < count; entry++) {
+        int index = getIndex(dispatchTable, props.getPropIdAt(entry));
+        if (index >= 0) {
+          indexedSetter.setPropertyAt(node, index, props, entry);
+        }
+      }
+      return;
+    }
     Iterator<Map.Entry<String, Object>> iterator = props.mBackingMap.getEntryIterator();
     while (iterator.hasNext()) {
       Map.Entry<String, Object> entry = iterator.next();
@@ -106,6 +154,34 @@ public class ViewManagerPropertyUpdater {
     return setter;
   }
 
+  /**
+   * Returns the table mapping property ids to positions in the given setter, plus one so that zero
+   * means the setter doesn't have the property. All the names of the setter are interned when the
+   * table is built, so ids past its end belong to properties of other setters.
+   */
+  private static int[] getDispatchTable(IndexedSettable setter) {
+    int[] dispatchTable = DISPATCH_TABLES.get(setter.getClass());
+    if (dispatchTable == null) {
+      String[] names = setter.getPropertyNames();
+      int[] ids = new int[names.length];
+      int maxId = -1;
+      for (int i = 0; i < names.length; i++) {
+        ids[i] = ReactPropIds.get(names[i]);
+        maxId = Math.max(maxId, ids[i]);
+      }
+      dispatchTable = new int[maxId + 1];
+      for (int i = 0; i < ids.length; i++) {
+        dispatchTable[ids[i]] = i + 1;
+      }
+      DISPATCH_TABLES.put(setter.getClass(), dispatchTable);
+    }
+    return dispatchTable;
+  }
+
+  private static int getIndex(int[] dispatchTable, int propId) {
+    return propId < dispatchTable.length ? dispatchTable[propId] - 1 : -1;
+  }
+
   private static <T> T findGeneratedSetter(Class<?> cls) {
     String clsName = cls.getName();
     try {
@@ -7,8 +7,10 @@
 
 package com.facebook.react.uimanager;
 
+import android.content.Context;
 import androidx.annotation.Nullable;
 import com.facebook.react.common.MapBuilder;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -50,11 +52,40 @@ public final class ViewManagerRegistry {
     if (mViewManagerResolver != null) {
       viewManager = mViewManagerResolver.getViewManager(className);
       if (viewManager != null) {
-        mViewManagers.put(className, viewManager);
+        synchronized (this) {
+          mViewManagers.put(className, viewManager);
+        }
         return viewManager;
       }
       throw new IllegalViewOperationException("ViewManagerResolver returned null for " + className);
     }
     throw new IllegalViewOperationException("No ViewManager found for class " + className);
   }
+
+  /**
+   * Drops the views kept for recycling by all the view managers, see {@link
+   * ViewManager#recycleView}. Must be called on the UI thread.
+   */
+  public void trimRecycledViews() {
+    for (ViewManager viewManager : getViewManagers()) {
+      viewManager.trimRecycledViews();
+    }
+  }
+
+  /**
+   * Drops the views kept for recycling that were created for the given context, see {@link
+   * ViewManager#trimRecycledViews(Context)}. Must be called on the UI thread.
+   */
+  public void trimRecycledViews(Context context) {
+    for (ViewManager viewManager : getViewManagers()) {
+      viewManager.trimRecycledViews(context);
+    }
+  }
+
+  private List<ViewManager> getViewManagers() {
+    // View managers can be resolved concurrently on the native modules thread.
+    synchronized (this) {
+      return new ArrayList<>(mViewManagers.values());
+    }
+  }
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager.events;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from an event cookie (see {@link EventDispatcher}) to the index of the last
+ * event with that cookie in the dispatch queue. Like a {@code LongSparseArray<Integer>} but without
+ * boxing, and it keeps its backing arrays across {@link #clear()} so that steady state coalescing
+ * doesn't allocate.
+ *
+ * <p>This class is not thread safe.
+ */
+/* package */ class EventCookieIndexMap {
+
+  public static final int NO_INDEX = -1;
+
+  private static final int MIN_CAPACITY = 16;
+
+  private long[] mKeys;
+  private int[] mValues;
+  private boolean[] mOccupied;
+  private int mMask;
+  private int mSize;
+
+  public EventCookieIndexMap() {
+    this(MIN_CAPACITY);
+  }
+
+  public EventCookieIndexMap(int initialCapacity) {
+    allocate(Integer.highestOneBit((Math.max(MIN_CAPACITY, initialCapacity) - 1) << 1));
+  }
+
+  /** Returns the index stored for the given cookie, or {@link #NO_INDEX} if there is none. */
+  public int get(long cookie) {
+    int slot = slotFor(cookie);
+    while (mOccupied[slot]) {
+      if (mKeys[slot] == cookie) {
+        return mValues[slot];
+      }
+      slot = (slot + 1) & mMask;
+    }
+    return NO_INDEX;
+  }
+
+  public void put(long cookie, int index) {
+    int slot = slotFor(cookie);
+    while (mOccupied[slot]) {
+      if (mKeys[slot] == cookie) {
+        mValues[slot] = index;
+        return;
+      }
+      slot = (slot + 1) & mMask;
+    }
+    mOccupied[slot] = true;
+    mKeys[slot] = cookie;
+    mValues[slot] = index;
+    mSize++;
+    // Keep the load factor under 0.5 so that probe sequences stay short.
+    if (mSize * 2 > mKeys.length) {
+      rehash(mKeys.length * 2);
+    }
+  }
+
+  public int size() {
+    return mSize;
+  }
+
+  public void clear() {
+    if (mSize == 0) {
+      return;
+    }
+    Arrays.fill(mOccupied, false);
+    mSize = 0;
+  }
+
+  private int slotFor(long cookie) {
+    // Cookies differ mostly in their low (view tag) bits, mix the high bits in as well.
+    long hash = cookie * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32)) & mMask;
+  }
+
+  private void allocate(int capacity) {
+    mKeys = new long[capacity];
+    mValues = new int[capacity];
+    mOccupied = new boolean[capacity];
+    mMask = capacity - 1;
+    mSize = 0;
+  }
+
+  private void rehash(int newCapacity) {
+    long[] oldKeys = mKeys;
+    int[] oldValues = mValues;
+    boolean[] oldOccupied = mOccupied;
+    allocate(newCapacity);
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldOccupied[i]) {
+        put(oldKeys[i], oldValues[i]);
+      }
+    }
+  }
+}
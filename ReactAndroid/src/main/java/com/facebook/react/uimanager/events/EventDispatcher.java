@@ -8,6 +8,7 @@
 package com.facebook.react.uimanager.events;
 
 import android.util.LongSparseArray;
+import androidx.annotation.Nullable;
 import com.facebook.infer.annotation.Assertions;
 import com.facebook.react.bridge.LifecycleEventListener;
 import com.facebook.react.bridge.ReactApplicationContext;
@@ -53,6 +54,13 @@ import java.util.concurrent.atomic.AtomicInteger;
  *
  * <p>Event Cookie Composition: VIEW_TAG_MASK = 0x00000000ffffffff EVENT_TYPE_ID_MASK =
  * 0x0000ffff00000000 COALESCING_KEY_MASK = 0xffff000000000000
+ *
+ * <p>== Lock-free staging ==
+ *
+ * <p>When created with {@code useLockFreeEventStaging}, events are staged in a bounded MPSC ring
+ * buffer instead of a lock-guarded list, and coalescing looks up cookies in a primitive long-keyed
+ * map instead of a {@code LongSparseArray<Integer>}. If the ring buffer fills up within a frame,
+ * the overflow is staged in the regular list so that no events are dropped.
  */
 public class EventDispatcher implements LifecycleEventListener {
 
@@ -81,6 +89,8 @@ public class EventDispatcher implements LifecycleEventListener {
         }
       };
 
+  private static final int EVENT_STAGING_RING_BUFFER_CAPACITY = 1024;
+
   private final Object mEventsStagingLock = new Object();
   private final Object mEventsToDispatchLock = new Object();
   private final ReactApplicationContext mReactContext;
@@ -93,6 +103,8 @@ public class EventDispatcher implements LifecycleEventListener {
   private final ScheduleDispatchFrameCallback mCurrentFrameCallback =
       new ScheduleDispatchFrameCallback();
   private final AtomicInteger mHasDispatchScheduledCount = new AtomicInteger();
+  private final @Nullable EventStagingRingBuffer mEventStagingRingBuffer;
+  private final @Nullable EventCookieIndexMap mEventCookieToLastEventIdxMap;
 
   private Event[] mEventsToDispatch = new Event[16];
   private int mEventsToDispatchSize = 0;
@@ -101,7 +113,18 @@ public class EventDispatcher implements LifecycleEventListener {
   private volatile boolean mHasDispatchScheduled = false;
 
   public EventDispatcher(ReactApplicationContext reactContext) {
+    this(reactContext, false);
+  }
+
+  public EventDispatcher(ReactApplicationContext reactContext, boolean useLockFreeEventStaging) {
     mReactContext = reactContext;
+    if (useLockFreeEventStaging) {
+      mEventStagingRingBuffer = new EventStagingRingBuffer(EVENT_STAGING_RING_BUFFER_CAPACITY);
+      mEventCookieToLastEventIdxMap = new EventCookieIndexMap();
+    } else {
+      mEventStagingRingBuffer = null;
+      mEventCookieToLastEventIdxMap = null;
+    }
     mReactContext.addLifecycleEventListener(this);
     mReactEventEmitter = new ReactEventEmitter(mReactContext);
   }
@@ -114,6 +137,13 @@ public class EventDispatcher implements LifecycleEventListener {
       listener.onEventDispatch(event);
     }
 
+    if (mEventStagingRingBuffer != null && mEventStagingRingBuffer.offer(event)) {
+      Systrace.startAsyncFlow(
+          Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, event.getEventName(), event.getUniqueID());
+      maybePostFrameCallbackFromNonUI();
+      return;
+    }
+
     synchronized (mEventsStagingLock) {
       mEventStaging.add(event);
       Systrace.startAsyncFlow(
@@ -194,6 +224,10 @@ public class EventDispatcher implements LifecycleEventListener {
    * frame and another from this frame during the next.
    */
   private void moveStagedEventsToDispatchQueue() {
+    if (mEventStagingRingBuffer != null) {
+      moveStagedEventsToDispatchQueueLockFree(mEventStagingRingBuffer);
+      return;
+    }
     synchronized (mEventsStagingLock) {
       synchronized (mEventsToDispatchLock) {
         for (int i = 0; i < mEventStaging.size(); i++) {
@@ -239,6 +273,57 @@ public class EventDispatcher implements LifecycleEventListener {
     }
   }
 
+  /**
+   * Lock-free counterpart of {@link #moveStagedEventsToDispatchQueue()}. Drains the ring buffer
+   * first and then any events that overflowed into {@link #mEventStaging}. Ordering between the two
+   * doesn't matter since coalescing and dispatch both order events by timestamp.
+   */
+  private void moveStagedEventsToDispatchQueueLockFree(EventStagingRingBuffer ringBuffer) {
+    synchronized (mEventsToDispatchLock) {
+      Event event;
+      while ((event = ringBuffer.poll()) != null) {
+        addStagedEventToEventsToDispatch(event);
+      }
+      synchronized (mEventsStagingLock) {
+        for (int i = 0; i < mEventStaging.size(); i++) {
+          addStagedEventToEventsToDispatch(mEventStaging.get(i));
+        }
+        mEventStaging.clear();
+      }
+    }
+  }
+
+  private void addStagedEventToEventsToDispatch(Event event) {
+    EventCookieIndexMap cookieToLastEventIdx =
+        Assertions.assertNotNull(mEventCookieToLastEventIdxMap);
+
+    if (!event.canCoalesce()) {
+      addEventToEventsToDispatch(event);
+      return;
+    }
+
+    long eventCookie =
+        getEventCookie(event.getViewTag(), event.getEventName(), event.getCoalescingKey());
+    int lastEventIdx = cookieToLastEventIdx.get(eventCookie);
+
+    if (lastEventIdx == EventCookieIndexMap.NO_INDEX) {
+      cookieToLastEventIdx.put(eventCookie, mEventsToDispatchSize);
+      addEventToEventsToDispatch(event);
+      return;
+    }
+
+    Event lastEvent = mEventsToDispatch[lastEventIdx];
+    Event coalescedEvent = event.coalesce(lastEvent);
+    if (coalescedEvent != lastEvent) {
+      cookieToLastEventIdx.put(eventCookie, mEventsToDispatchSize);
+      mEventsToDispatch[lastEventIdx] = null;
+      addEventToEventsToDispatch(coalescedEvent);
+      lastEvent.dispose();
+    } else {
+      event.dispose();
+    }
+  }
+
   private long getEventCookie(int viewTag, String eventName, short coalescingKey) {
     short eventTypeId;
     Short eventIdObj = mEventNameToEventId.get(eventName);
@@ -364,6 +449,9 @@ public class EventDispatcher implements LifecycleEventListener {
             }
             clearEventsToDispatch();
             mEventCookieToLastEventIdx.clear();
+            if (mEventCookieToLastEventIdxMap != null) {
+              mEventCookieToLastEventIdxMap.clear();
+            }
           }
         }
         for (BatchEventDispatchedListener listener : mPostEventDispatchListeners) {
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager.events;
+
+import androidx.annotation.Nullable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded multi-producer / single-consumer ring buffer used by {@link EventDispatcher} to stage
+ * events without taking a lock. Any thread may call {@link #offer(Event)}, only the UI thread may
+ * call {@link #poll()}.
+ *
+ * <p>Producers claim a slot by advancing the tail with a CAS and then publish the event into that
+ * slot. The consumer clears a slot before advancing the head, so a producer that observes a slot
+ * as free (by reading the head) is guaranteed to see it empty.
+ */
+/* package */ class EventStagingRingBuffer {
+
+  private final AtomicReferenceArray<Event> mSlots;
+  private final AtomicLong mTail = new AtomicLong();
+  private final int mCapacity;
+  private final int mMask;
+  private volatile long mHead = 0;
+
+  public EventStagingRingBuffer(int capacity) {
+    if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+      throw new IllegalArgumentException("Capacity must be a power of two, got " + capacity);
+    }
+    mCapacity = capacity;
+    mMask = capacity - 1;
+    mSlots = new AtomicReferenceArray<>(capacity);
+  }
+
+  /**
+   * Tries to stage the given event. Returns {@code false} if the buffer is full, in which case the
+   * caller is responsible for staging the event some other way.
+   */
+  public boolean offer(Event event) {
+    long tail;
+    do {
+      tail = mTail.get();
+      if (tail - mHead >= mCapacity) {
+        return false;
+      }
+    } while (!mTail.compareAndSet(tail, tail + 1));
+    mSlots.lazySet((int) tail & mMask, event);
+    return true;
+  }
+
+  /**
+   * Returns the oldest published event, or null if there is none. An event whose slot has been
+   * claimed but not yet published is treated as not available yet and will be returned by a later
+   * call.
+   */
+  public @Nullable Event poll() {
+    long head = mHead;
+    if (head == mTail.get()) {
+      return null;
+    }
+    int index = (int) head & mMask;
+    Event event = mSlots.get(index);
+    if (event == null) {
+      return null;
+    }
+    mSlots.lazySet(index, null);
+    mHead = head + 1;
+    return event;
+  }
+
+  public int getCapacity() {
+    return mCapacity;
+  }
+}
@@ -30,6 +30,7 @@ import java.util.Map;
 public class ReactImageManager extends SimpleViewManager<ReactImageView> {
 
   public static final String REACT_CLASS = "RCTImageView";
+  private static final int MAX_RECYCLED_VIEWS = 16;
 
   @Override
   public String getName() {
@@ -113,6 +114,11 @@ public class ReactImageManager extends SimpleViewManager<ReactImageView> {
         context, getDraweeControllerBuilder(), mGlobalImageLoadListener, callerContext);
   }
 
+  @Override
+  protected int getMaxRecycledViews() {
+    return MAX_RECYCLED_VIEWS;
+  }
+
   // In JS this is Image.props.source
   @ReactProp(name = "src")
   public void setSource(ReactImageView view, @Nullable ReadableArray sources) {
@@ -48,6 +48,7 @@ import com.facebook.react.bridge.ReactContext;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.common.build.ReactBuildConfig;
+import com.facebook.react.config.ReactFeatureFlags;
 import com.facebook.react.modules.fresco.ReactNetworkImageRequest;
 import com.facebook.react.uimanager.FloatUtil;
 import com.facebook.react.uimanager.PixelUtil;
@@ -75,6 +76,10 @@ public class ReactImageView extends GenericDraweeView {
 
   private static float[] sComputedCornerRadii = new float[4];
 
+  // Ratio between the size images are decoded at and the size of the view, see
+  // ReactFeatureFlags#enableImageDecodeSizeHints.
+  private static volatile float sDecodeSizeOversampling = 1.f;
+
   /*
    * Implementation note re rounded corners:
    *
@@ -209,6 +214,18 @@ public class ReactImageView extends GenericDraweeView {
         .build();
   }
 
+  /**
+   * Sets the ratio between the size images are decoded at and the size of their view when {@link
+   * ReactFeatureFlags#enableImageDecodeSizeHints} is enabled, e.g. above 1 to keep some detail for
+   * images that are scaled up by animations.
+   */
+  public static void setDecodeSizeOversampling(float oversampling) {
+    if (oversampling <= 0) {
+      throw new IllegalArgumentException("Decode size oversampling must be positive");
+    }
+    sDecodeSizeOversampling = oversampling;
+  }
+
   public ReactImageView(
       Context context,
       AbstractDraweeControllerBuilder draweeControllerBuilder,
@@ -502,7 +519,7 @@ public class ReactImageView extends GenericDraweeView {
     }
     Postprocessor postprocessor = MultiPostprocessor.from(postprocessors);
 
-    ResizeOptions resizeOptions = doResize ? new ResizeOptions(getWidth(), getHeight()) : null;
+    ResizeOptions resizeOptions = doResize ? getResizeOptions() : null;
 
     ImageRequestBuilder imageRequestBuilder =
         ImageRequestBuilder.newBuilderWithSource(mImageSource.getUri())
@@ -606,9 +623,11 @@ public class ReactImageView extends GenericDraweeView {
   private boolean shouldResize(ImageSource imageSource) {
     // Resizing is inferior to scaling. See http://frescolib.org/docs/resizing-rotating.html#_
     // We resize here only for images likely to be from the device's camera, where the app developer
-    // has no control over the original size
+    // has no control over the original size, unless the image pipeline downsamples images while
+    // decoding them.
     if (mResizeMethod == ImageResizeMethod.AUTO) {
-      return UriUtil.isLocalContentUri(imageSource.getUri())
+      return ReactFeatureFlags.enableImageDecodeSizeHints
+          || UriUtil.isLocalContentUri(imageSource.getUri())
           || UriUtil.isLocalFileUri(imageSource.getUri());
     } else if (mResizeMethod == ImageResizeMethod.RESIZE) {
       return true;
@@ -617,6 +636,16 @@ public class ReactImageView extends GenericDraweeView {
     }
   }
 
+  private ResizeOptions getResizeOptions() {
+    if (!ReactFeatureFlags.enableImageDecodeSizeHints) {
+      return new ResizeOptions(getWidth(), getHeight());
+    }
+    float oversampling = sDecodeSizeOversampling;
+    return new ResizeOptions(
+        Math.max(1, Math.round(getWidth() * oversampling)),
+        Math.max(1, Math.round(getHeight() * oversampling)));
+  }
+
   private void warnImageSource(String uri) {
     if (ReactBuildConfig.DEBUG) {
       Toast.makeText(
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.views.text;
+
+import androidx.annotation.Nullable;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableMapKeySetIterator;
+import com.facebook.react.bridge.ReadableType;
+
+/**
+ * Cache key for an attributed string, based on a fingerprint computed from the structure of its
+ * fragments and attributes rather than on its serialization. Keys with the same fingerprint are
+ * compared structurally, so that a collision never returns the text of another attributed string.
+ */
+/* package */ final class AttributedStringKey {
+
+  private final ReadableMap mAttributedString;
+  private final long mFingerprint;
+
+  /* package */ AttributedStringKey(ReadableMap attributedString) {
+    mAttributedString = attributedString;
+    mFingerprint = fingerprint(attributedString);
+  }
+
+  /* package */ long getFingerprint() {
+    return mFingerprint;
+  }
+
+  @Override
+  public int hashCode() {
+    return (int) (mFingerprint ^ (mFingerprint >>> 32));
+  }
+
+  @Override
+  public boolean equals(@Nullable Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof AttributedStringKey)) {
+      return false;
+    }
+    AttributedStringKey other = (AttributedStringKey) o;
+    return mFingerprint == other.mFingerprint
+        && mapsEqual(mAttributedString, other.mAttributedString);
+  }
+
+  private static long fingerprint(ReadableMap map) {
+    // Entries are summed, as maps with the same entries may iterate over them in different orders.
+    long fingerprint = 0x6D61708L;
+    ReadableMapKeySetIterator iterator = map.keySetIterator();
+    while (iterator.hasNextKey()) {
+      String key = iterator.nextKey();
+      fingerprint += mix(key.hashCode() * 0x9E3779B97F4A7C15L + valueFingerprint(map, key));
+    }
+    return fingerprint;
+  }
+
+  private static long fingerprint(ReadableArray array) {
+    long fingerprint = 0x617272L;
+    for (int i = 0, size = array.size(); i < size; i++) {
+      fingerprint = mix(fingerprint * 31 + valueFingerprint(array, i));
+    }
+    return fingerprint;
+  }
+
+  private static long valueFingerprint(ReadableMap map, String key) {
+    ReadableType type = map.getType(key);
+    switch (type) {
+      case Null:
+        return 0;
+      case Boolean:
+        return map.getBoolean(key) ? 1231 : 1237;
+      case Number:
+        return Double.doubleToLongBits(map.getDouble(key));
+      case String:
+        return map.getString(key).hashCode();
+      case Map:
+        return fingerprint(map.getMap(key));
+      case Array:
+        return fingerprint(map.getArray(key));
+      default:
+        throw new IllegalArgumentException("Unsupported type " + type + " for key " + key);
+    }
+  }
+
+  private static long valueFingerprint(ReadableArray array, int index) {
+    ReadableType type = array.getType(index);
+    switch (type) {
+      case Null:
+        return 0;
+      case Boolean:
+        return array.getBoolean(index) ? 1231 : 1237;
+      case Number:
+        return Double.doubleToLongBits(array.getDouble(index));
+      case String:
+        return array.getString(index).hashCode();
+      case Map:
+        return fingerprint(array.getMap(index));
+      case Array:
+        return fingerprint(array.getArray(index));
+      default:
+        throw new IllegalArgumentException("Unsupported type " + type + " at index " + index);
+    }
+  }
+
+  /** Finalization step of MurmurHash3, so that similar entries spread over all the bits. */
+  private static long mix(long h) {
+    h ^= h >>> 33;
+    h *= 0xFF51AFD7ED558CCDL;
+    h ^= h >>> 33;
+    h *= 0xC4CEB9FE1A85EC53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  private static boolean mapsEqual(ReadableMap a, ReadableMap b) {
+    int keyCount = 0;
+    ReadableMapKeySetIterator iterator = a.keySetIterator();
+    while (iterator.hasNextKey()) {
+      String key = iterator.nextKey();
+      if (!b.hasKey(key) || !valuesEqual(a, b, key)) {
+        return false;
+      }
+      keyCount++;
+    }
+    iterator = b.keySetIterator();
+    while (iterator.hasNextKey()) {
+      iterator.nextKey();
+      keyCount--;
+    }
+    return keyCount == 0;
+  }
+
+  private static boolean valuesEqual(ReadableMap a, ReadableMap b, String key) {
+    ReadableType type = a.getType(key);
+    if (type != b.getType(key)) {
+      return false;
+    }
+    switch (type) {
+      case Null:
+        return true;
+      case Boolean:
+        return a.getBoolean(key) == b.getBoolean(key);
+      case Number:
+        return Double.doubleToLongBits(a.getDouble(key))
+            == Double.doubleToLongBits(b.getDouble(key));
+      case String:
+        return a.getString(key).equals(b.getString(key));
+      case Map:
+        return mapsEqual(a.getMap(key), b.getMap(key));
+      case Array:
+        return arraysEqual(a.getArray(key), b.getArray(key));
+      default:
+        return false;
+    }
+  }
+
+  private static boolean arraysEqual(ReadableArray a, ReadableArray b) {
+    int size = a.size();
+    if (size != b.size()) {
+      return false;
+    }
+    for (int i = 0; i < size; i++) {
+      ReadableType type = a.getType(i);
+      if (type != b.getType(i)) {
+        return false;
+      }
+      boolean equal;
+      switch (type) {
+        case Null:
+          equal = true;
+          break;
+        case Boolean:
+          equal = a.getBoolean(i) == b.getBoolean(i);
+          break;
+        case Number:
+          equal =
+              Double.doubleToLongBits(a.getDouble(i)) == Double.doubleToLongBits(b.getDouble(i));
+          break;
+        case String:
+          equal = a.getString(i).equals(b.getString(i));
+          break;
+        case Map:
+          equal = mapsEqual(a.getMap(i), b.getMap(i));
+          break;
+        case Array:
+          equal = arraysEqual(a.getArray(i), b.getArray(i));
+          break;
+        default:
+          equal = false;
+      }
+      if (!equal) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
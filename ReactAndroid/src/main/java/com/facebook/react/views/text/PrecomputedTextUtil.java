@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.views.text;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.text.PrecomputedText;
+import android.text.Spannable;
+import android.text.TextDirectionHeuristic;
+import android.text.TextPaint;
+import com.facebook.react.config.ReactFeatureFlags;
+
+/**
+ * Shapes long texts on the layout thread, so that neither their measurement nor {@link
+ * ReactTextView} have to do it again. See {@link ReactFeatureFlags#enablePrecomputedText}.
+ */
+/* package */ class PrecomputedTextUtil {
+
+  // Shaping short texts on the UI thread is cheap, and precomputing them would hold on to more
+  // memory than it saves time.
+  /* package */ static final int PRECOMPUTED_TEXT_MIN_LENGTH = 128;
+
+  /**
+   * Returns the text precomputed with the parameters used to measure it when it is long enough, the
+   * text itself otherwise.
+   *
+   * @param textDirection the direction heuristic of the view the text will be set on, which {@link
+   *     ReactTextView} checks before using the precomputed text
+   */
+  /* package */ static Spannable precomputeTextIfNeeded(
+      Spannable spannable,
+      float fontSize,
+      int breakStrategy,
+      int hyphenationFrequency,
+      TextDirectionHeuristic textDirection) {
+    if (!ReactFeatureFlags.enablePrecomputedText
+        || Build.VERSION.SDK_INT < Build.VERSION_CODES.P
+        || spannable.length() < PRECOMPUTED_TEXT_MIN_LENGTH) {
+      return spannable;
+    }
+    return precomputeText(spannable, fontSize, breakStrategy, hyphenationFrequency, textDirection);
+  }
+
+  @TargetApi(Build.VERSION_CODES.P)
+  private static PrecomputedText precomputeText(
+      Spannable spannable,
+      float fontSize,
+      int breakStrategy,
+      int hyphenationFrequency,
+      TextDirectionHeuristic textDirection) {
+    TextPaint textPaint = new TextPaint(TextPaint.ANTI_ALIAS_FLAG);
+    textPaint.setTextSize(fontSize);
+    PrecomputedText.Params params =
+        new PrecomputedText.Params.Builder(textPaint)
+            .setBreakStrategy(breakStrategy)
+            .setHyphenationFrequency(hyphenationFrequency)
+            .setTextDirection(textDirection)
+            .build();
+    return PrecomputedText.create(spannable, params);
+  }
+}
@@ -10,13 +10,24 @@ package com.facebook.react.views.text;
 import android.content.Context;
 import android.content.res.AssetManager;
 import android.graphics.Typeface;
+import android.os.AsyncTask;
 import android.os.Build;
 import android.util.SparseArray;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.core.content.res.ResourcesCompat;
-import java.util.HashMap;
-import java.util.Map;
+import com.facebook.common.logging.FLog;
+import com.facebook.react.bridge.ReactMarker;
+import com.facebook.react.bridge.ReactMarkerConstants;
+import com.facebook.react.common.ReactConstants;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Class responsible to load and cache Typeface objects. It will first try to load typefaces inside
@@ -25,24 +36,37 @@ import java.util.Map;
  * each font family the bold, italic and bold_italic variants are supported. Given a "family" font
  * family the files in the assets/fonts folder need to be family.ttf(.otf) family_bold.ttf(.otf)
  * family_italic.ttf(.otf) and family_bold_italic.ttf(.otf)
+ *
+ * <p>Font families known in advance can be loaded on a background thread with {@link
+ * #preloadFontFamilies}, so that they don't have to be loaded by the first text measurement. The
+ * main package does it for every new instance with {@code
+ * MainPackageConfig.Builder#setPreloadedFontFamilies}.
+ *
+ * <p>Typefaces are created outside of any lock, so that loading one from the assets doesn't block
+ * text measurement on other threads. When two threads create the same typeface, the first one to
+ * be cached is kept.
  */
 public class ReactFontManager {
 
   private static final String[] EXTENSIONS = {"", "_bold", "_italic", "_bold_italic"};
   private static final String[] FILE_EXTENSIONS = {".ttf", ".otf"};
   private static final String FONTS_ASSET_PATH = "fonts/";
+  private static final String FONTS_ASSET_DIRECTORY = "fonts";
 
   private static ReactFontManager sReactFontManagerInstance;
 
-  private final Map<String, FontFamily> mFontCache;
-  private final Map<String, Typeface> mCustomTypefaceCache;
+  private final ConcurrentHashMap<String, FontFamily> mFontCache;
+  private final ConcurrentHashMap<String, Typeface> mCustomTypefaceCache;
+  // Files of the assets/fonts folder, null if they couldn't be listed. Guarded by this.
+  private @Nullable Set<String> mFontAssets;
+  private boolean mFontAssetsListed;
 
   private ReactFontManager() {
-    mFontCache = new HashMap<>();
-    mCustomTypefaceCache = new HashMap<>();
+    mFontCache = new ConcurrentHashMap<>();
+    mCustomTypefaceCache = new ConcurrentHashMap<>();
   }
 
-  public static ReactFontManager getInstance() {
+  public static synchronized ReactFontManager getInstance() {
     if (sReactFontManagerInstance == null) {
       sReactFontManagerInstance = new ReactFontManager();
     }
@@ -56,31 +80,38 @@ public class ReactFontManager {
 
   public @Nullable Typeface getTypeface(
       String fontFamilyName, int style, int weight, AssetManager assetManager) {
-    if (mCustomTypefaceCache.containsKey(fontFamilyName)) {
-      Typeface typeface = mCustomTypefaceCache.get(fontFamilyName);
+    Typeface customTypeface = mCustomTypefaceCache.get(fontFamilyName);
+    if (customTypeface != null) {
       if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P && weight >= 100 && weight <= 1000) {
-        return Typeface.create(typeface, weight, (style & Typeface.ITALIC) != 0);
+        return Typeface.create(customTypeface, weight, (style & Typeface.ITALIC) != 0);
       }
-      return Typeface.create(typeface, style);
-    }
-
-    FontFamily fontFamily = mFontCache.get(fontFamilyName);
-    if (fontFamily == null) {
-      fontFamily = new FontFamily();
-      mFontCache.put(fontFamilyName, fontFamily);
+      return Typeface.create(customTypeface, style);
     }
 
+    FontFamily fontFamily = getFontFamily(fontFamilyName);
     Typeface typeface = fontFamily.getTypeface(style);
     if (typeface == null) {
       typeface = createTypeface(fontFamilyName, style, assetManager);
       if (typeface != null) {
-        fontFamily.setTypeface(style, typeface);
+        typeface = fontFamily.setTypefaceIfAbsent(style, typeface);
       }
     }
 
     return typeface;
   }
 
+  private FontFamily getFontFamily(String fontFamilyName) {
+    FontFamily fontFamily = mFontCache.get(fontFamilyName);
+    if (fontFamily == null) {
+      FontFamily newFontFamily = new FontFamily();
+      fontFamily = mFontCache.putIfAbsent(fontFamilyName, newFontFamily);
+      if (fontFamily == null) {
+        fontFamily = newFontFamily;
+      }
+    }
+    return fontFamily;
+  }
+
   /*
    * This method allows you to load custom fonts from res/font folder as provided font family name.
    * Fonts may be one of .ttf, .otf or XML (https://developer.android.com/guide/topics/ui/look-and-feel/fonts-in-xml).
@@ -106,28 +137,86 @@ public class ReactFontManager {
    */
   public void setTypeface(String fontFamilyName, int style, Typeface typeface) {
     if (typeface != null) {
-      FontFamily fontFamily = mFontCache.get(fontFamilyName);
-      if (fontFamily == null) {
-        fontFamily = new FontFamily();
-        mFontCache.put(fontFamilyName, fontFamily);
+      getFontFamily(fontFamilyName).setTypeface(style, typeface);
+    }
+  }
+
+  /**
+   * Loads the typefaces of the given font families in the background, so that they are cached by
+   * the time text using them is measured. Meant to be called as early as possible, when the React
+   * instance is created or before.
+   */
+  public void preloadFontFamilies(
+      final AssetManager assetManager, Collection<String> fontFamilyNames) {
+    final List<String> fontFamilies = new ArrayList<>(fontFamilyNames);
+    if (fontFamilies.isEmpty()) {
+      return;
+    }
+    AsyncTask.THREAD_POOL_EXECUTOR.execute(
+        new Runnable() {
+          @Override
+          public void run() {
+            ReactMarker.logMarker(ReactMarkerConstants.PRELOAD_FONTS_START);
+            try {
+              for (String fontFamily : fontFamilies) {
+                preloadFontFamily(fontFamily, assetManager);
+              }
+            } catch (RuntimeException e) {
+              // Fonts are loaded again when they are used.
+              FLog.w(ReactConstants.TAG, "Failed to preload fonts", e);
+            }
+            ReactMarker.logMarker(ReactMarkerConstants.PRELOAD_FONTS_END);
+          }
+        });
+  }
+
+  private void preloadFontFamily(String fontFamilyName, AssetManager assetManager) {
+    for (int style = Typeface.NORMAL; style <= Typeface.BOLD_ITALIC; style++) {
+      // Styles without a file in the assets are created from the system fonts, which is cheap.
+      if (style == Typeface.NORMAL || hasFontAsset(fontFamilyName, style, assetManager)) {
+        getTypeface(fontFamilyName, style, assetManager);
       }
-      fontFamily.setTypeface(style, typeface);
     }
   }
 
-  private static @Nullable Typeface createTypeface(
+  private boolean hasFontAsset(
       String fontFamilyName, int style, AssetManager assetManager) {
-    String extension = EXTENSIONS[style];
+    Set<String> fontAssets = getFontAssets(assetManager);
+    if (fontAssets == null) {
+      return true;
+    }
     for (String fileExtension : FILE_EXTENSIONS) {
-      String fileName =
-          new StringBuilder()
-              .append(FONTS_ASSET_PATH)
-              .append(fontFamilyName)
-              .append(extension)
-              .append(fileExtension)
-              .toString();
+      if (fontAssets.contains(fontFamilyName + EXTENSIONS[style] + fileExtension)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Lists the assets/fonts folder once, so that files that don't exist aren't opened, which is
+   * slow as Typeface.createFromAsset reports them with an exception.
+   */
+  private synchronized @Nullable Set<String> getFontAssets(AssetManager assetManager) {
+    if (!mFontAssetsListed) {
+      mFontAssetsListed = true;
+      try {
+        String[] fileNames = assetManager.list(FONTS_ASSET_DIRECTORY);
+        if (fileNames != null) {
+          mFontAssets = new HashSet<>(Arrays.asList(fileNames));
+        }
+      } catch (IOException e) {
+        FLog.w(ReactConstants.TAG, "Failed to list the fonts assets", e);
+      }
+    }
+    return mFontAssets;
+  }
+
+  private @Nullable Typeface createTypeface(
+      String fontFamilyName, int style, AssetManager assetManager) {
+    for (String fileName : getFontFileNames(fontFamilyName, style, getFontAssets(assetManager))) {
       try {
-        return Typeface.createFromAsset(assetManager, fileName);
+        return Typeface.createFromAsset(assetManager, FONTS_ASSET_PATH + fileName);
       } catch (RuntimeException e) {
         // unfortunately Typeface.createFromAsset throws an exception instead of returning null
         // if the typeface doesn't exist
@@ -137,6 +226,31 @@ public class ReactFontManager {
     return Typeface.create(fontFamilyName, style);
   }
 
+  /**
+   * Returns the names of the files of the assets/fonts folder to create the typeface of the given
+   * style from, in order of preference.
+   *
+   * @param fontAssets files of the assets/fonts folder, or null if they couldn't be listed
+   */
+  /* package */ static List<String> getFontFileNames(
+      String fontFamilyName, int style, @Nullable Set<String> fontAssets) {
+    List<String> fileNames = new ArrayList<>(FILE_EXTENSIONS.length);
+    // Only the files directly in the fonts folder are listed.
+    boolean isListed = fontAssets != null && fontFamilyName.indexOf('/') < 0;
+    for (String fileExtension : FILE_EXTENSIONS) {
+      String fileName =
+          new StringBuilder()
+              .append(fontFamilyName)
+              .append(EXTENSIONS[style])
+              .append(fileExtension)
+              .toString();
+      if (!isListed || fontAssets.contains(fileName)) {
+        fileNames.add(fileName);
+      }
+    }
+    return fileNames;
+  }
+
   private static class FontFamily {
 
     private SparseArray<Typeface> mTypefaceSparseArray;
@@ -145,12 +259,22 @@ public class ReactFontManager {
       mTypefaceSparseArray = new SparseArray<>(4);
     }
 
-    public Typeface getTypeface(int style) {
+    public synchronized Typeface getTypeface(int style) {
       return mTypefaceSparseArray.get(style);
     }
 
-    public void setTypeface(int style, Typeface typeface) {
+    public synchronized void setTypeface(int style, Typeface typeface) {
+      mTypefaceSparseArray.put(style, typeface);
+    }
+
+    /** Returns the typeface cached for the style, which is the given one if there was none. */
+    public synchronized Typeface setTypefaceIfAbsent(int style, Typeface typeface) {
+      Typeface cachedTypeface = mTypefaceSparseArray.get(style);
+      if (cachedTypeface != null) {
+        return cachedTypeface;
+      }
       mTypefaceSparseArray.put(style, typeface);
+      return typeface;
     }
   }
 }
@@ -14,6 +14,7 @@ import android.text.Layout;
 import android.text.Spannable;
 import android.text.Spanned;
 import android.text.StaticLayout;
+import android.text.TextDirectionHeuristics;
 import android.text.TextPaint;
 import android.view.Gravity;
 import android.widget.TextView;
@@ -24,6 +25,7 @@ import com.facebook.react.bridge.ReactNoCrashSoftException;
 import com.facebook.react.bridge.ReactSoftException;
 import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.config.ReactFeatureFlags;
 import com.facebook.react.uimanager.NativeViewHierarchyOptimizer;
 import com.facebook.react.uimanager.ReactShadowNode;
 import com.facebook.react.uimanager.Spacing;
@@ -51,10 +53,21 @@ public class ReactTextShadowNode extends ReactBaseTextShadowNode {
   // It's important to pass the ANTI_ALIAS_FLAG flag to the constructor rather than setting it
   // later by calling setFlags. This is because the latter approach triggers a bug on Android 4.4.2.
   // The bug is that unicode emoticons aren't measured properly which causes text to be clipped.
-  private static final TextPaint sTextPaintInstance = new TextPaint(TextPaint.ANTI_ALIAS_FLAG);
+  // Root views may be measured concurrently, see ReactFeatureFlags#enableParallelRootLayout.
+  private static final ThreadLocal<TextPaint> sTextPaintInstance =
+      new ThreadLocal<TextPaint>() {
+        @Override
+        protected TextPaint initialValue() {
+          return new TextPaint(TextPaint.ANTI_ALIAS_FLAG);
+        }
+      };
 
   private @Nullable Spannable mPreparedSpannableText;
 
+  // Layout of the last measurement of mPreparedSpannableText, drawn by ReactTextView when it fits
+  // the final size of the view. Only kept when ReactFeatureFlags#enableTextLayoutCache is enabled.
+  private @Nullable Layout mMeasuredLayout;
+
   private boolean mShouldNotifyOnTextLayout;
 
   private final YogaMeasureFunction mTextMeasureFunction =
@@ -68,18 +81,12 @@ public class ReactTextShadowNode extends ReactBaseTextShadowNode {
             YogaMeasureMode heightMode) {
 
           // TODO(5578671): Handle text direction (see View#getTextDirectionHeuristic)
-          TextPaint textPaint = sTextPaintInstance;
+          TextPaint textPaint = sTextPaintInstance.get();
           textPaint.setTextSize(mTextAttributes.getEffectiveFontSize());
-          Layout layout;
           Spanned text =
               Assertions.assertNotNull(
                   mPreparedSpannableText,
                   "Spannable element has not been prepared in onBeforeLayout");
-          BoringLayout.Metrics boring = BoringLayout.isBoring(text, textPaint);
-          float desiredWidth = boring == null ? Layout.getDesiredWidth(text, textPaint) : Float.NaN;
-
-          // technically, width should never be negative, but there is currently a bug in
-          boolean unconstrainedWidth = widthMode == YogaMeasureMode.UNDEFINED || width < 0;
 
           Layout.Alignment alignment = Layout.Alignment.ALIGN_NORMAL;
           switch (getTextAlign()) {
@@ -94,76 +101,35 @@ public class ReactTextShadowNode extends ReactBaseTextShadowNode {
               break;
           }
 
-          if (boring == null
-              && (unconstrainedWidth
-                  || (!YogaConstants.isUndefined(desiredWidth) && desiredWidth <= width))) {
-            // Is used when the width is not known and the text is not boring, ie. if it contains
-            // unicode characters.
-
-            int hintWidth = (int) Math.ceil(desiredWidth);
-            if (Build.VERSION.SDK_INT < Build.VERSION_CODES.M) {
-              layout =
-                  new StaticLayout(
-                      text, textPaint, hintWidth, alignment, 1.f, 0.f, mIncludeFontPadding);
-            } else {
-              StaticLayout.Builder builder =
-                  StaticLayout.Builder.obtain(text, 0, text.length(), textPaint, hintWidth)
-                      .setAlignment(alignment)
-                      .setLineSpacing(0.f, 1.f)
-                      .setIncludePad(mIncludeFontPadding)
-                      .setBreakStrategy(mTextBreakStrategy)
-                      .setHyphenationFrequency(mHyphenationFrequency);
-
-              if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
-                builder.setJustificationMode(mJustificationMode);
-              }
-              if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
-                builder.setUseLineSpacingFromFallbacks(true);
-              }
-              layout = builder.build();
-            }
-
-          } else if (boring != null && (unconstrainedWidth || boring.width <= width)) {
-            // Is used for single-line, boring text when the width is either unknown or bigger
-            // than the width of the text.
-            layout =
-                BoringLayout.make(
+          Layout layout;
+          if (ReactFeatureFlags.enableTextLayoutCache) {
+            TextLayoutCache.Key key =
+                new TextLayoutCache.Key(
                     text,
-                    textPaint,
-                    boring.width,
+                    width,
+                    widthMode,
                     alignment,
-                    1.f,
-                    0.f,
-                    boring,
-                    mIncludeFontPadding);
-          } else {
-            // Is used for multiline, boring text and the width is known.
-
-            if (Build.VERSION.SDK_INT < Build.VERSION_CODES.M) {
-              layout =
-                  new StaticLayout(
-                      text, textPaint, (int) width, alignment, 1.f, 0.f, mIncludeFontPadding);
-            } else {
-              StaticLayout.Builder builder =
-                  StaticLayout.Builder.obtain(text, 0, text.length(), textPaint, (int) width)
-                      .setAlignment(alignment)
-                      .setLineSpacing(0.f, 1.f)
-                      .setIncludePad(mIncludeFontPadding)
-                      .setBreakStrategy(mTextBreakStrategy)
-                      .setHyphenationFrequency(mHyphenationFrequency);
-
-              if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
-                builder.setUseLineSpacingFromFallbacks(true);
-              }
-              layout = builder.build();
+                    mIncludeFontPadding,
+                    mTextBreakStrategy,
+                    mHyphenationFrequency,
+                    mJustificationMode,
+                    textPaint.getTextSize());
+            layout = TextLayoutCache.getInstance().get(key);
+            if (layout == null) {
+              // The layout outlives this measurement and may be drawn on the UI thread, so it can't
+              // share the paint of the layout thread.
+              layout = createLayout(text, new TextPaint(textPaint), width, widthMode, alignment);
+              TextLayoutCache.getInstance().put(key, layout);
             }
+            mMeasuredLayout = layout;
+          } else {
+            layout = createLayout(text, textPaint, width, widthMode, alignment);
           }
 
           if (mShouldNotifyOnTextLayout) {
             ThemedReactContext themedReactContext = getThemedContext();
             WritableArray lines =
-                FontMetricsUtil.getFontMetrics(
-                    text, layout, sTextPaintInstance, themedReactContext);
+                FontMetricsUtil.getFontMetrics(text, layout, textPaint, themedReactContext);
             WritableMap event = Arguments.createMap();
             event.putArray("lines", lines);
             if (themedReactContext.hasActiveCatalystInstance()) {
@@ -196,6 +162,78 @@ public class ReactTextShadowNode extends ReactBaseTextShadowNode {
     }
   }
 
+  private Layout createLayout(
+      Spanned text,
+      TextPaint textPaint,
+      float width,
+      YogaMeasureMode widthMode,
+      Layout.Alignment alignment) {
+    Layout layout;
+    BoringLayout.Metrics boring = BoringLayout.isBoring(text, textPaint);
+    float desiredWidth = boring == null ? Layout.getDesiredWidth(text, textPaint) : Float.NaN;
+
+    // technically, width should never be negative, but there is currently a bug in
+    boolean unconstrainedWidth = widthMode == YogaMeasureMode.UNDEFINED || width < 0;
+
+    if (boring == null
+        && (unconstrainedWidth
+            || (!YogaConstants.isUndefined(desiredWidth) && desiredWidth <= width))) {
+      // Is used when the width is not known and the text is not boring, ie. if it contains
+      // unicode characters.
+
+      int hintWidth = (int) Math.ceil(desiredWidth);
+      if (Build.VERSION.SDK_INT < Build.VERSION_CODES.M) {
+        layout =
+            new StaticLayout(text, textPaint, hintWidth, alignment, 1.f, 0.f, mIncludeFontPadding);
+      } else {
+        StaticLayout.Builder builder =
+            StaticLayout.Builder.obtain(text, 0, text.length(), textPaint, hintWidth)
+                .setAlignment(alignment)
+                .setLineSpacing(0.f, 1.f)
+                .setIncludePad(mIncludeFontPadding)
+                .setBreakStrategy(mTextBreakStrategy)
+                .setHyphenationFrequency(mHyphenationFrequency);
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+          builder.setJustificationMode(mJustificationMode);
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+          builder.setUseLineSpacingFromFallbacks(true);
+        }
+        layout = builder.build();
+      }
+
+    } else if (boring != null && (unconstrainedWidth || boring.width <= width)) {
+      // Is used for single-line, boring text when the width is either unknown or bigger
+      // than the width of the text.
+      layout =
+          BoringLayout.make(
+              text, textPaint, boring.width, alignment, 1.f, 0.f, boring, mIncludeFontPadding);
+    } else {
+      // Is used for multiline, boring text and the width is known.
+
+      if (Build.VERSION.SDK_INT < Build.VERSION_CODES.M) {
+        layout =
+            new StaticLayout(
+                text, textPaint, (int) width, alignment, 1.f, 0.f, mIncludeFontPadding);
+      } else {
+        StaticLayout.Builder builder =
+            StaticLayout.Builder.obtain(text, 0, text.length(), textPaint, (int) width)
+                .setAlignment(alignment)
+                .setLineSpacing(0.f, 1.f)
+                .setIncludePad(mIncludeFontPadding)
+                .setBreakStrategy(mTextBreakStrategy)
+                .setHyphenationFrequency(mHyphenationFrequency);
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+          builder.setUseLineSpacingFromFallbacks(true);
+        }
+        layout = builder.build();
+      }
+    }
+    return layout;
+  }
+
   // Return text alignment according to LTR or RTL style
   private int getTextAlign() {
     int textAlign = mTextAlign;
@@ -211,12 +249,23 @@ public class ReactTextShadowNode extends ReactBaseTextShadowNode {
 
   @Override
   public void onBeforeLayout(NativeViewHierarchyOptimizer nativeViewHierarchyOptimizer) {
-    mPreparedSpannableText =
+    Spannable spannable =
         spannedFromShadowNode(
             this,
             /* text (e.g. from `value` prop): */ null,
             /* supportsInlineViews: */ true,
             nativeViewHierarchyOptimizer);
+    // Views resolve their default, first strong, text direction with their layout direction.
+    mPreparedSpannableText =
+        PrecomputedTextUtil.precomputeTextIfNeeded(
+            spannable,
+            mTextAttributes.getEffectiveFontSize(),
+            mTextBreakStrategy,
+            mHyphenationFrequency,
+            getLayoutDirection() == YogaDirection.RTL
+                ? TextDirectionHeuristics.FIRSTSTRONG_RTL
+                : TextDirectionHeuristics.FIRSTSTRONG_LTR);
+    mMeasuredLayout = null;
     markUpdated();
   }
 
@@ -256,7 +305,10 @@ public class ReactTextShadowNode extends ReactBaseTextShadowNode {
               getPadding(Spacing.BOTTOM),
               getTextAlign(),
               mTextBreakStrategy,
-              mJustificationMode);
+              mJustificationMode,
+              -1,
+              -1,
+              mMeasuredLayout);
       uiViewOperationQueue.enqueueUpdateExtraData(getReactTag(), reactTextUpdate);
     }
   }
@@ -11,6 +11,7 @@ import static com.facebook.react.views.text.TextAttributeProps.UNSET;
 
 import android.text.Layout;
 import android.text.Spannable;
+import androidx.annotation.Nullable;
 
 /**
  * Class that contains the data needed for a text update. Used by both <Text/> and <TextInput/>
@@ -30,6 +31,7 @@ public class ReactTextUpdate {
   private final int mSelectionStart;
   private final int mSelectionEnd;
   private final int mJustificationMode;
+  private final @Nullable Layout mLayout;
 
   /**
    * @deprecated Use a non-deprecated constructor for ReactTextUpdate instead. This one remains
@@ -121,6 +123,40 @@ public class ReactTextUpdate {
       int justificationMode,
       int selectionStart,
       int selectionEnd) {
+    this(
+        text,
+        jsEventCounter,
+        containsImages,
+        paddingStart,
+        paddingTop,
+        paddingEnd,
+        paddingBottom,
+        textAlign,
+        textBreakStrategy,
+        justificationMode,
+        selectionStart,
+        selectionEnd,
+        null);
+  }
+
+  /**
+   * @param layout layout built when measuring the text, which {@link ReactTextView} draws instead
+   *     of laying out the text again when it fits the view
+   */
+  public ReactTextUpdate(
+      Spannable text,
+      int jsEventCounter,
+      boolean containsImages,
+      float paddingStart,
+      float paddingTop,
+      float paddingEnd,
+      float paddingBottom,
+      int textAlign,
+      int textBreakStrategy,
+      int justificationMode,
+      int selectionStart,
+      int selectionEnd,
+      @Nullable Layout layout) {
     mText = text;
     mJsEventCounter = jsEventCounter;
     mContainsImages = containsImages;
@@ -133,6 +169,7 @@ public class ReactTextUpdate {
     mSelectionStart = selectionStart;
     mSelectionEnd = selectionEnd;
     mJustificationMode = justificationMode;
+    mLayout = layout;
   }
 
   public Spannable getText() {
@@ -182,4 +219,8 @@ public class ReactTextUpdate {
   public int getSelectionEnd() {
     return mSelectionEnd;
   }
+
+  public @Nullable Layout getLayout() {
+    return mLayout;
+  }
 }
@@ -10,11 +10,15 @@ package com.facebook.react.views.text;
 import static com.facebook.react.views.text.TextAttributeProps.UNSET;
 
 import android.content.Context;
+import android.graphics.Canvas;
 import android.graphics.drawable.Drawable;
 import android.os.Build;
 import android.text.Layout;
+import android.text.PrecomputedText;
 import android.text.Spannable;
+import android.text.SpannableString;
 import android.text.Spanned;
+import android.text.TextPaint;
 import android.text.TextUtils;
 import android.text.method.LinkMovementMethod;
 import android.text.util.Linkify;
@@ -56,6 +60,10 @@ public class ReactTextView extends AppCompatTextView implements ReactCompoundVie
 
   private ReactViewBackgroundManager mReactBackgroundManager;
   private Spannable mSpanned;
+  // Layout built when the text was measured, see ReactFeatureFlags#enableTextLayoutCache.
+  private @Nullable Layout mPreparedLayout;
+  // Text metrics params of the view before those of a precomputed text were set, see setText.
+  private @Nullable PrecomputedText.Params mDefaultTextMetricsParams;
 
   public ReactTextView(Context context) {
     super(context);
@@ -271,10 +279,31 @@ public class ReactTextView extends AppCompatTextView implements ReactCompoundVie
       setLayoutParams(EMPTY_LAYOUT_PARAMS);
     }
     Spannable spannable = update.getText();
+    mPreparedLayout = update.getLayout();
     if (mLinkifyMaskType > 0) {
       Linkify.addLinks(spannable, mLinkifyMaskType);
       setMovementMethod(LinkMovementMethod.getInstance());
     }
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+      if (spannable instanceof PrecomputedText
+          && ((PrecomputedText) spannable).getParams().getTextDirection()
+              != getTextMetricsParams().getTextDirection()) {
+        // The text was shaped for another direction than the one of this view. Lay it out again
+        // rather than overriding the direction of the view.
+        spannable = new SpannableString(spannable);
+      }
+      if (spannable instanceof PrecomputedText) {
+        if (mDefaultTextMetricsParams == null) {
+          mDefaultTextMetricsParams = getTextMetricsParams();
+        }
+        // TextView only accepts precomputed text when it would lay it out with the same parameters.
+        setTextMetricsParams(((PrecomputedText) spannable).getParams());
+      } else if (mDefaultTextMetricsParams != null) {
+        // The params of the precomputed text replaced the paint of the view.
+        setTextMetricsParams(mDefaultTextMetricsParams);
+        mDefaultTextMetricsParams = null;
+      }
+    }
     setText(spannable);
     float paddingLeft = update.getPaddingLeft();
     float paddingTop = update.getPaddingTop();
@@ -316,6 +345,98 @@ public class ReactTextView extends AppCompatTextView implements ReactCompoundVie
     requestLayout();
   }
 
+  @Override
+  protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+    if (MeasureSpec.getMode(widthMeasureSpec) == MeasureSpec.EXACTLY
+        && MeasureSpec.getMode(heightMeasureSpec) == MeasureSpec.EXACTLY) {
+      int width = MeasureSpec.getSize(widthMeasureSpec);
+      int height = MeasureSpec.getSize(heightMeasureSpec);
+      if (getPreparedLayout(width, height) != null) {
+        // The text was already laid out when it was measured, don't let TextView lay it out again.
+        setMeasuredDimension(width, height);
+        return;
+      }
+    }
+    super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+  }
+
+  @Override
+  protected void onDraw(Canvas canvas) {
+    Layout layout = getPreparedLayout(getWidth(), getHeight());
+    if (layout == null) {
+      super.onDraw(canvas);
+      return;
+    }
+
+    TextPaint paint = layout.getPaint();
+    paint.setColor(getCurrentTextColor());
+    paint.drawableState = getDrawableState();
+
+    int left = getCompoundPaddingLeft();
+    int top = getExtendedPaddingTop();
+    int right = getWidth() - getCompoundPaddingRight();
+    int bottom = getHeight() - getExtendedPaddingBottom();
+    int verticalOffset = 0;
+    switch (getGravity() & Gravity.VERTICAL_GRAVITY_MASK) {
+      case Gravity.BOTTOM:
+        verticalOffset = bottom - top - layout.getHeight();
+        break;
+      case Gravity.CENTER_VERTICAL:
+        verticalOffset = (bottom - top - layout.getHeight()) / 2;
+        break;
+    }
+
+    canvas.save();
+    canvas.clipRect(left, top, right, bottom);
+    canvas.translate(left, top + verticalOffset);
+    layout.draw(canvas);
+    canvas.restore();
+  }
+
+  /**
+   * Returns the layout built when the text was measured if it can be drawn instead of the layout
+   * of the TextView for the given size of the view, null otherwise.
+   */
+  private @Nullable Layout getPreparedLayout(int width, int height) {
+    Layout layout = mPreparedLayout;
+    if (layout == null
+        || mContainsImages
+        || mLinkifyMaskType != 0
+        || mNumberOfLines != ViewDefaults.NUMBER_OF_LINES
+        || getEllipsize() != null
+        || isTextSelectable()
+        || hasCompoundDrawables()) {
+      // TextView draws these itself, from the layout built in its own onMeasure.
+      return null;
+    }
+    // Lines would be broken differently for any other width.
+    int contentWidth = width - getCompoundPaddingLeft() - getCompoundPaddingRight();
+    int contentHeight = height - getExtendedPaddingTop() - getExtendedPaddingBottom();
+    if (layout.getWidth() != contentWidth || layout.getHeight() > contentHeight) {
+      return null;
+    }
+    return layout;
+  }
+
+  private boolean hasCompoundDrawables() {
+    for (Drawable drawable : getCompoundDrawables()) {
+      if (drawable != null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the layout that is drawn, which is the layout built when the text was measured if
+   * TextView didn't lay out the text itself.
+   */
+  @Override
+  public @Nullable Layout getLayout() {
+    Layout layout = getPreparedLayout(getWidth(), getHeight());
+    return layout != null ? layout : super.getLayout();
+  }
+
   @Override
   public int reactTagForTouch(float touchX, float touchY) {
     CharSequence text = getText();
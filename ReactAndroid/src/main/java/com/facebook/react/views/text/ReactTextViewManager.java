@@ -33,6 +33,7 @@ public class ReactTextViewManager
     implements IViewManagerWithChildren {
 
   @VisibleForTesting public static final String REACT_CLASS = "RCTText";
+  private static final int MAX_RECYCLED_VIEWS = 32;
 
   @Override
   public String getName() {
@@ -44,6 +45,12 @@ public class ReactTextViewManager
     return new ReactTextView(context);
   }
 
+  @Override
+  protected int getMaxRecycledViews() {
+    // The text of a recycled view is replaced by updateExtraData before it is drawn again.
+    return MAX_RECYCLED_VIEWS;
+  }
+
   @Override
   public void updateExtraData(ReactTextView view, Object extraData) {
     ReactTextUpdate update = (ReactTextUpdate) extraData;
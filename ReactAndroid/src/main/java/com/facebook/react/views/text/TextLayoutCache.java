@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.views.text;
+
+import android.text.Layout;
+import android.text.Spanned;
+import android.util.LruCache;
+import androidx.annotation.Nullable;
+import com.facebook.yoga.YogaMeasureMode;
+
+/**
+ * Cache of the {@link Layout}s built to measure text, so that measuring the same text again with
+ * the same constraints, and drawing it in {@link ReactTextView}, doesn't lay it out again.
+ *
+ * <p>Layouts are keyed by the identity of the text they were built for, so they are only reused
+ * while the same spannable is measured. The cache is bounded by the amount of characters of the
+ * cached layouts, as the memory used by a layout grows with the length of its text.
+ */
+/* package */ final class TextLayoutCache {
+
+  private static final int DEFAULT_MAX_CHARACTERS = 64 * 1024;
+
+  private static final TextLayoutCache sInstance = new TextLayoutCache(DEFAULT_MAX_CHARACTERS);
+
+  private final LruCache<Key, Layout> mLayouts;
+
+  /* package */ TextLayoutCache(int maxCharacters) {
+    mLayouts =
+        new LruCache<Key, Layout>(maxCharacters) {
+          @Override
+          protected int sizeOf(Key key, Layout layout) {
+            // Empty texts still use some memory.
+            return key.mText.length() + 1;
+          }
+        };
+  }
+
+  /* package */ static TextLayoutCache getInstance() {
+    return sInstance;
+  }
+
+  /* package */ @Nullable
+  Layout get(Key key) {
+    return mLayouts.get(key);
+  }
+
+  /* package */ void put(Key key, Layout layout) {
+    mLayouts.put(key, layout);
+  }
+
+  /* package */ void clear() {
+    mLayouts.evictAll();
+  }
+
+  /**
+   * Identifies a layout by the text it was built for and the constraints and paragraph attributes
+   * used to build it.
+   */
+  /* package */ static final class Key {
+
+    private final Spanned mText;
+    private final int mWidthBits;
+    private final YogaMeasureMode mWidthMode;
+    private final Layout.Alignment mAlignment;
+    private final boolean mIncludeFontPadding;
+    private final int mTextBreakStrategy;
+    private final int mHyphenationFrequency;
+    private final int mJustificationMode;
+    private final int mTextSizeBits;
+    private final int mHashCode;
+
+    /* package */ Key(
+        Spanned text,
+        float width,
+        YogaMeasureMode widthMode,
+        Layout.Alignment alignment,
+        boolean includeFontPadding,
+        int textBreakStrategy,
+        int hyphenationFrequency,
+        int justificationMode,
+        float textSize) {
+      mText = text;
+      // The width doesn't constrain the layout when the measure mode is undefined.
+      mWidthBits = widthMode == YogaMeasureMode.UNDEFINED ? 0 : Float.floatToIntBits(width);
+      mWidthMode = widthMode;
+      mAlignment = alignment;
+      mIncludeFontPadding = includeFontPadding;
+      mTextBreakStrategy = textBreakStrategy;
+      mHyphenationFrequency = hyphenationFrequency;
+      mJustificationMode = justificationMode;
+      mTextSizeBits = Float.floatToIntBits(textSize);
+
+      int hashCode = System.identityHashCode(text);
+      hashCode = 31 * hashCode + mWidthBits;
+      hashCode = 31 * hashCode + widthMode.ordinal();
+      hashCode = 31 * hashCode + alignment.ordinal();
+      hashCode = 31 * hashCode + (includeFontPadding ? 1 : 0);
+      hashCode = 31 * hashCode + textBreakStrategy;
+      hashCode = 31 * hashCode + hyphenationFrequency;
+      hashCode = 31 * hashCode + justificationMode;
+      hashCode = 31 * hashCode + mTextSizeBits;
+      mHashCode = hashCode;
+    }
+
+    @Override
+    public int hashCode() {
+      return mHashCode;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return mText == other.mText
+          && mWidthBits == other.mWidthBits
+          && mWidthMode == other.mWidthMode
+          && mAlignment == other.mAlignment
+          && mIncludeFontPadding == other.mIncludeFontPadding
+          && mTextBreakStrategy == other.mTextBreakStrategy
+          && mHyphenationFrequency == other.mHyphenationFrequency
+          && mJustificationMode == other.mJustificationMode
+          && mTextSizeBits == other.mTextSizeBits;
+    }
+  }
+}
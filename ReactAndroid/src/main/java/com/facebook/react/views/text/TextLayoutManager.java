@@ -21,6 +21,7 @@ import android.text.TextPaint;
 import android.util.LruCache;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.config.ReactFeatureFlags;
 import com.facebook.react.uimanager.PixelUtil;
 import com.facebook.react.uimanager.ReactStylesDiffMap;
 import com.facebook.yoga.YogaConstants;
@@ -37,11 +38,16 @@ public class TextLayoutManager {
   // The bug is that unicode emoticons aren't measured properly which causes text to be clipped.
   private static final TextPaint sTextPaintInstance = new TextPaint(TextPaint.ANTI_ALIAS_FLAG);
 
-  // Specifies the amount of spannable that are stored into the {@link sSpannableCache}.
-  private static final int spannableCacheSize = 100;
+  // Default amount of spannables that are stored into the {@link sSpannableCacheStripes}.
+  private static final int DEFAULT_SPANNABLE_CACHE_SIZE = 100;
 
-  private static final Object sSpannableCacheLock = new Object();
-  private static LruCache<String, Spannable> sSpannableCache = new LruCache<>(spannableCacheSize);
+  // The cache is split into stripes selected by the fingerprint of the attributed string, so that
+  // measurements running on different threads rarely contend on the same lock. Each LruCache
+  // synchronizes its own operations.
+  private static final int SPANNABLE_CACHE_STRIPES = 8;
+
+  private static volatile LruCache<AttributedStringKey, Spannable>[] sSpannableCacheStripes =
+      createSpannableCacheStripes(DEFAULT_SPANNABLE_CACHE_SIZE);
 
   private static void buildSpannableFromFragment(
       Context context,
@@ -128,23 +134,74 @@ public class TextLayoutManager {
   protected static Spannable getOrCreateSpannableForText(
       Context context, ReadableMap attributedString) {
 
-    Spannable preparedSpannableText;
-    String attributedStringPayload = attributedString.toString();
-    synchronized (sSpannableCacheLock) {
-      preparedSpannableText = sSpannableCache.get(attributedStringPayload);
-      // TODO: T31905686 implement proper equality of attributedStrings
-      if (preparedSpannableText != null) {
-        return preparedSpannableText;
-      }
+    AttributedStringKey key = new AttributedStringKey(attributedString);
+    LruCache<AttributedStringKey, Spannable> stripe = getSpannableCacheStripe(key);
+    Spannable preparedSpannableText = stripe.get(key);
+    if (preparedSpannableText != null) {
+      return preparedSpannableText;
     }
 
     preparedSpannableText = createSpannableFromAttributedString(context, attributedString);
-    synchronized (sSpannableCacheLock) {
-      sSpannableCache.put(attributedStringPayload, preparedSpannableText);
-    }
+    stripe.put(key, preparedSpannableText);
     return preparedSpannableText;
   }
 
+  /**
+   * Sets the maximum amount of spannables kept in the cache of {@link
+   * #getOrCreateSpannableForText}. The cached spannables are dropped.
+   */
+  public static void setSpannableCacheSize(int size) {
+    if (size <= 0) {
+      throw new IllegalArgumentException("Spannable cache size must be positive: " + size);
+    }
+    sSpannableCacheStripes = createSpannableCacheStripes(size);
+  }
+
+  /** @return how many times a spannable was found in the cache since its size was last set */
+  public static int getSpannableCacheHitCount() {
+    int count = 0;
+    for (LruCache<AttributedStringKey, Spannable> stripe : sSpannableCacheStripes) {
+      count += stripe.hitCount();
+    }
+    return count;
+  }
+
+  /** @return how many times a spannable had to be created since the cache size was last set */
+  public static int getSpannableCacheMissCount() {
+    int count = 0;
+    for (LruCache<AttributedStringKey, Spannable> stripe : sSpannableCacheStripes) {
+      count += stripe.missCount();
+    }
+    return count;
+  }
+
+  /** @return how many spannables were evicted from the cache since its size was last set */
+  public static int getSpannableCacheEvictionCount() {
+    int count = 0;
+    for (LruCache<AttributedStringKey, Spannable> stripe : sSpannableCacheStripes) {
+      count += stripe.evictionCount();
+    }
+    return count;
+  }
+
+  private static LruCache<AttributedStringKey, Spannable> getSpannableCacheStripe(
+      AttributedStringKey key) {
+    // The low bits of the fingerprint pick the bucket inside the LruCache, use the high ones.
+    int index = (int) (key.getFingerprint() >>> 61) & (SPANNABLE_CACHE_STRIPES - 1);
+    return sSpannableCacheStripes[index];
+  }
+
+  @SuppressWarnings("unchecked")
+  private static LruCache<AttributedStringKey, Spannable>[] createSpannableCacheStripes(
+      int size) {
+    int stripeSize = Math.max(1, (size + SPANNABLE_CACHE_STRIPES - 1) / SPANNABLE_CACHE_STRIPES);
+    LruCache<AttributedStringKey, Spannable>[] stripes = new LruCache[SPANNABLE_CACHE_STRIPES];
+    for (int i = 0; i < SPANNABLE_CACHE_STRIPES; i++) {
+      stripes[i] = new LruCache<>(stripeSize);
+    }
+    return stripes;
+  }
+
   private static Spannable createSpannableFromAttributedString(
       Context context, ReadableMap attributedString) {
 
@@ -170,27 +227,13 @@ public class TextLayoutManager {
     return sb;
   }
 
-  public static long measureText(
-      Context context,
-      ReadableMap attributedString,
-      ReadableMap paragraphAttributes,
+  private static Layout createLayout(
+      Spanned text,
+      TextPaint textPaint,
       float width,
       YogaMeasureMode widthYogaMeasureMode,
-      float height,
-      YogaMeasureMode heightYogaMeasureMode) {
-
-    // TODO(5578671): Handle text direction (see View#getTextDirectionHeuristic)
-    TextPaint textPaint = sTextPaintInstance;
-    Spannable preparedSpannableText = getOrCreateSpannableForText(context, attributedString);
-
-    // TODO add these props to paragraph attributes
-    int textBreakStrategy = Layout.BREAK_STRATEGY_HIGH_QUALITY;
-    boolean includeFontPadding = true;
-
-    if (preparedSpannableText == null) {
-      throw new IllegalStateException("Spannable element has not been prepared in onBeforeLayout");
-    }
-    Spanned text = preparedSpannableText;
+      int textBreakStrategy,
+      boolean includeFontPadding) {
     BoringLayout.Metrics boring = BoringLayout.isBoring(text, textPaint);
     float desiredWidth = boring == null ? Layout.getDesiredWidth(text, textPaint) : Float.NaN;
 
@@ -263,6 +306,54 @@ public class TextLayoutManager {
                 .build();
       }
     }
+    return layout;
+  }
+
+  public static long measureText(
+      Context context,
+      ReadableMap attributedString,
+      ReadableMap paragraphAttributes,
+      float width,
+      YogaMeasureMode widthYogaMeasureMode,
+      float height,
+      YogaMeasureMode heightYogaMeasureMode) {
+
+    // TODO(5578671): Handle text direction (see View#getTextDirectionHeuristic)
+    TextPaint textPaint = sTextPaintInstance;
+    Spannable preparedSpannableText = getOrCreateSpannableForText(context, attributedString);
+
+    // TODO add these props to paragraph attributes
+    int textBreakStrategy = Layout.BREAK_STRATEGY_HIGH_QUALITY;
+    boolean includeFontPadding = true;
+
+    if (preparedSpannableText == null) {
+      throw new IllegalStateException("Spannable element has not been prepared in onBeforeLayout");
+    }
+    Spanned text = preparedSpannableText;
+    TextLayoutCache.Key key = null;
+    Layout layout = null;
+    if (ReactFeatureFlags.enableTextLayoutCache) {
+      key =
+          new TextLayoutCache.Key(
+              text,
+              width,
+              widthYogaMeasureMode,
+              Layout.Alignment.ALIGN_NORMAL,
+              includeFontPadding,
+              textBreakStrategy,
+              Layout.HYPHENATION_FREQUENCY_NORMAL,
+              Layout.JUSTIFICATION_MODE_NONE,
+              textPaint.getTextSize());
+      layout = TextLayoutCache.getInstance().get(key);
+    }
+    if (layout == null) {
+      layout =
+          createLayout(
+              text, textPaint, width, widthYogaMeasureMode, textBreakStrategy, includeFontPadding);
+      if (key != null) {
+        TextLayoutCache.getInstance().put(key, layout);
+      }
+    }
 
     int maximumNumberOfLines =
         paragraphAttributes.hasKey("maximumNumberOfLines")
@@ -51,6 +51,7 @@ public class ReactViewManager extends ReactClippingViewManager<ReactViewGroup> {
   private static final int CMD_HOTSPOT_UPDATE = 1;
   private static final int CMD_SET_PRESSED = 2;
   private static final String HOTSPOT_UPDATE_KEY = "hotspotUpdate";
+  private static final int MAX_RECYCLED_VIEWS = 64;
 
   @ReactProp(name = "accessible")
   public void setAccessible(ReactViewGroup view, boolean accessible) {
@@ -273,6 +274,17 @@ public class ReactViewManager extends ReactClippingViewManager<ReactViewGroup> {
     view.setBackfaceVisibilityDependantOpacity();
   }
 
+  @Override
+  public void setTranslateAndScaleTransform(
+      @NonNull ReactViewGroup view,
+      float translateX,
+      float translateY,
+      float scaleX,
+      float scaleY) {
+    super.setTranslateAndScaleTransform(view, translateX, translateY, scaleX, scaleY);
+    view.setBackfaceVisibilityDependantOpacity();
+  }
+
   @Override
   public String getName() {
     return REACT_CLASS;
@@ -283,6 +295,11 @@ public class ReactViewManager extends ReactClippingViewManager<ReactViewGroup> {
     return new ReactViewGroup(context);
   }
 
+  @Override
+  protected int getMaxRecycledViews() {
+    return MAX_RECYCLED_VIEWS;
+  }
+
   @Override
   public Map<String, Integer> getCommandsMap() {
     return MapBuilder.of(HOTSPOT_UPDATE_KEY, CMD_HOTSPOT_UPDATE, "setPressed", CMD_SET_PRESSED);
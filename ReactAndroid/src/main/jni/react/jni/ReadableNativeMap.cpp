@@ -7,6 +7,8 @@
 
 #include "ReadableNativeMap.h"
 
+#include <vector>
+
 using namespace facebook::jni;
 
 namespace facebook {
@@ -95,6 +97,31 @@ local_ref<JArrayClass<jobject>> ReadableNativeMap::importTypes() {
   return jarray;
 }
 
+local_ref<JArrayDouble> ReadableNativeMap::importNumbers() {
+  jint size = keys_.value().size();
+  std::vector<jdouble> numbers(size, 0);
+  for (jint ii = 0; ii < size; ii++) {
+    const std::string &key = keys_.value()[ii].getString();
+    const folly::dynamic &dyn = map_.at(key);
+    switch (dyn.type()) {
+      case folly::dynamic::Type::BOOL:
+        numbers[ii] = dyn.getBool() ? 1 : 0;
+        break;
+      case folly::dynamic::Type::INT64:
+        numbers[ii] = dyn.getInt();
+        break;
+      case folly::dynamic::Type::DOUBLE:
+        numbers[ii] = dyn.getDouble();
+        break;
+      default:
+        break;
+    }
+  }
+  auto jarray = JArrayDouble::newArray(size);
+  jarray->setRegion(0, size, numbers.data());
+  return jarray;
+}
+
 local_ref<ReadableNativeMap::jhybridobject>
 ReadableNativeMap::createWithContents(folly::dynamic &&map) {
   if (map.isNull()) {
@@ -116,6 +143,7 @@ void ReadableNativeMap::registerNatives() {
       makeNativeMethod("importKeys", ReadableNativeMap::importKeys),
       makeNativeMethod("importValues", ReadableNativeMap::importValues),
       makeNativeMethod("importTypes", ReadableNativeMap::importTypes),
+      makeNativeMethod("importNumbers", ReadableNativeMap::importNumbers),
   });
 }
 
@@ -13,22 +13,30 @@ import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.atMost;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
+import android.view.View;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.Callback;
 import com.facebook.react.bridge.JavaOnlyArray;
 import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.common.MapBuilder;
+import com.facebook.react.config.ReactFeatureFlags;
+import com.facebook.react.uimanager.BaseViewManager;
+import com.facebook.react.uimanager.SimpleViewManager;
+import com.facebook.react.uimanager.ThemedReactContext;
 import com.facebook.react.uimanager.UIManagerModule;
 import com.facebook.react.uimanager.events.Event;
 import com.facebook.react.uimanager.events.EventDispatcher;
 import com.facebook.react.uimanager.events.RCTEventEmitter;
 import java.util.Map;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -41,6 +49,7 @@ import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.rule.PowerMockRule;
 import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
 
 /** Tests the animated nodes graph traversal algorithm from {@link NativeAnimatedNodesManager}. */
 @PrepareForTest({Arguments.class})
@@ -128,6 +137,11 @@ public class NativeAnimatedNodeTraversalTest {
     mNativeAnimatedNodesManager = new NativeAnimatedNodesManager(mUIManagerMock);
   }
 
+  @After
+  public void tearDown() {
+    ReactFeatureFlags.enableDirectAnimatedPropsUpdates = false;
+  }
+
   /**
    * Generates a simple animated nodes graph and attaches the props node to a given {@param viewTag}
    * Parameter {@param opacity} is used as a initial value for the "opacity" attribute.
@@ -618,6 +632,176 @@ public class NativeAnimatedNodeTraversalTest {
     verifyNoMoreInteractions(mUIManagerMock);
   }
 
+  @Test
+  public void testNodesConnectedAfterFirstFrameAreUpdatedInOrder() {
+    createAnimatedGraphWithAdditionNode(50, 100d, 1000d);
+    mNativeAnimatedNodesManager.runUpdates(nextFrameTime());
+
+    // Depends on the addition node of the graph, which has already been sorted.
+    mNativeAnimatedNodesManager.createAnimatedNode(
+        6, JavaOnlyMap.of("type", "value", "value", 1d, "offset", 0d));
+    mNativeAnimatedNodesManager.createAnimatedNode(
+        7, JavaOnlyMap.of("type", "addition", "input", JavaOnlyArray.of(6, 3)));
+    mNativeAnimatedNodesManager.createAnimatedNode(
+        8, JavaOnlyMap.of("type", "style", "style", JavaOnlyMap.of("translateX", 7)));
+    mNativeAnimatedNodesManager.createAnimatedNode(
+        9, JavaOnlyMap.of("type", "props", "props", JavaOnlyMap.of("style", 8)));
+    mNativeAnimatedNodesManager.connectAnimatedNodes(6, 7);
+    mNativeAnimatedNodesManager.connectAnimatedNodes(3, 7);
+    mNativeAnimatedNodesManager.connectAnimatedNodes(7, 8);
+    mNativeAnimatedNodesManager.connectAnimatedNodes(8, 9);
+    mNativeAnimatedNodesManager.connectAnimatedNodeToView(9, 60);
+    mNativeAnimatedNodesManager.runUpdates(nextFrameTime());
+
+    mNativeAnimatedNodesManager.setAnimatedNodeValue(1, 200d);
+
+    ArgumentCaptor<ReadableMap> stylesCaptor = ArgumentCaptor.forClass(ReadableMap.class);
+    reset(mUIManagerMock);
+    mNativeAnimatedNodesManager.runUpdates(nextFrameTime());
+    verify(mUIManagerMock).synchronouslyUpdateViewOnUIThread(eq(50), stylesCaptor.capture());
+    assertThat(stylesCaptor.getValue().getDouble("translateX")).isEqualTo(1200d);
+    verify(mUIManagerMock).synchronouslyUpdateViewOnUIThread(eq(60), stylesCaptor.capture());
+    assertThat(stylesCaptor.getValue().getDouble("translateX")).isEqualTo(1201d);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testThrowsOnCycleInActiveNodes() {
+    createAnimatedGraphWithAdditionNode(50, 100d, 1000d);
+    mNativeAnimatedNodesManager.runUpdates(nextFrameTime());
+
+    mNativeAnimatedNodesManager.connectAnimatedNodes(3, 1);
+    mNativeAnimatedNodesManager.setAnimatedNodeValue(1, 200d);
+    mNativeAnimatedNodesManager.runUpdates(nextFrameTime());
+  }
+
+  /**
+   * Generates an animated nodes graph animating the opacity and a transform made of a static scale
+   * followed by an animated translateX, and attaches it to a given {@param viewTag}
+   */
+  private void createAnimatedGraphWithTranslateAndScale(
+      int viewTag, double opacity, double scale, double translateX) {
+    mNativeAnimatedNodesManager.createAnimatedNode(
+        1, JavaOnlyMap.of("type", "value", "value", opacity, "offset", 0d));
+    mNativeAnimatedNodesManager.createAnimatedNode(
+        2, JavaOnlyMap.of("type", "value", "value", translateX, "offset", 0d));
+    mNativeAnimatedNodesManager.createAnimatedNode(
+        3,
+        JavaOnlyMap.of(
+            "type",
+            "transform",
+            "transforms",
+            JavaOnlyArray.of(
+                JavaOnlyMap.of("property", "scale", "type", "static", "value", scale),
+                JavaOnlyMap.of("property", "translateX", "type", "animated", "nodeTag", 2))));
+    mNativeAnimatedNodesManager.createAnimatedNode(
+        4,
+        JavaOnlyMap.of("type", "style", "style", JavaOnlyMap.of("opacity", 1, "transform", 3)));
+    mNativeAnimatedNodesManager.createAnimatedNode(
+        5, JavaOnlyMap.of("type", "props", "props", JavaOnlyMap.of("style", 4)));
+    mNativeAnimatedNodesManager.connectAnimatedNodes(1, 4);
+    mNativeAnimatedNodesManager.connectAnimatedNodes(2, 3);
+    mNativeAnimatedNodesManager.connectAnimatedNodes(3, 4);
+    mNativeAnimatedNodesManager.connectAnimatedNodes(4, 5);
+    mNativeAnimatedNodesManager.connectAnimatedNodeToView(5, viewTag);
+  }
+
+  @Test
+  public void testDirectUpdateOfOpacityAndTransform() {
+    ReactFeatureFlags.enableDirectAnimatedPropsUpdates = true;
+    BaseViewManager viewManager = mock(BaseViewManager.class);
+    View view = mock(View.class);
+    PowerMockito.when(mUIManagerMock.resolveViewManager(51)).thenReturn(viewManager);
+    PowerMockito.when(mUIManagerMock.resolveView(51)).thenReturn(view);
+    createAnimatedGraphWithTranslateAndScale(51, 0.5d, 2d, 10d);
+
+    mNativeAnimatedNodesManager.runUpdates(nextFrameTime());
+
+    // The translation happens in the scaled coordinates, as with the transform matrix.
+    verify(viewManager).setTranslateAndScaleTransform(view, 20f, 0f, 2f, 2f);
+    verify(viewManager).setOpacity(view, 0.5f);
+    verify(mUIManagerMock, never())
+        .synchronouslyUpdateViewOnUIThread(anyInt(), any(ReadableMap.class));
+  }
+
+  @Test
+  public void testDirectUpdateFallsBackForNegativeScale() {
+    ReactFeatureFlags.enableDirectAnimatedPropsUpdates = true;
+    BaseViewManager viewManager = mock(BaseViewManager.class);
+    PowerMockito.when(mUIManagerMock.resolveViewManager(51)).thenReturn(viewManager);
+    PowerMockito.when(mUIManagerMock.resolveView(51)).thenReturn(mock(View.class));
+    createAnimatedGraphWithTranslateAndScale(51, 0.5d, -1d, 10d);
+
+    ArgumentCaptor<ReadableMap> stylesCaptor = ArgumentCaptor.forClass(ReadableMap.class);
+    mNativeAnimatedNodesManager.runUpdates(nextFrameTime());
+    verify(mUIManagerMock).synchronouslyUpdateViewOnUIThread(eq(51), stylesCaptor.capture());
+    assertThat(stylesCaptor.getValue().getDouble("opacity")).isEqualTo(0.5d);
+    assertThat(stylesCaptor.getValue().getArray("transform").size()).isEqualTo(2);
+  }
+
+  @Test
+  public void testDirectUpdateFallsBackForOverriddenTransformSetter() {
+    ReactFeatureFlags.enableDirectAnimatedPropsUpdates = true;
+    View view = new View(RuntimeEnvironment.application);
+    PowerMockito.when(mUIManagerMock.resolveViewManager(51))
+        .thenReturn(new TransformOverridingViewManager());
+    PowerMockito.when(mUIManagerMock.resolveView(51)).thenReturn(view);
+    createAnimatedGraphWithTranslateAndScale(51, 0.5d, 2d, 10d);
+
+    mNativeAnimatedNodesManager.runUpdates(nextFrameTime());
+
+    verify(mUIManagerMock).synchronouslyUpdateViewOnUIThread(eq(51), any(ReadableMap.class));
+    assertThat(view.getAlpha()).isEqualTo(1f);
+  }
+
+  @Test
+  public void testDirectUpdateFallsBackForOverriddenAfterUpdateTransaction() {
+    ReactFeatureFlags.enableDirectAnimatedPropsUpdates = true;
+    PowerMockito.when(mUIManagerMock.resolveViewManager(51))
+        .thenReturn(new AfterUpdateTransactionOverridingViewManager());
+    PowerMockito.when(mUIManagerMock.resolveView(51))
+        .thenReturn(new View(RuntimeEnvironment.application));
+    createAnimatedGraphWithTranslateAndScale(51, 0.5d, 2d, 10d);
+
+    mNativeAnimatedNodesManager.runUpdates(nextFrameTime());
+
+    verify(mUIManagerMock).synchronouslyUpdateViewOnUIThread(eq(51), any(ReadableMap.class));
+  }
+
+  private static class TransformOverridingViewManager extends SimpleViewManager<View> {
+    @Override
+    public String getName() {
+      return "TransformOverridingView";
+    }
+
+    @Override
+    protected View createViewInstance(ThemedReactContext reactContext) {
+      return new View(reactContext);
+    }
+
+    @Override
+    public void setTransform(View view, ReadableArray matrix) {
+      super.setTransform(view, matrix);
+    }
+  }
+
+  private static class AfterUpdateTransactionOverridingViewManager
+      extends SimpleViewManager<View> {
+    @Override
+    public String getName() {
+      return "AfterUpdateTransactionOverridingView";
+    }
+
+    @Override
+    protected View createViewInstance(ThemedReactContext reactContext) {
+      return new View(reactContext);
+    }
+
+    @Override
+    protected void onAfterUpdateTransaction(View view) {
+      super.onAfterUpdateTransaction(view);
+    }
+  }
+
   /**
    * Verifies that {@link NativeAnimatedNodesManager#runUpdates} updates the view correctly in case
    * when one of the addition input nodes has started animating while the other one has not.
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+/** Tests for {@link NativeMapKeyIndex} */
+public class NativeMapKeyIndexTest {
+
+  @Test
+  public void testIndexOf() {
+    String[] keys = new String[] {"opacity", "transform", "backgroundColor", "width"};
+    NativeMapKeyIndex index = new NativeMapKeyIndex(keys);
+
+    assertThat(index.size()).isEqualTo(4);
+    for (int i = 0; i < keys.length; i++) {
+      // Use a copy of the key to make sure lookups don't rely on identity
+      assertThat(index.indexOf(new String(keys[i]))).isEqualTo(i);
+      assertThat(index.keyAt(i)).isEqualTo(keys[i]);
+    }
+    assertThat(index.indexOf("height")).isEqualTo(NativeMapKeyIndex.NOT_FOUND);
+  }
+
+  @Test
+  public void testEmpty() {
+    NativeMapKeyIndex index = new NativeMapKeyIndex(new String[0]);
+
+    assertThat(index.size()).isEqualTo(0);
+    assertThat(index.indexOf("opacity")).isEqualTo(NativeMapKeyIndex.NOT_FOUND);
+  }
+
+  @Test
+  public void testCollidingKeys() {
+    // "Aa" and "BB" have the same String hash code
+    String[] keys = new String[] {"Aa", "BB", "AaAa", "BBBB", "AaBB", "BBAa"};
+    NativeMapKeyIndex index = new NativeMapKeyIndex(keys);
+
+    for (int i = 0; i < keys.length; i++) {
+      assertThat(index.indexOf(keys[i])).isEqualTo(i);
+    }
+    assertThat(index.indexOf("AaAaAa")).isEqualTo(NativeMapKeyIndex.NOT_FOUND);
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import com.facebook.react.config.ReactFeatureFlags;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.core.classloader.annotations.SuppressStaticInitializationFor;
+import org.powermock.modules.junit4.rule.PowerMockRule;
+import org.robolectric.RobolectricTestRunner;
+
+/** Tests for the indexed accessors of {@link ReadableNativeMap} */
+@PrepareForTest({ReadableNativeMap.class})
+@SuppressStaticInitializationFor({
+  "com.facebook.react.bridge.NativeMap",
+  "com.facebook.react.bridge.ReadableNativeMap"
+})
+@RunWith(RobolectricTestRunner.class)
+@PowerMockIgnore({"org.mockito.*", "org.robolectric.*", "androidx.*", "android.*"})
+public class ReadableNativeMapTest {
+
+  @Rule public PowerMockRule rule = new PowerMockRule();
+
+  private boolean mUseIndexedNativeMapAccess;
+  private ReadableNativeMap mMap;
+
+  @Before
+  public void setUp() throws Exception {
+    mUseIndexedNativeMapAccess = ReactFeatureFlags.useIndexedNativeMapAccess;
+    ReactFeatureFlags.useIndexedNativeMapAccess = true;
+
+    // Stubs the JNI imports of a map {"opacity": 0.5, "hidden": true, "color": null}
+    mMap = PowerMockito.mock(ReadableNativeMap.class, Mockito.CALLS_REAL_METHODS);
+    PowerMockito.doReturn(new String[] {"opacity", "hidden", "color"}).when(mMap, "importKeys");
+    PowerMockito.doReturn(
+            new Object[] {ReadableType.Number, ReadableType.Boolean, ReadableType.Null})
+        .when(mMap, "importTypes");
+    PowerMockito.doReturn(new double[] {0.5, 1, 0}).when(mMap, "importNumbers");
+    PowerMockito.doReturn(new Object[] {0.5, true, null}).when(mMap, "importValues");
+  }
+
+  @After
+  public void tearDown() {
+    ReactFeatureFlags.useIndexedNativeMapAccess = mUseIndexedNativeMapAccess;
+  }
+
+  @Test
+  public void testGetTypeAsFirstAccess() {
+    assertThat(mMap.getType("hidden")).isEqualTo(ReadableType.Boolean);
+    assertThat(mMap.getType("opacity")).isEqualTo(ReadableType.Number);
+    assertThat(mMap.getType("color")).isEqualTo(ReadableType.Null);
+  }
+
+  @Test(expected = NoSuchKeyException.class)
+  public void testGetTypeOfMissingKeyAsFirstAccess() {
+    mMap.getType("width");
+  }
+
+  @Test
+  public void testIsNullAsFirstAccess() {
+    assertThat(mMap.isNull("color")).isTrue();
+    assertThat(mMap.isNull("opacity")).isFalse();
+  }
+
+  @Test
+  public void testGetNumbersAsFirstAccess() {
+    assertThat(mMap.getDouble("opacity")).isEqualTo(0.5);
+    assertThat(mMap.getBoolean("hidden")).isTrue();
+  }
+}
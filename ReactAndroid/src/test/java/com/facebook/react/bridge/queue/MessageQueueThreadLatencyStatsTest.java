@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge.queue;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import android.os.Looper;
+import android.os.Message;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Tests for {@link MessageQueueThreadLatencyStats} */
+@RunWith(RobolectricTestRunner.class)
+public class MessageQueueThreadLatencyStatsTest {
+
+  @Test
+  public void testBucketing() {
+    MessageQueueThreadLatencyStats stats = new MessageQueueThreadLatencyStats("test");
+    stats.recordQueueWait(3);
+    // 2ms of wall time and 1.5ms of CPU time.
+    stats.recordSampledExecution(2000000, 1500000);
+    // Unknown CPU time.
+    stats.recordSampledExecution(100000, -1);
+
+    assertThat(stats.getQueueWaitHistogram().getCount()).isEqualTo(1);
+    assertThat(stats.getQueueWaitHistogram().getBucketValueCount(2)).isEqualTo(1);
+    assertThat(stats.getWallTimeHistogram().getCount()).isEqualTo(2);
+    assertThat(stats.getWallTimeHistogram().getMax()).isEqualTo(2000);
+    // 2000us falls into [1024, 2048), 100us into [64, 128).
+    assertThat(stats.getWallTimeHistogram().getBucketValueCount(11)).isEqualTo(1);
+    assertThat(stats.getWallTimeHistogram().getBucketValueCount(7)).isEqualTo(1);
+    assertThat(stats.getCpuTimeHistogram().getCount()).isEqualTo(1);
+    assertThat(stats.getCpuTimeHistogram().getMax()).isEqualTo(1500);
+    assertThat(stats.getLongTaskCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void testLongTasks() {
+    MessageQueueThreadLatencyStats stats = new MessageQueueThreadLatencyStats("test");
+    stats.recordExecution(17000000);
+    stats.recordExecution(16000000);
+    assertThat(stats.getTaskCount()).isEqualTo(2);
+    assertThat(stats.getLongTaskCount()).isEqualTo(1);
+
+    stats.setLongTaskThresholdMs(5);
+    stats.recordExecution(6000000);
+    assertThat(stats.getLongTaskCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void testReset() {
+    MessageQueueThreadLatencyStats stats = new MessageQueueThreadLatencyStats("test");
+    stats.recordQueueWait(5);
+    stats.recordExecution(20000000);
+    stats.recordSampledExecution(20000000, 10000000);
+    stats.reset();
+
+    assertThat(stats.getTaskCount()).isEqualTo(0);
+    assertThat(stats.getLongTaskCount()).isEqualTo(0);
+    assertThat(stats.getQueueWaitHistogram().getCount()).isEqualTo(0);
+    assertThat(stats.getWallTimeHistogram().getMax()).isEqualTo(0);
+    assertThat(stats.getCpuTimeHistogram().getCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void testHandlerSamplesMessages() {
+    MessageQueueThreadLatencyStats stats = new MessageQueueThreadLatencyStats("test");
+    MessageQueueThreadHandler handler =
+        new MessageQueueThreadHandler(
+            Looper.getMainLooper(), mock(QueueThreadExceptionHandler.class), stats);
+
+    int messageCount = 2 * MessageQueueThreadLatencyStats.DEFAULT_SAMPLING_INTERVAL;
+    for (int i = 0; i < messageCount; i++) {
+      handler.dispatchMessage(Message.obtain());
+    }
+    // Every message is counted, but only a sample of them is recorded in the histograms.
+    assertThat(stats.getTaskCount()).isEqualTo(messageCount);
+    assertThat(stats.getWallTimeHistogram().getCount()).isEqualTo(2);
+    assertThat(stats.getQueueWaitHistogram().getCount()).isEqualTo(2);
+
+    stats.setSamplingInterval(1);
+    // The next message was already due to be sampled with the previous interval.
+    handler.dispatchMessage(Message.obtain());
+    handler.dispatchMessage(Message.obtain());
+    handler.dispatchMessage(Message.obtain());
+    assertThat(stats.getTaskCount()).isEqualTo(messageCount + 3);
+    assertThat(stats.getWallTimeHistogram().getCount()).isEqualTo(5);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSamplingInterval() {
+    new MessageQueueThreadLatencyStats("test").setSamplingInterval(0);
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.common;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Tests for {@link IntObjectMap} */
+@RunWith(RobolectricTestRunner.class)
+public class IntObjectMapTest {
+
+  @Test
+  public void testPutGetRemove() {
+    IntObjectMap<String> map = new IntObjectMap<>();
+    assertThat(map.put(1, "one")).isNull();
+    assertThat(map.put(11, "eleven")).isNull();
+    assertThat(map.put(1, "uno")).isEqualTo("one");
+
+    assertThat(map.size()).isEqualTo(2);
+    assertThat(map.get(1)).isEqualTo("uno");
+    assertThat(map.get(11)).isEqualTo("eleven");
+    assertThat(map.get(2)).isNull();
+
+    assertThat(map.remove(1)).isEqualTo("uno");
+    assertThat(map.remove(1)).isNull();
+    assertThat(map.containsKey(1)).isFalse();
+    assertThat(map.get(11)).isEqualTo("eleven");
+    assertThat(map.size()).isEqualTo(1);
+
+    map.clear();
+    assertThat(map.isEmpty()).isTrue();
+    assertThat(map.get(11)).isNull();
+  }
+
+  @Test
+  public void testGrowsPastInitialCapacity() {
+    IntObjectMap<Integer> map = new IntObjectMap<>(1);
+    for (int tag = 0; tag < 10000; tag++) {
+      map.put(tag, tag);
+    }
+    assertThat(map.size()).isEqualTo(10000);
+    for (int tag = 0; tag < 10000; tag++) {
+      assertThat(map.get(tag)).isEqualTo(tag);
+    }
+  }
+
+  @Test
+  public void testMatchesHashMap() {
+    Random random = new Random(0);
+    IntObjectMap<Integer> map = new IntObjectMap<>();
+    Map<Integer, Integer> expected = new HashMap<>();
+    for (int i = 0; i < 20000; i++) {
+      int key = random.nextInt(300) - 50;
+      switch (random.nextInt(3)) {
+        case 0:
+          assertThat(map.put(key, i)).isEqualTo(expected.put(key, i));
+          break;
+        case 1:
+          assertThat(map.remove(key)).isEqualTo(expected.remove(key));
+          break;
+        default:
+          assertThat(map.get(key)).isEqualTo(expected.get(key));
+      }
+      assertThat(map.size()).isEqualTo(expected.size());
+    }
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.common;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Tests for {@link LatencyHistogram} */
+@RunWith(RobolectricTestRunner.class)
+public class LatencyHistogramTest {
+
+  @Test
+  public void testBuckets() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(0);
+    histogram.record(1);
+    histogram.record(2);
+    histogram.record(3);
+    histogram.record(5);
+    histogram.record(100);
+
+    assertThat(histogram.getBucketValueCount(0)).isEqualTo(1);
+    assertThat(histogram.getBucketValueCount(1)).isEqualTo(1);
+    assertThat(histogram.getBucketValueCount(2)).isEqualTo(2);
+    assertThat(histogram.getBucketValueCount(3)).isEqualTo(1);
+    assertThat(histogram.getBucketValueCount(7)).isEqualTo(1);
+    assertThat(LatencyHistogram.getBucketUpperBound(0)).isEqualTo(0);
+    assertThat(LatencyHistogram.getBucketUpperBound(2)).isEqualTo(3);
+    assertThat(LatencyHistogram.getBucketUpperBound(7)).isEqualTo(127);
+
+    assertThat(histogram.getCount()).isEqualTo(6);
+    assertThat(histogram.getMax()).isEqualTo(100);
+    assertThat(histogram.getMean()).isEqualTo(18.5);
+  }
+
+  @Test
+  public void testOutOfRangeValues() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(-5);
+    histogram.record(Long.MAX_VALUE);
+
+    assertThat(histogram.getBucketValueCount(0)).isEqualTo(1);
+    assertThat(histogram.getBucketValueCount(histogram.getBucketCount() - 1)).isEqualTo(1);
+    assertThat(histogram.getMax()).isEqualTo(Long.MAX_VALUE);
+  }
+
+  @Test
+  public void testPercentiles() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    assertThat(histogram.getPercentile(50)).isEqualTo(0);
+
+    histogram.record(0);
+    histogram.record(1);
+    histogram.record(2);
+    histogram.record(3);
+    histogram.record(5);
+    histogram.record(100);
+
+    assertThat(histogram.getPercentile(0)).isEqualTo(0);
+    // Percentiles are the upper bound of their bucket, but never above the largest value.
+    assertThat(histogram.getPercentile(50)).isEqualTo(3);
+    assertThat(histogram.getPercentile(75)).isEqualTo(7);
+    assertThat(histogram.getPercentile(100)).isEqualTo(100);
+  }
+
+  @Test
+  public void testReset() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(10);
+    histogram.record(20);
+    histogram.reset();
+
+    assertThat(histogram.getCount()).isEqualTo(0);
+    assertThat(histogram.getMax()).isEqualTo(0);
+    assertThat(histogram.getMean()).isEqualTo(0);
+    assertThat(histogram.getPercentile(99)).isEqualTo(0);
+    for (int i = 0; i < histogram.getBucketCount(); i++) {
+      assertThat(histogram.getBucketValueCount(i)).isEqualTo(0);
+    }
+
+    histogram.record(4);
+    assertThat(histogram.getCount()).isEqualTo(1);
+    assertThat(histogram.getMax()).isEqualTo(4);
+  }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.fabric;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.view.View;
+import android.widget.FrameLayout;
+import com.facebook.react.ReactRootView;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableNativeMap;
+import com.facebook.react.config.ReactFeatureFlags;
+import com.facebook.react.fabric.events.EventBeatManager;
+import com.facebook.react.fabric.mounting.mountitems.AddRootViewMountItem;
+import com.facebook.react.fabric.mounting.mountitems.IntBufferBatchMountItem;
+import com.facebook.react.fabric.mounting.mountitems.MountItem;
+import com.facebook.react.fabric.mounting.mountitems.PreAllocateViewMountItem;
+import com.facebook.react.uimanager.ViewManagerRegistry;
+import com.facebook.react.uimanager.events.EventDispatcher;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.core.classloader.annotations.SuppressStaticInitializationFor;
+import org.powermock.modules.junit4.rule.PowerMockRule;
+import org.powermock.reflect.Whitebox;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+/** Tests for {@link FabricUIManager} */
+@PrepareForTest({Binding.class, FabricUIManager.class, WritableNativeMap.class})
+@SuppressStaticInitializationFor({
+  "com.facebook.react.bridge.NativeMap",
+  "com.facebook.react.bridge.WritableNativeMap",
+  "com.facebook.react.fabric.Binding",
+  "com.facebook.react.fabric.FabricUIManager"
+})
+@RunWith(RobolectricTestRunner.class)
+@PowerMockIgnore({"org.mockito.*", "org.robolectric.*", "androidx.*", "android.*"})
+public class FabricUIManagerTest {
+
+  private static final int ROOT_TAG = 1;
+
+  @Rule public PowerMockRule rule = new PowerMockRule();
+
+  private boolean mEnableFabricPreallocationLanes;
+  private FabricUIManager mUIManager;
+
+  @Before
+  public void setUp() {
+    mEnableFabricPreallocationLanes = ReactFeatureFlags.enableFabricPreallocationLanes;
+    ReactFeatureFlags.enableFabricPreallocationLanes = true;
+
+    ReactApplicationContext reactContext =
+        new ReactApplicationContext(RuntimeEnvironment.application);
+    mUIManager =
+        new FabricUIManager(
+            reactContext,
+            mock(ViewManagerRegistry.class),
+            mock(EventDispatcher.class),
+            mock(EventBeatManager.class));
+  }
+
+  @After
+  public void tearDown() {
+    ReactFeatureFlags.enableFabricPreallocationLanes = mEnableFabricPreallocationLanes;
+  }
+
+  @Test
+  public void testDeleteCancelsSpeculativePreallocation() throws Exception {
+    preallocateView(2);
+    preallocateView(3);
+
+    Whitebox.invokeMethod(mUIManager, "deleteMountItem", 2);
+
+    assertThat(getPendingPreallocationTags()).containsExactly(3);
+    assertThat(mUIManager.getPerformanceCounters().get("CancelledPreallocationCount"))
+        .isEqualTo(1L);
+  }
+
+  @Test
+  public void testRemoveDeleteCancelsSpeculativePreallocations() throws Exception {
+    preallocateView(2);
+    preallocateView(3);
+    preallocateView(4);
+
+    // Removes and deletes 2, only removes 3.
+    Whitebox.invokeMethod(
+        mUIManager, "removeDeleteMultiMountItem", (Object) new int[] {2, 1, 0, 3, 3, 1, 1, 1});
+
+    assertThat(getPendingPreallocationTags()).containsExactly(3, 4);
+  }
+
+  @Test
+  public void testDeleteKeepsPreallocationsOfScheduledCommits() throws Exception {
+    preallocateView(2);
+    // Scheduling a commit moves the speculative preallocations to the imminent lane. The commit
+    // may insert the view before the one being built deletes it.
+    Whitebox.<Collection<MountItem>>getInternalState(mUIManager, "mPreMountItems")
+        .addAll(
+            Whitebox.<Collection<MountItem>>getInternalState(
+                mUIManager, "mSpeculativePreMountItems"));
+    Whitebox.<Collection<MountItem>>getInternalState(mUIManager, "mSpeculativePreMountItems")
+        .clear();
+
+    Whitebox.invokeMethod(mUIManager, "deleteMountItem", 2);
+
+    assertThat(getPendingPreallocationTags()).containsExactly(2);
+  }
+
+  @Test
+  public void testDeleteKeepsPreallocationsWithoutLanes() throws Exception {
+    ReactFeatureFlags.enableFabricPreallocationLanes = false;
+    preallocateView(2);
+
+    Whitebox.invokeMethod(mUIManager, "deleteMountItem", 2);
+
+    assertThat(getPendingPreallocationTags()).containsExactly(2);
+  }
+
+  @Test
+  public void testIntBufferBatchDeleteCancelsPreallocations() throws Exception {
+    preallocateView(2);
+    preallocateView(3);
+
+    int[] buffer = IntBufferBatchMountItem.obtainBuffer(6);
+    buffer[0] = IntBufferBatchMountItem.INSTRUCTION_REMOVE;
+    buffer[1] = 3;
+    buffer[2] = ROOT_TAG;
+    buffer[3] = 0;
+    buffer[4] = IntBufferBatchMountItem.INSTRUCTION_DELETE;
+    buffer[5] = 3;
+    Whitebox.invokeMethod(
+        mUIManager, "createIntBufferBatchMountItem", buffer, 6, new MountItem[0], 0, 0);
+
+    assertThat(getPendingPreallocationTags()).containsExactly(2);
+  }
+
+  @Test
+  public void testStartSurfaceOutsideOfUiThreadAddsRootViewOnUiThread() throws Exception {
+    Whitebox.setInternalState(mUIManager, "mBinding", PowerMockito.mock(Binding.class));
+    final View rootView = new FrameLayout(RuntimeEnvironment.application);
+    final int[] rootTag = new int[1];
+    Thread thread =
+        new Thread(
+            new Runnable() {
+              @Override
+              public void run() {
+                rootTag[0] =
+                    mUIManager.startSurface(
+                        rootView,
+                        "App",
+                        PowerMockito.mock(WritableNativeMap.class),
+                        View.MeasureSpec.makeMeasureSpec(100, View.MeasureSpec.EXACTLY),
+                        View.MeasureSpec.makeMeasureSpec(100, View.MeasureSpec.EXACTLY));
+              }
+            });
+    thread.start();
+    thread.join();
+
+    assertThat(rootView.getId()).isEqualTo(View.NO_ID);
+    assertThat(Whitebox.<Collection<MountItem>>getInternalState(mUIManager, "mMountItems"))
+        .hasSize(1);
+    assertThat(
+            Whitebox.<Collection<MountItem>>getInternalState(mUIManager, "mMountItems")
+                .iterator()
+                .next())
+        .isInstanceOf(AddRootViewMountItem.class);
+
+    Whitebox.invokeMethod(mUIManager, "dispatchMountItems");
+    assertThat(rootView.getId()).isEqualTo(rootTag[0]);
+  }
+
+  @Test
+  public void testAddRootViewOutsideOfUiThreadAddsRootViewOnUiThread() throws Exception {
+    Whitebox.setInternalState(mUIManager, "mBinding", PowerMockito.mock(Binding.class));
+    final ReactRootView rootView = mock(ReactRootView.class);
+    when(rootView.getId()).thenReturn(View.NO_ID);
+    when(rootView.getContext()).thenReturn(RuntimeEnvironment.application);
+    when(rootView.getJSModuleName()).thenReturn("App");
+    when(rootView.getSurfaceID()).thenReturn("App");
+    final int[] rootTag = new int[1];
+    Thread thread =
+        new Thread(
+            new Runnable() {
+              @Override
+              public void run() {
+                rootTag[0] =
+                    mUIManager.addRootView(
+                        rootView, PowerMockito.mock(WritableNativeMap.class), null);
+              }
+            });
+    thread.start();
+    thread.join();
+
+    verify(rootView, never()).setId(anyInt());
+    assertThat(
+            Whitebox.<Collection<MountItem>>getInternalState(mUIManager, "mMountItems")
+                .iterator()
+                .next())
+        .isInstanceOf(AddRootViewMountItem.class);
+
+    Whitebox.invokeMethod(mUIManager, "dispatchMountItems");
+    verify(rootView).setId(rootTag[0]);
+  }
+
+  private void preallocateView(int reactTag) throws Exception {
+    Whitebox.invokeMethod(
+        mUIManager,
+        "preallocateView",
+        new Class<?>[] {
+          int.class, int.class, String.class, ReadableMap.class, Object.class, boolean.class
+        },
+        ROOT_TAG,
+        reactTag,
+        "View",
+        null,
+        null,
+        true);
+  }
+
+  private List<Integer> getPendingPreallocationTags() {
+    List<Integer> tags = new ArrayList<>();
+    addPreallocationTags(
+        tags, Whitebox.<Collection<MountItem>>getInternalState(mUIManager, "mPreMountItems"));
+    addPreallocationTags(
+        tags,
+        Whitebox.<Collection<MountItem>>getInternalState(mUIManager, "mSpeculativePreMountItems"));
+    return tags;
+  }
+
+  private static void addPreallocationTags(List<Integer> tags, Collection<MountItem> mountItems) {
+    for (MountItem mountItem : mountItems) {
+      tags.add(((PreAllocateViewMountItem) mountItem).getReactTag());
+    }
+  }
+}
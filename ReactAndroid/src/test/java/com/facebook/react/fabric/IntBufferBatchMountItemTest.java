@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.fabric;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+
+import com.facebook.react.fabric.mounting.MountingManager;
+import com.facebook.react.fabric.mounting.mountitems.IntBufferBatchMountItem;
+import com.facebook.react.fabric.mounting.mountitems.MountItem;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.robolectric.RobolectricTestRunner;
+
+/** Tests for the decoding of {@link IntBufferBatchMountItem} */
+@RunWith(RobolectricTestRunner.class)
+public class IntBufferBatchMountItemTest {
+
+  @Test
+  public void testExecutesInstructionsInOrder() {
+    MountingManager mountingManager = mock(MountingManager.class);
+    MountItem mountItem = mock(MountItem.class);
+    int[] instructions =
+        new int[] {
+          IntBufferBatchMountItem.INSTRUCTION_INSERT, 3, 1, 0,
+          IntBufferBatchMountItem.INSTRUCTION_MOUNT_ITEM,
+          IntBufferBatchMountItem.INSTRUCTION_UPDATE_LAYOUT, 3, 10, 20, 30, 40,
+          IntBufferBatchMountItem.INSTRUCTION_UPDATE_PADDING, 3, 1, 2, 3, 4,
+          IntBufferBatchMountItem.INSTRUCTION_REMOVE, 5, 1, 2,
+          IntBufferBatchMountItem.INSTRUCTION_DELETE, 5,
+        };
+    int[] buffer = IntBufferBatchMountItem.obtainBuffer(instructions.length);
+    System.arraycopy(instructions, 0, buffer, 0, instructions.length);
+
+    new IntBufferBatchMountItem(buffer, instructions.length, new MountItem[] {mountItem}, 1, 0)
+        .execute(mountingManager);
+
+    InOrder inOrder = inOrder(mountingManager, mountItem);
+    inOrder.verify(mountingManager).addViewAt(1, 3, 0);
+    inOrder.verify(mountItem).execute(mountingManager);
+    inOrder.verify(mountingManager).updateLayout(3, 10, 20, 30, 40);
+    inOrder.verify(mountingManager).updatePadding(3, 1, 2, 3, 4);
+    inOrder.verify(mountingManager).removeViewAt(1, 2);
+    inOrder.verify(mountingManager).deleteView(5);
+    inOrder.verifyNoMoreInteractions();
+  }
+
+  @Test
+  public void testGetDeletedTags() {
+    int[] instructions =
+        new int[] {
+          IntBufferBatchMountItem.INSTRUCTION_DELETE, 4,
+          IntBufferBatchMountItem.INSTRUCTION_MOUNT_ITEM,
+          IntBufferBatchMountItem.INSTRUCTION_REMOVE, 5, 1, 2,
+          IntBufferBatchMountItem.INSTRUCTION_UPDATE_LAYOUT, 3, 10, 20, 30, 40,
+          IntBufferBatchMountItem.INSTRUCTION_DELETE, 5,
+        };
+    int[] buffer = IntBufferBatchMountItem.obtainBuffer(instructions.length);
+    System.arraycopy(instructions, 0, buffer, 0, instructions.length);
+    IntBufferBatchMountItem batch =
+        new IntBufferBatchMountItem(
+            buffer, instructions.length, new MountItem[] {mock(MountItem.class)}, 1, 0);
+
+    assertThat(batch.getDeletedTags()).containsOnly(4, 5);
+
+    batch.execute(mock(MountingManager.class));
+    assertThat(batch.getDeletedTags()).isEmpty();
+  }
+
+  @Test
+  public void testReusesExecutedBuffer() {
+    int[] buffer = IntBufferBatchMountItem.obtainBuffer(1);
+    buffer[0] = IntBufferBatchMountItem.INSTRUCTION_DELETE;
+    buffer[1] = 7;
+    new IntBufferBatchMountItem(buffer, 2, new MountItem[0], 0, 0)
+        .execute(mock(MountingManager.class));
+
+    assertThat(IntBufferBatchMountItem.obtainBuffer(2)).isSameAs(buffer);
+  }
+}
@@ -10,6 +10,7 @@ package com.facebook.react.modules.blob;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import android.net.Uri;
 import com.facebook.react.bridge.Arguments;
@@ -21,6 +22,7 @@ import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.Random;
 import java.util.UUID;
+import okio.Buffer;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
@@ -145,6 +147,50 @@ public class BlobModuleTest {
     assertArrayEquals(result, buffer.array());
   }
 
+  @Test
+  public void testCreateFromPartsSlices() {
+    String firstId = UUID.randomUUID().toString();
+    JavaOnlyArray firstParts = new JavaOnlyArray();
+    firstParts.pushMap(createBlobPart(mBlobId, 10, 50));
+    firstParts.pushMap(createBlobPart(mBlobId, 100, 20));
+    mBlobModule.createFromParts(firstParts, firstId);
+
+    // Composite of a composite, spanning both of its parts.
+    String secondId = UUID.randomUUID().toString();
+    JavaOnlyArray secondParts = new JavaOnlyArray();
+    secondParts.pushMap(createBlobPart(firstId, 40, 20));
+    mBlobModule.createFromParts(secondParts, secondId);
+
+    ByteBuffer expected = ByteBuffer.allocate(20);
+    expected.put(mBytes, 50, 10);
+    expected.put(mBytes, 100, 10);
+    assertArrayEquals(expected.array(), mBlobModule.resolve(secondId, 0, 20));
+    assertArrayEquals(Arrays.copyOfRange(mBytes, 55, 60), mBlobModule.resolve(secondId, 5, 5));
+
+    // Parts stay valid once the blobs they come from are released.
+    mBlobModule.release(firstId);
+    mBlobModule.release(mBlobId);
+    assertArrayEquals(expected.array(), mBlobModule.resolve(secondId, 0, 20));
+  }
+
+  @Test
+  public void testReadLargeBlobIsFileBacked() throws Exception {
+    BlobModule blobModule = new BlobModule(ReactTestHelper.createCatalystContextForTest(), 64);
+
+    BlobData small = blobModule.read(new Buffer().write(Arrays.copyOf(mBytes, 64)));
+    assertTrue(small instanceof BlobData.Bytes);
+
+    BlobData large = blobModule.read(new Buffer().write(mBytes));
+    assertTrue(large instanceof BlobData.Mapped);
+    String blobId = blobModule.store(large);
+    assertArrayEquals(mBytes, blobModule.resolve(blobId, 0, mBytes.length));
+    assertArrayEquals(Arrays.copyOfRange(mBytes, 70, 90), blobModule.resolve(blobId, 70, 20));
+
+    Buffer sink = new Buffer();
+    large.writeTo(sink, 30, 40);
+    assertArrayEquals(Arrays.copyOfRange(mBytes, 30, 70), sink.readByteArray());
+  }
+
   @Test
   public void testRelease() {
     assertNotNull(mBlobModule.resolve(mBlobId, 0, mBytes.length));
@@ -153,4 +199,15 @@ public class BlobModuleTest {
 
     assertNull(mBlobModule.resolve(mBlobId, 0, mBytes.length));
   }
+
+  private static JavaOnlyMap createBlobPart(String blobId, int offset, int size) {
+    JavaOnlyMap blobData = new JavaOnlyMap();
+    blobData.putString("blobId", blobId);
+    blobData.putInt("offset", offset);
+    blobData.putInt("size", size);
+    JavaOnlyMap part = new JavaOnlyMap();
+    part.putMap("data", blobData);
+    part.putString("type", "blob");
+    return part;
+  }
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.fresco;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import com.facebook.react.common.MapBuilder;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class DecodeSizeRequestListenerTest {
+
+  private DecodeSizeRequestListener mListener;
+
+  @Before
+  public void setUp() {
+    DecodeSizeRequestListener.resetCounters();
+    mListener = new DecodeSizeRequestListener();
+  }
+
+  @Test
+  public void testCountsBytesSavedByDownsampling() {
+    mListener.onProducerFinishWithSuccess(
+        "1",
+        "DecodeProducer",
+        MapBuilder.of("encodedImageSize", "400x300", "bitmapSize", "200x150", "isFinal", "true"));
+
+    assertThat(DecodeSizeRequestListener.getResizedImageCount()).isEqualTo(1);
+    assertThat(DecodeSizeRequestListener.getBytesSaved()).isEqualTo((400 * 300 - 200 * 150) * 4L);
+  }
+
+  @Test
+  public void testCountsBytesSavedByTranscoding() {
+    mListener.onProducerFinishWithSuccess(
+        "1", "ResizeAndRotateProducer", MapBuilder.of("Original size", "400x300"));
+    mListener.onProducerFinishWithSuccess(
+        "1",
+        "DecodeProducer",
+        MapBuilder.of("encodedImageSize", "200x150", "bitmapSize", "200x150", "isFinal", "true"));
+
+    assertThat(DecodeSizeRequestListener.getResizedImageCount()).isEqualTo(1);
+    assertThat(DecodeSizeRequestListener.getBytesSaved()).isEqualTo((400 * 300 - 200 * 150) * 4L);
+  }
+
+  @Test
+  public void testIgnoresImagesDecodedAtTheirOriginalSize() {
+    mListener.onProducerFinishWithSuccess(
+        "1",
+        "DecodeProducer",
+        MapBuilder.of("encodedImageSize", "400x300", "bitmapSize", "400x300", "isFinal", "true"));
+
+    assertThat(DecodeSizeRequestListener.getResizedImageCount()).isEqualTo(0);
+    assertThat(DecodeSizeRequestListener.getBytesSaved()).isEqualTo(0);
+  }
+
+  @Test
+  public void testIgnoresIntermediateResults() {
+    mListener.onProducerFinishWithSuccess(
+        "1",
+        "DecodeProducer",
+        MapBuilder.of("encodedImageSize", "400x300", "bitmapSize", "200x150", "isFinal", "false"));
+
+    assertThat(DecodeSizeRequestListener.getResizedImageCount()).isEqualTo(0);
+  }
+}
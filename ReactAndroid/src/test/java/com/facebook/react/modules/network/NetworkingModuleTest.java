@@ -11,6 +11,7 @@ import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -34,9 +35,14 @@ import okhttp3.Headers;
 import okhttp3.MediaType;
 import okhttp3.MultipartBody;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import okhttp3.Request;
 import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
 import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Okio;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -644,4 +650,89 @@ public class NetworkingModuleTest {
       assertThat(requestIdArguments.getAllValues().contains(idx + 1)).isTrue();
     }
   }
+
+  @Test
+  public void testCoalescesIdenticalGetRequests() throws Exception {
+    NetworkingModule.setRequestCoalescingEnabled(true);
+    try {
+      for (int requestId = 1; requestId <= 3; requestId++) {
+        mNetworkingModule.sendRequest(
+            "GET",
+            "http://somedomain/foo",
+            requestId,
+            /* headers */ JavaOnlyArray.of(),
+            /* body */ null,
+            /* responseType */ "text",
+            /* useIncrementalUpdates*/ false,
+            /* timeout */ 0,
+            /* withCredentials */ false);
+      }
+      mNetworkingModule.sendRequest(
+          "GET",
+          "http://somedomain/bar",
+          /* requestId */ 4,
+          /* headers */ JavaOnlyArray.of(),
+          /* body */ null,
+          /* responseType */ "text",
+          /* useIncrementalUpdates*/ false,
+          /* timeout */ 0,
+          /* withCredentials */ false);
+    } finally {
+      NetworkingModule.setRequestCoalescingEnabled(false);
+    }
+
+    ArgumentCaptor<Request> argumentCaptor = ArgumentCaptor.forClass(Request.class);
+    verify(mHttpClient, times(2)).newCall(argumentCaptor.capture());
+    assertThat(argumentCaptor.getAllValues().get(0).url().toString())
+        .isEqualTo("http://somedomain/foo");
+    assertThat(argumentCaptor.getAllValues().get(1).url().toString())
+        .isEqualTo("http://somedomain/bar");
+  }
+
+  @Test
+  public void testReadResponseStreamAbortedWhileReading() throws Exception {
+    mockEvents();
+    PowerMockito.mockStatic(OkHttpCallUtil.class);
+    Call call = mock(Call.class);
+    when(mHttpClient.newCall(any(Request.class))).thenReturn(call);
+
+    mNetworkingModule.sendRequest(
+        "GET",
+        "http://somedomain/foo",
+        /* requestId */ 1,
+        /* headers */ JavaOnlyArray.of(),
+        /* body */ null,
+        /* responseType */ "stream",
+        /* useIncrementalUpdates*/ false,
+        /* timeout */ 0,
+        /* withCredentials */ false);
+
+    // JS aborts the request while the chunk is being read, which closes the stream.
+    ForwardingSource source =
+        new ForwardingSource(new Buffer()) {
+          @Override
+          public long read(Buffer sink, long byteCount) {
+            mNetworkingModule.abortRequest(1);
+            return -1;
+          }
+        };
+    ArgumentCaptor<okhttp3.Callback> callbackCaptor =
+        ArgumentCaptor.forClass(okhttp3.Callback.class);
+    verify(call).enqueue(callbackCaptor.capture());
+    callbackCaptor
+        .getValue()
+        .onResponse(
+            call,
+            new Response.Builder()
+                .request(new Request.Builder().url("http://somedomain/foo").build())
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .body(ResponseBody.create(null, -1, Okio.buffer(source)))
+                .build());
+
+    mNetworkingModule.readResponseStream(1, 0);
+
+    verify(mEmitter, never()).emit(eq("didCompleteNetworkResponse"), any(WritableArray.class));
+  }
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.network;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Tests for {@link ResponseStream} */
+@RunWith(RobolectricTestRunner.class)
+public class ResponseStreamTest {
+
+  @Test
+  public void testReadsInChunks() throws Exception {
+    ResponseStream stream = createStream("0123456789");
+
+    assertThat(stream.getContentLength()).isEqualTo(10);
+    assertThat(stream.readChunk(4)).isEqualTo("0123");
+    assertThat(stream.getTotalBytesRead()).isEqualTo(4);
+    assertThat(stream.readChunk(4)).isEqualTo("4567");
+    assertThat(stream.readChunk(4)).isEqualTo("89");
+    assertThat(stream.getTotalBytesRead()).isEqualTo(10);
+    assertThat(stream.readChunk(4)).isNull();
+    assertThat(stream.readChunk(4)).isNull();
+  }
+
+  @Test
+  public void testMultiByteCharacterAcrossChunks() throws Exception {
+    // The heart takes 3 bytes in UTF-8.
+    ResponseStream stream = createStream("a♥b");
+
+    StringBuilder result = new StringBuilder();
+    String chunk;
+    while ((chunk = stream.readChunk(2)) != null) {
+      result.append(chunk);
+    }
+    assertThat(result.toString()).isEqualTo("a♥b");
+  }
+
+  @Test
+  public void testClose() throws Exception {
+    ResponseStream stream = createStream("0123456789");
+    stream.close();
+    assertThat(stream.readChunk(4)).isNull();
+  }
+
+  private static ResponseStream createStream(String content) {
+    Buffer buffer = new Buffer().writeUtf8(content);
+    return new ResponseStream(
+        ResponseBody.create(MediaType.parse("text/plain; charset=utf-8"), buffer.size(), buffer));
+  }
+}
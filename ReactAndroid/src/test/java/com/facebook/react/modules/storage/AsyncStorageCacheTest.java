@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.storage;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Tests for {@link AsyncStorageCache}. */
+@RunWith(RobolectricTestRunner.class)
+public class AsyncStorageCacheTest {
+
+  @Test
+  public void testEvictsLeastRecentlyUsed() {
+    // Each entry takes 2 * (2 + 2) = 8 bytes.
+    AsyncStorageCache cache = new AsyncStorageCache(16);
+    cache.put("k1", "v1");
+    cache.put("k2", "v2");
+    assertThat(cache.get("k1")).isEqualTo("v1");
+    cache.put("k3", "v3");
+
+    assertThat(cache.get("k1")).isEqualTo("v1");
+    assertThat(cache.get("k2")).isNull();
+    assertThat(cache.get("k3")).isEqualTo("v3");
+    assertThat(cache.size()).isEqualTo(16);
+  }
+
+  @Test
+  public void testPutIfUnchangedIgnoresStaleReads() {
+    AsyncStorageCache cache = new AsyncStorageCache(1024);
+    long generation = cache.getGeneration();
+    cache.put("k1", "new");
+    cache.putIfUnchanged("k1", "old", generation);
+    assertThat(cache.get("k1")).isEqualTo("new");
+
+    generation = cache.getGeneration();
+    cache.putIfUnchanged("k2", "v2", generation);
+    assertThat(cache.get("k2")).isEqualTo("v2");
+
+    generation = cache.getGeneration();
+    cache.remove("k2");
+    cache.putIfUnchanged("k2", "v2", generation);
+    assertThat(cache.get("k2")).isNull();
+  }
+
+  @Test
+  public void testTrimToSize() {
+    AsyncStorageCache cache = new AsyncStorageCache(1024);
+    cache.put("k1", "v1");
+    cache.put("k2", "v2");
+    cache.trimToSize(8);
+    assertThat(cache.get("k1")).isNull();
+    assertThat(cache.get("k2")).isEqualTo("v2");
+
+    cache.clear();
+    assertThat(cache.size()).isEqualTo(0);
+  }
+}
@@ -314,6 +314,151 @@ public class AsyncStorageModuleTest {
     return new JSONArray(Arrays.asList(objects));
   }
 
+  @Test
+  public void testConcurrentModeMultiSetMultiGet() {
+    AsyncStorageModule storage = createConcurrentStorage();
+    JavaOnlyArray keyValues = new JavaOnlyArray();
+    keyValues.pushArray(getArray("foo1", "bar1"));
+    keyValues.pushArray(getArray("foo2", "bar2"));
+
+    Callback setCallback = mock(Callback.class);
+    storage.multiSet(keyValues, setCallback);
+
+    // Reads queued after a write must observe it.
+    Callback getCallback = mock(Callback.class);
+    storage.multiGet(getArray("foo1", "foo2"), getCallback);
+    verify(setCallback, Mockito.times(1)).invoke();
+    verify(getCallback, Mockito.times(1)).invoke(null, keyValues);
+
+    Callback removeCallback = mock(Callback.class);
+    storage.multiRemove(getArray("foo1", "foo2"), removeCallback);
+    Callback getAllCallback = mock(Callback.class);
+    storage.getAllKeys(getAllCallback);
+    verify(removeCallback, Mockito.times(1)).invoke();
+    verify(getAllCallback, Mockito.times(1)).invoke(null, mEmptyArray);
+  }
+
+  @Test
+  public void testConcurrentModeFailedWriteDoesNotAffectOthers() {
+    AsyncStorageModule storage = createConcurrentStorage();
+    JavaOnlyArray invalidKeyValues = new JavaOnlyArray();
+    invalidKeyValues.pushArray(getArray("foo1", "bar1"));
+    invalidKeyValues.pushArray(getArray("foo2"));
+    JavaOnlyArray keyValues = new JavaOnlyArray();
+    keyValues.pushArray(getArray("foo3", "bar3"));
+
+    Callback invalidSetCallback = mock(Callback.class);
+    storage.multiSet(invalidKeyValues, invalidSetCallback);
+    Callback setCallback = mock(Callback.class);
+    storage.multiSet(keyValues, setCallback);
+    verify(invalidSetCallback, Mockito.times(1))
+        .invoke(AsyncStorageErrorUtil.getInvalidValueError(null));
+    verify(setCallback, Mockito.times(1)).invoke();
+
+    // The valid pair of the failed write must have been rolled back.
+    JavaOnlyArray allKeys = new JavaOnlyArray();
+    allKeys.pushString("foo3");
+    Callback getAllCallback = mock(Callback.class);
+    storage.getAllKeys(getAllCallback);
+    verify(getAllCallback, Mockito.times(1)).invoke(null, allKeys);
+  }
+
+  @Test
+  public void testConcurrentModeWriteFailingWhileAppliedDoesNotAffectOthers() {
+    AsyncStorageModule storage = createConcurrentStorage();
+    JavaOnlyArray initialKeyValues = new JavaOnlyArray();
+    initialKeyValues.pushArray(getArray("merged", "{\"a\":1}"));
+    initialKeyValues.pushArray(getArray("notJSON", "bar"));
+    storage.multiSet(initialKeyValues, mock(Callback.class));
+    waitForAsync();
+
+    // Merging into a value that isn't JSON only fails once the first pair has been merged.
+    JavaOnlyArray mergedKeyValues = new JavaOnlyArray();
+    mergedKeyValues.pushArray(getArray("merged", "{\"b\":2}"));
+    mergedKeyValues.pushArray(getArray("notJSON", "{\"c\":3}"));
+    JavaOnlyArray keyValues1 = new JavaOnlyArray();
+    keyValues1.pushArray(getArray("foo1", "bar1"));
+    JavaOnlyArray keyValues2 = new JavaOnlyArray();
+    keyValues2.pushArray(getArray("foo2", "bar2"));
+
+    Callback setCallback1 = mock(Callback.class);
+    storage.multiSet(keyValues1, setCallback1);
+    Callback mergeCallback = mock(Callback.class);
+    storage.multiMerge(mergedKeyValues, mergeCallback);
+    Callback setCallback2 = mock(Callback.class);
+    storage.multiSet(keyValues2, setCallback2);
+    waitForAsync();
+    verify(setCallback1, Mockito.times(1)).invoke();
+    verify(mergeCallback, Mockito.times(1)).invoke(Mockito.notNull());
+    verify(setCallback2, Mockito.times(1)).invoke();
+
+    // The pair merged before the failure must have been rolled back, the other writes committed.
+    JavaOnlyArray expectedKeyValues = new JavaOnlyArray();
+    expectedKeyValues.pushArray(getArray("merged", "{\"a\":1}"));
+    expectedKeyValues.pushArray(getArray("foo1", "bar1"));
+    expectedKeyValues.pushArray(getArray("foo2", "bar2"));
+    Callback getCallback = mock(Callback.class);
+    storage.multiGet(getArray("merged", "foo1", "foo2"), getCallback);
+    verify(getCallback, Mockito.times(1)).invoke(null, expectedKeyValues);
+  }
+
+  @Test
+  public void testConcurrentModeRecordsLatencies() {
+    AsyncStorageModule storage = createConcurrentStorage();
+    assertThat(mStorage.getLatencyHistogram(AsyncStorageModule.OPERATION_MULTI_SET)).isNull();
+
+    JavaOnlyArray keyValues = new JavaOnlyArray();
+    keyValues.pushArray(getArray("foo", "bar"));
+    storage.multiSet(keyValues, mock(Callback.class));
+    storage.multiSet(keyValues, mock(Callback.class));
+    storage.multiGet(getArray("foo"), mock(Callback.class));
+    waitForAsync();
+
+    assertThat(storage.getLatencyHistogram(AsyncStorageModule.OPERATION_MULTI_SET).getCount())
+        .isEqualTo(2);
+    assertThat(storage.getLatencyHistogram(AsyncStorageModule.OPERATION_MULTI_GET).getCount())
+        .isEqualTo(1);
+    assertThat(storage.getLatencyHistogram(AsyncStorageModule.OPERATION_CLEAR).getCount())
+        .isEqualTo(0);
+  }
+
+  @Test
+  public void testCachedMultiGet() {
+    AsyncStorageModule storage =
+        new AsyncStorageModule(
+            ReactTestHelper.createCatalystContextForTest(), new RoboExecutorService(), false, 1024);
+    JavaOnlyArray keyValues = new JavaOnlyArray();
+    keyValues.pushArray(getArray("foo1", "bar1"));
+    storage.multiSet(keyValues, mock(Callback.class));
+    waitForAsync();
+
+    Callback getCallback = mock(Callback.class);
+    storage.multiGet(getArray("foo1"), getCallback);
+    verify(getCallback, Mockito.times(1)).invoke(null, keyValues);
+
+    storage.multiRemove(getArray("foo1"), mock(Callback.class));
+    JavaOnlyArray removedKeyValues = new JavaOnlyArray();
+    removedKeyValues.pushArray(getArray("foo1", null));
+    Callback getCallback2 = mock(Callback.class);
+    storage.multiGet(getArray("foo1"), getCallback2);
+    verify(getCallback2, Mockito.times(1)).invoke(null, removedKeyValues);
+
+    JavaOnlyMap expectedStats = new JavaOnlyMap();
+    expectedStats.putInt("hits", 1);
+    expectedStats.putInt("misses", 1);
+    expectedStats.putInt("evictions", 0);
+    expectedStats.putInt("size", 0);
+    expectedStats.putInt("maxSize", 1024);
+    Callback statsCallback = mock(Callback.class);
+    storage.getCacheStats(statsCallback);
+    verify(statsCallback, Mockito.times(1)).invoke(expectedStats);
+  }
+
+  private static AsyncStorageModule createConcurrentStorage() {
+    return new AsyncStorageModule(
+        ReactTestHelper.createCatalystContextForTest(), new RoboExecutorService(), true, 0);
+  }
+
   private static JSONObject createJSONObject(Object... keysAndValues) {
     if (keysAndValues.length % 2 != 0) {
       throw new IllegalArgumentException("You must provide the same number of keys and values");
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import com.facebook.react.bridge.JavaOnlyArray;
+import com.facebook.react.bridge.JavaOnlyMap;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Tests for the positional accessors of {@link ReactStylesDiffMap} */
+@RunWith(RobolectricTestRunner.class)
+public class ReactStylesDiffMapTest {
+
+  @Test
+  public void testPositionalAccessors() {
+    ReactStylesDiffMap props =
+        new ReactStylesDiffMap(
+            JavaOnlyMap.of(
+                "opacity", 0.5,
+                "visible", true,
+                "testID", "root",
+                "transform", JavaOnlyArray.of(1.0),
+                "style", JavaOnlyMap.of("flex", 1.0),
+                "color", null));
+
+    assertThat(props.getEntryCount()).isEqualTo(6);
+    Map<String, Integer> entries = new HashMap<>();
+    for (int entry = 0; entry < props.getEntryCount(); entry++) {
+      entries.put(props.getEntryKey(entry), entry);
+    }
+
+    assertThat(props.getDoubleAt(entries.get("opacity"))).isEqualTo(0.5);
+    assertThat(props.getBooleanAt(entries.get("visible"))).isTrue();
+    assertThat(props.getStringAt(entries.get("testID"))).isEqualTo("root");
+    assertThat(props.getArrayAt(entries.get("transform")).getDouble(0)).isEqualTo(1.0);
+    assertThat(props.getMapAt(entries.get("style")).getDouble("flex")).isEqualTo(1.0);
+    assertThat(props.isNullAt(entries.get("color"))).isTrue();
+    assertThat(props.isNullAt(entries.get("opacity"))).isFalse();
+  }
+
+  @Test
+  public void testPropIdsAreSharedAcrossMaps() {
+    ReactStylesDiffMap first = new ReactStylesDiffMap(JavaOnlyMap.of("opacity", 1.0));
+    ReactStylesDiffMap second =
+        new ReactStylesDiffMap(JavaOnlyMap.of("testID", "root", "opacity", 0.0));
+
+    int secondOpacityEntry = second.getEntryKey(0).equals("opacity") ? 0 : 1;
+    assertThat(first.getPropIdAt(0)).isEqualTo(ReactPropIds.get("opacity"));
+    assertThat(second.getPropIdAt(secondOpacityEntry)).isEqualTo(first.getPropIdAt(0));
+    assertThat(second.getPropIdAt(1 - secondOpacityEntry)).isNotEqualTo(first.getPropIdAt(0));
+  }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyFloat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.view.View;
+import androidx.annotation.Nullable;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.config.ReactFeatureFlags;
+import com.facebook.react.uimanager.events.EventDispatcher;
+import com.facebook.yoga.YogaNode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.SuppressStaticInitializationFor;
+import org.powermock.modules.junit4.rule.PowerMockRule;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+/**
+ * Tests for {@link UIImplementation}. The shadow nodes are backed by mock Yoga nodes, so these tests
+ * control the layout results rather than running Yoga.
+ */
+@SuppressStaticInitializationFor("com.facebook.react.uimanager.ReactShadowNodeImpl")
+@RunWith(RobolectricTestRunner.class)
+@PowerMockIgnore({"org.mockito.*", "org.robolectric.*", "androidx.*", "android.*"})
+public class UIImplementationTest {
+
+  @Rule public PowerMockRule rule = new PowerMockRule();
+
+  private UIImplementation mUIImplementation;
+  private int mNextTag = 1;
+
+  @Before
+  public void setUp() {
+    ReactApplicationContext reactContext =
+        new ReactApplicationContext(RuntimeEnvironment.application);
+    mUIImplementation =
+        new UIImplementation(
+            reactContext,
+            new ViewManagerRegistry(Collections.<ViewManager>emptyList()),
+            mock(UIViewOperationQueue.class),
+            mock(EventDispatcher.class));
+  }
+
+  @After
+  public void tearDown() {
+    ReactFeatureFlags.enableParallelRootLayout = false;
+  }
+
+  @Test
+  public void testUpdateSeveralRootsWithParallelLayout() {
+    ReactFeatureFlags.enableParallelRootLayout = true;
+    List<TestShadowNode> roots = new ArrayList<>();
+    List<TestShadowNode> children = new ArrayList<>();
+    final List<Thread> layoutThreads = Collections.synchronizedList(new ArrayList<Thread>());
+    for (int i = 0; i < 4; i++) {
+      TestShadowNode root = createNode();
+      doAnswer(
+              new Answer() {
+                @Override
+                public Object answer(InvocationOnMock invocation) throws Throwable {
+                  layoutThreads.add(Thread.currentThread());
+                  return null;
+                }
+              })
+          .when(root.getYogaNode())
+          .calculateLayout(anyFloat(), anyFloat());
+      root.setMeasureSpecs(
+          View.MeasureSpec.makeMeasureSpec(100, View.MeasureSpec.EXACTLY),
+          View.MeasureSpec.makeMeasureSpec(100, View.MeasureSpec.EXACTLY));
+      mUIImplementation.mShadowNodeRegistry.addRootNode(root);
+      TestShadowNode child = createNode();
+      root.addChildAt(child, 0);
+      roots.add(root);
+      children.add(child);
+    }
+
+    mUIImplementation.updateViewHierarchy();
+
+    assertThat(layoutThreads).hasSize(roots.size());
+    for (int i = 0; i < roots.size(); i++) {
+      verify(roots.get(i).getYogaNode(), times(1)).calculateLayout(anyFloat(), anyFloat());
+      // Updates are applied on the calling thread once every root is laid out.
+      assertThat(children.get(i).mDispatchThread).isSameAs(Thread.currentThread());
+    }
+  }
+
+  @Test
+  public void testApplyUpdatesOnlyVisitsChangedPaths() {
+    TestShadowNode root = createNode();
+    mUIImplementation.mShadowNodeRegistry.addRootNode(root);
+    TestShadowNode updatedChild = createNode();
+    TestShadowNode laidOutChild = createNode();
+    TestShadowNode untouchedChild = createNode();
+    TestShadowNode untouchedGrandchild = createNode();
+    root.addChildAt(updatedChild, 0);
+    root.addChildAt(laidOutChild, 1);
+    root.addChildAt(untouchedChild, 2);
+    untouchedChild.addChildAt(untouchedGrandchild, 0);
+    for (TestShadowNode node :
+        Arrays.asList(root, updatedChild, laidOutChild, untouchedChild, untouchedGrandchild)) {
+      node.markUpdateSeen();
+    }
+    reset(untouchedGrandchild.getYogaNode());
+
+    updatedChild.markUpdated();
+    when(root.getYogaNode().hasNewLayout()).thenReturn(true);
+    when(laidOutChild.getYogaNode().hasNewLayout()).thenReturn(true);
+
+    mUIImplementation.applyUpdatesRecursive(root, 0f, 0f);
+
+    assertThat(updatedChild.mDispatchThread).isNotNull();
+    assertThat(laidOutChild.mDispatchThread).isNotNull();
+    assertThat(untouchedChild.mDispatchThread).isNull();
+    // The walk stops at the untouched child without looking into its subtree.
+    verify(untouchedGrandchild.getYogaNode(), never()).hasNewLayout();
+    assertThat(untouchedGrandchild.mDispatchThread).isNull();
+    assertThat(updatedChild.hasUnseenUpdates()).isFalse();
+  }
+
+  private TestShadowNode createNode() {
+    // ReactShadowNodeImpl takes its Yoga node from the pool when there is one.
+    YogaNode yogaNode = mock(YogaNode.class);
+    YogaNodePool.get().release(yogaNode);
+    TestShadowNode node = new TestShadowNode(yogaNode);
+    node.setReactTag(mNextTag++);
+    return node;
+  }
+
+  private static class TestShadowNode extends ReactShadowNodeImpl {
+
+    private final YogaNode mYogaNode;
+    private @Nullable Thread mDispatchThread;
+
+    TestShadowNode(YogaNode yogaNode) {
+      mYogaNode = yogaNode;
+    }
+
+    YogaNode getYogaNode() {
+      return mYogaNode;
+    }
+
+    @Override
+    public boolean dispatchUpdates(
+        float absoluteX,
+        float absoluteY,
+        UIViewOperationQueue uiViewOperationQueue,
+        @Nullable NativeViewHierarchyOptimizer nativeViewHierarchyOptimizer) {
+      mDispatchThread = Thread.currentThread();
+      return false;
+    }
+  }
+}
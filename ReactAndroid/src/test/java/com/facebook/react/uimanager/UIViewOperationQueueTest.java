@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactTestHelper;
+import com.facebook.react.config.ReactFeatureFlags;
+import com.facebook.react.modules.core.ChoreographerCompat;
+import com.facebook.react.modules.core.ReactChoreographer;
+import java.util.ArrayList;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.rule.PowerMockRule;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+/** Tests for the idle time view preallocation of {@link UIViewOperationQueue} */
+@PrepareForTest({ReactChoreographer.class})
+@RunWith(RobolectricTestRunner.class)
+@PowerMockIgnore({"org.mockito.*", "org.robolectric.*", "androidx.*", "android.*"})
+public class UIViewOperationQueueTest {
+
+  private static final long NANOS_PER_MS = 1000000;
+
+  @Rule public PowerMockRule rule = new PowerMockRule();
+
+  private ArrayList<ChoreographerCompat.FrameCallback> mIdleFrameCallbacks;
+  private NativeViewHierarchyManager mNativeViewHierarchyManager;
+  private ThemedReactContext mThemedContext;
+  private UIViewOperationQueue mOperationQueue;
+
+  @Before
+  public void setUp() {
+    ReactFeatureFlags.enableIdleViewPreallocation = true;
+
+    PowerMockito.mockStatic(ReactChoreographer.class);
+    ReactChoreographer choreographerMock = mock(ReactChoreographer.class);
+    PowerMockito.when(ReactChoreographer.getInstance()).thenReturn(choreographerMock);
+    mIdleFrameCallbacks = new ArrayList<>();
+    doAnswer(
+            new Answer() {
+              @Override
+              public Object answer(InvocationOnMock invocation) throws Throwable {
+                mIdleFrameCallbacks.add(
+                    (ChoreographerCompat.FrameCallback) invocation.getArguments()[1]);
+                return null;
+              }
+            })
+        .when(choreographerMock)
+        .postFrameCallback(
+            eq(ReactChoreographer.CallbackType.IDLE_EVENT),
+            any(ChoreographerCompat.FrameCallback.class));
+
+    ReactApplicationContext reactContext =
+        new ReactApplicationContext(RuntimeEnvironment.application);
+    reactContext.initializeWithInstance(ReactTestHelper.createMockCatalystInstance());
+    mThemedContext = new ThemedReactContext(reactContext, reactContext);
+    mNativeViewHierarchyManager = mock(NativeViewHierarchyManager.class);
+    mOperationQueue = new UIViewOperationQueue(reactContext, mNativeViewHierarchyManager, -1);
+  }
+
+  @After
+  public void tearDown() {
+    ReactFeatureFlags.enableIdleViewPreallocation = false;
+  }
+
+  @Test
+  public void testCreatesViewsInIdleTime() {
+    enqueueCreateViews(3);
+    mOperationQueue.resumeFrameCallback();
+    assertThat(mIdleFrameCallbacks).hasSize(1);
+
+    runIdleFrame(System.nanoTime());
+
+    verify(mNativeViewHierarchyManager, times(3))
+        .createView(eq(mThemedContext), anyInt(), anyString(), any(ReactStylesDiffMap.class));
+    // The callback runs again on the next frame.
+    assertThat(mIdleFrameCallbacks).hasSize(2);
+  }
+
+  @Test
+  public void testStopsAtFrameBudget() {
+    // Each view takes longer to create than the time left in the frame.
+    doAnswer(
+            new Answer() {
+              @Override
+              public Object answer(InvocationOnMock invocation) throws Throwable {
+                Thread.sleep(10);
+                return null;
+              }
+            })
+        .when(mNativeViewHierarchyManager)
+        .createView(
+            any(ThemedReactContext.class), anyInt(), anyString(), any(ReactStylesDiffMap.class));
+    enqueueCreateViews(2);
+    mOperationQueue.resumeFrameCallback();
+
+    // 8ms are left in the frame, enough to start creating a view but not a second one.
+    runIdleFrame(System.nanoTime() - 8 * NANOS_PER_MS);
+    verify(mNativeViewHierarchyManager, times(1))
+        .createView(eq(mThemedContext), eq(1), anyString(), any(ReactStylesDiffMap.class));
+    verify(mNativeViewHierarchyManager, never())
+        .createView(eq(mThemedContext), eq(2), anyString(), any(ReactStylesDiffMap.class));
+
+    runIdleFrame(System.nanoTime());
+    verify(mNativeViewHierarchyManager, times(1))
+        .createView(eq(mThemedContext), eq(2), anyString(), any(ReactStylesDiffMap.class));
+  }
+
+  @Test
+  public void testSkipsFrameWithoutTimeLeft() {
+    enqueueCreateViews(1);
+    mOperationQueue.resumeFrameCallback();
+
+    // Only 3ms are left in the frame, less than what idle preallocation keeps for the traversal.
+    runIdleFrame(System.nanoTime() - 13 * NANOS_PER_MS);
+    verify(mNativeViewHierarchyManager, never())
+        .createView(
+            any(ThemedReactContext.class), anyInt(), anyString(), any(ReactStylesDiffMap.class));
+  }
+
+  private void enqueueCreateViews(int count) {
+    for (int tag = 1; tag <= count; tag++) {
+      mOperationQueue.enqueueCreateView(mThemedContext, tag, "RCTView", null);
+    }
+  }
+
+  private void runIdleFrame(long frameTimeNanos) {
+    mIdleFrameCallbacks.get(mIdleFrameCallbacks.size() - 1).doFrame(frameTimeNanos);
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import android.view.View;
+import com.facebook.react.R;
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.config.ReactFeatureFlags;
+import com.facebook.react.views.view.ReactViewGroup;
+import com.facebook.react.views.view.ReactViewManager;
+import com.facebook.yoga.YogaNode;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.SuppressStaticInitializationFor;
+import org.powermock.modules.junit4.rule.PowerMockRule;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+/**
+ * Tests for the indexed setters that {@link ViewManagerPropertyUpdater} uses with {@link
+ * ReactFeatureFlags#useIndexedPropSetters}. These use the setters generated for the view managers
+ * and shadow nodes of the library.
+ */
+@SuppressStaticInitializationFor("com.facebook.react.uimanager.ReactShadowNodeImpl")
+@RunWith(RobolectricTestRunner.class)
+@PowerMockIgnore({"org.mockito.*", "org.robolectric.*", "androidx.*", "android.*"})
+public class ViewManagerPropertyUpdaterTest {
+
+  @Rule public PowerMockRule rule = new PowerMockRule();
+
+  @Before
+  public void setUp() {
+    ReactFeatureFlags.useIndexedPropSetters = true;
+    ViewManagerPropertyUpdater.clear();
+  }
+
+  @After
+  public void tearDown() {
+    ReactFeatureFlags.useIndexedPropSetters = false;
+    ViewManagerPropertyUpdater.clear();
+  }
+
+  @Test
+  public void testGeneratedSettersAreIndexed() throws Exception {
+    assertThat(Class.forName(ReactViewManager.class.getName() + "$$PropsSetter").newInstance())
+        .isInstanceOf(ViewManagerPropertyUpdater.IndexedViewManagerSetter.class);
+    assertThat(Class.forName(LayoutShadowNode.class.getName() + "$$PropsSetter").newInstance())
+        .isInstanceOf(ViewManagerPropertyUpdater.IndexedShadowNodeSetter.class);
+  }
+
+  @Test
+  public void testUpdateViewManagerProps() {
+    ReactViewManager viewManager = new ReactViewManager();
+    ReactViewGroup view = new ReactViewGroup(RuntimeEnvironment.application);
+
+    ViewManagerPropertyUpdater.updateProps(
+        viewManager,
+        view,
+        new ReactStylesDiffMap(
+            JavaOnlyMap.of(
+                // Declared by ReactViewManager.
+                "accessible", true,
+                "nextFocusDown", 42.0,
+                // Declared by BaseViewManager.
+                ViewProps.OPACITY, 0.5,
+                ViewProps.TEST_ID, "root",
+                // Layout only, so not declared by the view manager.
+                ViewProps.FLEX, 1.0)));
+
+    assertThat(view.isFocusable()).isTrue();
+    assertThat(view.getNextFocusDownId()).isEqualTo(42);
+    assertThat(view.getAlpha()).isEqualTo(0.5f);
+    assertThat(view.getTag(R.id.react_test_id)).isEqualTo("root");
+
+    // Removed props are reset to the defaults of their setters.
+    ViewManagerPropertyUpdater.updateProps(
+        viewManager,
+        view,
+        new ReactStylesDiffMap(
+            JavaOnlyMap.of("accessible", null, "nextFocusDown", null, ViewProps.OPACITY, null)));
+
+    assertThat(view.isFocusable()).isFalse();
+    assertThat(view.getNextFocusDownId()).isEqualTo(View.NO_ID);
+    assertThat(view.getAlpha()).isEqualTo(1f);
+  }
+
+  @Test
+  public void testUpdateShadowNodeProps() {
+    // ReactShadowNodeImpl takes its Yoga node from the pool when there is one.
+    YogaNode yogaNode = mock(YogaNode.class);
+    YogaNodePool.get().release(yogaNode);
+    LayoutShadowNode node = new LayoutShadowNode();
+
+    ViewManagerPropertyUpdater.updateProps(
+        node,
+        new ReactStylesDiffMap(
+            JavaOnlyMap.of(ViewProps.FLEX_GROW, 2.0, ViewProps.FLEX_SHRINK, null)));
+
+    verify(yogaNode).setFlexGrow(2f);
+    verify(yogaNode).setFlexShrink(0f);
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import android.content.ContextWrapper;
+import android.widget.FrameLayout;
+import com.facebook.react.bridge.CatalystInstance;
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactTestHelper;
+import com.facebook.react.config.ReactFeatureFlags;
+import com.facebook.react.touch.JSResponderHandler;
+import com.facebook.react.views.view.ReactViewGroup;
+import com.facebook.react.views.view.ReactViewManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+/** Tests for the view recycling pool of {@link ViewManager} */
+@RunWith(RobolectricTestRunner.class)
+public class ViewRecyclingTest {
+
+  private ReactApplicationContext mContext;
+  private ThemedReactContext mThemedContext;
+  private ReactViewManager mManager;
+  private JSResponderHandler mJSResponderHandler;
+
+  @Before
+  public void setup() {
+    ReactFeatureFlags.enableViewRecycling = true;
+    mContext = new ReactApplicationContext(RuntimeEnvironment.application);
+    CatalystInstance catalystInstanceMock = ReactTestHelper.createMockCatalystInstance();
+    mContext.initializeWithInstance(catalystInstanceMock);
+    mThemedContext = new ThemedReactContext(mContext, mContext);
+    mManager = new ReactViewManager();
+    mJSResponderHandler = new JSResponderHandler();
+  }
+
+  @After
+  public void tearDown() {
+    ReactFeatureFlags.enableViewRecycling = false;
+  }
+
+  @Test
+  public void testReusesDroppedView() {
+    ReactViewGroup view = createView(mThemedContext, JavaOnlyMap.of("opacity", 0.5));
+    assertThat(view.getAlpha()).isEqualTo(0.5f);
+    assertThat(mManager.getRecycledViewMissCount()).isEqualTo(1);
+
+    assertThat(mManager.recycleView(view)).isTrue();
+    // Props of the previous use are reset to their defaults.
+    assertThat(view.getAlpha()).isEqualTo(1.0f);
+
+    ReactViewGroup recycledView = createView(mThemedContext, JavaOnlyMap.of("opacity", 0.25));
+    assertThat(recycledView).isSameAs(view);
+    assertThat(recycledView.getAlpha()).isEqualTo(0.25f);
+    assertThat(mManager.getRecycledViewHitCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void testDoesNotReuseViewFromOtherContext() {
+    ReactViewGroup view = createView(mThemedContext, null);
+    mManager.recycleView(view);
+
+    ThemedReactContext otherContext = new ThemedReactContext(mContext, mContext);
+    assertThat(createView(otherContext, null)).isNotSameAs(view);
+    assertThat(createView(mThemedContext, null)).isSameAs(view);
+  }
+
+  @Test
+  public void testTrimRecycledViews() {
+    ReactViewGroup view = createView(mThemedContext, null);
+    mManager.recycleView(view);
+    mManager.trimRecycledViews();
+
+    assertThat(createView(mThemedContext, null)).isNotSameAs(view);
+    assertThat(mManager.getRecycledViewHitCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void testTrimRecycledViewsForContext() {
+    ContextWrapper otherBaseContext = new ContextWrapper(RuntimeEnvironment.application);
+    ThemedReactContext otherContext = new ThemedReactContext(mContext, otherBaseContext);
+    ReactViewGroup view = createView(mThemedContext, null);
+    ReactViewGroup otherView = createView(otherContext, null);
+    mManager.recycleView(view);
+    mManager.recycleView(otherView);
+
+    // Drops the views created for a themed context wrapping the given context, such as the
+    // Activity of a root view.
+    mManager.trimRecycledViews(otherBaseContext);
+
+    assertThat(createView(otherContext, null)).isNotSameAs(otherView);
+    assertThat(createView(mThemedContext, null)).isSameAs(view);
+  }
+
+  @Test
+  public void testDoesNotRecycleAttachedView() {
+    ReactViewGroup view = createView(mThemedContext, null);
+    FrameLayout parent = new FrameLayout(RuntimeEnvironment.application);
+    parent.addView(view);
+
+    assertThat(mManager.recycleView(view)).isFalse();
+
+    parent.removeView(view);
+    assertThat(mManager.recycleView(view)).isTrue();
+  }
+
+  @Test
+  public void testDisabledByFeatureFlag() {
+    ReactFeatureFlags.enableViewRecycling = false;
+    ReactViewGroup view = createView(mThemedContext, null);
+
+    assertThat(mManager.recycleView(view)).isFalse();
+    assertThat(createView(mThemedContext, null)).isNotSameAs(view);
+  }
+
+  private ReactViewGroup createView(ThemedReactContext context, JavaOnlyMap props) {
+    return mManager.createView(
+        context, props != null ? new ReactStylesDiffMap(props) : null, null, mJSResponderHandler);
+  }
+}
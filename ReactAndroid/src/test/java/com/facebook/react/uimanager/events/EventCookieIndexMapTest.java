@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager.events;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+/** Tests for {@link EventCookieIndexMap} */
+public class EventCookieIndexMapTest {
+
+  @Test
+  public void testPutAndGet() {
+    EventCookieIndexMap map = new EventCookieIndexMap();
+    map.put(0L, 3);
+    map.put(-1L, 4);
+    map.put(0xffff000100000002L, 5);
+
+    assertThat(map.get(0L)).isEqualTo(3);
+    assertThat(map.get(-1L)).isEqualTo(4);
+    assertThat(map.get(0xffff000100000002L)).isEqualTo(5);
+    assertThat(map.get(42L)).isEqualTo(EventCookieIndexMap.NO_INDEX);
+    assertThat(map.size()).isEqualTo(3);
+  }
+
+  @Test
+  public void testPutOverwritesExistingValue() {
+    EventCookieIndexMap map = new EventCookieIndexMap();
+    map.put(7L, 1);
+    map.put(7L, 2);
+
+    assertThat(map.get(7L)).isEqualTo(2);
+    assertThat(map.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void testGrowsPastInitialCapacity() {
+    EventCookieIndexMap map = new EventCookieIndexMap(4);
+    for (int i = 0; i < 1000; i++) {
+      map.put(((long) i << 32) | i, i);
+    }
+
+    assertThat(map.size()).isEqualTo(1000);
+    for (int i = 0; i < 1000; i++) {
+      assertThat(map.get(((long) i << 32) | i)).isEqualTo(i);
+    }
+  }
+
+  @Test
+  public void testClear() {
+    EventCookieIndexMap map = new EventCookieIndexMap();
+    map.put(1L, 1);
+    map.put(2L, 2);
+    map.clear();
+
+    assertThat(map.size()).isEqualTo(0);
+    assertThat(map.get(1L)).isEqualTo(EventCookieIndexMap.NO_INDEX);
+    assertThat(map.get(2L)).isEqualTo(EventCookieIndexMap.NO_INDEX);
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager.events;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Tests for {@link EventStagingRingBuffer} */
+@RunWith(RobolectricTestRunner.class)
+public class EventStagingRingBufferTest {
+
+  private static class TestEvent extends Event<TestEvent> {
+    TestEvent(int viewTag) {
+      super(viewTag);
+    }
+
+    @Override
+    public String getEventName() {
+      return "topTest";
+    }
+
+    @Override
+    public void dispatch(RCTEventEmitter rctEventEmitter) {}
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsNonPowerOfTwoCapacity() {
+    new EventStagingRingBuffer(3);
+  }
+
+  @Test
+  public void testPollReturnsEventsInOrder() {
+    EventStagingRingBuffer buffer = new EventStagingRingBuffer(4);
+    TestEvent first = new TestEvent(1);
+    TestEvent second = new TestEvent(2);
+
+    assertThat(buffer.offer(first)).isTrue();
+    assertThat(buffer.offer(second)).isTrue();
+
+    assertThat(buffer.poll()).isSameAs(first);
+    assertThat(buffer.poll()).isSameAs(second);
+    assertThat(buffer.poll()).isNull();
+  }
+
+  @Test
+  public void testOfferFailsWhenFullAndRecoversAfterPoll() {
+    EventStagingRingBuffer buffer = new EventStagingRingBuffer(2);
+
+    assertThat(buffer.offer(new TestEvent(1))).isTrue();
+    assertThat(buffer.offer(new TestEvent(2))).isTrue();
+    assertThat(buffer.offer(new TestEvent(3))).isFalse();
+
+    assertThat(buffer.poll().getViewTag()).isEqualTo(1);
+    assertThat(buffer.offer(new TestEvent(4))).isTrue();
+    assertThat(buffer.poll().getViewTag()).isEqualTo(2);
+    assertThat(buffer.poll().getViewTag()).isEqualTo(4);
+    assertThat(buffer.poll()).isNull();
+  }
+
+  @Test
+  public void testConcurrentProducersDoNotLoseEvents() throws Exception {
+    final int producerCount = 4;
+    final int eventsPerProducer = 2000;
+    final EventStagingRingBuffer buffer = new EventStagingRingBuffer(64);
+    final CountDownLatch done = new CountDownLatch(producerCount);
+
+    for (int p = 0; p < producerCount; p++) {
+      final int producer = p;
+      new Thread(
+              new Runnable() {
+                @Override
+                public void run() {
+                  for (int i = 0; i < eventsPerProducer; i++) {
+                    TestEvent event = new TestEvent(producer * eventsPerProducer + i);
+                    while (!buffer.offer(event)) {
+                      Thread.yield();
+                    }
+                  }
+                  done.countDown();
+                }
+              })
+          .start();
+    }
+
+    Set<Integer> seenTags = new HashSet<>();
+    while (seenTags.size() < producerCount * eventsPerProducer) {
+      Event event = buffer.poll();
+      if (event != null) {
+        assertThat(seenTags.add(event.getViewTag())).isTrue();
+      }
+    }
+    done.await();
+    assertThat(buffer.poll()).isNull();
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.views.text;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import com.facebook.react.bridge.JavaOnlyArray;
+import com.facebook.react.bridge.JavaOnlyMap;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+@PowerMockIgnore({"org.mockito.*", "org.robolectric.*", "androidx.*", "android.*"})
+public class AttributedStringKeyTest {
+
+  private static JavaOnlyMap attributedString(String string, double fontSize, String color) {
+    JavaOnlyMap textAttributes = JavaOnlyMap.of("fontSize", fontSize, "color", color);
+    JavaOnlyMap fragment = JavaOnlyMap.of("string", string, "textAttributes", textAttributes);
+    return JavaOnlyMap.of("fragments", JavaOnlyArray.of(fragment), "string", string);
+  }
+
+  @Test
+  public void testEqualAttributedStringsHaveEqualKeys() {
+    AttributedStringKey a = new AttributedStringKey(attributedString("Hello", 14, "red"));
+    AttributedStringKey b = new AttributedStringKey(attributedString("Hello", 14, "red"));
+
+    assertThat(a.getFingerprint()).isEqualTo(b.getFingerprint());
+    assertThat(a.hashCode()).isEqualTo(b.hashCode());
+    assertThat(a).isEqualTo(b);
+  }
+
+  @Test
+  public void testKeyDoesNotDependOnTheOrderOfMapEntries() {
+    JavaOnlyMap reordered =
+        JavaOnlyMap.of(
+            "string",
+            "Hello",
+            "fragments",
+            JavaOnlyArray.of(
+                JavaOnlyMap.of(
+                    "textAttributes",
+                    JavaOnlyMap.of("color", "red", "fontSize", 14.0),
+                    "string",
+                    "Hello")));
+
+    assertThat(new AttributedStringKey(reordered))
+        .isEqualTo(new AttributedStringKey(attributedString("Hello", 14, "red")));
+  }
+
+  @Test
+  public void testDifferentAttributedStringsHaveDifferentKeys() {
+    AttributedStringKey key = new AttributedStringKey(attributedString("Hello", 14, "red"));
+
+    assertThat(key).isNotEqualTo(new AttributedStringKey(attributedString("Hellp", 14, "red")));
+    assertThat(key).isNotEqualTo(new AttributedStringKey(attributedString("Hello", 15, "red")));
+    assertThat(key).isNotEqualTo(new AttributedStringKey(attributedString("Hello", 14, "blue")));
+  }
+
+  @Test
+  public void testOrderOfFragmentsMatters() {
+    JavaOnlyMap first = JavaOnlyMap.of("string", "a");
+    JavaOnlyMap second = JavaOnlyMap.of("string", "b");
+
+    AttributedStringKey key =
+        new AttributedStringKey(JavaOnlyMap.of("fragments", JavaOnlyArray.of(first, second)));
+
+    assertThat(key)
+        .isNotEqualTo(
+            new AttributedStringKey(JavaOnlyMap.of("fragments", JavaOnlyArray.of(second, first))));
+  }
+
+  @Test
+  public void testExtraEntryMakesKeysDifferent() {
+    JavaOnlyMap withExtraEntry = attributedString("Hello", 14, "red");
+    withExtraEntry.putNull("hash");
+
+    assertThat(new AttributedStringKey(withExtraEntry))
+        .isNotEqualTo(new AttributedStringKey(attributedString("Hello", 14, "red")));
+  }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.views.text;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import android.os.Build;
+import android.text.Layout;
+import android.text.PrecomputedText;
+import android.text.Spannable;
+import android.text.SpannableString;
+import android.text.TextDirectionHeuristic;
+import android.text.TextDirectionHeuristics;
+import android.view.Gravity;
+import android.view.View;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.config.ReactFeatureFlags;
+import java.util.Arrays;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+/**
+ * Tests for the {@link PrecomputedText} built by {@link PrecomputedTextUtil} and set on {@link
+ * ReactTextView}
+ */
+@RunWith(RobolectricTestRunner.class)
+public class PrecomputedTextTest {
+
+  private boolean mEnablePrecomputedText;
+
+  @Before
+  public void setUp() {
+    mEnablePrecomputedText = ReactFeatureFlags.enablePrecomputedText;
+    ReactFeatureFlags.enablePrecomputedText = true;
+  }
+
+  @After
+  public void tearDown() {
+    ReactFeatureFlags.enablePrecomputedText = mEnablePrecomputedText;
+  }
+
+  @Test
+  @Ignore("PrecomputedText needs Android P, which Robolectric 3 can't run")
+  @Config(sdk = Build.VERSION_CODES.P)
+  public void testPrecomputesLongText() {
+    Spannable text = createText(PrecomputedTextUtil.PRECOMPUTED_TEXT_MIN_LENGTH);
+
+    Spannable result = precompute(text, 42f, TextDirectionHeuristics.FIRSTSTRONG_RTL);
+
+    assertThat(result).isInstanceOf(PrecomputedText.class);
+    assertThat(result.toString()).isEqualTo(text.toString());
+    PrecomputedText.Params params = ((PrecomputedText) result).getParams();
+    assertThat(params.getTextPaint().getTextSize()).isEqualTo(42f);
+    assertThat(params.getBreakStrategy()).isEqualTo(Layout.BREAK_STRATEGY_HIGH_QUALITY);
+    assertThat(params.getTextDirection()).isSameAs(TextDirectionHeuristics.FIRSTSTRONG_RTL);
+  }
+
+  @Test
+  public void testDoesNotPrecomputeShortText() {
+    Spannable text = createText(PrecomputedTextUtil.PRECOMPUTED_TEXT_MIN_LENGTH - 1);
+
+    assertThat(precompute(text, 42f, TextDirectionHeuristics.FIRSTSTRONG_LTR)).isSameAs(text);
+  }
+
+  @Test
+  public void testDoesNotPrecomputeWithFlagOff() {
+    ReactFeatureFlags.enablePrecomputedText = false;
+    Spannable text = createText(PrecomputedTextUtil.PRECOMPUTED_TEXT_MIN_LENGTH);
+
+    assertThat(precompute(text, 42f, TextDirectionHeuristics.FIRSTSTRONG_LTR)).isSameAs(text);
+  }
+
+  @Test
+  @Ignore("PrecomputedText needs Android P, which Robolectric 3 can't run")
+  @Config(sdk = Build.VERSION_CODES.P)
+  public void testTextViewAcceptsPrecomputedTextAndRestoresParams() {
+    ReactTextView textView =
+        new ReactTextView(new ReactApplicationContext(RuntimeEnvironment.application));
+    float defaultTextSize = textView.getTextSize();
+
+    textView.setText(
+        createUpdate(
+            precompute(
+                createText(PrecomputedTextUtil.PRECOMPUTED_TEXT_MIN_LENGTH),
+                42f,
+                TextDirectionHeuristics.FIRSTSTRONG_LTR)));
+    assertThat(textView.getText()).isInstanceOf(PrecomputedText.class);
+    assertThat(textView.getTextSize()).isEqualTo(42f);
+
+    textView.setText(createUpdate(createText(1)));
+    assertThat(textView.getText()).isNotInstanceOf(PrecomputedText.class);
+    assertThat(textView.getTextSize()).isEqualTo(defaultTextSize);
+  }
+
+  @Test
+  @Ignore("PrecomputedText needs Android P, which Robolectric 3 can't run")
+  @Config(sdk = Build.VERSION_CODES.P)
+  public void testTextViewKeepsItsTextDirection() {
+    ReactTextView textView =
+        new ReactTextView(new ReactApplicationContext(RuntimeEnvironment.application));
+    textView.setLayoutDirection(View.LAYOUT_DIRECTION_RTL);
+    TextDirectionHeuristic textDirection = textView.getTextMetricsParams().getTextDirection();
+
+    textView.setText(
+        createUpdate(
+            precompute(
+                createText(PrecomputedTextUtil.PRECOMPUTED_TEXT_MIN_LENGTH),
+                42f,
+                TextDirectionHeuristics.FIRSTSTRONG_LTR)));
+
+    assertThat(textView.getText()).isNotInstanceOf(PrecomputedText.class);
+    assertThat(textView.getTextMetricsParams().getTextDirection()).isSameAs(textDirection);
+  }
+
+  private static Spannable createText(int length) {
+    char[] chars = new char[length];
+    Arrays.fill(chars, 'a');
+    return new SpannableString(new String(chars));
+  }
+
+  private static Spannable precompute(
+      Spannable text, float fontSize, TextDirectionHeuristic textDirection) {
+    return PrecomputedTextUtil.precomputeTextIfNeeded(
+        text,
+        fontSize,
+        Layout.BREAK_STRATEGY_HIGH_QUALITY,
+        Layout.HYPHENATION_FREQUENCY_NONE,
+        textDirection);
+  }
+
+  private static ReactTextUpdate createUpdate(Spannable text) {
+    return new ReactTextUpdate(
+        text,
+        -1,
+        false,
+        TextAttributeProps.UNSET,
+        TextAttributeProps.UNSET,
+        TextAttributeProps.UNSET,
+        TextAttributeProps.UNSET,
+        Gravity.NO_GRAVITY,
+        Layout.BREAK_STRATEGY_HIGH_QUALITY,
+        Layout.JUSTIFICATION_MODE_NONE,
+        -1,
+        -1,
+        null);
+  }
+}
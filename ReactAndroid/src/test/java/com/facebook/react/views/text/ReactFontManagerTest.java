@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.views.text;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import android.graphics.Typeface;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+/** Tests for the typeface cache of {@link ReactFontManager} and its lookup of font files */
+@RunWith(RobolectricTestRunner.class)
+public class ReactFontManagerTest {
+
+  private static final Set<String> FONT_ASSETS =
+      new HashSet<>(Arrays.asList("Lato.ttf", "Lato_bold.otf", "Lato_bold.ttf", "Roboto.otf"));
+
+  @Test
+  public void testOnlyTriesListedFiles() {
+    assertThat(ReactFontManager.getFontFileNames("Lato", Typeface.NORMAL, FONT_ASSETS))
+        .containsExactly("Lato.ttf");
+    assertThat(ReactFontManager.getFontFileNames("Roboto", Typeface.NORMAL, FONT_ASSETS))
+        .containsExactly("Roboto.otf");
+    assertThat(ReactFontManager.getFontFileNames("Lato", Typeface.BOLD, FONT_ASSETS))
+        .containsExactly("Lato_bold.ttf", "Lato_bold.otf");
+  }
+
+  @Test
+  public void testTriesNoFileForUnlistedStyle() {
+    assertThat(ReactFontManager.getFontFileNames("Lato", Typeface.ITALIC, FONT_ASSETS)).isEmpty();
+    assertThat(ReactFontManager.getFontFileNames("Unknown", Typeface.NORMAL, FONT_ASSETS))
+        .isEmpty();
+  }
+
+  @Test
+  public void testTriesAllExtensionsForFamilyInSubfolder() {
+    // Only the top level of the fonts folder is listed.
+    assertThat(ReactFontManager.getFontFileNames("brand/Lato", Typeface.BOLD_ITALIC, FONT_ASSETS))
+        .containsExactly("brand/Lato_bold_italic.ttf", "brand/Lato_bold_italic.otf");
+  }
+
+  @Test
+  public void testTriesAllExtensionsWhenListingFailed() {
+    assertThat(ReactFontManager.getFontFileNames("Lato", Typeface.ITALIC, null))
+        .containsExactly("Lato_italic.ttf", "Lato_italic.otf");
+  }
+
+  @Test
+  public void testReturnsCachedTypeface() {
+    Typeface typeface = Typeface.create("Cached", Typeface.BOLD);
+    ReactFontManager.getInstance().setTypeface("Cached", Typeface.BOLD, typeface);
+
+    assertThat(
+            ReactFontManager.getInstance()
+                .getTypeface("Cached", Typeface.BOLD, RuntimeEnvironment.application.getAssets()))
+        .isSameAs(typeface);
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.views.text;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import android.text.SpannableString;
+import com.facebook.react.config.ReactFeatureFlags;
+import com.facebook.react.uimanager.DisplayMetricsHolder;
+import com.facebook.react.uimanager.UIViewOperationQueue;
+import com.facebook.react.uimanager.YogaNodePool;
+import com.facebook.yoga.YogaMeasureFunction;
+import com.facebook.yoga.YogaMeasureMode;
+import com.facebook.yoga.YogaNode;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.SuppressStaticInitializationFor;
+import org.powermock.modules.junit4.rule.PowerMockRule;
+import org.powermock.reflect.Whitebox;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+/** Tests for the layout that {@link ReactTextShadowNode} measures and sends to its view */
+@SuppressStaticInitializationFor("com.facebook.react.uimanager.ReactShadowNodeImpl")
+@RunWith(RobolectricTestRunner.class)
+@PowerMockIgnore({"org.mockito.*", "org.robolectric.*", "androidx.*", "android.*"})
+public class ReactTextShadowNodeTest {
+
+  private static final int REACT_TAG = 3;
+
+  @Rule public PowerMockRule rule = new PowerMockRule();
+
+  private boolean mEnableTextLayoutCache;
+  private ReactTextShadowNode mNode;
+
+  @Before
+  public void setUp() {
+    mEnableTextLayoutCache = ReactFeatureFlags.enableTextLayoutCache;
+    DisplayMetricsHolder.initDisplayMetricsIfNotInitialized(RuntimeEnvironment.application);
+    TextLayoutCache.getInstance().clear();
+
+    // ReactShadowNodeImpl takes its Yoga node from the pool when there is one.
+    YogaNodePool.get().release(mock(YogaNode.class));
+    mNode = new ReactTextShadowNode();
+    mNode.setReactTag(REACT_TAG);
+    Whitebox.setInternalState(mNode, "mPreparedSpannableText", new SpannableString("Some text"));
+  }
+
+  @After
+  public void tearDown() {
+    ReactFeatureFlags.enableTextLayoutCache = mEnableTextLayoutCache;
+    TextLayoutCache.getInstance().clear();
+  }
+
+  @Test
+  public void testSendsMeasuredLayout() {
+    ReactFeatureFlags.enableTextLayoutCache = true;
+
+    measure(500f);
+
+    ReactTextUpdate update = collectTextUpdate();
+    assertThat(update.getLayout()).isNotNull();
+    assertThat(update.getLayout().getText().toString()).isEqualTo("Some text");
+  }
+
+  @Test
+  public void testDoesNotSendMeasuredLayoutWithFlagOff() {
+    ReactFeatureFlags.enableTextLayoutCache = false;
+
+    measure(500f);
+
+    assertThat(collectTextUpdate().getLayout()).isNull();
+  }
+
+  private void measure(float width) {
+    Whitebox.<YogaMeasureFunction>getInternalState(mNode, "mTextMeasureFunction")
+        .measure(
+            mock(YogaNode.class),
+            width,
+            YogaMeasureMode.AT_MOST,
+            Float.NaN,
+            YogaMeasureMode.UNDEFINED);
+  }
+
+  private ReactTextUpdate collectTextUpdate() {
+    UIViewOperationQueue operationQueue = mock(UIViewOperationQueue.class);
+    mNode.onCollectExtraUpdates(operationQueue);
+
+    ArgumentCaptor<Object> extraData = ArgumentCaptor.forClass(Object.class);
+    verify(operationQueue).enqueueUpdateExtraData(eq(REACT_TAG), extraData.capture());
+    return (ReactTextUpdate) extraData.getValue();
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.views.text;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import android.graphics.drawable.ColorDrawable;
+import android.text.Layout;
+import android.text.SpannableStringBuilder;
+import android.text.Spanned;
+import android.text.TextUtils;
+import android.view.Gravity;
+import android.view.View;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.config.ReactFeatureFlags;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.reflect.Whitebox;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+/** Tests for the layouts that {@link ReactTextView} reuses from the measure of its text */
+@RunWith(RobolectricTestRunner.class)
+public class ReactTextViewTest {
+
+  private static final int WIDTH = 100;
+  private static final int HEIGHT = 50;
+  private static final int SPAN_REACT_TAG = 7;
+
+  private boolean mEnableTextLayoutCache;
+  private ReactTextView mTextView;
+  private Layout mPreparedLayout;
+
+  @Before
+  public void setUp() {
+    mEnableTextLayoutCache = ReactFeatureFlags.enableTextLayoutCache;
+    ReactFeatureFlags.enableTextLayoutCache = true;
+
+    mTextView = new ReactTextView(new ReactApplicationContext(RuntimeEnvironment.application));
+
+    // A single line layout of "Hello world" in which "world" starts 50px from the left.
+    mPreparedLayout = mock(Layout.class);
+    // Layout#getWidth() is final.
+    Whitebox.setInternalState(mPreparedLayout, "mWidth", WIDTH);
+    when(mPreparedLayout.getHeight()).thenReturn(20);
+    when(mPreparedLayout.getLineForVertical(anyInt())).thenReturn(0);
+    when(mPreparedLayout.getLineLeft(0)).thenReturn(0f);
+    when(mPreparedLayout.getLineRight(0)).thenReturn(90f);
+    when(mPreparedLayout.getOffsetForHorizontal(0, 60f)).thenReturn(7);
+    when(mPreparedLayout.getOffsetForHorizontal(0, 10f)).thenReturn(1);
+  }
+
+  @After
+  public void tearDown() {
+    ReactFeatureFlags.enableTextLayoutCache = mEnableTextLayoutCache;
+  }
+
+  @Test
+  public void testUsesPreparedLayoutForLayoutAndTouches() {
+    setTextAndLayOut();
+
+    assertThat(mTextView.getLayout()).isSameAs(mPreparedLayout);
+    assertThat(mTextView.reactTagForTouch(60, 5)).isEqualTo(SPAN_REACT_TAG);
+    assertThat(mTextView.reactTagForTouch(10, 5)).isEqualTo(mTextView.getId());
+  }
+
+  @Test
+  public void testDoesNotUsePreparedLayoutWithCompoundDrawables() {
+    mTextView.setCompoundDrawables(new ColorDrawable(), null, null, null);
+    setTextAndLayOut();
+
+    assertThat(mTextView.getLayout()).isNotSameAs(mPreparedLayout);
+  }
+
+  @Test
+  public void testDoesNotUsePreparedLayoutWhenEllipsized() {
+    mTextView.setEllipsize(TextUtils.TruncateAt.END);
+    setTextAndLayOut();
+
+    assertThat(mTextView.getLayout()).isNotSameAs(mPreparedLayout);
+  }
+
+  @Test
+  public void testDoesNotUsePreparedLayoutWhenSelectable() {
+    mTextView.setTextIsSelectable(true);
+    setTextAndLayOut();
+
+    assertThat(mTextView.getLayout()).isNotSameAs(mPreparedLayout);
+  }
+
+  private void setTextAndLayOut() {
+    SpannableStringBuilder text = new SpannableStringBuilder("Hello world");
+    text.setSpan(new ReactTagSpan(SPAN_REACT_TAG), 6, 11, Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+    mTextView.setText(
+        new ReactTextUpdate(
+            text,
+            -1,
+            false,
+            TextAttributeProps.UNSET,
+            TextAttributeProps.UNSET,
+            TextAttributeProps.UNSET,
+            TextAttributeProps.UNSET,
+            Gravity.NO_GRAVITY,
+            Layout.BREAK_STRATEGY_HIGH_QUALITY,
+            Layout.JUSTIFICATION_MODE_NONE,
+            -1,
+            -1,
+            mPreparedLayout));
+    mTextView.measure(
+        View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+        View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+    mTextView.layout(0, 0, WIDTH, HEIGHT);
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.views.text;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import android.text.Layout;
+import android.text.SpannableString;
+import android.text.Spanned;
+import com.facebook.yoga.YogaMeasureMode;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class TextLayoutCacheTest {
+
+  private static TextLayoutCache.Key key(Spanned text, float width, YogaMeasureMode widthMode) {
+    return new TextLayoutCache.Key(
+        text,
+        width,
+        widthMode,
+        Layout.Alignment.ALIGN_NORMAL,
+        true,
+        Layout.BREAK_STRATEGY_HIGH_QUALITY,
+        Layout.HYPHENATION_FREQUENCY_NORMAL,
+        Layout.JUSTIFICATION_MODE_NONE,
+        14f);
+  }
+
+  @Test
+  public void testLayoutIsReusedForTheSameTextAndConstraints() {
+    TextLayoutCache cache = new TextLayoutCache(100);
+    Spanned text = new SpannableString("Hello");
+    Layout layout = mock(Layout.class);
+
+    cache.put(key(text, 100f, YogaMeasureMode.AT_MOST), layout);
+
+    assertThat(cache.get(key(text, 100f, YogaMeasureMode.AT_MOST))).isSameAs(layout);
+    assertThat(cache.get(key(text, 100f, YogaMeasureMode.EXACTLY))).isNull();
+    assertThat(cache.get(key(text, 101f, YogaMeasureMode.AT_MOST))).isNull();
+  }
+
+  @Test
+  public void testWidthIsIgnoredWhenUndefined() {
+    TextLayoutCache cache = new TextLayoutCache(100);
+    Spanned text = new SpannableString("Hello");
+    Layout layout = mock(Layout.class);
+
+    cache.put(key(text, Float.NaN, YogaMeasureMode.UNDEFINED), layout);
+
+    assertThat(cache.get(key(text, 50f, YogaMeasureMode.UNDEFINED))).isSameAs(layout);
+  }
+
+  @Test
+  public void testLayoutIsNotReusedForAnotherSpannable() {
+    TextLayoutCache cache = new TextLayoutCache(100);
+
+    cache.put(key(new SpannableString("Hello"), 100f, YogaMeasureMode.AT_MOST), mock(Layout.class));
+
+    assertThat(cache.get(key(new SpannableString("Hello"), 100f, YogaMeasureMode.AT_MOST)))
+        .isNull();
+  }
+
+  @Test
+  public void testCacheIsBoundedByTheLengthOfTheText() {
+    TextLayoutCache cache = new TextLayoutCache(20);
+    Spanned first = new SpannableString("0123456789");
+    Spanned second = new SpannableString("0123456789");
+    Layout secondLayout = mock(Layout.class);
+
+    cache.put(key(first, 100f, YogaMeasureMode.AT_MOST), mock(Layout.class));
+    cache.put(key(second, 100f, YogaMeasureMode.AT_MOST), secondLayout);
+
+    // Each entry accounts for the length of its text plus one.
+    assertThat(cache.get(key(first, 100f, YogaMeasureMode.AT_MOST))).isNull();
+    assertThat(cache.get(key(second, 100f, YogaMeasureMode.AT_MOST))).isSameAs(secondLayout);
+  }
+}